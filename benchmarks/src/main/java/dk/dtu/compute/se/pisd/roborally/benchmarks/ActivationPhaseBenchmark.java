@@ -0,0 +1,50 @@
+package dk.dtu.compute.se.pisd.roborally.benchmarks;
+
+import dk.dtu.compute.se.pisd.roborally.headless.HeadlessGameRunner;
+import dk.dtu.compute.se.pisd.roborally.headless.SimulationResult;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures {@link dk.dtu.compute.se.pisd.roborally.controller.GameController#executePrograms()}
+ * through a {@link HeadlessGameRunner}. Each invocation runs an entire round,
+ * i.e. the activation phase with five registers of random programs followed
+ * by the start of the next programming phase.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ActivationPhaseBenchmark {
+
+	private static final int ROUNDS = 64;
+
+	@Param({"defaultboard", "test3", BenchmarkGames.SYNTHETIC})
+	public String board;
+
+	@Param({"2", "8", "64"})
+	public int robots;
+
+	private HeadlessGameRunner runner;
+	private Command[][][] programs;
+	private int round;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		runner = new HeadlessGameRunner(BenchmarkGames.createGame(BenchmarkGames.createBoard(board), robots));
+		runner.setRecordingEvents(false);
+		programs = BenchmarkGames.createPrograms(ROUNDS, robots);
+		round = 0;
+	}
+
+	@Benchmark
+	public SimulationResult executePrograms() {
+		SimulationResult result = runner.run(programs[round]);
+		round = (round + 1) % ROUNDS;
+		return result;
+	}
+}
@@ -0,0 +1,147 @@
+package dk.dtu.compute.se.pisd.roborally.benchmarks;
+
+import dk.dtu.compute.se.pisd.roborally.fileaccess.BoardLoader;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.Space;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.PriorityAntenna;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.Wall;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.BoardLaser;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.Checkpoint;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.EnergySpace;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.MoveHazard;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import dk.dtu.compute.se.pisd.roborally.model.enums.MoveHazardType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Random;
+
+/**
+ * <p>Creates the boards, games and programs used by the benchmarks.
+ * Everything is generated from fixed seeds, so that every run of a
+ * benchmark measures the same work.</p>
+ * <p>Besides the bundled boards, the board {@value #SYNTHETIC} is a
+ * generated {@value #SYNTHETIC_SIZE}x{@value #SYNTHETIC_SIZE} board
+ * with roughly the same density of elements as {@code defaultboard}.</p>
+ */
+public final class BenchmarkGames {
+
+	public static final String SYNTHETIC = "synthetic";
+	public static final int SYNTHETIC_SIZE = 100;
+
+	private static final long SEED = 17;
+
+	private BenchmarkGames() {
+	}
+
+	/**
+	 * <p>Returns a new board with the specified name. This is either
+	 * the name of a bundled board or {@value #SYNTHETIC}.</p>
+	 *
+	 * @param name the name of the board
+	 * @return a new board
+	 */
+	@NotNull
+	public static Board createBoard(@NotNull String name) {
+		if (name.equals(SYNTHETIC)) return createSyntheticBoard(SYNTHETIC_SIZE, SYNTHETIC_SIZE);
+		if (BoardLoader.class.getClassLoader().getResource("boards/" + name + ".json") == null) {
+			throw new IllegalArgumentException("No bundled board is called " + name);
+		}
+		return BoardLoader.loadBoard(name);
+	}
+
+	/**
+	 * <p>Generates a board of the specified size. Board lasers are
+	 * always mounted on a wall, so that they cannot fire around the
+	 * entire board.</p>
+	 *
+	 * @param width  the width of the board
+	 * @param height the height of the board
+	 * @return a new board
+	 */
+	@NotNull
+	public static Board createSyntheticBoard(int width, int height) {
+		Board board = new Board(width, height, SYNTHETIC);
+		Random random = new Random(SEED);
+		Heading[] headings = Heading.values();
+		for (int x = 0; x < width; x++) {
+			for (int y = 0; y < height; y++) {
+				Space space = board.getSpace(x, y);
+				Heading heading = headings[random.nextInt(headings.length)];
+				double element = random.nextDouble();
+				if (element < 0.17) {
+					space.addBoardElement(new MoveHazard(heading, random.nextBoolean() ? 1 : 2, 0, random.nextInt(2) + 1, MoveHazardType.CONVEYOR));
+				} else if (element < 0.20) {
+					space.addBoardElement(new MoveHazard(heading, 3, random.nextBoolean() ? 1 : -1, 0, MoveHazardType.GEAR));
+				} else if (element < 0.215) {
+					space.addBoardElement(new Wall(heading.next().next()));
+					space.addBoardElement(new BoardLaser(heading));
+				} else if (element < 0.23) {
+					space.addBoardElement(new EnergySpace());
+				}
+				if (random.nextDouble() < 0.14) space.addBoardElement(new Wall(heading));
+			}
+		}
+		Heading[] none = new Heading[0];
+		board.getSpace(width / 2, height / 2).addBoardElement(new PriorityAntenna());
+		board.getSpace(width - 1, height - 1).addBoardElement(new Checkpoint(none, none, none, Heading.SOUTH, 8, 1));
+		board.getSpace(0, height - 1).addBoardElement(new Checkpoint(none, none, none, Heading.SOUTH, 8, 2));
+		board.setCheckpointAmount(2);
+		return board;
+	}
+
+	/**
+	 * <p>Creates a game on the specified board with the specified
+	 * number of players placed on random distinct spaces. The game
+	 * can never be won, so it may be run indefinitely.</p>
+	 *
+	 * @param board           the board of the game
+	 * @param numberOfPlayers the number of players
+	 * @return a new game
+	 */
+	@NotNull
+	public static Game createGame(@NotNull Board board, int numberOfPlayers) {
+		if (numberOfPlayers > board.width * board.height) {
+			throw new IllegalArgumentException("Cannot place " + numberOfPlayers + " players on a " + board.width + "x" + board.height + " board");
+		}
+		board.setCheckpointAmount(Integer.MAX_VALUE);
+		Game game = new Game(board);
+		Random random = new Random(SEED);
+		for (int i = 0; i < numberOfPlayers; i++) {
+			Player player = new Player(game, null, "Player " + (i + 1));
+			game.addPlayer(player);
+			player.playerController.addCardsToDiscardPile(Player.newPlayerDeck());
+			player.setDirection(Heading.values()[random.nextInt(Heading.values().length)]);
+			Space space;
+			do {
+				space = board.getSpace(random.nextInt(board.width), random.nextInt(board.height));
+			} while (space.getPlayer() != null);
+			player.setSpace(space);
+		}
+		return game;
+	}
+
+	/**
+	 * <p>Generates the specified number of rounds of random programs.</p>
+	 *
+	 * @param numberOfRounds  the number of rounds
+	 * @param numberOfPlayers the number of players
+	 * @return the program of each player in each round
+	 */
+	@NotNull
+	public static Command[][][] createPrograms(int numberOfRounds, int numberOfPlayers) {
+		Random random = new Random(SEED);
+		Command[] commands = Command.values();
+		Command[][][] rounds = new Command[numberOfRounds][numberOfPlayers][Player.NO_REGISTERS];
+		for (Command[][] programs : rounds) {
+			for (Command[] program : programs) {
+				for (int i = 0; i < program.length; i++) {
+					program[i] = commands[random.nextInt(commands.length)];
+				}
+			}
+		}
+		return rounds;
+	}
+}
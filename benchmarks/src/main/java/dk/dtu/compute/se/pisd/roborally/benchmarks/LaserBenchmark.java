@@ -0,0 +1,57 @@
+package dk.dtu.compute.se.pisd.roborally.benchmarks;
+
+import dk.dtu.compute.se.pisd.roborally.controller.Laser;
+import dk.dtu.compute.se.pisd.roborally.controller.boardElementController.IBoardElementController;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures {@link Laser#activate()} by firing the lasers of all
+ * robots and, separately, all the board lasers of the board.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class LaserBenchmark {
+
+	@Param({"defaultboard", "test3", BenchmarkGames.SYNTHETIC})
+	public String board;
+
+	@Param({"2", "8", "64"})
+	public int robots;
+
+	private Laser[] robotLasers;
+	private List<IBoardElementController> boardLasers;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Game game = BenchmarkGames.createGame(BenchmarkGames.createBoard(board), robots);
+		Player[] players = game.getPlayers();
+		robotLasers = new Laser[players.length];
+		for (int i = 0; i < players.length; i++) {
+			robotLasers[i] = players[i].getLaser();
+		}
+		boardLasers = game.getBoard().getActivationIndex().getBoardLasers();
+	}
+
+	@Benchmark
+	public void robotLasers() {
+		for (Laser laser : robotLasers) {
+			laser.activate();
+		}
+	}
+
+	@Benchmark
+	public void boardLasers() {
+		for (IBoardElementController laser : boardLasers) {
+			laser.activate();
+		}
+	}
+}
@@ -0,0 +1,48 @@
+package dk.dtu.compute.se.pisd.roborally.benchmarks;
+
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures {@link dk.dtu.compute.se.pisd.roborally.controller.PlayerController#move(Heading, int)},
+ * which also pushes any robots in the way. Each invocation moves the next
+ * robot one to three spaces in the next direction, so the more robots there
+ * are on the board, the more of the moves push other robots.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class MovementBenchmark {
+
+	@Param({"defaultboard", "test3", BenchmarkGames.SYNTHETIC})
+	public String board;
+
+	@Param({"2", "8", "64"})
+	public int robots;
+
+	private Player[] players;
+	private int move;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Game game = BenchmarkGames.createGame(BenchmarkGames.createBoard(board), robots);
+		players = game.getPlayers();
+		move = 0;
+	}
+
+	@Benchmark
+	public int move() {
+		Player player = players[move % players.length];
+		Heading heading = Heading.values()[(move / players.length) % 4];
+		int distance = move % 3 + 1;
+		move = (move + 1) % (players.length * 12);
+		return player.playerController.move(heading, distance);
+	}
+}
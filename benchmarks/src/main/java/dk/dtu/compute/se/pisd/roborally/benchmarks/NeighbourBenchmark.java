@@ -0,0 +1,57 @@
+package dk.dtu.compute.se.pisd.roborally.benchmarks;
+
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.Space;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures looking up the neighbours of every space on a board
+ * in every direction, both for movement through
+ * {@link Board#getNeighbour(Space, Heading)} and for light through
+ * {@link Space#getNeighbor(Heading, boolean)}.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class NeighbourBenchmark {
+
+	@Param({"defaultboard", "test3", BenchmarkGames.SYNTHETIC})
+	public String board;
+
+	private Board gameBoard;
+	private Space[] spaces;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		gameBoard = BenchmarkGames.createBoard(board);
+		spaces = new Space[gameBoard.width * gameBoard.height];
+		for (int i = 0; i < spaces.length; i++) {
+			spaces[i] = gameBoard.getSpace(i);
+		}
+	}
+
+	@Benchmark
+	public void getNeighbour(Blackhole blackhole) {
+		for (Space space : spaces) {
+			for (Heading heading : Heading.values()) {
+				blackhole.consume(gameBoard.getNeighbour(space, heading));
+			}
+		}
+	}
+
+	@Benchmark
+	public void getNeighbourOfLight(Blackhole blackhole) {
+		for (Space space : spaces) {
+			for (Heading heading : Heading.values()) {
+				blackhole.consume(space.getNeighbor(heading, true));
+			}
+		}
+	}
+}
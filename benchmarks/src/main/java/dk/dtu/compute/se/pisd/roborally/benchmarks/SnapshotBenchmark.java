@@ -0,0 +1,77 @@
+package dk.dtu.compute.se.pisd.roborally.benchmarks;
+
+import dk.dtu.compute.se.pisd.roborally.fileaccess.BoardLoader;
+import dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot.SnapshotCodec;
+import dk.dtu.compute.se.pisd.roborally.headless.GameSandbox;
+import dk.dtu.compute.se.pisd.roborally.headless.HeadlessGameRunner;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.GameState;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures encoding and decoding boards and games with the
+ * {@link SnapshotCodec}, compared to loading the board from its JSON
+ * file through the {@link BoardLoader}, and capturing and restoring
+ * the {@link GameState} of a {@link GameSandbox}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SnapshotBenchmark {
+
+	@Param({"defaultboard", "test3"})
+	public String board;
+
+	private Game game;
+	private byte[] boardSnapshot;
+	private byte[] gameSnapshot;
+	private GameSandbox sandbox;
+	private GameState state;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		game = new HeadlessGameRunner(board, 4).getGame();
+		boardSnapshot = SnapshotCodec.encodeBoard(game.getBoard());
+		gameSnapshot = SnapshotCodec.encodeGame(game);
+		sandbox = new GameSandbox(game);
+		state = sandbox.capture();
+	}
+
+	@Benchmark
+	public Board loadBoardFromJson() {
+		return BoardLoader.loadBoard(board);
+	}
+
+	@Benchmark
+	public Board decodeBoard() throws IOException {
+		return SnapshotCodec.decodeBoard(boardSnapshot);
+	}
+
+	@Benchmark
+	public byte[] encodeGame() {
+		return SnapshotCodec.encodeGame(game);
+	}
+
+	@Benchmark
+	public Game decodeGame() throws IOException {
+		return SnapshotCodec.decodeGame(gameSnapshot);
+	}
+
+	@Benchmark
+	public GameState captureState() {
+		return sandbox.capture();
+	}
+
+	@Benchmark
+	public Game restoreState() {
+		sandbox.restore(state);
+		return sandbox.getGame();
+	}
+}
@@ -0,0 +1,62 @@
+package dk.dtu.compute.se.pisd.roborally.benchmarks;
+
+import dk.dtu.compute.se.pisd.roborally.headless.tournament.GameOutcome;
+import dk.dtu.compute.se.pisd.roborally.headless.tournament.IProgramStrategy;
+import dk.dtu.compute.se.pisd.roborally.headless.tournament.IResultSink;
+import dk.dtu.compute.se.pisd.roborally.headless.tournament.RandomCardsStrategy;
+import dk.dtu.compute.se.pisd.roborally.headless.tournament.Tournament;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>Measures how a {@link Tournament} scales with the number of
+ * workers. Ideally, the time of a tournament is inversely
+ * proportional to the parallelism, up to the number of cores.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TournamentBenchmark {
+
+	private static final int GAMES = 64;
+
+	@Param({"1", "2", "4"})
+	public int parallelism;
+
+	private Tournament tournament;
+	private ForkJoinPool pool;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		IProgramStrategy[] strategies = {new RandomCardsStrategy(), new RandomCardsStrategy(),
+				new RandomCardsStrategy(), new RandomCardsStrategy()};
+		tournament = new Tournament("defaultboard", strategies, 20, 17);
+		pool = new ForkJoinPool(parallelism);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		pool.shutdown();
+	}
+
+	@Benchmark
+	public void playTournament(Blackhole blackhole) {
+		tournament.run(GAMES, new IResultSink() {
+			@Override
+			public void accept(@NotNull GameOutcome outcome) {
+				blackhole.consume(outcome);
+			}
+
+			@Override
+			public void close() {
+			}
+		}, pool);
+	}
+}
@@ -40,4 +40,16 @@ public interface Observer {
 	 */
 	void update(Subject subject);
 
+	/**
+	 * Whether updates to this observer may be deferred to the end of a
+	 * {@link Subject#batch(Runnable)}. Observers which keep state the
+	 * model itself relies on while the batch runs must return false, so
+	 * that they are updated immediately.
+	 *
+	 * @return true if updates to this observer may be deferred
+	 */
+	default boolean isDeferrable() {
+		return true;
+	}
+
 }
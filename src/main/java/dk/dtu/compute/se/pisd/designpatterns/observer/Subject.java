@@ -22,6 +22,7 @@
 package dk.dtu.compute.se.pisd.designpatterns.observer;
 
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.WeakHashMap;
 
@@ -45,6 +46,48 @@ public abstract class Subject {
 	// that these observers are implicitly removed, when the observers
 	// would be garbage (if not for these references)!
 
+	/**
+	 * The batch currently running on each thread, if any.
+	 */
+	private static final ThreadLocal<Batch> batches = ThreadLocal.withInitial(Batch::new);
+
+	/**
+	 * The state of the batches of a single thread: how deeply
+	 * batches are nested, and the subjects which changed in
+	 * the outermost batch in the order they first changed.
+	 */
+	private static final class Batch {
+		private int depth = 0;
+		private Set<Subject> pending = new LinkedHashSet<>();
+	}
+
+	/**
+	 * Runs the specified action as a batch of changes. While the action
+	 * runs, the notifications of deferrable observers (see
+	 * {@link Observer#isDeferrable()}) are collected instead of delivered,
+	 * and when it has completed each of these observers is updated once
+	 * for every subject which changed, no matter how often it changed.
+	 * Batches may be nested, in which case the notifications are delivered
+	 * at the end of the outermost batch.
+	 *
+	 * @param action the action making the changes
+	 */
+	public static void batch(Runnable action) {
+		Batch batch = batches.get();
+		batch.depth++;
+		try {
+			action.run();
+		} finally {
+			if (--batch.depth == 0 && !batch.pending.isEmpty()) {
+				Set<Subject> changed = batch.pending;
+				batch.pending = new LinkedHashSet<>();
+				for (Subject subject : changed) {
+					subject.notifyDeferred();
+				}
+			}
+		}
+	}
+
 	/**
 	 * This methods allows an observer to register with the subject
 	 * for update notifications when the subject changes.
@@ -73,9 +116,32 @@ public abstract class Subject {
 	 * relevant for the observer).
 	 */
 	final protected void notifyChange() {
+		if (observers == null || observers.isEmpty()) return;
+		Batch batch = batches.get();
+		if (batch.depth == 0) {
+			for (Observer observer: observers) {
+				observer.update(this);
+			}
+			return;
+		}
+		boolean deferred = false;
+		for (Observer observer: observers) {
+			if (observer.isDeferrable()) deferred = true;
+			else observer.update(this);
+		}
+		if (deferred) batch.pending.add(this);
+	}
+
+	/**
+	 * Updates the deferrable observers of this subject
+	 * at the end of a batch.
+	 *
+	 * @see #batch(Runnable)
+	 */
+	private void notifyDeferred() {
 		if (observers == null) return;
 		for (Observer observer: observers) {
-			observer.update(this);
+			if (observer.isDeferrable()) observer.update(this);
 		}
 	}
 
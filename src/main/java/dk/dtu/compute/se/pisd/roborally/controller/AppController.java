@@ -27,12 +27,20 @@ import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
 import dk.dtu.compute.se.pisd.roborally.RoboRally;
 
 import dk.dtu.compute.se.pisd.roborally.dal.GameInDB;
+import dk.dtu.compute.se.pisd.roborally.dal.GamePage;
 import dk.dtu.compute.se.pisd.roborally.dal.repository.RepositoryAccess;
+import dk.dtu.compute.se.pisd.roborally.dal.repository.SaveQueue;
 import dk.dtu.compute.se.pisd.roborally.fileaccess.BoardLoader;
+import dk.dtu.compute.se.pisd.roborally.headless.GameSandbox;
+import dk.dtu.compute.se.pisd.roborally.headless.tournament.IProgramStrategy;
+import dk.dtu.compute.se.pisd.roborally.headless.tournament.MonteCarloStrategy;
+import dk.dtu.compute.se.pisd.roborally.interfaces.IAppController;
 import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.CommandCardField;
 import dk.dtu.compute.se.pisd.roborally.model.Player;
 
 import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
 import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
 import javafx.application.Platform;
 import javafx.scene.control.*;
@@ -41,6 +49,9 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * ...
@@ -48,14 +59,41 @@ import java.util.*;
  * @author Ekkart Kindler, ekki@dtu.dk
  * @author Rasmus Nylander, s205418@student.dtu.dk
  */
-public class AppController implements Observer {
+public class AppController implements Observer, IAppController {
 
 	final private List<Integer> PLAYER_NUMBER_OPTIONS = Arrays.asList(2, 3, 4, 5, 6);
 	final private List<String> PLAYER_COLORS = Arrays.asList("red", "green", "blue", "orange", "grey", "magenta");
+	final private int LOAD_GAME_PAGE_SIZE = 50;
+	final private String MORE_GAMES = "More games...";
+	/**
+	 * <p>The maximum time in milliseconds to wait for the
+	 * games being saved to be written when exiting.</p>
+	 */
+	final private long EXIT_SAVE_TIMEOUT = 10000;
 
 	final private RoboRally roboRally;
 
 	private GameController gameController;
+	/**
+	 * <p>Whether the user has been warned that the games are
+	 * saved in the embedded database, as the configured one
+	 * could not be reached.</p>
+	 */
+	private boolean fallbackWarned = false;
+
+	/**
+	 * <p>The players of the current game whose programs
+	 * are planned by the {@link #botStrategy}.</p>
+	 */
+	final private List<Player> bots = new ArrayList<>();
+	final private IProgramStrategy botStrategy = new MonteCarloStrategy();
+
+	/**
+	 * <p>The number of programming phases started, so that the programs
+	 * of the bots are only applied in the programming phase they were
+	 * planned for. Only used on the JavaFX application thread.</p>
+	 */
+	private int programmingPhases = 0;
 
 	public AppController(@NotNull RoboRally roboRally) {
 		this.roboRally = roboRally;
@@ -69,6 +107,15 @@ public class AppController implements Observer {
 
 		if (!result.isPresent()) return;
 
+		List<Integer> botNumberOptions = new ArrayList<>();
+		for (int i = 0; i < result.get(); i++) botNumberOptions.add(i);
+		ChoiceDialog<Integer> botDialog = new ChoiceDialog<>(botNumberOptions.get(0), botNumberOptions);
+		botDialog.setTitle("New game");
+		botDialog.setHeaderText("Select number of bots");
+		Optional<Integer> botResult = botDialog.showAndWait();
+
+		if (!botResult.isPresent()) return;
+
 		// The UI should not allow this, but in case this happens anyway.
 		// give the user the option to save the game or abort this operation!
 		if (gameController != null && !stopGame()) return;
@@ -77,7 +124,7 @@ public class AppController implements Observer {
 		//BoardLoader.saveBoard(game.getBoard(), "test");
 		gameController = new GameController(game, this);
 
-		initPlayers(game, result.get());
+		initPlayers(game, result.get(), botResult.get());
 		chooseRobots(game);
 		gameController.startProgrammingPhase();
 		roboRally.createGameView(gameController);
@@ -95,16 +142,20 @@ public class AppController implements Observer {
 
 	/**
 	 * <p>Initialises the specified number of players in
-	 * the specified game.</p>
+	 * the specified game. The last players are bots.</p>
 	 * @param game the game whose players are to be initialised
 	 * @param numberOfPlayers the number of players to initialise
+	 * @param numberOfBots the number of the players which are bots
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
-	private void initPlayers(Game game, int numberOfPlayers) {
+	private void initPlayers(Game game, int numberOfPlayers, int numberOfBots) {
 		//Todo: this method should maybe be in game
+		bots.clear();
 		for (int i = 0; i < numberOfPlayers; i++) {
-			Player player = new Player(game, PLAYER_COLORS.get(i), "Player " + (i + 1));
+			boolean isBot = i >= numberOfPlayers - numberOfBots;
+			Player player = new Player(game, PLAYER_COLORS.get(i), (isBot ? "Bot " : "Player ") + (i + 1));
 			game.addPlayer(player);
+			if (isBot) bots.add(player);
 			//Cards are added to the discard pile so that when the player
 			// attempts to draw a card,the cards will be *shuffled* into the deck.
 			player.playerController.addCardsToDiscardPile(Player.newPlayerDeck());
@@ -112,6 +163,58 @@ public class AppController implements Observer {
 		}
 	}
 
+	/**
+	 * <p>Programs every bot of the current game with the program
+	 * planned by the {@link #botStrategy}. The bots plan in the
+	 * background, in a copy of the game, so the user interface is not
+	 * blocked while they plan. Once planned, the cards are moved from
+	 * the bot's hand on the JavaFX application thread, as if the bot
+	 * had moved them itself, unless the programming phase has ended.</p>
+	 */
+	@Override
+	public void programmingPhaseStarted() {
+		if (gameController == null || bots.isEmpty()) return;
+		GameController controller = gameController;
+		int programmingPhase = ++programmingPhases;
+		Game copy = new GameSandbox(controller.game).getGame();
+		int[] seats = new int[bots.size()];
+		for (int i = 0; i < seats.length; i++) seats[i] = controller.game.getPlayerNumber(bots.get(i));
+
+		CompletableFuture.supplyAsync(() -> {
+			Command[][] programs = new Command[seats.length][];
+			for (int i = 0; i < seats.length; i++) programs[i] = botStrategy.program(copy.getPlayer(seats[i]));
+			return programs;
+		}, ForkJoinPool.commonPool()).whenComplete((programs, failure) -> Platform.runLater(() -> {
+			if (gameController != controller || programmingPhases != programmingPhase
+					|| controller.game.getPhase() != Phase.PROGRAMMING) return;
+			if (failure != null) {
+				Alert alert = new Alert(AlertType.ERROR);
+				alert.setTitle("Bots");
+				alert.setHeaderText("The bots could not plan their programs");
+				alert.setContentText((failure instanceof CompletionException ? failure.getCause() : failure).getMessage());
+				alert.showAndWait();
+				return;
+			}
+			for (int i = 0; i < seats.length; i++) program(controller, controller.game.getPlayer(seats[i]), programs[i]);
+		}));
+	}
+
+	/**
+	 * <p>Moves the cards of the specified program from
+	 * the hand of the bot to its registers.</p>
+	 */
+	private void program(@NotNull GameController controller, @NotNull Player bot, @NotNull Command[] program) {
+		for (int register = 0; register < program.length && register < Player.NO_REGISTERS; register++) {
+			if (program[register] == null) continue;
+			for (int i = 0; i < Player.NO_CARDS; i++) {
+				CommandCardField field = bot.getHandField(i);
+				if (field.getCard() == null || field.getCard().command != program[register]) continue;
+				controller.moveCards(field, bot.getProgramField(register));
+				break;
+			}
+		}
+	}
+
 	/**
 	 * <p>Makes each player in the specified game who does
 	 * not already have a robot choose one and set the
@@ -125,7 +228,10 @@ public class AppController implements Observer {
 	}
 
 	/**
-	 * <p>Saves the game of {@link #gameController}.</p>
+	 * <p>Saves the game of {@link #gameController}. The game is
+	 * written to the database in the background by the {@link SaveQueue},
+	 * so the user interface is not blocked while saving. If the game
+	 * cannot be saved, the user is told so once the save has failed.</p>
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
 	public void saveGame() {
@@ -133,15 +239,59 @@ public class AppController implements Observer {
 
 		// todo: If possible maybe ask player whether to overwrite the old save
 
-		if (gameController.game.getGameId() != null) {
-			RepositoryAccess.getRepository().updateGameInDB(gameController.game);
-			return;
+		SaveQueue saveQueue = getSaveQueue();
+		if (saveQueue == null) return;
+		CompletableFuture<Integer> saved;
+		if (saveQueue.isSaved(gameController.game)) {
+			saved = saveQueue.save(gameController.game);
+		} else {
+			String name = getSaveName();
+			if (name == null) return;
+			saved = saveQueue.save(gameController.game, name);
 		}
+		saved.whenComplete((gameId, failure) -> {
+			if (failure != null) Platform.runLater(() -> showDatabaseError("The game could not be saved", failure));
+		});
+	}
 
-		String name = getSaveName();
-		if (name == null) return;
+	/**
+	 * <p>Returns the queue saving games in the database. If the database
+	 * cannot be reached, the user is told so and null is returned. If the
+	 * games are kept in the embedded database instead, the user is warned
+	 * the first time.</p>
+	 *
+	 * @return the save queue or null if the database cannot be reached
+	 */
+	@Nullable
+	private SaveQueue getSaveQueue() {
+		SaveQueue saveQueue;
+		try {
+			saveQueue = RepositoryAccess.getSaveQueue();
+		} catch (IllegalStateException e) {
+			showDatabaseError("The database could not be reached", e);
+			return null;
+		}
+		RuntimeException connectionFailure = RepositoryAccess.getConnectionFailure();
+		if (connectionFailure != null && !fallbackWarned) {
+			fallbackWarned = true;
+			showDatabaseError("The database could not be reached, so the games are saved in memory"
+					+ " and will be lost when RoboRally exits", connectionFailure);
+		}
+		return saveQueue;
+	}
 
-		RepositoryAccess.getRepository().createGameInDB(gameController.game, name);
+	/**
+	 * <p>Tells the user that the database failed.</p>
+	 *
+	 * @param message what failed
+	 * @param cause   the exception describing the failure
+	 */
+	private void showDatabaseError(@NotNull String message, @NotNull Throwable cause) {
+		Alert alert = new Alert(AlertType.ERROR);
+		alert.setTitle("Database error");
+		alert.setHeaderText(message);
+		alert.setContentText(cause.getMessage());
+		alert.showAndWait();
 	}
 
 	/**
@@ -177,30 +327,42 @@ public class AppController implements Observer {
 	}
 
 	/**
-	 * Asks the users to chose a game from the database and loads it
+	 * Asks the users to chose a game from the database and loads it.
+	 * The games are shown a page at a time, newest first, with an
+	 * option to show the next page.
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
 	public void loadGame() {
 		if (gameController != null) return;
-		List<GameInDB> gameInDBList = RepositoryAccess.getRepository().getGames();
-		if (gameInDBList == null || gameInDBList.isEmpty()) return;
-		//MenuItem[] games = new MenuItem[gameInDBs.length];
-		String[] names = new String[gameInDBList.size()];
-		int i = 0;
-		for (GameInDB gameInDB: gameInDBList) {
-			names[i] = (i + 1) + ". " + gameInDB.name;
-			i++;
+		GameInDB chosen = null;
+		Integer page = null;
+		if (getSaveQueue() == null) return;
+		while (chosen == null) {
+			GamePage gamePage = RepositoryAccess.getRepository().findGames(null, page, LOAD_GAME_PAGE_SIZE);
+			if (gamePage.games.isEmpty()) return;
+			List<String> names = new ArrayList<>();
+			int i = 0;
+			for (GameInDB gameInDB: gamePage.games) {
+				names.add((i + 1) + ". " + gameInDB.name + " (" + gameInDB.boardName + ")");
+				i++;
+			}
+			if (gamePage.hasNextPage()) names.add(MORE_GAMES);
+
+			ChoiceDialog<String> dialog = new ChoiceDialog<>(names.get(0), names);
+			dialog.setTitle("Load game");
+			dialog.setHeaderText("Choose a game:");
+			Optional<String> game = dialog.showAndWait();
+			if (!game.isPresent()) return;
+			String choice = game.get();
+			if (choice.equals(MORE_GAMES)) {
+				page = gamePage.nextPage;
+				continue;
+			}
+			choice = choice.substring(0, choice.indexOf('.'));
+			chosen = gamePage.games.get(Integer.parseInt(choice) - 1);
 		}
 
-		ChoiceDialog<String> dialog = new ChoiceDialog<>(names[0], names);
-		dialog.setTitle("Load game");
-		dialog.setHeaderText("Choose a game:");
-		Optional<String> game = dialog.showAndWait();
-		if (!game.isPresent()) return;
-		String choice = game.get();
-		choice = choice.substring(0, choice.indexOf('.'));
-
-		gameController = new GameController(RepositoryAccess.getRepository().loadGameFromDB(gameInDBList.get(Integer.parseInt(choice)-1).id), this);
+		gameController = new GameController(RepositoryAccess.getRepository().loadGameFromDB(chosen.id), this);
 		gameController.updateCardFieldVisibility();
 		roboRally.createGameView(gameController);
 	}
@@ -214,6 +376,7 @@ public class AppController implements Observer {
 	 *
 	 * @return true if the current game was stopped, false otherwise
 	 */
+	@Override
 	public boolean stopGame() {
 		if (gameController == null) return false;
 
@@ -222,6 +385,7 @@ public class AppController implements Observer {
 		if(gameController.game.getPhase() != Phase.GAME_FINISHED) saveGame();
 
 		gameController = null;
+		bots.clear();
 
 		roboRally.createGameView(null);
 
@@ -243,10 +407,12 @@ public class AppController implements Observer {
 		// If the user did not cancel, the RoboRally application will exit
 		// after the option to save the game
 		if (gameController == null || stopGame()) {
+			RepositoryAccess.closeSaveQueue(EXIT_SAVE_TIMEOUT);
 			Platform.exit();
 		}
 	}
 
+	@Override
 	public boolean isGameRunning() {
 		return gameController != null;
 	}
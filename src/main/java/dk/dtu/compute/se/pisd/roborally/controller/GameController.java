@@ -21,12 +21,15 @@
  */
 package dk.dtu.compute.se.pisd.roborally.controller;
 
-import dk.dtu.compute.se.pisd.roborally.controller.boardElementController.BoardLaserController;
+import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
 import dk.dtu.compute.se.pisd.roborally.controller.boardElementController.IBoardElementController;
-import dk.dtu.compute.se.pisd.roborally.interfaces.IActivateable;
+import dk.dtu.compute.se.pisd.roborally.controller.boardElementController.MoveHazardController;
+import dk.dtu.compute.se.pisd.roborally.controller.boardElementController.MoveHazardResolver;
+import dk.dtu.compute.se.pisd.roborally.interfaces.IAppController;
 import dk.dtu.compute.se.pisd.roborally.model.*;
 import dk.dtu.compute.se.pisd.roborally.model.Game;
 import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.ActivationIndex;
 import dk.dtu.compute.se.pisd.roborally.model.board.Space;
 import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.ActivationElement;
 import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
@@ -34,8 +37,6 @@ import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.PriorityQueue;
 
 /**
  * <p>The controller for a {@link Game}.</p>
@@ -49,9 +50,15 @@ public class GameController {
 
 
 
-	final AppController appController;
+	final IAppController appController;
 
-	public GameController(@NotNull Game game, AppController appController) {
+	/**
+	 * <p>Moves the robots on conveyor belts and gears of the same
+	 * priority simultaneously. It is reused for every priority.</p>
+	 */
+	private final MoveHazardResolver moveHazardResolver = new MoveHazardResolver();
+
+	public GameController(@NotNull Game game, IAppController appController) {
 		this.game = game;
 		this.appController = appController;
 	}
@@ -76,6 +83,7 @@ public class GameController {
 		}
 
 		updateCardFieldVisibility();
+		if (appController != null) appController.programmingPhaseStarted();
 	}
 
 	/**
@@ -87,6 +95,7 @@ public class GameController {
 	 * @author Oscar
 	 */
 	public void finishProgrammingPhase() {
+		log(GameEventLog.Type.PROGRAMMING_FINISHED, null, 0, 0);
 		game.setPhase(Phase.ACTIVATION);
 		game.playerQueueForceRepopulate();
 		game.setCurrentPlayer(game.nextPlayer());
@@ -205,6 +214,7 @@ public class GameController {
 	 * @see #executeStep()
 	 */
 	public void executePrograms() {
+		log(GameEventLog.Type.EXECUTION_STARTED, null, 0, 0);
 		game.setStepMode(false);
 		continuePrograms();
 	}
@@ -215,6 +225,7 @@ public class GameController {
 	 * @see #executePrograms()
 	 */
 	public void executeStep() {
+		log(GameEventLog.Type.EXECUTION_STARTED, null, 1, 0);
 		game.setStepMode(true);
 		continuePrograms();
 	}
@@ -226,11 +237,15 @@ public class GameController {
 	 * <p>If {@link Game#isStepMode()} is true {@link #executeStep()} is
 	 * called only once. Otherwise, it is called until the activation phase
 	 * is over.</p>
+	 * <p>The steps are executed as a {@link Subject#batch(Runnable)}, so the
+	 * views are only updated once for every subject which changed.</p>
 	 */
 	private void continuePrograms() {
-		do {
-			executeNextStep();
-		} while (game.getPhase() == Phase.ACTIVATION && !game.isStepMode());
+		Subject.batch(() -> {
+			do {
+				executeNextStep();
+			} while (game.getPhase() == Phase.ACTIVATION && !game.isStepMode());
+		});
 	}
 
 	/**
@@ -261,6 +276,7 @@ public class GameController {
 				game.setPhase(Phase.PLAYER_INTERACTION);
 				return;
 			}
+			log(GameEventLog.Type.COMMAND_EXECUTED, currentPlayer, step, command.ordinal());
 			executeCommand(currentPlayer, command);
 		}
 
@@ -291,6 +307,7 @@ public class GameController {
 		}
 
 		activateElements(); //All players have been activated, activate the board elements
+		if (game.getPhase() != Phase.ACTIVATION) return; //The game was finished, e.g. by reaching the last checkpoint
 		int step = game.getStep() + 1;
 		game.playerQueueForceRepopulate();
 		game.setCurrentPlayer(game.nextPlayer());
@@ -306,48 +323,78 @@ public class GameController {
 
 	/**
 	 * <p>Handles activation of all {@link ActivationElement}s and robot lasers.</p>
+	 * <p>The elements are activated in ascending order of priority. Board lasers
+	 * and robot lasers are always activated, while all other elements are only
+	 * activated if a player was on their space when the activation began. These
+	 * spaces are found by intersecting the occupancy and activation space
+	 * {@link dk.dtu.compute.se.pisd.roborally.model.board.Bitboard}s of the board,
+	 * and their elements are looked up through the {@link ActivationIndex}.</p>
+	 * <p>Conveyor belts and gears of the same priority are moved simultaneously
+	 * by the {@link #moveHazardResolver}.</p>
 	 *
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
 	private void activateElements() {
-		//todo: This is very inefficient and should be done much better.
-		// For starters it should not loop over the entire board; only the
-		// spaces with players or lasers (which would hit something) will
-		// be activated.
-		// Maybe this should be done with some kind of event system?
-
-		//todo: Currently does not activate all elements of same priority at once
-		// fx a robot can be moved by a conveyor belt pushing another robot
-		// of another conveyor belt element (of same priority). In reality
-		// what should happen is that they should both be moved by their
-		// conveyor belts simultaneously and not interact at all.
+		log(GameEventLog.Type.ELEMENTS_ACTIVATED, null, game.getStep(), 0);
 		Board board = game.getBoard();
+		ActivationIndex activationIndex = board.getActivationIndex();
+
+		Player[] players = game.getPlayers();
+		int[] occupiedIndices = new int[players.length];
+		int numOccupied = board.getOccupancy().intersection(board.getActivationSpaces(), occupiedIndices);
+		Space[] occupiedSpaces = new Space[numOccupied];
+		for (int i = 0; i < numOccupied; i++) {
+			occupiedSpaces[i] = board.getSpace(occupiedIndices[i]);
+		}
 
-		PriorityQueue<IActivateable> elementActivationQueue = new PriorityQueue<>();
-		for (int x = 0; x < board.width; x++) {
-			for (int y = 0; y < board.height; y++) {
-				Space space = board.getSpace(x, y);
-				IBoardElementController[] activateables = space.getActivationElementControllers();
-				for (IBoardElementController aEController: activateables) {
-					if (aEController instanceof BoardLaserController) {
-						elementActivationQueue.add(aEController);
-						continue;
-					}
-					if (space.getPlayer() != null) elementActivationQueue.add(aEController);
-				}
-				//elementActivationQueue.addAll(Arrays.asList(activateables));
+		Laser[] robotLasers = new Laser[players.length];
+		int numRobotLasers = 0;
+		for (int i = 0; i < players.length; i++) {
+			Laser roboLaser = players[i].getLaser();
+			if (roboLaser != null) robotLasers[numRobotLasers++] = roboLaser;
+		}
+		Arrays.sort(robotLasers, 0, numRobotLasers);
+
+		int nextRobotLaser = 0;
+		for (int priority : activationIndex.getPriorities()) {
+			while (nextRobotLaser < numRobotLasers && robotLasers[nextRobotLaser].getPriority() < priority) {
+				robotLasers[nextRobotLaser++].activate();
+			}
+			activatePriority(activationIndex, priority, occupiedSpaces);
+			while (nextRobotLaser < numRobotLasers && robotLasers[nextRobotLaser].getPriority() == priority) {
+				robotLasers[nextRobotLaser++].activate();
 			}
 		}
-		for (Player player: game.getPlayers()) {
-			Laser roboLaser = player.getLaser();
-			if (roboLaser == null) continue;
-			elementActivationQueue.add(roboLaser);
+		while (nextRobotLaser < numRobotLasers) {
+			robotLasers[nextRobotLaser++].activate();
 		}
+	}
 
-		while (!elementActivationQueue.isEmpty()){
-			elementActivationQueue.remove().activate();
+	/**
+	 * <p>Activates all the board lasers of the specified priority
+	 * and all other elements of the specified priority on the
+	 * specified spaces. Conveyor belts and gears are resolved
+	 * simultaneously after the other elements.</p>
+	 *
+	 * @param activationIndex the index of the elements to activate
+	 * @param priority        the priority of the elements to activate
+	 * @param occupiedSpaces  the spaces on which elements should be activated
+	 */
+	private void activatePriority(@NotNull ActivationIndex activationIndex, int priority, @NotNull Space[] occupiedSpaces) {
+		for (IBoardElementController laserController : activationIndex.getBoardLasers(priority)) {
+			laserController.activate();
 		}
-
+		for (Space space : occupiedSpaces) {
+			for (IBoardElementController aEController : activationIndex.getControllers(priority, space)) {
+				if (aEController instanceof MoveHazardController
+						&& MoveHazardResolver.isResolvable((MoveHazardController) aEController)) {
+					moveHazardResolver.add((MoveHazardController) aEController);
+					continue;
+				}
+				aEController.activate();
+			}
+		}
+		moveHazardResolver.resolve(game.getBoard());
 	}
 
 	/**
@@ -386,8 +433,7 @@ public class GameController {
 					player.playerController.turn(2);
 					break;
 				case REPEAT:
-					if (player.game.getStep() == 0) break;
-					executeCommand(player, player.getProgramField(player.game.getStep() - 1).getCard().command);
+					executeCommand(player, getRepeatedCommand(player, player.game.getStep()));
 					break;
 				case ENERGISE:
 					player.addEnergyCubes(1);
@@ -399,6 +445,25 @@ public class GameController {
 	}
 
 
+	/**
+	 * <p>Returns the command which a {@link Command#REPEAT} in the
+	 * specified register of the specified player repeats. This is
+	 * the command of the closest previous register which is not
+	 * itself a repeat, or null if there is no such command.</p>
+	 *
+	 * @param player   the player whose program to look through
+	 * @param register the register of the repeat
+	 * @return the repeated command or null
+	 */
+	private Command getRepeatedCommand(@NotNull Player player, int register) {
+		for (int i = register - 1; i >= 0; i--) {
+			CommandCard card = player.getProgramField(i).getCard();
+			if (card == null) return null;
+			if (card.command != Command.REPEAT) return card.command;
+		}
+		return null;
+	}
+
 	/**
 	 * <p>Executes a command on the current player and continues
 	 * execution of players' programs respecting {@link Game#isStepMode}.</p>
@@ -414,11 +479,12 @@ public class GameController {
 			assert false;
 			return;
 		}
+		log(GameEventLog.Type.OPTION_CHOSEN, currentPlayer, game.getStep(), command.ordinal());
 		game.setPhase(Phase.ACTIVATION);
 
 		executeCommand(currentPlayer, command);
 		subRoundComplete();
-		if (!game.isStepMode()) continuePrograms();
+		if (!game.isStepMode() && game.getPhase() == Phase.ACTIVATION) continuePrograms();
 	}
 
 	/**
@@ -437,11 +503,60 @@ public class GameController {
 			return false;
 		}
 
+		if (game.getEventLog() != null && source.player == target.player) {
+			log(GameEventLog.Type.CARD_MOVED, source.player, getFieldNumber(source), getFieldNumber(target));
+		}
 		target.setCard(sourceCard);
 		source.setCard(null);
 		return true;
 	}
 
+	/**
+	 * <p>Returns the number of the specified field among the fields of its
+	 * player, as used by {@link GameEventLog.Type#CARD_MOVED}. The hand field
+	 * i is i and the program field i is {@link Player#NO_CARDS} + i.</p>
+	 *
+	 * @param field the field whose number to return
+	 * @return the number of the field or -1 if it does not belong to its player
+	 */
+	public static int getFieldNumber(@NotNull CommandCardField field) {
+		for (int i = 0; i < Player.NO_CARDS; i++) {
+			if (field.player.getHandField(i) == field) return i;
+		}
+		for (int i = 0; i < Player.NO_REGISTERS; i++) {
+			if (field.player.getProgramField(i) == field) return Player.NO_CARDS + i;
+		}
+		return -1;
+	}
+
+	/**
+	 * <p>Returns the field of the specified player with the
+	 * specified number.</p>
+	 *
+	 * @param player the player whose field to return
+	 * @param number the number of the field
+	 * @return the field with the specified number
+	 * @see #getFieldNumber(CommandCardField)
+	 */
+	public static CommandCardField getField(@NotNull Player player, int number) {
+		return number < Player.NO_CARDS ? player.getHandField(number) : player.getProgramField(number - Player.NO_CARDS);
+	}
+
+	/**
+	 * <p>Appends an event to the {@link GameEventLog} of the game,
+	 * if the events of the game are being logged.</p>
+	 *
+	 * @param type   the type of the event
+	 * @param player the player the event concerns or null
+	 * @param first  the first argument of the event
+	 * @param second the second argument of the event
+	 */
+	private void log(@NotNull GameEventLog.Type type, Player player, int first, int second) {
+		GameEventLog eventLog = game.getEventLog();
+		if (eventLog == null) return;
+		eventLog.append(type, player == null ? -1 : game.getPlayerNumber(player), first, second);
+	}
+
 	/**
 	 * A method called when no corresponding controller operation is implemented yet. This
 	 * should eventually be removed.
@@ -451,7 +566,7 @@ public class GameController {
 		assert false;
 	}
 
-	public AppController getAppController() {
+	public IAppController getAppController() {
 		return appController;
 	}
 
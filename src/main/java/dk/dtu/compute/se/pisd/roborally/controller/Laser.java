@@ -5,6 +5,9 @@ import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
 import dk.dtu.compute.se.pisd.roborally.interfaces.Directional;
 import dk.dtu.compute.se.pisd.roborally.interfaces.IActivateable;
 import dk.dtu.compute.se.pisd.roborally.interfaces.Spacebound;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.BeamPathCache;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
 import dk.dtu.compute.se.pisd.roborally.model.board.Space;
 import dk.dtu.compute.se.pisd.roborally.model.enums.DamageType;
 import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
@@ -85,22 +88,36 @@ public class Laser implements Observer, IActivateable, Spacebound, Directional {
 
 	/**
 	 * <p>Fires the laser in the direction it is currently
-	 * pointing.</p>
+	 * pointing and damages the first player hit, if any.</p>
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
+	 * @see #getTarget()
 	 */
 	@Override
 	public void activate() {
-		Space currentSpace = getSpace();
-		if (currentSpace == null) return;
+		Player target = getTarget();
+		if (target == null) return;
+		target.playerController.damage(damageType);
+	}
 
-		while (true){
-			currentSpace = currentSpace.getNeighbor(direction, isEM);
-			if (currentSpace == null) return;
-			if (currentSpace.getPlayer() == null) continue;
+	/**
+	 * <p>Returns the first player in the line of fire of the laser,
+	 * or null if the laser would not hit anyone. The laser never
+	 * hits a player on its own space.</p>
+	 * <p>The path of the laser is looked up in the
+	 * {@link BeamPathCache} of the board and tested against the
+	 * occupancy {@link dk.dtu.compute.se.pisd.roborally.model.board.Bitboard}
+	 * of the board, so only the space which is hit is looked up.</p>
+	 *
+	 * @return the player the laser would hit or null
+	 */
+	public Player getTarget() {
+		Space origin = getSpace();
+		if (origin == null || direction == null) return null;
+		Board board = origin.board;
 
-			currentSpace.getPlayer().playerController.damage(damageType);
-			return;
-		}
+		int[] path = board.getBeamPathCache().getPath(board.getSpaceIndex(origin), direction, isEM);
+		int hit = board.getOccupancy().firstIn(path);
+		return hit < 0 ? null : board.getSpace(path[hit]).getPlayer();
 	}
 
 	/**
@@ -117,5 +134,16 @@ public class Laser implements Observer, IActivateable, Spacebound, Directional {
 		setDirection(((Directional) subject).getDirection());
 	}
 
+	/**
+	 * <p>A laser must follow its wielder immediately, as it may
+	 * be fired before the end of a batch of changes.</p>
+	 *
+	 * @return false
+	 */
+	@Override
+	public boolean isDeferrable() {
+		return false;
+	}
+
 
 }
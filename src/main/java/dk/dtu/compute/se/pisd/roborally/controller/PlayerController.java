@@ -8,8 +8,6 @@ import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.LinkedList;
 
 /**
  * <p>The controller for a {@link Player}.</p>
@@ -20,6 +18,13 @@ import java.util.LinkedList;
 public class PlayerController {
 	Player player;
 
+	/**
+	 * <p>Whether the player is currently being moved. A player
+	 * being moved cannot be pushed, which happens if a line of
+	 * robots wrapping around the entire board is pushed.</p>
+	 */
+	private boolean moving = false;
+
 	public PlayerController(Player player) {
 		this.player = player;
 	}
@@ -44,15 +49,21 @@ public class PlayerController {
 	public int move(@NotNull Heading direction, int distance) {
 		Space currentSpace = player.getSpace();
 		if (currentSpace == null) return -1;
-		if (distance < 0) return move(direction.next().next(), -distance);
+		if (distance < 0) return move(direction.opposite(), -distance);
+		if (moving) return 0; //The robot has pushed itself around the board
 
+		moving = true;
 		int distanceMoved;
-		for (distanceMoved = 0; distanceMoved < distance; distanceMoved++) {
-			Space target = currentSpace.getNeighbor(direction);
-			if (target == null) break;
-
-			if (!pushRobots(target, direction, distance - distanceMoved)) break;
-			currentSpace = target;
+		try {
+			for (distanceMoved = 0; distanceMoved < distance; distanceMoved++) {
+				Space target = currentSpace.getNeighbor(direction);
+				if (target == null) break;
+
+				if (!pushRobots(target, direction, distance - distanceMoved)) break;
+				currentSpace = target;
+			}
+		} finally {
+			moving = false;
 		}
 		player.setSpace(currentSpace); //identical to target.setPlayer(player);
 		return distanceMoved;
@@ -118,14 +129,7 @@ public class PlayerController {
 	 * @param numTimes Number of times to turn right
 	 */
 	public void turn(int numTimes) {
-		numTimes %= 4;
-		if (numTimes < 0) numTimes += 4;
-		Heading heading = player.getDirection();
-		for (int i = 0; i < numTimes; i++) {
-			heading = heading.next();
-		}
-
-		player.setDirection(heading);
+		player.setDirection(player.getDirection().rotate(numTimes));
 	}
 
 	/**
@@ -151,15 +155,15 @@ public class PlayerController {
 
 
 	/**
-	 * Returns a random CommandCard
+	 * Returns a random CommandCard drawn from the game's random number generator
 	 *
 	 * @return
 	 * @author Tobias Maneschijn, s205422@student.dtu.dk
+	 * @see Game#getRandom()
 	 */
 	public CommandCard generateRandomCommandCard() {
-		Command[] commands = Command.values();
-		int random = (int) (Math.random() * commands.length);
-		return new CommandCard(commands[random]);
+		int random = player.game.getRandom().nextInt(Command.COUNT);
+		return CommandCard.of(Command.of(random));
 	}
 
 	/**
@@ -170,7 +174,8 @@ public class PlayerController {
 	 * @return true if the deck changed
 	 */
 	public boolean addCardToDeck(CommandCard card) {
-		return player.getDeck().add(card);
+		player.getDeck().add(card.command);
+		return true;
 	}
 
 	/**
@@ -182,7 +187,8 @@ public class PlayerController {
 	 * @return true if the deck changed
 	 */
 	public boolean addCardsToDeck(Collection<CommandCard> cards){
-		return player.getDeck().addAll(cards);
+		player.getDeck().addAll(cards);
+		return !cards.isEmpty();
 	}
 
 	/**
@@ -193,7 +199,8 @@ public class PlayerController {
 	 * @return true if the deck changed
 	 */
 	public boolean addCardToDiscardPile(CommandCard card) {
-		return player.getDiscardPile().add(card);
+		player.getDiscardPile().add(card.command);
+		return true;
 	}
 
 	/**
@@ -205,7 +212,8 @@ public class PlayerController {
 	 * @return true if the deck changed
 	 */
 	public boolean addCardsToDiscardPile(Collection<CommandCard> cards){
-		return player.getDiscardPile().addAll(cards);
+		player.getDiscardPile().addAll(cards);
+		return !cards.isEmpty();
 	}
 
 	/**
@@ -217,23 +225,24 @@ public class PlayerController {
 	public boolean drawCard() {
 		CommandCardField emptyCardField = player.getEmptyCardField();
 		if (emptyCardField == null) return false;
-		LinkedList<CommandCard> deck = player.getDeck();
-		if (deck.size() == 0) shuffleDeck();
-		emptyCardField.setCard(deck.remove());
+		CardZone deck = player.getDeck();
+		if (deck.isEmpty()) shuffleDeck();
+		emptyCardField.setCard(CommandCard.of(deck.remove()));
 		return true;
 	}
 
 	/**
 	 * <p>Empties the discard pile into the player's deck
 	 * and shuffles the list.</p>
+	 * <p>The deck is shuffled with the game's random number generator,
+	 * so the same seed always gives the same order.</p>
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
+	 * @see Game#getRandom()
 	 */
 	private void shuffleDeck() {
-		LinkedList<CommandCard> deck = player.getDeck();
-		LinkedList<CommandCard> discardPile = player.getDiscardPile();
-		deck.addAll(discardPile);
-		discardPile.clear();
-		Collections.shuffle(deck);
+		CardZone deck = player.getDeck();
+		player.getDiscardPile().moveAllTo(deck);
+		deck.shuffle(player.game.getRandom());
 	}
 
 	/**
@@ -252,7 +261,8 @@ public class PlayerController {
 	 */
 	public void discardHand() {
 		for (CommandCardField cCField : player.getHand()) {
-			player.getDiscardPile().add(cCField.getCard());
+			if (cCField.getCard() == null) continue;
+			player.getDiscardPile().add(cCField.getCard().command);
 			cCField.setCard(null);
 		}
 	}
@@ -266,7 +276,8 @@ public class PlayerController {
 	 */
 	public void discardProgram() {
 		for (CommandCardField cCField : player.getProgram()) {
-			player.getDiscardPile().add(cCField.getCard());
+			if (cCField.getCard() == null) continue;
+			player.getDiscardPile().add(cCField.getCard().command);
 			cCField.setCard(null);
 		}
 	}
@@ -0,0 +1,217 @@
+package dk.dtu.compute.se.pisd.roborally.controller.boardElementController;
+
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.Space;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.MoveHazard;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import dk.dtu.compute.se.pisd.roborally.model.enums.MoveHazardType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * <p>Resolves the movement of all {@link MoveHazard}s of the same
+ * activation priority simultaneously.</p>
+ * <p>Activating the {@link MoveHazardController}s one by one moves the
+ * robots through {@link dk.dtu.compute.se.pisd.roborally.controller.PlayerController#move},
+ * so a robot moved by a conveyor belt pushes any robot in its way, even
+ * when that robot is about to be moved by a conveyor belt itself. Instead,
+ * the resolver moves the robots one space at a time, so a robot on an
+ * express belt is blocked by a robot in its way just like any other. Each
+ * step works in three phases:</p>
+ * <ol>
+ *     <li>The next space of every robot still moving is computed.</li>
+ *     <li>Conflicts are resolved: a robot does not move if another robot
+ *     wants the same space, if the space holds a robot which does not
+ *     move away, or if two robots would swap spaces.</li>
+ *     <li>All the moves of the step are committed together.</li>
+ * </ol>
+ * <p>When every step is done, the robots are rotated. Robots are never pushed. The state is kept in primitive arrays which
+ * are reused between tiers, so resolving a tier does not allocate unless
+ * more robots than ever before are moved. The result does not depend on
+ * the order in which the hazards are added.</p>
+ * <p>Push panels are not resolved here, as they are supposed to push
+ * robots; see {@link #isResolvable(MoveHazardController)}.</p>
+ */
+public class MoveHazardResolver {
+	/**
+	 * <p>The number of robots added since the last resolution.</p>
+	 */
+	private int size = 0;
+
+	private Player[] players = new Player[8];
+	private MoveHazard[] hazards = new MoveHazard[8];
+	/**
+	 * <p>The index of the space each robot starts the current step on.</p>
+	 *
+	 * @see Board#getSpaceIndex(Space)
+	 */
+	private int[] from = new int[8];
+	/**
+	 * <p>The index of the space each robot would end the
+	 * current step on if it was not blocked by other robots.</p>
+	 *
+	 * @see Board#getSpaceIndex(Space)
+	 */
+	private int[] intended = new int[8];
+	/**
+	 * <p>The index of the space each robot ends the current step
+	 * on. Identical to {@link #from} if the robot is blocked.</p>
+	 *
+	 * @see Board#getSpaceIndex(Space)
+	 */
+	private int[] to = new int[8];
+
+	/**
+	 * <p>Whether the specified controller can be resolved by a
+	 * resolver. This is the case for conveyor belts and gears,
+	 * but not for push panels.</p>
+	 *
+	 * @param controller the controller to check
+	 * @return true if the controller can be added to a resolver
+	 */
+	public static boolean isResolvable(@NotNull MoveHazardController controller) {
+		return controller.getBoardElement().getMoveHazardType() != MoveHazardType.PUSH_PANEL;
+	}
+
+	/**
+	 * <p>Adds the robot on the space of the hazard of the specified
+	 * controller, if any, to the robots to be moved in this tier.</p>
+	 *
+	 * @param controller the controller of the hazard to resolve
+	 */
+	public void add(@NotNull MoveHazardController controller) {
+		MoveHazard hazard = controller.getBoardElement();
+		Space space = hazard.getSpace();
+		if (space == null || space.getPlayer() == null) return;
+		for (int i = 0; i < size; i++) {
+			if (players[i] == space.getPlayer()) return; //Only one hazard of a tier may move a robot
+		}
+		ensureCapacity(size + 1);
+		players[size] = space.getPlayer();
+		hazards[size] = hazard;
+		size++;
+	}
+
+	/**
+	 * <p>Moves and rotates all the added robots simultaneously
+	 * and clears the resolver for the next tier.</p>
+	 *
+	 * @param board the board the robots are on
+	 */
+	public void resolve(@NotNull Board board) {
+		if (size == 0) return;
+		int steps = 0;
+		for (int i = 0; i < size; i++) steps = Math.max(steps, Math.abs(hazards[i].getDistance()));
+		for (int step = 0; step < steps; step++) {
+			computeDestinations(board, step);
+			resolveConflicts(board);
+			commit(board);
+		}
+		for (int i = 0; i < size; i++) {
+			players[i].playerController.turn(hazards[i].getRotation());
+		}
+		for (int i = 0; i < size; i++) {
+			players[i] = null;
+			hazards[i] = null;
+		}
+		size = 0;
+	}
+
+	/**
+	 * <p>Computes the space every robot intends to move to in the
+	 * specified step ignoring other robots. A robot whose hazard does
+	 * not move it that far stays on its space.</p>
+	 *
+	 * @param board the board the robots are on
+	 * @param step  the number of spaces the robots have been moved so far
+	 */
+	private void computeDestinations(@NotNull Board board, int step) {
+		for (int i = 0; i < size; i++) {
+			from[i] = board.getSpaceIndex(players[i].getSpace());
+			intended[i] = from[i];
+			Heading direction = hazards[i].getDirection();
+			int distance = hazards[i].getDistance();
+			if (distance < 0) {
+				direction = direction == null ? null : direction.opposite();
+				distance = -distance;
+			}
+			if (step < distance && direction != null) {
+				Space next = board.getNeighbour(board.getSpace(from[i]), direction);
+				if (next != null) intended[i] = board.getSpaceIndex(next);
+			}
+			to[i] = intended[i];
+		}
+	}
+
+	/**
+	 * <p>Blocks every robot whose move conflicts with another robot
+	 * until no conflicts remain. As a blocked robot may block the
+	 * robots moving onto its space, this is repeated until nothing
+	 * changes, which happens after at most {@link #size} passes.</p>
+	 *
+	 * @param board the board the robots are on
+	 */
+	private void resolveConflicts(@NotNull Board board) {
+		boolean changed = true;
+		while (changed) {
+			changed = false;
+			for (int i = 0; i < size; i++) {
+				if (to[i] == from[i]) continue;
+				if (isBlocked(board, i)) {
+					to[i] = from[i];
+					changed = true;
+				}
+			}
+		}
+	}
+
+	/**
+	 * <p>Returns whether the move of the i'th robot is blocked.</p>
+	 */
+	private boolean isBlocked(@NotNull Board board, int i) {
+		boolean destinationVacated = false;
+		for (int j = 0; j < size; j++) {
+			if (j == i) continue;
+			if (intended[j] == intended[i]) return true; //Both want the same space
+			if (from[j] == to[i]) {
+				if (to[j] == from[j]) return true; //j stays on the space
+				if (to[j] == from[i]) return true; //The robots would swap places
+				destinationVacated = true;
+			}
+		}
+		return !destinationVacated && board.getSpace(to[i]).getPlayer() != null;
+	}
+
+	/**
+	 * <p>Moves all the robots to their destination of the step at once.</p>
+	 *
+	 * @param board the board the robots are on
+	 */
+	private void commit(@NotNull Board board) {
+		for (int i = 0; i < size; i++) {
+			if (to[i] != from[i]) players[i].setSpace(null);
+		}
+		for (int i = 0; i < size; i++) {
+			if (to[i] != from[i]) players[i].setSpace(board.getSpace(to[i]));
+		}
+	}
+
+	/**
+	 * <p>Makes sure the arrays can hold at least the specified number of robots.</p>
+	 */
+	private void ensureCapacity(int capacity) {
+		if (capacity <= from.length) return;
+		int newCapacity = Math.max(capacity, from.length * 2);
+		Player[] newPlayers = new Player[newCapacity];
+		System.arraycopy(players, 0, newPlayers, 0, size);
+		players = newPlayers;
+		MoveHazard[] newHazards = new MoveHazard[newCapacity];
+		System.arraycopy(hazards, 0, newHazards, 0, size);
+		hazards = newHazards;
+		from = Arrays.copyOf(from, newCapacity);
+		intended = Arrays.copyOf(intended, newCapacity);
+		to = Arrays.copyOf(to, newCapacity);
+	}
+}
@@ -0,0 +1,79 @@
+package dk.dtu.compute.se.pisd.roborally.dal;
+
+import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
+
+import java.time.Instant;
+
+/**
+ * <p>The criteria a saved game must meet to be found by
+ * {@link IRepository#findGames(GameFilter, Integer, int)}.
+ * A criterion which is null is not applied, so a new filter
+ * matches every game. The setters return the filter itself
+ * so that criteria can be chained.</p>
+ */
+public class GameFilter {
+	private String namePrefix;
+	private String boardName;
+	private Phase phase;
+	/**
+	 * <p>The earliest time, inclusive, the game may have been saved.</p>
+	 */
+	private Instant modifiedAfter;
+	/**
+	 * <p>The time, exclusive, the game must have been saved before.</p>
+	 */
+	private Instant modifiedBefore;
+
+	public String getNamePrefix() {
+		return namePrefix;
+	}
+
+	/**
+	 * <p>Only games whose name starts with the specified
+	 * prefix are found. The prefix is case sensitive unless
+	 * the collation of the database is not.</p>
+	 *
+	 * @param namePrefix the start of the name of the games
+	 * @return this filter
+	 */
+	public GameFilter setNamePrefix(String namePrefix) {
+		this.namePrefix = namePrefix;
+		return this;
+	}
+
+	public String getBoardName() {
+		return boardName;
+	}
+
+	public GameFilter setBoardName(String boardName) {
+		this.boardName = boardName;
+		return this;
+	}
+
+	public Phase getPhase() {
+		return phase;
+	}
+
+	public GameFilter setPhase(Phase phase) {
+		this.phase = phase;
+		return this;
+	}
+
+	public Instant getModifiedAfter() {
+		return modifiedAfter;
+	}
+
+	public GameFilter setModifiedAfter(Instant modifiedAfter) {
+		this.modifiedAfter = modifiedAfter;
+		return this;
+	}
+
+	public Instant getModifiedBefore() {
+		return modifiedBefore;
+	}
+
+	public GameFilter setModifiedBefore(Instant modifiedBefore) {
+		this.modifiedBefore = modifiedBefore;
+		return this;
+	}
+}
@@ -21,6 +21,10 @@
  */
 package dk.dtu.compute.se.pisd.roborally.dal;
 
+import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
+
+import java.time.Instant;
+
 /**
  * ...
  *
@@ -31,10 +35,25 @@ public class GameInDB {
 
 	public final int id;
 	public final String name;
+	/**
+	 * <p>The name of the board of the game, the phase of the game
+	 * and when the game was last saved. These are null if the game
+	 * was not found by {@link IRepository#findGames(GameFilter, Integer, int)}.</p>
+	 */
+	public final String boardName;
+	public final Phase phase;
+	public final Instant lastModified;
 
 	public GameInDB(int id, String name) {
+		this(id, name, null, null, null);
+	}
+
+	public GameInDB(int id, String name, String boardName, Phase phase, Instant lastModified) {
 		this.id = id;
 		this.name = name;
+		this.boardName = boardName;
+		this.phase = phase;
+		this.lastModified = lastModified;
 	}
 
 	@Override
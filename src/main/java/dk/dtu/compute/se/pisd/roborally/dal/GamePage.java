@@ -0,0 +1,28 @@
+package dk.dtu.compute.se.pisd.roborally.dal;
+
+import java.util.List;
+
+/**
+ * <p>A page of saved games found by
+ * {@link IRepository#findGames(GameFilter, Integer, int)},
+ * newest first.</p>
+ */
+public class GamePage {
+	public final List<GameInDB> games;
+	/**
+	 * <p>The page to pass to {@link IRepository#findGames(GameFilter, Integer, int)}
+	 * to get the games following this page, or null if this is the last page.
+	 * It is the id of the last game of this page, so pages do not shift when
+	 * games are saved while paging.</p>
+	 */
+	public final Integer nextPage;
+
+	public GamePage(List<GameInDB> games, Integer nextPage) {
+		this.games = games;
+		this.nextPage = nextPage;
+	}
+
+	public boolean hasNextPage() {
+		return nextPage != null;
+	}
+}
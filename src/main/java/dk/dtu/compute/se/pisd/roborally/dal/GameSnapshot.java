@@ -0,0 +1,205 @@
+package dk.dtu.compute.se.pisd.roborally.dal;
+
+import dk.dtu.compute.se.pisd.roborally.model.CardZone;
+import dk.dtu.compute.se.pisd.roborally.model.CommandCard;
+import dk.dtu.compute.se.pisd.roborally.model.CommandCardField;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>An immutable copy of the state of a {@link Game} which is saved
+ * in the database, together with what had changed since the game was
+ * last saved. A snapshot is taken on the thread playing the game, and
+ * may then be written to the database on any thread while the game
+ * goes on.</p>
+ * <p>The arrays of a snapshot must not be modified.</p>
+ */
+public final class GameSnapshot {
+	/**
+	 * <p>The id of the game when the snapshot was taken,
+	 * or null if the game had not been saved.</p>
+	 */
+	public final Integer gameId;
+	public final String boardName;
+	public final int phase;
+	public final int step;
+	/**
+	 * <p>The number of the current player, or -1 if there is none.</p>
+	 */
+	public final int currentPlayer;
+	/**
+	 * <p>The numbers of the players in the activation queue.</p>
+	 *
+	 * @see Game#getPlayerActivationQueue()
+	 */
+	public final int[] activationQueue;
+	public final PlayerSnapshot[] players;
+	/**
+	 * @see Game#isDirty()
+	 */
+	public final boolean dirty;
+	/**
+	 * @see Game#isActivationQueueDirty()
+	 */
+	public final boolean activationQueueDirty;
+
+	/**
+	 * <p>An immutable copy of the state of a {@link Player}. A card is
+	 * represented by its command, and an empty card field by null.</p>
+	 */
+	public static final class PlayerSnapshot {
+		public final String name;
+		public final String color;
+		public final int x;
+		public final int y;
+		public final int heading;
+		public final int energyCubes;
+		public final Command[] program;
+		public final Command[] hand;
+		public final Command[] deck;
+		public final Command[] discardPile;
+		/**
+		 * @see Player#isDirty()
+		 */
+		public final boolean dirty;
+		/**
+		 * <p>Whether each field of the program or hand has changed.</p>
+		 *
+		 * @see CommandCardField#isDirty()
+		 */
+		public final boolean[] programDirty, handDirty;
+		public final boolean deckDirty, discardPileDirty;
+
+		private PlayerSnapshot(Player player) {
+			name = player.getName();
+			color = player.getColor();
+			x = player.getSpace().x;
+			y = player.getSpace().y;
+			heading = player.getDirection().ordinal();
+			energyCubes = player.getEnergyCubes();
+			program = commands(player.getProgram());
+			hand = commands(player.getHand());
+			deck = commands(player.getDeck());
+			discardPile = commands(player.getDiscardPile());
+			dirty = player.isDirty();
+			programDirty = dirty(player.getProgram());
+			handDirty = dirty(player.getHand());
+			deckDirty = player.isDeckDirty();
+			discardPileDirty = player.isDiscardPileDirty();
+		}
+
+		private PlayerSnapshot(PlayerSnapshot newer, PlayerSnapshot older) {
+			name = newer.name;
+			color = newer.color;
+			x = newer.x;
+			y = newer.y;
+			heading = newer.heading;
+			energyCubes = newer.energyCubes;
+			program = newer.program;
+			hand = newer.hand;
+			deck = newer.deck;
+			discardPile = newer.discardPile;
+			dirty = newer.dirty || older.dirty;
+			programDirty = or(newer.programDirty, older.programDirty);
+			handDirty = or(newer.handDirty, older.handDirty);
+			deckDirty = newer.deckDirty || older.deckDirty;
+			discardPileDirty = newer.discardPileDirty || older.discardPileDirty;
+		}
+
+		private static Command[] commands(CommandCardField[] fields) {
+			Command[] commands = new Command[fields.length];
+			for (int i = 0; i < fields.length; i++) {
+				CommandCard card = fields[i].getCard();
+				commands[i] = card == null ? null : card.command;
+			}
+			return commands;
+		}
+
+		private static Command[] commands(CardZone cards) {
+			return cards.toArray();
+		}
+
+		private static boolean[] dirty(CommandCardField[] fields) {
+			boolean[] dirty = new boolean[fields.length];
+			for (int i = 0; i < fields.length; i++) dirty[i] = fields[i].isDirty();
+			return dirty;
+		}
+
+		private static boolean[] or(boolean[] a, boolean[] b) {
+			boolean[] result = new boolean[a.length];
+			for (int i = 0; i < a.length; i++) result[i] = a[i] || (i < b.length && b[i]);
+			return result;
+		}
+	}
+
+	private GameSnapshot(Game game) {
+		gameId = game.getGameId();
+		boardName = game.getBoard().getBoardName();
+		phase = game.getPhase().ordinal();
+		step = game.getStep();
+		currentPlayer = game.getCurrentPlayer() == null ? -1 : game.getPlayerNumber(game.getCurrentPlayer());
+		Player[] queue = game.getPlayerActivationQueue();
+		activationQueue = new int[queue.length];
+		for (int i = 0; i < queue.length; i++) activationQueue[i] = game.getPlayerNumber(queue[i]);
+		players = new PlayerSnapshot[game.getNumPlayers()];
+		for (int i = 0; i < players.length; i++) players[i] = new PlayerSnapshot(game.getPlayer(i));
+		dirty = game.isDirty();
+		activationQueueDirty = game.isActivationQueueDirty();
+	}
+
+	private GameSnapshot(GameSnapshot newer, GameSnapshot older) {
+		gameId = newer.gameId != null ? newer.gameId : older.gameId;
+		boardName = newer.boardName;
+		phase = newer.phase;
+		step = newer.step;
+		currentPlayer = newer.currentPlayer;
+		activationQueue = newer.activationQueue;
+		players = new PlayerSnapshot[newer.players.length];
+		for (int i = 0; i < players.length; i++) {
+			players[i] = i < older.players.length ? new PlayerSnapshot(newer.players[i], older.players[i]) : newer.players[i];
+		}
+		dirty = newer.dirty || older.dirty;
+		activationQueueDirty = newer.activationQueueDirty || older.activationQueueDirty;
+	}
+
+	/**
+	 * <p>Takes a snapshot of the specified game. The game is not
+	 * marked as clean; see {@link Game#markClean()}.</p>
+	 *
+	 * @param game the game to take a snapshot of
+	 * @return the snapshot of the game
+	 */
+	public static GameSnapshot of(@NotNull Game game) {
+		return new GameSnapshot(game);
+	}
+
+	/**
+	 * <p>Returns a snapshot of the state of this snapshot, in which
+	 * everything that changed before either this or the specified older
+	 * snapshot has changed. Saving the result saves the changes of both
+	 * snapshots, so the older snapshot need not be saved.</p>
+	 *
+	 * @param older an older snapshot of the same game
+	 * @return the snapshot of the changes of both snapshots
+	 */
+	public GameSnapshot mergeWith(@NotNull GameSnapshot older) {
+		return new GameSnapshot(this, older);
+	}
+
+	/**
+	 * <p>Returns whether anything had changed when the snapshot was taken.</p>
+	 *
+	 * @return true if the snapshot needs to be saved
+	 */
+	public boolean isDirty() {
+		if (dirty || activationQueueDirty) return true;
+		for (PlayerSnapshot player : players) {
+			if (player.dirty || player.deckDirty || player.discardPileDirty) return true;
+			for (boolean fieldDirty : player.programDirty) if (fieldDirty) return true;
+			for (boolean fieldDirty : player.handDirty) if (fieldDirty) return true;
+		}
+		return false;
+	}
+}
@@ -50,4 +50,17 @@ public interface IRepository {
 	
 	List<GameInDB> getGames();
 
+	/**
+	 * <p>Finds a page of the saved games matching the specified
+	 * filter, newest first. The pages are keyset paginated: rather
+	 * than a page number, the page is the {@link GamePage#nextPage}
+	 * of the previous page, or null for the first page.</p>
+	 *
+	 * @param filter   the criteria of the games, or null for all games
+	 * @param page     the page to find or null for the first page
+	 * @param pageSize the maximum number of games of the page
+	 * @return the page, which is empty if the games could not be found
+	 */
+	GamePage findGames(GameFilter filter, Integer page, int pageSize);
+
 }
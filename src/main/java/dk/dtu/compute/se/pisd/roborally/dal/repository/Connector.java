@@ -21,82 +21,214 @@
  */
 package dk.dtu.compute.se.pisd.roborally.dal.repository;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import dk.dtu.compute.se.pisd.roborally.fileaccess.IOUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Properties;
 
 /**
- *
+ * <p>Provides the connections to the database through a pool of
+ * connections. Every operation on the database should get its own
+ * connection from {@link #getConnection()} and close it when done,
+ * which returns it to the pool. This way several games may access
+ * the database at once without sharing a connection.</p>
+ * <p>The database and the pool are configured by the resource
+ * {@value #CONFIGURATION}. Each of its properties can be overridden by
+ * a system property of the same name, e.g. {@code -Ddb.url=...}. If
+ * the configured database cannot be reached, the connector cannot be
+ * created, unless {@value #FALLBACK} is true, in which case an embedded
+ * in-memory database is used instead. As nothing saved in the embedded
+ * database outlives the application, the fallback is meant for local
+ * runs and tests, e.g. with {@code -Ddb.fallback=true}.</p>
  *
  * @author Ekkart Kindler, ekki@dtu.dk
- *
  */
 class Connector {
-    private static final String HOST     = "38.17.53.108";
-    private static final int    PORT     = 29440;
-	private static final String DATABASE = "roborally";
-	//Todo: this probably should not be hardcoded
-	private static final String USERNAME = "jaman";
-	private static final String PASSWORD = "Bacon1234";
-
-    private static final String DELIMITER = ";;";
-    
-    private Connection connection;
-
-    private static Connector connector = null;
-
-    static Connector getInstance(){
-    	if (connector == null) connector = new Connector();
-    	return connector;
+	static final String CONFIGURATION = "database.properties";
+
+	static final String URL = "db.url";
+	static final String USERNAME = "db.username";
+	static final String PASSWORD = "db.password";
+	static final String SCHEMA = "db.schema";
+	static final String FALLBACK = "db.fallback";
+	static final String POOL_MAXIMUM_SIZE = "db.pool.maximumSize";
+	static final String POOL_MINIMUM_IDLE = "db.pool.minimumIdle";
+	static final String POOL_IDLE_TIMEOUT = "db.pool.idleTimeout";
+	static final String POOL_CONNECTION_TIMEOUT = "db.pool.connectionTimeout";
+	static final String POOL_VALIDATION_TIMEOUT = "db.pool.validationTimeout";
+
+	/**
+	 * <p>The URL of the embedded database used when
+	 * the configured one cannot be reached.</p>
+	 */
+	static final String FALLBACK_URL = "jdbc:h2:mem:roborally;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+	private static final String DELIMITER = ";;";
+
+	private final HikariDataSource dataSource;
+	/**
+	 * <p>Why the configured database could not be reached, if
+	 * the embedded database is used instead, otherwise null.</p>
+	 */
+	private final RuntimeException connectionFailure;
+
+	private static Connector connector = null;
+
+	static synchronized Connector getInstance() {
+		if (connector == null) connector = new Connector(loadConfiguration());
+		return connector;
 	}
-    private Connector() {
-		try {
-			String url = "jdbc:mariadb://" + HOST + ":" + PORT + "/" + DATABASE;
-			connection = DriverManager.getConnection(url, USERNAME, PASSWORD);
 
-			createDatabaseSchema();
+	/**
+	 * <p>Creates a connector to the database described by the specified
+	 * properties and creates the schema of the database, if needed.</p>
+	 *
+	 * @param properties the configuration of the database and the pool
+	 * @throws IllegalStateException if the database cannot be reached and
+	 *                               the fallback is not enabled, or if the
+	 *                               schema cannot be created
+	 */
+	Connector(@NotNull Properties properties) {
+		HikariDataSource dataSource;
+		Properties used = properties;
+		RuntimeException connectionFailure = null;
+		String url = properties.getProperty(URL, FALLBACK_URL);
+		try {
+			dataSource = createDataSource(properties, url);
+		} catch (RuntimeException e) {
+			if (!Boolean.parseBoolean(properties.getProperty(FALLBACK, "false"))) {
+				throw new IllegalStateException("Could not connect to the database at " + url, e);
+			}
+			connectionFailure = e;
+			Properties fallback = new Properties();
+			fallback.putAll(properties);
+			fallback.remove(USERNAME);
+			fallback.remove(PASSWORD);
+			fallback.remove(SCHEMA);
+			used = fallback;
+			dataSource = createDataSource(fallback, FALLBACK_URL);
+		}
+		this.dataSource = dataSource;
+		this.connectionFailure = connectionFailure;
+		try {
+			createDatabaseSchema(getSchema(used, dataSource.getJdbcUrl()));
 		} catch (SQLException e) {
-			// TODO we should try to diagnose and fix some problems here and
-			//      exit in a more graceful way
+			dataSource.close();
+			throw new IllegalStateException("Could not create the schema of the database at " + dataSource.getJdbcUrl(), e);
+		}
+	}
+
+	/**
+	 * <p>Reads the configuration from the resource {@value #CONFIGURATION},
+	 * if it exists, and applies the system properties on top of it.</p>
+	 *
+	 * @return the configuration of the database
+	 */
+	private static Properties loadConfiguration() {
+		Properties properties = new Properties();
+		try (InputStream in = Connector.class.getClassLoader().getResourceAsStream(CONFIGURATION)) {
+			if (in != null) properties.load(in);
+		} catch (IOException e) {
 			e.printStackTrace();
-			// Platform.exit();
 		}
-    }
-    
-    private void createDatabaseSchema() {
-
-    	String createTablesStatement =
-				IOUtil.readResource("schemas/createschema.sql");
-
-    	try {
-    		connection.setAutoCommit(false);
-    		Statement statement = connection.createStatement();
-    		for (String sql : createTablesStatement.split(DELIMITER)) {
-    			if (sql != null && !sql.isBlank()) {
-    				statement.executeUpdate(sql);
-    			}
-    		}
-
-    		statement.close();
-    		connection.commit();
-    	} catch (SQLException e) {
-    		e.printStackTrace();
-    		// TODO error handling
-    		try {
+		for (String name : System.getProperties().stringPropertyNames()) {
+			if (name.startsWith("db.")) properties.setProperty(name, System.getProperty(name));
+		}
+		return properties;
+	}
+
+	private static HikariDataSource createDataSource(@NotNull Properties properties, @NotNull String url) {
+		HikariConfig config = new HikariConfig();
+		config.setPoolName("roborally");
+		config.setJdbcUrl(url);
+		config.setUsername(properties.getProperty(USERNAME));
+		config.setPassword(properties.getProperty(PASSWORD));
+		config.setMaximumPoolSize(Integer.parseInt(properties.getProperty(POOL_MAXIMUM_SIZE, "10")));
+		config.setMinimumIdle(Integer.parseInt(properties.getProperty(POOL_MINIMUM_IDLE, "1")));
+		config.setIdleTimeout(Long.parseLong(properties.getProperty(POOL_IDLE_TIMEOUT, "600000")));
+		config.setConnectionTimeout(Long.parseLong(properties.getProperty(POOL_CONNECTION_TIMEOUT, "5000")));
+		config.setValidationTimeout(Long.parseLong(properties.getProperty(POOL_VALIDATION_TIMEOUT, "3000")));
+		// Fail at once, rather than on the first save, if the database cannot be reached
+		config.setInitializationFailTimeout(1);
+		return new HikariDataSource(config);
+	}
+
+	/**
+	 * <p>Returns the resource holding the schema for the database with
+	 * the specified URL. The embedded database does not accept the
+	 * MySQL specific statements of the default schema.</p>
+	 */
+	private static String getSchema(@NotNull Properties properties, @NotNull String url) {
+		String schema = properties.getProperty(SCHEMA);
+		if (schema != null) return schema;
+		return url.startsWith("jdbc:h2:") ? "schemas/createschema-h2.sql" : "schemas/createschema.sql";
+	}
+
+	/**
+	 * <p>Creates the tables of the specified schema, if they do not
+	 * exist, in a single transaction, which is rolled back on failure.</p>
+	 *
+	 * @throws SQLException if the schema could not be created
+	 */
+	private void createDatabaseSchema(@NotNull String schema) throws SQLException {
+
+		String createTablesStatement = IOUtil.readResource(schema);
+
+		try (Connection connection = getConnection()) {
+			connection.setAutoCommit(false);
+			try (Statement statement = connection.createStatement()) {
+				for (String sql : createTablesStatement.split(DELIMITER)) {
+					if (sql != null && !sql.isBlank()) {
+						statement.executeUpdate(sql);
+					}
+				}
+				connection.commit();
+			} catch (SQLException e) {
 				connection.rollback();
-			} catch (SQLException e1) {}
-    	} finally {
-			try {
-				connection.setAutoCommit(true);
-			} catch (SQLException e) {}
+				throw e;
+			}
 		}
-    }
-    
-    Connection getConnection() {
-    	return connection; 
-    }
-    
+	}
+
+	/**
+	 * <p>Returns a connection from the pool. The connection
+	 * must be closed by the caller to return it to the pool.</p>
+	 *
+	 * @return a connection to the database
+	 * @throws SQLException if no connection could be obtained in time
+	 */
+	Connection getConnection() throws SQLException {
+		return dataSource.getConnection();
+	}
+
+	DataSource getDataSource() {
+		return dataSource;
+	}
+
+	/**
+	 * <p>Returns why the configured database could not be reached,
+	 * if the embedded database is used instead.</p>
+	 *
+	 * @return the failure to connect or null if the configured database is used
+	 */
+	@Nullable
+	RuntimeException getConnectionFailure() {
+		return connectionFailure;
+	}
+
+	/**
+	 * <p>Closes all the connections of the pool.</p>
+	 */
+	void close() {
+		dataSource.close();
+	}
 }
@@ -1,5 +1,7 @@
 package dk.dtu.compute.se.pisd.roborally.dal.repository;
 
+import dk.dtu.compute.se.pisd.roborally.dal.GameFilter;
+
 /**
  * <p>Collection of database constants used by the repository.</p>
  *
@@ -20,6 +22,7 @@ class DatabaseConstants {
 	static final String GAME_CURRENTPLAYER = "currentPlayer";
 	static final String GAME_PHASE = "phase";
 	static final String GAME_STEP = "step";
+	static final String GAME_LAST_MODIFIED = "lastModified";
 
 	/*Player*/
 	static final String PLAYER_PLAYERID = "playerID";
@@ -30,6 +33,11 @@ class DatabaseConstants {
 	static final String PLAYER_POSITION_Y = "positionY";
 	static final String PLAYER_HEADING = "heading";
 	static final String PLAYER_ENERGY_CUBES = "energyCubes";
+	/**
+	 * <p>The label of the name of the player in joins with the game,
+	 * as both the game and the player have a name.</p>
+	 */
+	static final String PLAYER_NAME_ALIAS = "playerName";
 
 	/*Activation queue*/
 	static final String ACTIVATION_QUEUE_GAMEID = GAME_GAMEID;
@@ -61,26 +69,108 @@ class DatabaseConstants {
 	 */
 	static final String SQL_INSERT_CARD_COMMAND_STATEMENT = "INSERT INTO " + TABLE_CARD_COMMAND + "(" + CARD_COMMAND_CARD_ID + ", " + CARD_COMMAND + ") VALUES(?, ?)";
 
+	static final String SQL_INSERT_GAME = "INSERT INTO Game(name, boardName, currentPlayer, phase, step) VALUES (?, ?, ?, ?, ?)";
+	static final String SQL_SELECT_GAME = "SELECT * FROM Game WHERE gameID = ?";
+	static final String SQL_UPDATE_GAME = "UPDATE " + TABLE_GAME + " SET " + GAME_CURRENTPLAYER + " = ?, " + GAME_PHASE + " = ?, "
+			+ GAME_STEP + " = ?, " + GAME_LAST_MODIFIED + " = CURRENT_TIMESTAMP WHERE " + GAME_GAMEID + " = ?";
 	/**
-	 * <p>The SQL command for selecting the cards
-	 * associated with a specific player ín the database.</p>
+	 * <p>The SQL command for setting the time a game was last
+	 * saved, when only its players or cards have changed.</p>
 	 */
-	static final String SQL_SELECT_CARD_STATEMENT = "SELECT * FROM Card WHERE gameID = ? AND playerID = ? ORDER BY type, position ASC";
+	static final String SQL_TOUCH_GAME = "UPDATE " + TABLE_GAME + " SET " + GAME_LAST_MODIFIED + " = CURRENT_TIMESTAMP WHERE "
+			+ GAME_GAMEID + " = ?";
+	static final String SQL_SELECT_GAMES = "SELECT gameID, name FROM Game";
 
 	/**
-	 * <p>The SQL command for selecting the commands
-	 * associated with a specific card ín the database.</p>
+	 * <p>The character escaping the wildcards of the
+	 * name prefix in {@link #sqlFindGames(GameFilter, boolean)}.</p>
 	 */
-	static final String SQL_SELECT_CARD_COMMAND_STATEMENT = "SELECT * FROM CardCommand WHERE cardID = ?";
+	static final char LIKE_ESCAPE = '!';
 
 	/**
-	 * <p>The SQL command for selecting the activation queue
-	 * associated with a specific game ín the database.</p>
+	 * <p>Returns the SQL command for finding a page of the games
+	 * matching the specified filter, newest first. The parameters
+	 * are the criteria of the filter which are not null, in the
+	 * order name prefix, board name, phase, modified after and
+	 * modified before, followed by the gameID the page starts
+	 * after, if any, and the number of games to select.</p>
+	 *
+	 * @param filter     the filter of the games, may be null
+	 * @param afterGame  whether the page starts after a given gameID
+	 * @return the SQL command for finding the games
 	 */
-	static final String SQL_SELECT_ACTIVATION_QUEUE = "SELECT * FROM ActivationQueue WHERE gameID = ? ORDER BY priority ASC";
-	static final String SQL_INSERT_GAME = "INSERT INTO Game(name, boardName, currentPlayer, phase, step) VALUES (?, ?, ?, ?, ?)";
-	static final String SQL_SELECT_GAME = "SELECT * FROM Game WHERE gameID = ?";
-	static final String SQL_SELECT_PLAYERS = "SELECT * FROM Player WHERE gameID = ?";
-	static final String SQL_SELECT_PLAYERS_ASC = "SELECT * FROM Player WHERE gameID = ? ORDER BY playerID ASC";
-	static final String SQL_SELECT_GAMES = "SELECT gameID, name FROM Game";
+	static String sqlFindGames(GameFilter filter, boolean afterGame) {
+		StringBuilder sql = new StringBuilder("SELECT " + GAME_GAMEID + ", " + GAME_NAME + ", " + GAME_BOARD_NAME + ", "
+				+ GAME_PHASE + ", " + GAME_LAST_MODIFIED + " FROM " + TABLE_GAME + " WHERE 1 = 1");
+		if (filter != null) {
+			if (filter.getNamePrefix() != null) sql.append(" AND " + GAME_NAME + " LIKE ? ESCAPE '" + LIKE_ESCAPE + "'");
+			if (filter.getBoardName() != null) sql.append(" AND " + GAME_BOARD_NAME + " = ?");
+			if (filter.getPhase() != null) sql.append(" AND " + GAME_PHASE + " = ?");
+			if (filter.getModifiedAfter() != null) sql.append(" AND " + GAME_LAST_MODIFIED + " >= ?");
+			if (filter.getModifiedBefore() != null) sql.append(" AND " + GAME_LAST_MODIFIED + " < ?");
+		}
+		if (afterGame) sql.append(" AND " + GAME_GAMEID + " < ?");
+		sql.append(" ORDER BY " + GAME_GAMEID + " DESC LIMIT ?");
+		return sql.toString();
+	}
+
+	/**
+	 * <p>The SQL command for selecting a game joined with all its
+	 * players in ascending order of their ids. The priority of a
+	 * player is null if the player is not in the activation queue.
+	 * A game without players gives a single row with null players.</p>
+	 */
+	static final String SQL_SELECT_GAME_WITH_PLAYERS = "SELECT g." + GAME_BOARD_NAME + ", g." + GAME_PHASE + ", g." + GAME_STEP
+			+ ", g." + GAME_CURRENTPLAYER + ", p." + PLAYER_PLAYERID + ", p." + PLAYER_NAME + " AS " + PLAYER_NAME_ALIAS
+			+ ", p." + PLAYER_COLOUR + ", p." + PLAYER_POSITION_X + ", p." + PLAYER_POSITION_Y + ", p." + PLAYER_HEADING
+			+ ", p." + PLAYER_ENERGY_CUBES + ", q." + ACTIVATION_QUEUE_PRIORITY
+			+ " FROM " + TABLE_GAME + " g"
+			+ " LEFT JOIN " + TABLE_PLAYER + " p ON p." + PLAYER_GAMEID + " = g." + GAME_GAMEID
+			+ " LEFT JOIN " + TABLE_ACTIVATION_QUEUE + " q ON q." + ACTIVATION_QUEUE_GAMEID + " = p." + PLAYER_GAMEID
+			+ " AND q." + ACTIVATION_QUEUE_PLAYERID + " = p." + PLAYER_PLAYERID
+			+ " WHERE g." + GAME_GAMEID + " = ? ORDER BY p." + PLAYER_PLAYERID + " ASC";
+
+	/**
+	 * <p>The SQL command for selecting all the cards of a game
+	 * joined with their commands, ordered by player, type and
+	 * position.</p>
+	 */
+	static final String SQL_SELECT_CARDS_WITH_COMMANDS = "SELECT c." + CARD_PLAYERID + ", c." + CARD_TYPE + ", c." + CARD_POSITION
+			+ ", cc." + CARD_COMMAND + " FROM " + TABLE_CARD + " c"
+			+ " JOIN " + TABLE_CARD_COMMAND + " cc ON cc." + CARD_COMMAND_CARD_ID + " = c." + CARD_CARDID
+			+ " WHERE c." + CARD_GAMEID + " = ? ORDER BY c." + CARD_PLAYERID + ", c." + CARD_TYPE + ", c." + CARD_POSITION + " ASC";
+	static final String SQL_INSERT_PLAYER = "INSERT INTO " + TABLE_PLAYER + "(" + PLAYER_GAMEID + ", " + PLAYER_PLAYERID + ", "
+			+ PLAYER_NAME + ", " + PLAYER_COLOUR + ", " + PLAYER_POSITION_X + ", " + PLAYER_POSITION_Y + ", "
+			+ PLAYER_HEADING + ", " + PLAYER_ENERGY_CUBES + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+	static final String SQL_UPDATE_PLAYER = "UPDATE " + TABLE_PLAYER + " SET " + PLAYER_POSITION_X + " = ?, "
+			+ PLAYER_POSITION_Y + " = ?, " + PLAYER_HEADING + " = ?, " + PLAYER_ENERGY_CUBES + " = ? WHERE "
+			+ PLAYER_GAMEID + " = ? AND " + PLAYER_PLAYERID + " = ?";
+
+	/**
+	 * <p>The SQL command for inserting a card of a player. The
+	 * parameters are the cardID, gameID, playerID, type and position.</p>
+	 */
+	static final String SQL_INSERT_CARD = "INSERT INTO " + TABLE_CARD + "(" + CARD_CARDID + ", " + CARD_GAMEID + ", "
+			+ CARD_PLAYERID + ", " + CARD_TYPE + ", " + CARD_POSITION + ") VALUES (?, ?, ?, ?, ?)";
+
+	/**
+	 * <p>The SQL command for deleting the card at one position of one
+	 * type of a player. The parameters are the gameID, playerID, type and
+	 * position. The card is found by these rather than by its id, as the
+	 * cards of games saved before the ids were derived from them have
+	 * random ids. The commands of the card are deleted by cascade.</p>
+	 */
+	static final String SQL_DELETE_CARD = "DELETE FROM " + TABLE_CARD + " WHERE " + CARD_GAMEID + " = ? AND "
+			+ CARD_PLAYERID + " = ? AND " + CARD_TYPE + " = ? AND " + CARD_POSITION + " = ?";
+
+	/**
+	 * <p>The SQL command for deleting all the cards of one type, e.g. the
+	 * deck, of a player. The parameters are the gameID, playerID and type.</p>
+	 */
+	static final String SQL_DELETE_CARD_PILE = "DELETE FROM " + TABLE_CARD + " WHERE " + CARD_GAMEID + " = ? AND "
+			+ CARD_PLAYERID + " = ? AND " + CARD_TYPE + " = ?";
+
+	static final String SQL_INSERT_ACTIVATION_QUEUE = "INSERT INTO " + TABLE_ACTIVATION_QUEUE + "(" + ACTIVATION_QUEUE_GAMEID + ", "
+			+ ACTIVATION_QUEUE_PLAYERID + ", " + ACTIVATION_QUEUE_PRIORITY + ") VALUES (?, ?, ?)";
+	static final String SQL_DELETE_ACTIVATION_QUEUE = "DELETE FROM " + TABLE_ACTIVATION_QUEUE + " WHERE " + ACTIVATION_QUEUE_GAMEID + " = ?";
 }
\ No newline at end of file
@@ -1,85 +1,77 @@
 package dk.dtu.compute.se.pisd.roborally.dal.repository;
 
+import dk.dtu.compute.se.pisd.roborally.dal.GameFilter;
+
 import java.sql.*;
 
 /**
- * ...
+ * <p>The prepared statements of a single connection. The statements
+ * are prepared when first needed and closed with the connection, so
+ * an instance should only be used for the duration of one operation.</p>
+ *
  * @author Rasmus Nylander, s205418@student.dtu.dk
  */
 class PreparedStatements {
 	private final Connection connection;
 
-	PreparedStatements(Connector connector){
-		connection = connector.getConnection();
+	PreparedStatements(Connection connection){
+		this.connection = connection;
 	}
 
 	/**
-	 * <p>The prepared statement for inserting a
-	 * commands associated with a given card. Setting
-	 * parameter 1 will set the cardID</p>
+	 * <p>The prepared statement for inserting the
+	 * command associated with a given card. Setting
+	 * parameter 1 will set the cardID.</p>
 	 *
-	 * @see #getSelectCardCommandStatement()
+	 * @see #getInsertCardCommandStatement()
 	 */
 	PreparedStatement insertCardCommandStatement = null;
+	PreparedStatement insert_game_stmt = null;
+	PreparedStatement select_game_stmt = null;
+	PreparedStatement select_games_stmt = null;
+	PreparedStatement insertPlayerStatement = null;
+	PreparedStatement updatePlayerStatement = null;
 	/**
-	 * <p>The prepared statement for getting the
-	 * commands associated with a given card. Setting
-	 * parameter 1 will set the cardID</p>
+	 * <p>The prepared statement for inserting a card. It is
+	 * used in batches; see {@link DatabaseConstants#SQL_INSERT_CARD}
+	 * for the parameters.</p>
 	 *
-	 * @see #getSelectCardCommandStatement()
+	 * @see #getInsertCardStatement()
 	 */
-	PreparedStatement selectCardCommandStatement = null;
+	PreparedStatement insertCardStatement = null;
+	PreparedStatement deleteCardStatement = null;
+	PreparedStatement deleteCardPileStatement = null;
+	PreparedStatement updateGameStatement = null;
+	PreparedStatement touchGameStatement = null;
+	PreparedStatement insertActivationQueueStatement = null;
+	PreparedStatement deleteActivationQueueStatement = null;
 	/**
-	 * <p>The prepared statement for getting and updating the
-	 * activation queue associated with a given gameID. Setting
-	 * parameter 1, will set the gameID.</p>
+	 * <p>The read-only prepared statement for getting a game
+	 * joined with its players and their priority in the activation
+	 * queue. Setting parameter 1 will set the gameID.</p>
 	 *
-	 * @see #getSelectActivationQueueStatementUpdatable()
+	 * @see #getSelectGameWithPlayersStatement()
 	 */
-	PreparedStatement selectActivationQueueStatement = null;
-	PreparedStatement insert_game_stmt = null;
-	PreparedStatement select_game_stmt = null;
-	PreparedStatement select_players_stmt = null;
-	PreparedStatement select_players_asc_stmt = null;
-	PreparedStatement select_games_stmt = null;
-
+	PreparedStatement selectGameWithPlayersStatement = null;
 	/**
-	 * <p>The prepared statement for getting and updating the
-	 * cards associated with a given gameID and playerID. Setting
-	 * parameter 1 will set the gameID and setting 2 will set
-	 * playerID.</p>
+	 * <p>The read-only prepared statement for getting all the
+	 * cards of a game joined with their commands. Setting
+	 * parameter 1 will set the gameID.</p>
 	 *
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
-	 * @see #getSelectCardStatementUpdatable()
+	 * @see #getSelectCardsWithCommandsStatement()
 	 */
-	private PreparedStatement selectCardStatement = null;
-
+	PreparedStatement selectCardsWithCommandsStatement = null;
 
-	/**
-	 * @return
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
-	 */
-	PreparedStatement getSelectCardStatementUpdatable() {
-		if (selectCardStatement != null) return selectCardStatement;
-		try {
-			selectCardStatement = connection.prepareStatement(DatabaseConstants.SQL_SELECT_CARD_STATEMENT,
-					ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE);
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
-		return selectCardStatement;
-	}
 
 	/**
 	 * <p>Initializes, if not already initialized, and returns the
-	 * {@link #selectActivationQueueStatement}. Executing the
-	 * statement will return an updatable {@link ResultSet}.</p>
+	 * {@link #insertCardCommandStatement}.</p>
 	 *
-	 * @return the prepared statement for getting and updating
-	 * the player activation associated with a given gameID
+	 * @return the prepared statement for inserting the command
+	 * associated with a given card
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
-	 * @see DatabaseConstants#SQL_SELECT_ACTIVATION_QUEUE
-	 * @see #selectActivationQueueStatement
+	 * @see DatabaseConstants#SQL_INSERT_CARD_COMMAND_STATEMENT
+	 * @see #insertCardCommandStatement
 	 */
 	PreparedStatement getInsertCardCommandStatement() {
 		if (insertCardCommandStatement != null) return insertCardCommandStatement;
@@ -92,43 +84,6 @@ class PreparedStatements {
 		return insertCardCommandStatement;
 	}
 
-	/**
-	 * @return
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
-	 */
-	PreparedStatement getSelectCardCommandStatement() {
-		if (selectCardCommandStatement != null) return selectCardCommandStatement;
-		try {
-			selectCardCommandStatement = connection.prepareStatement(DatabaseConstants.SQL_SELECT_CARD_COMMAND_STATEMENT,
-					ResultSet.TYPE_FORWARD_ONLY);
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
-		return selectCardCommandStatement;
-	}
-
-	/**
-	 * <p>Initializes, if not already initialized, and returns the
-	 * {@link #selectActivationQueueStatement}. Executing the
-	 * statement will return an updatable {@link ResultSet}.</p>
-	 *
-	 * @return the prepared statement for getting and updating
-	 * the player activation associated with a given gameID
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
-	 * @see DatabaseConstants#SQL_SELECT_ACTIVATION_QUEUE
-	 * @see #selectActivationQueueStatement
-	 */
-	PreparedStatement getSelectActivationQueueStatementUpdatable() {
-		if (selectActivationQueueStatement != null) return selectActivationQueueStatement;
-		try {
-			selectActivationQueueStatement = connection.prepareStatement(DatabaseConstants.SQL_SELECT_ACTIVATION_QUEUE,
-					ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_UPDATABLE);
-		} catch (SQLException e) {
-			e.printStackTrace();
-		}
-		return selectActivationQueueStatement;
-	}
-
 	PreparedStatement getInsertGameStatementRGK() {
 		if (insert_game_stmt != null) return insert_game_stmt;
 		try {
@@ -156,43 +111,185 @@ class PreparedStatements {
 		return select_game_stmt;
 	}
 
-	PreparedStatement getSelectPlayersStatementU() {
-		if (select_players_stmt != null) return select_players_stmt;
+	PreparedStatement getSelectGameIdsStatement() {
+		if (select_games_stmt != null) return select_games_stmt;
 		try {
-			select_players_stmt = connection.prepareStatement(
-					DatabaseConstants.SQL_SELECT_PLAYERS,
-					ResultSet.TYPE_FORWARD_ONLY,
-					ResultSet.CONCUR_UPDATABLE);
+			select_games_stmt = connection.prepareStatement(
+					DatabaseConstants.SQL_SELECT_GAMES);
 		} catch (SQLException e) {
 			// TODO error handling
 			e.printStackTrace();
 		}
-		return select_players_stmt;
+
+		return select_games_stmt;
 	}
 
-	PreparedStatement getSelectPlayersASCStatement() {
-		if (select_players_asc_stmt != null) return select_players_asc_stmt;
-		try {
-			// This statement does not need to be updatable
-			select_players_asc_stmt = connection.prepareStatement(
-					DatabaseConstants.SQL_SELECT_PLAYERS_ASC);
-		} catch (SQLException e) {
-			// TODO error handling
-			e.printStackTrace();
-		}
-		return select_players_asc_stmt;
+	/**
+	 * <p>Prepares, if not already prepared, and returns
+	 * the {@link #insertPlayerStatement}.</p>
+	 *
+	 * @return the prepared statement for inserting a player
+	 * @see DatabaseConstants#SQL_INSERT_PLAYER
+	 */
+	PreparedStatement getInsertPlayerStatement() {
+		if (insertPlayerStatement != null) return insertPlayerStatement;
+		insertPlayerStatement = prepare(DatabaseConstants.SQL_INSERT_PLAYER);
+		return insertPlayerStatement;
 	}
 
-	PreparedStatement getSelectGameIdsStatement() {
-		if (select_games_stmt != null) return select_games_stmt;
+	/**
+	 * <p>Prepares, if not already prepared, and returns
+	 * the {@link #updatePlayerStatement}.</p>
+	 *
+	 * @return the prepared statement for updating a player
+	 * @see DatabaseConstants#SQL_UPDATE_PLAYER
+	 */
+	PreparedStatement getUpdatePlayerStatement() {
+		if (updatePlayerStatement != null) return updatePlayerStatement;
+		updatePlayerStatement = prepare(DatabaseConstants.SQL_UPDATE_PLAYER);
+		return updatePlayerStatement;
+	}
+
+	/**
+	 * <p>Prepares, if not already prepared, and returns
+	 * the {@link #insertCardStatement}.</p>
+	 *
+	 * @return the prepared statement for inserting a card
+	 * @see DatabaseConstants#SQL_INSERT_CARD
+	 */
+	PreparedStatement getInsertCardStatement() {
+		if (insertCardStatement != null) return insertCardStatement;
+		insertCardStatement = prepare(DatabaseConstants.SQL_INSERT_CARD);
+		return insertCardStatement;
+	}
+
+	/**
+	 * <p>Prepares, if not already prepared, and returns
+	 * the {@link #deleteCardStatement}.</p>
+	 *
+	 * @return the prepared statement for deleting a card
+	 * @see DatabaseConstants#SQL_DELETE_CARD
+	 */
+	PreparedStatement getDeleteCardStatement() {
+		if (deleteCardStatement != null) return deleteCardStatement;
+		deleteCardStatement = prepare(DatabaseConstants.SQL_DELETE_CARD);
+		return deleteCardStatement;
+	}
+
+	/**
+	 * <p>Prepares, if not already prepared, and returns
+	 * the {@link #deleteCardPileStatement}.</p>
+	 *
+	 * @return the prepared statement for deleting the cards of one type of a player
+	 * @see DatabaseConstants#SQL_DELETE_CARD_PILE
+	 */
+	PreparedStatement getDeleteCardPileStatement() {
+		if (deleteCardPileStatement != null) return deleteCardPileStatement;
+		deleteCardPileStatement = prepare(DatabaseConstants.SQL_DELETE_CARD_PILE);
+		return deleteCardPileStatement;
+	}
+
+	/**
+	 * <p>Prepares, if not already prepared, and returns
+	 * the {@link #updateGameStatement}.</p>
+	 *
+	 * @return the prepared statement for updating the state of a game
+	 * @see DatabaseConstants#SQL_UPDATE_GAME
+	 */
+	PreparedStatement getUpdateGameStatement() {
+		if (updateGameStatement != null) return updateGameStatement;
+		updateGameStatement = prepare(DatabaseConstants.SQL_UPDATE_GAME);
+		return updateGameStatement;
+	}
+
+	/**
+	 * <p>Prepares, if not already prepared, and returns
+	 * the {@link #insertActivationQueueStatement}.</p>
+	 *
+	 * @return the prepared statement for inserting a player in the activation queue
+	 * @see DatabaseConstants#SQL_INSERT_ACTIVATION_QUEUE
+	 */
+	PreparedStatement getInsertActivationQueueStatement() {
+		if (insertActivationQueueStatement != null) return insertActivationQueueStatement;
+		insertActivationQueueStatement = prepare(DatabaseConstants.SQL_INSERT_ACTIVATION_QUEUE);
+		return insertActivationQueueStatement;
+	}
+
+	/**
+	 * <p>Prepares, if not already prepared, and returns
+	 * the {@link #deleteActivationQueueStatement}.</p>
+	 *
+	 * @return the prepared statement for deleting the activation queue of a game
+	 * @see DatabaseConstants#SQL_DELETE_ACTIVATION_QUEUE
+	 */
+	PreparedStatement getDeleteActivationQueueStatement() {
+		if (deleteActivationQueueStatement != null) return deleteActivationQueueStatement;
+		deleteActivationQueueStatement = prepare(DatabaseConstants.SQL_DELETE_ACTIVATION_QUEUE);
+		return deleteActivationQueueStatement;
+	}
+
+	/**
+	 * <p>Prepares, if not already prepared, and returns
+	 * the {@link #selectGameWithPlayersStatement}.</p>
+	 *
+	 * @return the prepared statement for getting a game with its players
+	 * @see DatabaseConstants#SQL_SELECT_GAME_WITH_PLAYERS
+	 */
+	PreparedStatement getSelectGameWithPlayersStatement() {
+		if (selectGameWithPlayersStatement != null) return selectGameWithPlayersStatement;
+		selectGameWithPlayersStatement = prepare(DatabaseConstants.SQL_SELECT_GAME_WITH_PLAYERS);
+		return selectGameWithPlayersStatement;
+	}
+
+	/**
+	 * <p>Prepares, if not already prepared, and returns
+	 * the {@link #selectCardsWithCommandsStatement}.</p>
+	 *
+	 * @return the prepared statement for getting the cards of a game
+	 * @see DatabaseConstants#SQL_SELECT_CARDS_WITH_COMMANDS
+	 */
+	PreparedStatement getSelectCardsWithCommandsStatement() {
+		if (selectCardsWithCommandsStatement != null) return selectCardsWithCommandsStatement;
+		selectCardsWithCommandsStatement = prepare(DatabaseConstants.SQL_SELECT_CARDS_WITH_COMMANDS);
+		return selectCardsWithCommandsStatement;
+	}
+
+	/**
+	 * <p>Prepares, if not already prepared, and returns
+	 * the {@link #touchGameStatement}.</p>
+	 *
+	 * @return the prepared statement for setting when a game was last saved
+	 * @see DatabaseConstants#SQL_TOUCH_GAME
+	 */
+	PreparedStatement getTouchGameStatement() {
+		if (touchGameStatement != null) return touchGameStatement;
+		touchGameStatement = prepare(DatabaseConstants.SQL_TOUCH_GAME);
+		return touchGameStatement;
+	}
+
+	/**
+	 * <p>Prepares and returns a read-only statement for finding a
+	 * page of the games matching the specified filter. As the
+	 * statement depends on the filter, it is not kept.</p>
+	 *
+	 * @param filter    the filter of the games, may be null
+	 * @param afterGame whether the page starts after a given gameID
+	 * @return the prepared statement for finding the games
+	 * @see DatabaseConstants#sqlFindGames(GameFilter, boolean)
+	 */
+	PreparedStatement getFindGamesStatement(GameFilter filter, boolean afterGame) {
+		return prepare(DatabaseConstants.sqlFindGames(filter, afterGame));
+	}
+
+	/**
+	 * <p>Prepares a forward-only, read-only statement.</p>
+	 */
+	private PreparedStatement prepare(String sql) {
 		try {
-			select_games_stmt = connection.prepareStatement(
-					DatabaseConstants.SQL_SELECT_GAMES);
+			return connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
 		} catch (SQLException e) {
-			// TODO error handling
 			e.printStackTrace();
+			return null;
 		}
-
-		return select_games_stmt;
 	}
-}
\ No newline at end of file
+}
@@ -21,7 +21,11 @@
  */
 package dk.dtu.compute.se.pisd.roborally.dal.repository;
 
+import dk.dtu.compute.se.pisd.roborally.dal.GameFilter;
 import dk.dtu.compute.se.pisd.roborally.dal.GameInDB;
+import dk.dtu.compute.se.pisd.roborally.dal.GamePage;
+import dk.dtu.compute.se.pisd.roborally.dal.GameSnapshot;
+import dk.dtu.compute.se.pisd.roborally.dal.GameSnapshot.PlayerSnapshot;
 import dk.dtu.compute.se.pisd.roborally.dal.IRepository;
 import dk.dtu.compute.se.pisd.roborally.fileaccess.BoardLoader;
 import dk.dtu.compute.se.pisd.roborally.model.*;
@@ -40,14 +44,10 @@ import java.util.*;
  * @author Rasmus Nylander, s205418@student.dtu.dk
  */
 class Repository implements IRepository {
-	private final PreparedStatements preparedStatements;
-	Random random = new Random();
-
-	private Connector connector;
+	private final Connector connector;
 
 	Repository(Connector connector) {
 		this.connector = connector;
-		preparedStatements = new PreparedStatements(connector);
 	}
 
 	/**
@@ -66,162 +66,237 @@ class Repository implements IRepository {
 			//Todo: maybe it should just update it instead?
 		}
 
-		Connection connection = connector.getConnection();
 		try {
+			game.setGameId(createGameInDB(GameSnapshot.of(game), name));
+			game.markClean();
+			return true;
+		} catch (SQLException e) {
+			// TODO error handling
+			e.printStackTrace();
+			System.err.println("Some DB error");
+		}
+		return false;
+	}
+
+	/**
+	 * <p>Creates the game of the specified snapshot in the database
+	 * in a transaction of its own and returns its id. The snapshot
+	 * may be saved on any thread.</p>
+	 *
+	 * @param game the snapshot of the game to be created in the database
+	 * @param name the name of the save
+	 * @return the id of the game in the database
+	 * @throws SQLException if the game could not be created
+	 */
+	int createGameInDB(@NotNull GameSnapshot game, @NotNull String name) throws SQLException {
+		try (Connection connection = connector.getConnection()) {
+			PreparedStatements statements = new PreparedStatements(connection);
 			connection.setAutoCommit(false);
-			PreparedStatement ps = preparedStatements.getInsertGameStatementRGK();
-			// TODO: the name should eventually set by the user
-			//       for the game and should be then used
-			//       game.getName();
-			ps.setString(1, name); // instead of name
-			ps.setString(2, game.getBoard().getBoardName());
-			ps.setNull(3, Types.TINYINT); // game.getPlayerNumber(game.getCurrentPlayer())); is inserted after players!
-			ps.setInt(4, game.getPhase().ordinal());
-			ps.setInt(5, game.getStep());
-
-			// If you have a foreign key constraint for current players,
-			// the check would need to be temporarily disabled, since
-			// MySQL does not have a per transaction validation, but
-			// validates on a per row basis.
-			// Statement statement = connection.createStatement();
-			// statement.execute("SET foreign_key_checks = 0");
-
-			int affectedRows = ps.executeUpdate();
-			ResultSet generatedKeys = ps.getGeneratedKeys();
-			if (affectedRows == 1 && generatedKeys.next()) {
-				game.setGameId(generatedKeys.getInt(1));
+			try {
+				int gameID = createGameInDB(statements, game, name);
+				connection.commit();
+				return gameID;
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
 			}
+		}
+	}
+
+	/**
+	 * <p>Creates a game in the database within the transaction
+	 * of the connection of the specified statements.</p>
+	 *
+	 * @param statements the statements of the current connection
+	 * @param game       the snapshot of the game to be created in the database
+	 * @param name       the name of the save
+	 * @return the id of the game in the database
+	 * @throws SQLException if the game could not be created
+	 */
+	private int createGameInDB(PreparedStatements statements, @NotNull GameSnapshot game, @NotNull String name) throws SQLException {
+		PreparedStatement ps = statements.getInsertGameStatementRGK();
+		// TODO: the name should eventually set by the user
+		//       for the game and should be then used
+		//       game.getName();
+		ps.setString(1, name); // instead of name
+		ps.setString(2, game.boardName);
+		ps.setNull(3, Types.TINYINT); // game.getPlayerNumber(game.getCurrentPlayer())); is inserted after players!
+		ps.setInt(4, game.phase);
+		ps.setInt(5, game.step);
+
+		// If you have a foreign key constraint for current players,
+		// the check would need to be temporarily disabled, since
+		// MySQL does not have a per transaction validation, but
+		// validates on a per row basis.
+		// Statement statement = connection.createStatement();
+		// statement.execute("SET foreign_key_checks = 0");
+
+		int affectedRows = ps.executeUpdate();
+		ResultSet generatedKeys = ps.getGeneratedKeys();
+		if (affectedRows != 1 || !generatedKeys.next()) {
 			generatedKeys.close();
+			throw new SQLException("The game was not assigned an id");
+		}
+		int gameID = generatedKeys.getInt(1);
+		generatedKeys.close();
 
-			// Enable foreign key constraint check again:
-			// statement.execute("SET foreign_key_checks = 1");
-			// statement.close();
+		// Enable foreign key constraint check again:
+		// statement.execute("SET foreign_key_checks = 1");
+		// statement.close();
 
-			createPlayersInDB(game);
-			createPlayerCardsInDB(game.getPlayers());
+		createPlayersInDB(statements, gameID, game);
+		createPlayerCardsInDB(statements, gameID, game.players);
 
-			// since player is a foreign key, activation queue can only be
-			// created now, since MySQL does not have a per transaction validation,
-			// but validates on a per row basis.
-			createActivationQueueInDB(game);
+		// since player is a foreign key, activation queue can only be
+		// created now, since MySQL does not have a per transaction validation,
+		// but validates on a per row basis.
+		createActivationQueueInDB(statements, gameID, game);
 
-			ps = preparedStatements.getSelectGameStatementU();
-			ps.setInt(1, game.getGameId());
+		ps = statements.getSelectGameStatementU();
+		ps.setInt(1, gameID);
 
-			ResultSet rs = ps.executeQuery();
-			if (rs.next()) {
-				rs.updateInt(DatabaseConstants.GAME_CURRENTPLAYER, game.getPlayerNumber(game.getCurrentPlayer()));
-				rs.updateRow();
-			} else {
-				// TODO error handling
-			}
-			rs.close();
-
-			connection.commit();
-			connection.setAutoCommit(true);
-			return true;
-		} catch (SQLException e) {
+		ResultSet rs = ps.executeQuery();
+		if (rs.next()) {
+			if (game.currentPlayer >= 0) rs.updateInt(DatabaseConstants.GAME_CURRENTPLAYER, game.currentPlayer);
+			else rs.updateNull(DatabaseConstants.GAME_CURRENTPLAYER);
+			rs.updateRow();
+		} else {
 			// TODO error handling
-			e.printStackTrace();
-			System.err.println("Some DB error");
-			try {
-				connection.rollback();
-				connection.setAutoCommit(true);
-			} catch (SQLException e1) {
-				// TODO error handling
-				e1.printStackTrace();
-			}
 		}
-		return false;
+		rs.close();
+		return gameID;
 	}
 
 	/**
 	 * <p>Updates a game in the database and returns a boolean indicating
 	 * whether the operation was successful.</p>
+	 * <p>Only the rows of what has changed since the game was last saved
+	 * or loaded are written; see {@link Game#isDirty()}. If nothing has
+	 * changed, nothing is written. Otherwise the time the game was last
+	 * modified is set, even if only its players or cards changed.</p>
 	 *
 	 * @param game the game to be updated in the database, may not be null
-	 * @return
+	 * @return true if the game was successfully updated
 	 */
 	@Override
 	public boolean updateGameInDB(@NotNull Game game) {
 		assert game.getGameId() != null;
 
-		Connection connection = connector.getConnection();
 		try {
-			connection.setAutoCommit(false);
-
-			PreparedStatement ps = preparedStatements.getSelectGameStatementU();
-			ps.setInt(1, game.getGameId());
-
-			ResultSet rs = ps.executeQuery();
-			if (rs.next()) {
-				rs.updateInt(DatabaseConstants.GAME_CURRENTPLAYER, game.getPlayerNumber(game.getCurrentPlayer()));
-				rs.updateInt(DatabaseConstants.GAME_PHASE, game.getPhase().ordinal());
-				rs.updateInt(DatabaseConstants.GAME_STEP, game.getStep());
-				rs.updateRow();
-			} else {
-				// TODO error handling
-			}
-			rs.close();
-
-			updatePlayersInDB(game);
-			updateActivationQueueInDB(game);
-			//TODO this method needs to be implemented
-			updatePlayerCardsInDB(game.getPlayers());
-
-
-			connection.commit();
-			connection.setAutoCommit(true);
+			updateGameInDB(GameSnapshot.of(game), game.getGameId());
+			game.markClean();
 			return true;
 		} catch (SQLException e) {
 			// TODO error handling
 			e.printStackTrace();
 			System.err.println("Some DB error");
+		}
+
+		return false;
+	}
 
+	/**
+	 * <p>Updates the game with the specified id in the database to the
+	 * specified snapshot in a transaction of its own. Only what has
+	 * changed according to the snapshot is written. The snapshot may be
+	 * saved on any thread.</p>
+	 *
+	 * @param game   the snapshot of the game to be updated in the database
+	 * @param gameID the id of the game in the database
+	 * @throws SQLException if the game could not be updated
+	 */
+	void updateGameInDB(@NotNull GameSnapshot game, int gameID) throws SQLException {
+		if (!game.isDirty()) return;
+		try (Connection connection = connector.getConnection()) {
+			PreparedStatements statements = new PreparedStatements(connection);
+			connection.setAutoCommit(false);
 			try {
+				updateGameInDB(statements, gameID, game);
+				connection.commit();
+			} catch (SQLException e) {
 				connection.rollback();
-				connection.setAutoCommit(true);
-			} catch (SQLException e1) {
-				// TODO error handling
-				e1.printStackTrace();
+				throw e;
 			}
 		}
+	}
 
-		return false;
+	/**
+	 * <p>Updates a game in the database within the transaction
+	 * of the connection of the specified statements.</p>
+	 *
+	 * @param statements the statements of the current connection
+	 * @param gameID     the id of the game in the database
+	 * @param game       the snapshot of the game to be updated in the database
+	 * @throws SQLException if the game could not be updated
+	 */
+	private void updateGameInDB(PreparedStatements statements, int gameID, @NotNull GameSnapshot game) throws SQLException {
+		boolean changed = updatePlayersInDB(statements, gameID, game);
+		if (game.activationQueueDirty) {
+			updateActivationQueueInDB(statements, gameID, game);
+			changed = true;
+		}
+		changed |= updatePlayerCardsInDB(statements, gameID, game);
+
+		PreparedStatement ps;
+		if (game.dirty) {
+			ps = statements.getUpdateGameStatement();
+			if (game.currentPlayer >= 0) ps.setInt(1, game.currentPlayer);
+			else ps.setNull(1, Types.TINYINT);
+			ps.setInt(2, game.phase);
+			ps.setInt(3, game.step);
+			ps.setInt(4, gameID);
+		} else if (changed) {
+			ps = statements.getTouchGameStatement();
+			ps.setInt(1, gameID);
+		} else return;
+		ps.executeUpdate();
 	}
 
+	/**
+	 * <p>Loads the game with the specified id from the database.</p>
+	 * <p>The game is loaded with two forward-only, read-only queries,
+	 * no matter how many players and cards it has: one joining the game
+	 * with its players and their place in the activation queue, and one
+	 * joining the cards of all the players with their commands.</p>
+	 *
+	 * @param id the id of the game in the database
+	 * @return the game or null if it could not be loaded
+	 */
 	@Override
 	public Game loadGameFromDB(int id) {
-		Game game;
-		try {
-			// TODO here, we could actually use a simpler statement
-			//      which is not updatable, but reuse the one from
-			//      above for the pupose
-			PreparedStatement ps = preparedStatements.getSelectGameStatementU();
+		Game game = null;
+		try (Connection connection = connector.getConnection()) {
+			PreparedStatements statements = new PreparedStatements(connection);
+			PreparedStatement ps = statements.getSelectGameWithPlayersStatement();
 			ps.setInt(1, id);
 
 			ResultSet rs = ps.executeQuery();
 			int playerNo = -1;
-			if (rs.next()) {
-				String boardName = rs.getString(DatabaseConstants.GAME_BOARD_NAME);
-				game = new Game(BoardLoader.loadBoard(boardName));
+			PriorityQueue<Player> activationQueue = new PriorityQueue<>(Comparator.comparingInt(Player::getDistanceToPrioritySpace));
+			while (rs.next()) {
 				if (game == null) {
-					return null;
+					String boardName = rs.getString(DatabaseConstants.GAME_BOARD_NAME);
+					game = new Game(BoardLoader.loadBoard(boardName));
+					playerNo = rs.getInt(DatabaseConstants.GAME_CURRENTPLAYER);
+					if (rs.wasNull()) playerNo = -1;
+					// TODO currently we do not set the games name (needs to be added)
+					game.setPhase(Phase.values()[rs.getInt(DatabaseConstants.GAME_PHASE)]);
+					game.setStep(rs.getInt(DatabaseConstants.GAME_STEP));
 				}
-				playerNo = rs.getInt(DatabaseConstants.GAME_CURRENTPLAYER);
-				// TODO currently we do not set the games name (needs to be added)
-				game.setPhase(Phase.values()[rs.getInt(DatabaseConstants.GAME_PHASE)]);
-				game.setStep(rs.getInt(DatabaseConstants.GAME_STEP));
-
-			} else {
+				Player player = loadPlayerFromDB(rs, game);
+				if (player == null) continue;
+				rs.getInt(DatabaseConstants.ACTIVATION_QUEUE_PRIORITY);
+				if (!rs.wasNull()) activationQueue.add(player);
+			}
+			rs.close();
+			if (game == null) {
 				// TODO error handling
 				return null;
 			}
-			rs.close();
 
 			game.setGameId(id);
-			loadPlayersFromDB(game);
-			loadActivationQueueFromDatabase(game);
+			game.setPlayerActivationQueue(activationQueue);
+			loadPlayerCardsFromDB(statements, game);
 			//todo: load store
 
 			if (playerNo >= 0 && playerNo < game.getNumPlayers()) {
@@ -231,6 +306,7 @@ class Repository implements IRepository {
 				return null;
 			}
 
+			game.markClean();
 			return game;
 		} catch (SQLException e) {
 			// TODO error handling
@@ -241,15 +317,18 @@ class Repository implements IRepository {
 	}
 
 
+	/**
+	 * <p>Returns all the games in the database. As there may be very many
+	 * games, {@link #findGames(GameFilter, Integer, int)} should be
+	 * preferred.</p>
+	 *
+	 * @return the id and name of every game in the database
+	 */
 	@Override
 	public List<GameInDB> getGames() {
-		// TODO when there many games in the DB, fetching all available games
-		//      from the DB is a bit extreme; eventually there should a
-		//      methods that can filter the returned games in order to
-		//      reduce the number of the returned games.
 		List<GameInDB> result = new ArrayList<>();
-		try {
-			PreparedStatement ps = preparedStatements.getSelectGameIdsStatement();
+		try (Connection connection = connector.getConnection()) {
+			PreparedStatement ps = new PreparedStatements(connection).getSelectGameIdsStatement();
 			ResultSet rs = ps.executeQuery();
 			while (rs.next()) {
 				int id = rs.getInt(DatabaseConstants.GAME_GAMEID);
@@ -264,347 +343,380 @@ class Repository implements IRepository {
 		return result;
 	}
 
-	private void createPlayersInDB(Game game) throws SQLException {
-		// TODO code should be more defensive
-		PreparedStatement ps = preparedStatements.getSelectPlayersStatementU();
-		ps.setInt(1, game.getGameId());
-
-		ResultSet rs = ps.executeQuery();
-		for (int i = 0; i < game.getNumPlayers(); i++) {
-			Player player = game.getPlayer(i);
-			rs.moveToInsertRow();
-			rs.updateInt(DatabaseConstants.PLAYER_GAMEID, game.getGameId());
-			rs.updateInt(DatabaseConstants.PLAYER_PLAYERID, i);
-			rs.updateString(DatabaseConstants.PLAYER_NAME, player.getName());
-			rs.updateString(DatabaseConstants.PLAYER_COLOUR, player.getColor());
-			rs.updateInt(DatabaseConstants.PLAYER_POSITION_X, player.getSpace().x);
-			rs.updateInt(DatabaseConstants.PLAYER_POSITION_Y, player.getSpace().y);
-			rs.updateInt(DatabaseConstants.PLAYER_HEADING, player.getDirection().ordinal());
-			rs.updateInt(DatabaseConstants.PLAYER_ENERGY_CUBES, player.getEnergyCubes());
-			rs.insertRow();
-		}
-
-		rs.close();
-	}
-
-	private void loadPlayersFromDB(Game game) throws SQLException {
-		PreparedStatement ps = preparedStatements.getSelectPlayersASCStatement();
-		ps.setInt(1, game.getGameId());
+	/**
+	 * <p>Finds a page of the games matching the specified filter, newest
+	 * first. One more game than the size of the page is selected to find
+	 * out whether there is a next page, and the page starts after the
+	 * gameID of the previous page, so the database only reads the rows of
+	 * the page from the indexes on the filtered columns, no matter how
+	 * deep into the games the page is.</p>
+	 *
+	 * @param filter   the criteria of the games, or null for all games
+	 * @param page     the page to find or null for the first page
+	 * @param pageSize the maximum number of games of the page
+	 * @return the page, which is empty if the games could not be found
+	 */
+	@Override
+	public GamePage findGames(GameFilter filter, Integer page, int pageSize) {
+		List<GameInDB> result = new ArrayList<>();
+		if (pageSize <= 0) return new GamePage(result, null);
+		try (Connection connection = connector.getConnection()) {
+			PreparedStatement ps = new PreparedStatements(connection).getFindGamesStatement(filter, page != null);
+			int parameter = 1;
+			if (filter != null) {
+				if (filter.getNamePrefix() != null) ps.setString(parameter++, escapeLike(filter.getNamePrefix()) + "%");
+				if (filter.getBoardName() != null) ps.setString(parameter++, filter.getBoardName());
+				if (filter.getPhase() != null) ps.setInt(parameter++, filter.getPhase().ordinal());
+				if (filter.getModifiedAfter() != null) ps.setTimestamp(parameter++, Timestamp.from(filter.getModifiedAfter()));
+				if (filter.getModifiedBefore() != null) ps.setTimestamp(parameter++, Timestamp.from(filter.getModifiedBefore()));
+			}
+			if (page != null) ps.setInt(parameter++, page);
+			ps.setInt(parameter, pageSize + 1);
 
-		ResultSet rs = ps.executeQuery();
-		int i = 0;
-		while (rs.next()) {
-			int playerId = rs.getInt(DatabaseConstants.PLAYER_PLAYERID);
-			if (i++ == playerId) {
-				// TODO this should be more defensive
-				String name = rs.getString(DatabaseConstants.PLAYER_NAME);
-				String colour = rs.getString(DatabaseConstants.PLAYER_COLOUR);
-				Player player = new Player(game, colour, name);
-				game.addPlayer(player);
-
-				int x = rs.getInt(DatabaseConstants.PLAYER_POSITION_X);
-				int y = rs.getInt(DatabaseConstants.PLAYER_POSITION_Y);
-				player.setSpace(game.getBoard().getSpace(x, y));
-				int heading = rs.getInt(DatabaseConstants.PLAYER_HEADING);
-				player.setDirection(Heading.values()[heading]);
-				player.setEnergyCubes(rs.getInt(DatabaseConstants.PLAYER_ENERGY_CUBES));
-
-				// TODO  should also load players program and hand here
-			} else {
-				// TODO error handling
-				System.err.println("Game in DB does not have a player with id " + i + "!");
+			ResultSet rs = ps.executeQuery();
+			while (rs.next()) {
+				Timestamp lastModified = rs.getTimestamp(DatabaseConstants.GAME_LAST_MODIFIED);
+				result.add(new GameInDB(rs.getInt(DatabaseConstants.GAME_GAMEID),
+						rs.getString(DatabaseConstants.GAME_NAME),
+						rs.getString(DatabaseConstants.GAME_BOARD_NAME),
+						Phase.values()[rs.getInt(DatabaseConstants.GAME_PHASE)],
+						lastModified == null ? null : lastModified.toInstant()));
 			}
+			rs.close();
+		} catch (SQLException e) {
+			// TODO proper error handling
+			e.printStackTrace();
+			return new GamePage(new ArrayList<>(), null);
 		}
-		rs.close();
-
-		loadPlayerCardsFromDB(game.getPlayers());
+		if (result.size() <= pageSize) return new GamePage(result, null);
+		result.remove(pageSize);
+		return new GamePage(result, result.get(pageSize - 1).id);
 	}
 
-	private void updatePlayersInDB(Game game) throws SQLException {
-		PreparedStatement ps = preparedStatements.getSelectPlayersStatementU();
-		ps.setInt(1, game.getGameId());
+	/**
+	 * <p>Escapes the wildcards of a pattern of the SQL {@code LIKE}
+	 * operator, so the specified string only matches itself.</p>
+	 *
+	 * @param string the string to escape
+	 * @return the escaped string
+	 * @see DatabaseConstants#LIKE_ESCAPE
+	 */
+	private static String escapeLike(String string) {
+		String escape = String.valueOf(DatabaseConstants.LIKE_ESCAPE);
+		return string.replace(escape, escape + escape).replace("%", escape + "%").replace("_", escape + "_");
+	}
 
-		ResultSet rs = ps.executeQuery();
-		while (rs.next()) {
-			int playerId = rs.getInt(DatabaseConstants.PLAYER_PLAYERID);
-			// TODO should be more defensive
-			Player player = game.getPlayer(playerId);
-			// rs.updateString(PLAYER_NAME, player.getName()); // not needed: player's names does not change
-			rs.updateInt(DatabaseConstants.PLAYER_POSITION_X, player.getSpace().x);
-			rs.updateInt(DatabaseConstants.PLAYER_POSITION_Y, player.getSpace().y);
-			rs.updateInt(DatabaseConstants.PLAYER_HEADING, player.getDirection().ordinal());
-			rs.updateInt(DatabaseConstants.PLAYER_ENERGY_CUBES, player.getEnergyCubes());
-			// TODO error handling
-			// TODO take care of case when number of players changes, etc
-			rs.updateRow();
+	private void createPlayersInDB(PreparedStatements statements, int gameID, GameSnapshot game) throws SQLException {
+		// TODO code should be more defensive
+		PreparedStatement ps = statements.getInsertPlayerStatement();
+		for (int i = 0; i < game.players.length; i++) {
+			PlayerSnapshot player = game.players[i];
+			ps.setInt(1, gameID);
+			ps.setInt(2, i);
+			ps.setString(3, player.name);
+			ps.setString(4, player.color);
+			ps.setInt(5, player.x);
+			ps.setInt(6, player.y);
+			ps.setInt(7, player.heading);
+			ps.setInt(8, player.energyCubes);
+			ps.addBatch();
 		}
-		rs.close();
-
-		// TODO error handling/consistency check: check whether all players were updated
+		ps.executeBatch();
 	}
 
 	/**
-	 * <p>Creates all of the specified players' cards in the database</p>
+	 * <p>Creates the player of the current row of the specified
+	 * result set, if any, and adds it to the specified game.</p>
 	 *
-	 * @param players a list of players whose cards are to be created in the database
+	 * @param rs   a row of {@link DatabaseConstants#SQL_SELECT_GAME_WITH_PLAYERS}
+	 * @param game the game the player belongs to
+	 * @return the player or null if the row has none
 	 * @throws SQLException
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
-	private void createPlayerCardsInDB(Player... players) throws SQLException {
-		for (Player player : players) {
-			createPlayerProgramInDatabase(player);
-			createPlayerHandInDatabase(player);
-			createPlayerDeckInDatabase(player);
-			createPlayerDiscardInDatabase(player);
-			//createPlayerUpgradeCardsInDatabase(player)
+	private Player loadPlayerFromDB(ResultSet rs, Game game) throws SQLException {
+		int playerId = rs.getInt(DatabaseConstants.PLAYER_PLAYERID);
+		if (rs.wasNull()) return null; //The game has no players
+		if (playerId != game.getNumPlayers()) {
+			// TODO error handling
+			System.err.println("Game in DB does not have a player with id " + game.getNumPlayers() + "!");
+			return null;
 		}
+		// TODO this should be more defensive
+		String name = rs.getString(DatabaseConstants.PLAYER_NAME_ALIAS);
+		String colour = rs.getString(DatabaseConstants.PLAYER_COLOUR);
+		Player player = new Player(game, colour, name);
+		game.addPlayer(player);
+
+		int x = rs.getInt(DatabaseConstants.PLAYER_POSITION_X);
+		int y = rs.getInt(DatabaseConstants.PLAYER_POSITION_Y);
+		player.setSpace(game.getBoard().getSpace(x, y));
+		int heading = rs.getInt(DatabaseConstants.PLAYER_HEADING);
+		player.setDirection(Heading.of(heading));
+		player.setEnergyCubes(rs.getInt(DatabaseConstants.PLAYER_ENERGY_CUBES));
+		return player;
 	}
 
 	/**
-	 * <p>Creates the specified player' hand in the database.</p>
+	 * <p>Updates the position, heading and energy cubes of the
+	 * players of the specified game, which have changed since
+	 * the game was last saved, in a single batch.</p>
 	 *
-	 * @param player the player whose hand is to be created in the database
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
+	 * @param statements the statements of the current connection
+	 * @param gameID the id of the game in the database
+	 * @param game the snapshot of the game whose players are to be updated
+	 * @return true if any players were updated
+	 * @throws SQLException
+	 * @see Player#isDirty()
 	 */
-	private void createPlayerHandInDatabase(Player player) throws SQLException {
-		int gameID = player.game.getGameId(), playerID = player.game.getPlayerNumber(player);
-		createCardsInDB(gameID, playerID, DatabaseConstants.CARD_TYPE_HAND, player.getHand());
+	private boolean updatePlayersInDB(PreparedStatements statements, int gameID, GameSnapshot game) throws SQLException {
+		PreparedStatement ps = statements.getUpdatePlayerStatement();
+		boolean changed = false;
+		for (int i = 0; i < game.players.length; i++) {
+			PlayerSnapshot player = game.players[i];
+			if (!player.dirty) continue;
+			// the player's name does not change
+			ps.setInt(1, player.x);
+			ps.setInt(2, player.y);
+			ps.setInt(3, player.heading);
+			ps.setInt(4, player.energyCubes);
+			ps.setInt(5, gameID);
+			ps.setInt(6, i);
+			ps.addBatch();
+			changed = true;
+		}
+		// TODO take care of case when number of players changes, etc
+		if (changed) ps.executeBatch();
+		return changed;
 	}
 
 	/**
-	 * <p>Creates the specified player' program in the database.</p>
+	 * <p>Creates all of the specified players' cards in the database.</p>
+	 * <p>The cards and their commands are added to two batches, which
+	 * are executed once all the cards have been added, so the cards of
+	 * any number of players are created in two round trips.</p>
 	 *
-	 * @param player the player whose program is to be created in the database
+	 * @param statements the statements of the current connection
+	 * @param players a list of players whose cards are to be created in the database
+	 * @throws SQLException
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
-	private void createPlayerProgramInDatabase(Player player) throws SQLException {
-		int gameID = player.game.getGameId(), playerID = player.game.getPlayerNumber(player);
-		createCardsInDB(gameID, playerID, DatabaseConstants.CARD_TYPE_PROGRAM, player.getProgram());
+	private void createPlayerCardsInDB(PreparedStatements statements, int gameID, PlayerSnapshot... players) throws SQLException {
+		for (int playerID = 0; playerID < players.length; playerID++) {
+			PlayerSnapshot player = players[playerID];
+			createCardsInDB(statements, gameID, playerID, DatabaseConstants.CARD_TYPE_PROGRAM, player.program);
+			createCardsInDB(statements, gameID, playerID, DatabaseConstants.CARD_TYPE_HAND, player.hand);
+			createCardsInDB(statements, gameID, playerID, DatabaseConstants.CARD_TYPE_DECK, player.deck);
+			createCardsInDB(statements, gameID, playerID, DatabaseConstants.CARD_TYPE_DISCARD, player.discardPile);
+			//createPlayerUpgradeCardsInDatabase(player)
+		}
+		statements.getInsertCardStatement().executeBatch();
+		statements.getInsertCardCommandStatement().executeBatch();
 	}
 
 	/**
-	 * <p>Creates the specified player's discard pile in the database.</p>
-	 * @param player the player whose discard pile is to be created in the database
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
+	 * <p>Adds a list of cards, represented by their {@link Command}s, to the
+	 * batches of cards belonging to a specified player's specified deck.
+	 * I.e. their program, hand, discard pile, program deck, and so on.
+	 * Empty positions, e.g. empty fields of the program, are null.</p>
+	 * <p>The batches are executed by {@link #createPlayerCardsInDB(PreparedStatements, int, PlayerSnapshot...)}.</p>
+	 *
+	 * @param statements the statements of the current connection
+	 * @param gameID   the ID of the game that the player belongs to
+	 * @param playerID the ID of the player whom the deck belongs to
+	 * @param cardType the type of the deck
+	 * @param cards    the deck that is to be created in the database
 	 * @throws SQLException
-	 */
-	private void createPlayerDiscardInDatabase(Player player) throws SQLException {
-		int gameID = player.game.getGameId(), playerID = player.game.getPlayerNumber(player);
-		createCardsInDB(gameID, playerID, DatabaseConstants.CARD_TYPE_DISCARD, player.getDeck().toArray(new CommandCard[0]));
-	}
-
-	/**
-	 * <p>Creates the specified player's deck in the database.</p>
-	 * @param player the player whose deck is to be created in the database
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
-	 * @throws SQLException
 	 */
-	private void createPlayerDeckInDatabase(Player player) throws SQLException {
-		int gameID = player.game.getGameId(), playerID = player.game.getPlayerNumber(player);
-		createCardsInDB(gameID, playerID, DatabaseConstants.CARD_TYPE_DECK, player.getDeck().toArray(new CommandCard[0]));
+	private void createCardsInDB(PreparedStatements statements, int gameID, int playerID, int cardType, @NotNull Command[] cards) throws SQLException {
+		for (int i = 0; i < cards.length; i++) {
+			if (cards[i] == null) continue;
+			createCardInDB(statements, gameID, playerID, cardType, i, cards[i]);
+		}
 	}
 
 	/**
-	 * <p>Create a list of {@link CommandCard}s in the database
-	 * belonging to the {@link CommandCardField} a specified player's
-	 * specified deck. I.e. their program, hand, discard pile,
-	 * program deck, and so on</p>
+	 * <p>Adds a single card and its command to the batches of cards.</p>
 	 *
+	 * @param statements the statements of the current connection
 	 * @param gameID   the ID of the game that the player belongs to
 	 * @param playerID the ID of the player whom the deck belongs to
 	 * @param cardType the type of the deck
-	 * @param cCFields the deck that is to be created in the database
+	 * @param position the position of the card in the deck
+	 * @param command  the command of the card that is to be created in the database
 	 * @throws SQLException
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
-	private void createCardsInDB(int gameID, int playerID, int cardType, CommandCardField[] cCFields) throws SQLException {
-		CommandCard[] commandCards = new CommandCard[cCFields.length];
-		for (int i = 0; i < commandCards.length; i++) {
-			commandCards[i] = cCFields[i].getCard();
-		}
-		createCardsInDB(gameID, playerID, cardType, commandCards);
+	private void createCardInDB(PreparedStatements statements, int gameID, int playerID, int cardType, int position, @NotNull Command command) throws SQLException {
+		PreparedStatement ps = statements.getInsertCardStatement();
+		long cardID = getCardID(gameID, playerID, cardType, position);
+		ps.setLong(1, cardID);
+		ps.setInt(2, gameID);
+		ps.setInt(3, playerID);
+		ps.setInt(4, cardType);
+		ps.setInt(5, position);
+		ps.addBatch();
+		createCardCommandsInDatabase(statements, cardID, command);
 	}
 
 	/**
-	 * <p>Create a list of {@link CommandCard}s in the database
-	 * belonging to a specified player's specified deck. I.e. their
-	 * program, hand, discard pile, program deck, and so on</p>
+	 * <p>Returns the primary key of the card at the specified position
+	 * of the specified deck. The key is unique, as no two cards can be
+	 * at the same position of the same deck of the same player, so no
+	 * keys need to be generated or looked up while saving.</p>
 	 *
 	 * @param gameID   the ID of the game that the player belongs to
 	 * @param playerID the ID of the player whom the deck belongs to
 	 * @param cardType the type of the deck
-	 * @param cCards the deck that is to be created in the database
-	 * @throws SQLException
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
+	 * @param position the position of the card in the deck
+	 * @return the primary key of the card
 	 */
-	private void createCardsInDB(int gameID, int playerID, int cardType, @NotNull CommandCard[] cCards) throws SQLException {
-		PreparedStatement preparedStatement = preparedStatements.getSelectCardStatementUpdatable();
-		preparedStatement.setInt(1, gameID);
-		preparedStatement.setInt(2, playerID);
-		ResultSet resultSetCards = preparedStatement.executeQuery();
-
-		for (int i = 0; i < cCards.length; i++) {
-			if (cCards[i] == null) continue;
-			long cardID;
-			while (true) {
-				cardID = random.nextLong();
-				try {
-					resultSetCards.moveToInsertRow();
-					resultSetCards.updateLong(DatabaseConstants.CARD_CARDID, cardID);
-					resultSetCards.updateInt(DatabaseConstants.CARD_GAMEID, gameID);
-					resultSetCards.updateInt(DatabaseConstants.CARD_PLAYERID, playerID);
-					resultSetCards.updateInt(DatabaseConstants.CARD_TYPE, cardType);
-					resultSetCards.updateInt(DatabaseConstants.CARD_POSITION, i);
-					resultSetCards.insertRow();
-					break;
-				} catch (SQLException e) {
-					if (e.getErrorCode() != 1062) throw e; //1062 == duplicate entry
-				}
-			}
-			createCardCommandsInDatabase(cardID, cCards[i]);
-		}
+	static long getCardID(int gameID, int playerID, int cardType, int position) {
+		return ((long) gameID << 32) | ((long) (playerID & 0xFF) << 24) | ((cardType & 0xFF) << 16) | (position & 0xFFFF);
 	}
 
 	/**
-	 * <p>Saves the {@link Command}s of a {@link CommandCard} in the database.</p>
+	 * <p>Adds the {@link Command}s of a {@link CommandCard} to the batch of card commands.</p>
 	 *
+	 * @param statements the statements of the current connection
 	 * @param cardID    the primary key of the card in the database
-	 * @param cCard     the card whose commands are to be saved in the database
+	 * @param command   the command of the card to be saved in the database
 	 * @throws SQLException
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
-	private void createCardCommandsInDatabase(long cardID, CommandCard cCard) throws SQLException {
-		PreparedStatement ps = preparedStatements.getInsertCardCommandStatement();
+	private void createCardCommandsInDatabase(PreparedStatements statements, long cardID, Command command) throws SQLException {
+		PreparedStatement ps = statements.getInsertCardCommandStatement();
 		ps.setLong(1, cardID);
-/*
-		List<Command> commands = cCard.command.getOptions();
-		if (commands.isEmpty()) commands = Collections.singletonList(cCard.command);
-		for (Command command : commands) {
-			ps.setInt(2, command.ordinal());
-			ps.execute();
-		}
- */
-		ps.setInt(2, cCard.command.ordinal());
-		ps.execute();
+		ps.setInt(2, command.ordinal());
+		ps.addBatch();
 	}
 
 	/**
-	 * <p>Deletes the cards of the specified players in the database</p>
+	 * <p>Updates the cards of all players of the specified game,
+	 * which have changed since the game was last saved, in the
+	 * database.</p>
+	 * <p>A changed program or hand field has its single card
+	 * replaced. A changed deck or discard pile is replaced
+	 * entirely, as drawing a card shifts the positions of all the
+	 * others. The deletions and insertions are done in batches.</p>
 	 *
-	 * @param players a list of players whose cards are to be deleted from the database
-	 * @throws SQLException
+	 * @param statements the statements of the current connection
+	 * @param gameID the id of the game in the database
+	 * @param game the snapshot of the game whose cards are to be updated in the database
+	 * @return true if any cards were updated
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
+	 * @see CommandCardField#isDirty()
+	 * @see Player#isDeckDirty()
+	 * @see Player#isDiscardPileDirty()
 	 */
-	private void deletePlayerCardsInDB(Player... players) throws SQLException {
-		PreparedStatement preparedStatement = preparedStatements.getSelectCardStatementUpdatable();
-		for (Player player : players) {
-			preparedStatement.setInt(1, player.game.getGameId());
-			preparedStatement.setInt(2, player.game.getPlayerNumber(player));
-			ResultSet resultSet = preparedStatement.executeQuery();
-			while (resultSet.next()) {
-				resultSet.deleteRow();
+	private boolean updatePlayerCardsInDB(PreparedStatements statements, int gameID, GameSnapshot game) throws SQLException {
+		PreparedStatement deleteCard = statements.getDeleteCardStatement();
+		PreparedStatement deletePile = statements.getDeleteCardPileStatement();
+		boolean cardsDeleted = false, pilesDeleted = false;
+		for (int playerID = 0; playerID < game.players.length; playerID++) {
+			PlayerSnapshot player = game.players[playerID];
+			cardsDeleted |= updateCardFieldsInDB(statements, gameID, playerID, DatabaseConstants.CARD_TYPE_PROGRAM, player.program, player.programDirty);
+			cardsDeleted |= updateCardFieldsInDB(statements, gameID, playerID, DatabaseConstants.CARD_TYPE_HAND, player.hand, player.handDirty);
+			if (player.deckDirty) {
+				addDeletePileToBatch(deletePile, gameID, playerID, DatabaseConstants.CARD_TYPE_DECK);
+				createCardsInDB(statements, gameID, playerID, DatabaseConstants.CARD_TYPE_DECK, player.deck);
+				pilesDeleted = true;
+			}
+			if (player.discardPileDirty) {
+				addDeletePileToBatch(deletePile, gameID, playerID, DatabaseConstants.CARD_TYPE_DISCARD);
+				createCardsInDB(statements, gameID, playerID, DatabaseConstants.CARD_TYPE_DISCARD, player.discardPile);
+				pilesDeleted = true;
 			}
 		}
+		if (cardsDeleted) deleteCard.executeBatch();
+		if (pilesDeleted) deletePile.executeBatch();
+		statements.getInsertCardStatement().executeBatch();
+		statements.getInsertCardCommandStatement().executeBatch();
+		return cardsDeleted || pilesDeleted;
 	}
 
 	/**
-	 * <p>Updates the specified players' cards in the database.</p>
+	 * <p>Adds the replacement of the card of every changed field
+	 * of the specified fields to the batches of cards.</p>
 	 *
-	 * @param players a list of players whose cards are to be updated in the database
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
+	 * @param statements the statements of the current connection
+	 * @param gameID   the ID of the game that the player belongs to
+	 * @param playerID the ID of the player whom the fields belong to
+	 * @param cardType the type of the fields
+	 * @param cards    the commands of the cards of the program or hand of the player
+	 * @param dirty    whether each field has changed
+	 * @return true if any deletions were added to the batch
+	 * @throws SQLException
 	 */
-	private void updatePlayerCardsInDB(Player... players) throws SQLException {
-		deletePlayerCardsInDB(players);
-		createPlayerCardsInDB(players);
+	private boolean updateCardFieldsInDB(PreparedStatements statements, int gameID, int playerID, int cardType, Command[] cards, boolean[] dirty) throws SQLException {
+		PreparedStatement deleteCard = statements.getDeleteCardStatement();
+		boolean changed = false;
+		for (int i = 0; i < cards.length; i++) {
+			if (!dirty[i]) continue;
+			deleteCard.setInt(1, gameID);
+			deleteCard.setInt(2, playerID);
+			deleteCard.setInt(3, cardType);
+			deleteCard.setInt(4, i);
+			deleteCard.addBatch();
+			changed = true;
+			if (cards[i] != null) createCardInDB(statements, gameID, playerID, cardType, i, cards[i]);
+		}
+		return changed;
+	}
+
+	private void addDeletePileToBatch(PreparedStatement deletePile, int gameID, int playerID, int cardType) throws SQLException {
+		deletePile.setInt(1, gameID);
+		deletePile.setInt(2, playerID);
+		deletePile.setInt(3, cardType);
+		deletePile.addBatch();
 	}
 
 
 	/**
-	 * <p>Reads cards from database and assigns them to the right
-	 * positions in all decks of all specified players.</p>
+	 * <p>Reads the cards of all players of the specified game from
+	 * the database and assigns them to the right positions in all
+	 * decks of the players.</p>
+	 * <p>The cards are read with a single query joining them with
+	 * their commands, ordered by player, deck and position, so the
+	 * decks are filled in order.</p>
 	 *
-	 * @param players the players whose cards are to be read from the database
+	 * @param statements the statements of the current connection
+	 * @param game the game whose cards are to be read from the database
 	 * @throws SQLException
 	 * @author Tobias Nyholm Maneschijn, s205422@student.dtu.dk
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
-	private void loadPlayerCardsFromDB(Player... players) throws SQLException {
-		PreparedStatement ps = preparedStatements.getSelectCardStatementUpdatable();
-
-		for (Player player : players) {
-			ps.setInt(1, player.game.getGameId());
-			ps.setInt(2, player.game.getPlayerNumber(player));
-			ResultSet rs = ps.executeQuery();
-
-			while (rs.next()) {
-				long cardId = rs.getLong(DatabaseConstants.CARD_CARDID);
-				int type = rs.getInt(DatabaseConstants.CARD_TYPE);
-				int position = rs.getInt(DatabaseConstants.CARD_POSITION);
-
-				Command command = loadPlayerCardCommandFromDB(cardId);
-				CommandCard card = new CommandCard(command);
-				switch (type) {
-					case DatabaseConstants.CARD_TYPE_PROGRAM:
-						player.getProgramField(position).setCard(card);
-						break;
-					case DatabaseConstants.CARD_TYPE_HAND:
-						player.getHandField(position).setCard(card);
-						break;
-					case DatabaseConstants.CARD_TYPE_DECK:
-						player.playerController.addCardToDeck(card);
-						break;
-					case DatabaseConstants.CARD_TYPE_DISCARD:
-						player.playerController.addCardToDiscardPile(card);
-						break;
-					case DatabaseConstants.CARD_TYPE_UPGRADE:
-						break;
-				}
-
-			}
-
-		}
-	}
-
-	/**
-	 * <p> Reads from database a command from assigned to the specific cardId </p>
-	 * @param cardID
-	 * @return
-	 * @throws SQLException
-	 * @author Tobias Nyholm Maneschijn, s205422@student.dtu.dk
-	 */
-	private Command loadPlayerCardCommandFromDB(long cardID) throws SQLException {
-		PreparedStatement ps = preparedStatements.getSelectCardCommandStatement();
-
-		ps.setLong(1, cardID);
+	private void loadPlayerCardsFromDB(PreparedStatements statements, Game game) throws SQLException {
+		PreparedStatement ps = statements.getSelectCardsWithCommandsStatement();
+		ps.setInt(1, game.getGameId());
 		ResultSet rs = ps.executeQuery();
 
-		// Get first row
-		rs.next();
-		int commandId = rs.getInt(DatabaseConstants.CARD_COMMAND);
-
-		return Command.values()[commandId];
-
-
-	}
+		while (rs.next()) {
+			int playerId = rs.getInt(DatabaseConstants.CARD_PLAYERID);
+			int type = rs.getInt(DatabaseConstants.CARD_TYPE);
+			int position = rs.getInt(DatabaseConstants.CARD_POSITION);
+			if (playerId < 0 || playerId >= game.getNumPlayers()) continue;
+			Player player = game.getPlayer(playerId);
 
-	/**
-	 * <p>Loads the activation queue from the database
-	 * into the game. The players should be loaded first!</p>
-	 *
-	 * @param game the game whose activation queue is to be loaded
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
-	 */
-	private void loadActivationQueueFromDatabase(Game game) throws SQLException {
-		PreparedStatement preparedStatement = preparedStatements.getSelectActivationQueueStatementUpdatable();
-		preparedStatement.setInt(1, game.getGameId());
-		ResultSet resultSet = preparedStatement.executeQuery();
-
-		PriorityQueue<Player> activationQueue = new PriorityQueue<>(Comparator.comparingInt(Player::getDistanceToPrioritySpace));
-		while (resultSet.next()) {
-			activationQueue.add(game.getPlayer(resultSet.getInt(DatabaseConstants.ACTIVATION_QUEUE_PLAYERID)));
+			Command command = Command.of(rs.getInt(DatabaseConstants.CARD_COMMAND));
+			CommandCard card = CommandCard.of(command);
+			switch (type) {
+				case DatabaseConstants.CARD_TYPE_PROGRAM:
+					player.getProgramField(position).setCard(card);
+					break;
+				case DatabaseConstants.CARD_TYPE_HAND:
+					player.getHandField(position).setCard(card);
+					break;
+				case DatabaseConstants.CARD_TYPE_DECK:
+					player.playerController.addCardToDeck(card);
+					break;
+				case DatabaseConstants.CARD_TYPE_DISCARD:
+					player.playerController.addCardToDiscardPile(card);
+					break;
+				case DatabaseConstants.CARD_TYPE_UPGRADE:
+					break;
+			}
 		}
-		game.setPlayerActivationQueue(activationQueue);
-		resultSet.close();
+		rs.close();
 	}
 
 	/**
@@ -615,48 +727,46 @@ class Repository implements IRepository {
 	 * before, and some players in the activation queue when it was stored may
 	 * not be in it any longer.</p>
 	 *
-	 * @param game the game which activation queue should be updated in the database
+	 * @param statements the statements of the current connection
+	 * @param gameID the id of the game in the database
+	 * @param game the snapshot of the game which activation queue should be updated in the database
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
-	private void updateActivationQueueInDB(Game game) throws SQLException {
-		deleteActivationQueueInDB(game);
-		createActivationQueueInDB(game);
+	private void updateActivationQueueInDB(PreparedStatements statements, int gameID, GameSnapshot game) throws SQLException {
+		deleteActivationQueueInDB(statements, gameID);
+		createActivationQueueInDB(statements, gameID, game);
 	}
 
 	/**
 	 * <p>Deletes the activation queue of a {@link Game} in the database.</p>
 	 *
-	 * @param game the game which activation queue should be deleted
+	 * @param statements the statements of the current connection
+	 * @param gameID the id of the game which activation queue should be deleted
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
-	private void deleteActivationQueueInDB(Game game) throws SQLException {
-		PreparedStatement preparedStatement = preparedStatements.getSelectActivationQueueStatementUpdatable();
-		preparedStatement.setInt(1, game.getGameId());
-		ResultSet resultSet = preparedStatement.executeQuery();
-		while (resultSet.next()) {
-			resultSet.deleteRow();
-		}
-		resultSet.close();
+	private void deleteActivationQueueInDB(PreparedStatements statements, int gameID) throws SQLException {
+		PreparedStatement preparedStatement = statements.getDeleteActivationQueueStatement();
+		preparedStatement.setInt(1, gameID);
+		preparedStatement.executeUpdate();
 	}
 
 	/**
 	 * <p>Create the activation queue of a {@link Game} in the database.</p>
 	 *
-	 * @param game the game which activation queue should be created in the database
+	 * @param statements the statements of the current connection
+	 * @param gameID the id of the game in the database
+	 * @param game the snapshot of the game which activation queue should be created in the database
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
-	private void createActivationQueueInDB(Game game) throws SQLException {
-		PreparedStatement preparedStatement = preparedStatements.getSelectActivationQueueStatementUpdatable();
-		preparedStatement.setInt(1, game.getGameId());
-		ResultSet resultSet = preparedStatement.executeQuery();
-		Player[] activationQueue = game.getPlayerActivationQueue();
+	private void createActivationQueueInDB(PreparedStatements statements, int gameID, GameSnapshot game) throws SQLException {
+		PreparedStatement preparedStatement = statements.getInsertActivationQueueStatement();
+		int[] activationQueue = game.activationQueue;
 		for (int i = 0; i < activationQueue.length; i++) {
-			resultSet.moveToInsertRow();
-			resultSet.updateInt(DatabaseConstants.ACTIVATION_QUEUE_GAMEID, game.getGameId());
-			resultSet.updateInt(DatabaseConstants.ACTIVATION_QUEUE_PLAYERID, game.getPlayerNumber(activationQueue[i]));
-			resultSet.updateInt(DatabaseConstants.ACTIVATION_QUEUE_PRIORITY, i);
-			resultSet.insertRow();
+			preparedStatement.setInt(1, gameID);
+			preparedStatement.setInt(2, activationQueue[i]);
+			preparedStatement.setInt(3, i);
+			preparedStatement.addBatch();
 		}
-		resultSet.close();
+		preparedStatement.executeBatch();
 	}
 }
@@ -32,12 +32,59 @@ import dk.dtu.compute.se.pisd.roborally.dal.IRepository;
 public class RepositoryAccess {
     
 	private static Repository repository;
+	private static SaveQueue saveQueue;
 	
-	public static IRepository getRepository() {
+	/**
+	 * <p>Returns the repository of the configured database.</p>
+	 *
+	 * @return the repository
+	 * @throws IllegalStateException if the database cannot be reached
+	 */
+	public static synchronized IRepository getRepository() {
 		if(repository == null) {
 			repository = new Repository(Connector.getInstance());
 		}
 		return repository;
 	}
+
+	/**
+	 * <p>Returns the queue saving games in the
+	 * background in the repository.</p>
+	 *
+	 * @return the save queue of the repository
+	 * @throws IllegalStateException if the database cannot be reached
+	 * @see #getRepository()
+	 */
+	public static synchronized SaveQueue getSaveQueue() {
+		if (saveQueue == null) {
+			getRepository();
+			saveQueue = new SaveQueue(repository);
+		}
+		return saveQueue;
+	}
+
+	/**
+	 * <p>Closes the save queue, if it has been created, waiting
+	 * at most the specified time for the queued saves.</p>
+	 *
+	 * @param timeout the maximum time to wait in milliseconds
+	 * @see SaveQueue#close(long)
+	 */
+	public static synchronized void closeSaveQueue(long timeout) {
+		if (saveQueue != null) saveQueue.close(timeout);
+	}
+
+	/**
+	 * <p>Returns why the configured database could not be reached,
+	 * if the games are saved in the embedded in-memory database
+	 * instead, so that the user can be told that they are not kept.</p>
+	 *
+	 * @return the failure to connect or null if the configured database is used
+	 * @throws IllegalStateException if no database can be reached
+	 */
+	public static synchronized RuntimeException getConnectionFailure() {
+		getRepository();
+		return Connector.getInstance().getConnectionFailure();
+	}
 	
 }
@@ -0,0 +1,323 @@
+package dk.dtu.compute.se.pisd.roborally.dal.repository;
+
+import dk.dtu.compute.se.pisd.roborally.dal.GameSnapshot;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.SQLException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * <p>Saves games in the database in the background, so that saving
+ * does not block the thread playing the game while the database is
+ * written.</p>
+ * <p>A save takes a {@link GameSnapshot} of the game and marks the game
+ * as clean right away, and the snapshot is then written by a bounded pool
+ * of background threads. The saves of a game are written one at a time in
+ * the order they were made, and saves of a game which are still waiting
+ * to be written are coalesced into a single write of the latest state,
+ * so the last save always wins. Writes failing for transient reasons,
+ * such as a lost connection, are retried. If a write still fails, its
+ * changes are included in the next save of the game.</p>
+ * <p>The thread saving a game never writes to the database itself. If
+ * the write cannot be queued, because very many games are waiting to be
+ * written or the queue has been closed, the save fails at once and its
+ * changes are likewise included in the next save of the game. A failed
+ * save is only reported through the future returned when saving.</p>
+ */
+public class SaveQueue {
+	static final int DEFAULT_THREADS = 2;
+	static final int DEFAULT_CAPACITY = 64;
+	static final int DEFAULT_MAX_ATTEMPTS = 3;
+	static final long DEFAULT_RETRY_DELAY = 100;
+
+	private final Repository repository;
+	private final ThreadPoolExecutor executor;
+	private final int maxAttempts;
+	/**
+	 * <p>The delay in milliseconds before the first retry of a
+	 * write. The delay is doubled for every following retry.</p>
+	 */
+	private final long retryDelay;
+
+	/**
+	 * <p>The games which are being saved or failed to be saved.
+	 * Guarded by this queue.</p>
+	 */
+	private final Map<Game, Entry> entries = new HashMap<>();
+
+	/**
+	 * <p>The saves of a single game. Guarded by the queue.</p>
+	 */
+	private static final class Entry {
+		private final Game game;
+		private Integer gameId;
+		private String name;
+		/**
+		 * <p>The snapshot waiting to be written, if any, and the
+		 * future completed when it has been written.</p>
+		 */
+		private GameSnapshot pending;
+		private CompletableFuture<Integer> pendingFuture;
+		/**
+		 * <p>The snapshot which could not be written,
+		 * if no newer snapshot was waiting.</p>
+		 */
+		private GameSnapshot failed;
+		private boolean running;
+
+		private Entry(Game game) {
+			this.game = game;
+		}
+	}
+
+	SaveQueue(Repository repository) {
+		this(repository, DEFAULT_THREADS, DEFAULT_CAPACITY, DEFAULT_MAX_ATTEMPTS, DEFAULT_RETRY_DELAY);
+	}
+
+	SaveQueue(Repository repository, int threads, int capacity, int maxAttempts, long retryDelay) {
+		this.repository = repository;
+		this.maxAttempts = maxAttempts;
+		this.retryDelay = retryDelay;
+		ThreadFactory threadFactory = runnable -> {
+			Thread thread = new Thread(runnable, "save-queue");
+			thread.setDaemon(true);
+			return thread;
+		};
+		// As each game has at most one write waiting, the queue only fills
+		// up with very many games; the write is then rejected, see schedule
+		executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+				new ArrayBlockingQueue<>(capacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * <p>Returns whether the specified game has been saved, or is
+	 * waiting to be saved, so that saving it again updates the save
+	 * instead of creating a new one.</p>
+	 *
+	 * @param game the game
+	 * @return true if the game does not need a name to be saved
+	 */
+	public synchronized boolean isSaved(@NotNull Game game) {
+		if (game.getGameId() != null) return true;
+		Entry entry = entries.get(game);
+		return entry != null && (entry.gameId != null || entry.name != null);
+	}
+
+	/**
+	 * <p>Saves the specified game, which must have been saved before.</p>
+	 *
+	 * @param game the game to save
+	 * @return a future completed with the id of the game when it has been written
+	 * @see #save(Game, String)
+	 */
+	public CompletableFuture<Integer> save(@NotNull Game game) {
+		return save(game, null);
+	}
+
+	/**
+	 * <p>Saves the specified game in the background. If the game has not
+	 * been saved before, it is created in the database with the specified
+	 * name and assigned its id once it has been written; otherwise the name
+	 * is ignored.</p>
+	 * <p>Only the snapshot of the game is taken on the calling thread.</p>
+	 *
+	 * @param game the game to save
+	 * @param name the name of the save, if the game has not been saved
+	 * @return a future completed with the id of the game when it has been
+	 * written, or exceptionally if it could not be written
+	 */
+	public CompletableFuture<Integer> save(@NotNull Game game, String name) {
+		if (name == null && !isSaved(game)) {
+			return CompletableFuture.failedFuture(new IllegalArgumentException("A game must be named the first time it is saved"));
+		}
+		GameSnapshot snapshot = GameSnapshot.of(game);
+		game.markClean();
+
+		CompletableFuture<Integer> future;
+		Entry scheduled = null;
+		synchronized (this) {
+			Entry entry = entries.computeIfAbsent(game, Entry::new);
+			if (entry.gameId == null) entry.gameId = game.getGameId();
+			if (entry.name == null) entry.name = name;
+			if (entry.failed != null) {
+				snapshot = snapshot.mergeWith(entry.failed);
+				entry.failed = null;
+			}
+			if (entry.pending != null) {
+				entry.pending = snapshot.mergeWith(entry.pending);
+				return entry.pendingFuture;
+			}
+			entry.pending = snapshot;
+			entry.pendingFuture = future = new CompletableFuture<>();
+			if (!entry.running) {
+				entry.running = true;
+				scheduled = entry;
+			}
+		}
+		if (scheduled != null) schedule(scheduled);
+		return future;
+	}
+
+	/**
+	 * <p>Queues the write of the pending snapshot of the specified entry.
+	 * If the write is rejected, the snapshot is kept as failed, so that it
+	 * is included in the next save, and its future fails.</p>
+	 *
+	 * @param entry the entry whose snapshot to write
+	 */
+	private void schedule(Entry entry) {
+		try {
+			executor.execute(() -> write(entry));
+		} catch (RejectedExecutionException e) {
+			CompletableFuture<Integer> future;
+			synchronized (this) {
+				future = entry.pendingFuture;
+				entry.failed = entry.failed == null ? entry.pending : entry.pending.mergeWith(entry.failed);
+				entry.pending = null;
+				entry.pendingFuture = null;
+				entry.running = false;
+				notifyAll();
+			}
+			future.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * <p>Writes the pending snapshot of the specified entry, and
+	 * schedules the next one if another was saved meanwhile.</p>
+	 *
+	 * @param entry the entry whose snapshot to write
+	 */
+	private void write(Entry entry) {
+		GameSnapshot snapshot;
+		CompletableFuture<Integer> future;
+		Integer gameId;
+		String name;
+		synchronized (this) {
+			snapshot = entry.pending;
+			future = entry.pendingFuture;
+			entry.pending = null;
+			entry.pendingFuture = null;
+			gameId = entry.gameId;
+			name = entry.name;
+		}
+
+		boolean next;
+		try {
+			gameId = write(snapshot, gameId, name);
+			synchronized (this) {
+				entry.gameId = gameId;
+				if (entry.game.getGameId() == null) entry.game.setGameId(gameId);
+			}
+			future.complete(gameId);
+		} catch (SQLException | RuntimeException e) {
+			synchronized (this) {
+				if (entry.pending != null) entry.pending = entry.pending.mergeWith(snapshot);
+				else entry.failed = snapshot;
+			}
+			future.completeExceptionally(e);
+		} finally {
+			synchronized (this) {
+				next = entry.pending != null;
+				if (!next) {
+					entry.running = false;
+					if (entry.failed == null) entries.remove(entry.game);
+					notifyAll();
+				}
+			}
+		}
+		if (next) schedule(entry);
+	}
+
+	/**
+	 * <p>Creates or updates the specified snapshot in the database,
+	 * retrying if it fails for transient reasons.</p>
+	 *
+	 * @param snapshot the snapshot to write
+	 * @param gameId   the id of the game or null if it is to be created
+	 * @param name     the name of the game if it is to be created
+	 * @return the id of the game
+	 * @throws SQLException if the snapshot could not be written
+	 */
+	private int write(GameSnapshot snapshot, Integer gameId, String name) throws SQLException {
+		long delay = retryDelay;
+		for (int attempt = 1; ; attempt++) {
+			try {
+				if (gameId == null) return repository.createGameInDB(snapshot, name);
+				repository.updateGameInDB(snapshot, gameId);
+				return gameId;
+			} catch (SQLException e) {
+				if (attempt >= maxAttempts || !isTransient(e)) throw e;
+			}
+			try {
+				Thread.sleep(delay);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SQLException("Interrupted while retrying to save the game", e);
+			}
+			delay *= 2;
+		}
+	}
+
+	/**
+	 * <p>Returns whether the specified exception may not occur
+	 * if the operation is retried, such as a lost connection, a
+	 * timeout or a deadlock.</p>
+	 *
+	 * @param e the exception
+	 * @return true if the operation should be retried
+	 */
+	static boolean isTransient(SQLException e) {
+		if (e instanceof SQLTransientException || e instanceof SQLRecoverableException) return true;
+		String state = e.getSQLState();
+		// Connection exceptions and transaction rollbacks, e.g. deadlocks
+		return state != null && (state.startsWith("08") || state.startsWith("40"));
+	}
+
+	/**
+	 * <p>Waits until all the saves made so far have been written,
+	 * or failed to be written, or until the timeout has elapsed.</p>
+	 *
+	 * @param timeout the maximum time to wait in milliseconds
+	 * @return true if all the saves have been written
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public synchronized boolean awaitIdle(long timeout) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + timeout;
+		while (isBusy()) {
+			long remaining = deadline - System.currentTimeMillis();
+			if (remaining <= 0) return false;
+			wait(remaining);
+		}
+		return true;
+	}
+
+	private boolean isBusy() {
+		for (Entry entry : entries.values()) {
+			if (entry.running) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * <p>Waits for the saves made so far to be written, for at most
+	 * the specified time, and stops the background threads. Saves made
+	 * after the queue has been closed fail.</p>
+	 *
+	 * @param timeout the maximum time to wait in milliseconds
+	 */
+	public void close(long timeout) {
+		try {
+			awaitIdle(timeout);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		executor.shutdown();
+	}
+}
@@ -0,0 +1,49 @@
+package dk.dtu.compute.se.pisd.roborally.fileaccess;
+
+/**
+ * <p>Thrown when a board file cannot be read or is not a valid board.
+ * The exception tells which board could not be loaded and, if the
+ * problem is in the contents of the file, the line and column of the
+ * file at which the problem was found.</p>
+ */
+public class BoardLoadException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	private final String boardName;
+	private final int line;
+	private final int column;
+
+	public BoardLoadException(String boardName, String message, Throwable cause) {
+		this(boardName, -1, -1, message, cause);
+	}
+
+	public BoardLoadException(String boardName, int line, int column, String message, Throwable cause) {
+		super("Could not load the board " + boardName
+				+ (line < 0 ? "" : " at line " + line + " column " + column) + ": " + message, cause);
+		this.boardName = boardName;
+		this.line = line;
+		this.column = column;
+	}
+
+	public String getBoardName() {
+		return boardName;
+	}
+
+	/**
+	 * <p>Returns the line of the board file at which the problem was found.</p>
+	 *
+	 * @return the line, starting at 1, or -1 if the problem is not in the contents of the file
+	 */
+	public int getLine() {
+		return line;
+	}
+
+	/**
+	 * <p>Returns the column of the board file at which the problem was found.</p>
+	 *
+	 * @return the column, starting at 1, or -1 if the problem is not in the contents of the file
+	 */
+	public int getColumn() {
+		return column;
+	}
+}
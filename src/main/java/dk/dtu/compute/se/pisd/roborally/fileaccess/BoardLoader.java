@@ -21,23 +21,31 @@
  */
 package dk.dtu.compute.se.pisd.roborally.fileaccess;
 
-import com.google.gson.*;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.JsonWriter;
-import dk.dtu.compute.se.pisd.roborally.controller.boardElementController.BoardLaserController;
-import dk.dtu.compute.se.pisd.roborally.controller.boardElementController.IBoardElementController;
 import dk.dtu.compute.se.pisd.roborally.fileaccess.model.BoardTemplate;
 import dk.dtu.compute.se.pisd.roborally.fileaccess.model.SpaceTemplate;
+import dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot.SnapshotCodec;
 import dk.dtu.compute.se.pisd.roborally.model.board.Board;
 import dk.dtu.compute.se.pisd.roborally.model.board.Space;
 import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.BoardElement;
-import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.BoardLaser;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
+import java.net.URL;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 
 /**
  * ...
@@ -50,62 +58,324 @@ public class BoardLoader {
 	private static final String BOARDSFOLDER = "boards";
 	private static final String DEFAULTBOARD = "defaultboard";
 	private static final String JSON_EXT = ".json";
+	private static final int BUFFER_SIZE = 8192;
+	/**
+	 * <p>Bytes read between each notification of the progress of loading a board.</p>
+	 */
+	private static final long PROGRESS_INTERVAL = 1 << 16;
+	private static final Pattern LOCATION = Pattern.compile(" at line (\\d+) column (\\d+)");
+
+	/**
+	 * <p>The boards loaded so far by their names. The map only decides
+	 * which thread parses a board; the parse itself happens outside the
+	 * map, and other threads loading the same board wait for its
+	 * snapshot.</p>
+	 */
+	private static final Map<String, CachedBoard> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * <p>A board which has been loaded, or is being loaded, kept as an
+	 * immutable binary snapshot from which new copies of the board are
+	 * decoded, together with the checksum of the file it was loaded from,
+	 * so that the board is loaded again if the file changes.</p>
+	 */
+	private static final class CachedBoard {
+		private final long checksum;
+		/**
+		 * <p>Completed with the snapshot of the board once it has been
+		 * parsed, or with null if the board cannot be encoded, in which
+		 * case the file is parsed every time. Completed exceptionally if
+		 * the board could not be parsed.</p>
+		 */
+		private final CompletableFuture<byte[]> snapshot = new CompletableFuture<>();
+
+		private CachedBoard(long checksum) {
+			this.checksum = checksum;
+		}
+	}
 
 	/**
 	 * <p>Loads a {@link Board} from a file and returns it.</p>
+	 * <p>The file is only parsed the first time the board is loaded,
+	 * or when the file has changed. Afterwards, a new copy of the board
+	 * is decoded from a cached snapshot, so loading the same board for
+	 * many games costs a single parse.</p>
 	 *
 	 * @param boardName the name of the board which is to be loaded
 	 * @return a new board that was generated from a file
-	 * @throws IOException
+	 * @throws BoardLoadException if the file cannot be read or is not a valid board
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
 	public static Board loadBoard(String boardName) {
+		return loadBoard(boardName, null);
+	}
+
+	/**
+	 * <p>Loads a {@link Board} from a file and returns it, notifying the
+	 * specified listener of the number of bytes of the file read so far
+	 * while the file is parsed.</p>
+	 * <p>The file is read as a stream and the elements of each space are
+	 * added to the board as the space is read, so that loading a very large
+	 * board does not hold the whole file or an intermediate template of the
+	 * board in memory. This relies on the dimensions of the board coming
+	 * before its spaces in the file, as they do in every saved board.</p>
+	 *
+	 * @param boardName the name of the board which is to be loaded
+	 * @param listener  the listener notified of the progress, or null
+	 * @return a new board that was generated from a file
+	 * @throws BoardLoadException if the file cannot be read or is not a valid board
+	 */
+	public static Board loadBoard(String boardName, IProgressListener listener) {
 		if (boardName == null) {
 			boardName = DEFAULTBOARD;
 		}
 
 		ClassLoader classLoader = BoardLoader.class.getClassLoader();
-		InputStream inputStream = classLoader.getResourceAsStream(BOARDSFOLDER + "/" + boardName + JSON_EXT);
-		if (inputStream == null) {
-			if (!boardName.equals(DEFAULTBOARD)) return loadBoard(DEFAULTBOARD);
+		URL url = classLoader.getResource(BOARDSFOLDER + "/" + boardName + JSON_EXT);
+		if (url == null) {
+			if (!boardName.equals(DEFAULTBOARD)) return loadBoard(DEFAULTBOARD, listener);
 			// TODO these constants should be defined somewhere
 			return new Board(8, 8);
 		}
 
-		// In simple cases, we can create a Gson object with: new Gson()
-		GsonBuilder simpleBuilder = new GsonBuilder().registerTypeAdapter(
-				BoardElement.class, new Adapter<BoardElement>());
-		//new GsonBuilder().registerTypeAdapter(FieldAction.class, new Adapter<FieldAction>());
-		Gson gson = simpleBuilder.create();
+		// Checksumming the file is a cheap first pass, which does not keep the file in memory
+		CRC32 crc = new CRC32();
+		long size = 0;
+		try (InputStream inputStream = url.openStream()) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			for (int read; (read = inputStream.read(buffer)) >= 0; size += read) {
+				crc.update(buffer, 0, read);
+			}
+		} catch (IOException e) {
+			throw new BoardLoadException(boardName, "the file could not be read", e);
+		}
+		long checksum = crc.getValue();
+		long total = size;
 
+		CachedBoard fresh = new CachedBoard(checksum);
+		CachedBoard cached = cache.compute(boardName, (key, old) -> old != null && old.checksum == checksum ? old : fresh);
+		if (cached == fresh) {
+			// The board parsed while caching it is not shared, so it is returned as is
+			try {
+				Board board = readBoard(url, boardName, total, listener);
+				fresh.snapshot.complete(encode(board));
+				return board;
+			} catch (RuntimeException e) {
+				cache.remove(boardName, fresh);
+				fresh.snapshot.completeExceptionally(e);
+				throw e;
+			}
+		}
 
-		Board result;
-		// FileReader fileReader = null;
-		JsonReader reader = null;
+		byte[] snapshot;
+		try {
+			snapshot = cached.snapshot.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof BoardLoadException) throw (BoardLoadException) e.getCause();
+			throw new BoardLoadException(boardName, "the board could not be loaded", e.getCause());
+		}
+		if (snapshot == null) return readBoard(url, boardName, total, listener);
 		try {
-			// fileReader = new FileReader(filename);
-			reader = gson.newJsonReader(new InputStreamReader(inputStream));
-			BoardTemplate template = gson.fromJson(reader, BoardTemplate.class);
+			Board board = SnapshotCodec.decodeBoard(snapshot);
+			if (listener != null) listener.progress(total, total);
+			return board;
+		} catch (IOException e) {
+			cache.remove(boardName, cached);
+			throw new BoardLoadException(boardName, "the cached copy of the board could not be decoded", e);
+		}
+	}
 
-			result = boardFromBoardTemplate(template);
-			reader.close();
-			return result;
-		} catch (IOException e1) {
-			if (reader != null) {
-				try {
-					reader.close();
-					inputStream = null;
-				} catch (IOException e2) {
-				}
+	/**
+	 * <p>Reads a {@link Board} from a board file.</p>
+	 *
+	 * @param url       the location of the file
+	 * @param boardName the name of the board, for error messages and if the file does not name it
+	 * @param total     the size of the file in bytes
+	 * @param listener  the listener notified of the progress, or null
+	 * @return a new board
+	 * @throws BoardLoadException if the file cannot be read or is not a valid board
+	 */
+	private static Board readBoard(URL url, String boardName, long total, IProgressListener listener) {
+		JsonReader reader = null;
+		try (CountingInputStream inputStream = new CountingInputStream(url.openStream())) {
+			reader = new JsonReader(new InputStreamReader(new BufferedInputStream(inputStream, BUFFER_SIZE), StandardCharsets.UTF_8));
+			long[] reported = {0};
+			Board board = readBoard(reader, boardName, () -> {
+				if (listener == null || inputStream.count - reported[0] < PROGRESS_INTERVAL) return;
+				reported[0] = inputStream.count;
+				listener.progress(reported[0], total);
+			});
+			if (reader.peek() != JsonToken.END_DOCUMENT) throw new IllegalStateException("Expected the end of the file");
+			if (listener != null) listener.progress(total, total);
+			return board;
+		} catch (IOException | IllegalStateException | NumberFormatException e) {
+			if (reader == null) throw new BoardLoadException(boardName, "the file could not be read", e);
+			// The reader only tells where it is through its string representation
+			Matcher matcher = LOCATION.matcher(reader.toString());
+			if (!matcher.find()) throw new BoardLoadException(boardName, e.getMessage(), e);
+			throw new BoardLoadException(boardName, Integer.parseInt(matcher.group(1)),
+					Integer.parseInt(matcher.group(2)), e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * <p>Reads a board from the specified reader, adding the elements
+	 * of each space to the board as soon as the space has been read.</p>
+	 *
+	 * @param reader    the reader positioned at the start of the board
+	 * @param boardName the name of the board, if the file does not name it
+	 * @param progress  run after each space has been read
+	 * @return a new board
+	 */
+	private static Board readBoard(JsonReader reader, String boardName, Runnable progress) throws IOException {
+		String name = null;
+		int width = 0;
+		int height = 0;
+		int checkpointCount = 0;
+		Board board = null;
+		// Only used if the spaces come before the dimensions of the board
+		List<SpaceTemplate> spaces = null;
+
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "name":
+					if (reader.peek() == JsonToken.NULL) reader.nextNull();
+					else name = reader.nextString();
+					break;
+				case "width":
+					width = readDimension(reader);
+					break;
+				case "height":
+					height = readDimension(reader);
+					break;
+				case "checkpointCount":
+					checkpointCount = reader.nextInt();
+					break;
+				case "spaces":
+					if (board == null && width > 0 && height > 0) {
+						board = new Board(width, height, name == null ? boardName : name);
+					}
+					reader.beginArray();
+					while (reader.hasNext()) {
+						SpaceTemplate space = readSpace(reader);
+						if (board != null) {
+							addSpace(board, space);
+						} else {
+							if (spaces == null) spaces = new ArrayList<>();
+							spaces.add(space);
+						}
+						progress.run();
+					}
+					reader.endArray();
+					break;
+				default:
+					reader.skipValue();
 			}
-			if (inputStream != null) {
-				try {
-					inputStream.close();
-				} catch (IOException e2) {
-				}
+		}
+		reader.endObject();
+
+		if (width <= 0 || height <= 0) throw new IllegalStateException("The board has no width or height");
+		if (board == null) {
+			BoardTemplate template = new BoardTemplate();
+			template.name = name == null ? boardName : name;
+			template.width = width;
+			template.height = height;
+			if (spaces != null) template.spaces = spaces;
+			board = boardFromBoardTemplate(template);
+		}
+		board.setCheckpointAmount(checkpointCount);
+		return board;
+	}
+
+	private static int readDimension(JsonReader reader) throws IOException {
+		int dimension = reader.nextInt();
+		if (dimension <= 0) throw new IllegalStateException("Expected a positive width and height but was " + dimension);
+		return dimension;
+	}
+
+	/**
+	 * <p>Reads a space and its elements. The elements are
+	 * read through the {@link ElementTypeRegistry}.</p>
+	 */
+	private static SpaceTemplate readSpace(JsonReader reader) throws IOException {
+		SpaceTemplate space = new SpaceTemplate();
+		reader.beginObject();
+		while (reader.hasNext()) {
+			switch (reader.nextName()) {
+				case "x":
+					space.x = reader.nextInt();
+					break;
+				case "y":
+					space.y = reader.nextInt();
+					break;
+				case "boardElements":
+					reader.beginArray();
+					while (reader.hasNext()) {
+						space.boardElements.add(ElementTypeRegistry.read(reader));
+					}
+					reader.endArray();
+					break;
+				default:
+					reader.skipValue();
 			}
 		}
-		return null;
+		reader.endObject();
+		return space;
+	}
+
+	private static void addSpace(Board board, SpaceTemplate spaceTemplate) {
+		Space space = board.getSpace(spaceTemplate.x, spaceTemplate.y);
+		if (space == null) return;
+		for (BoardElement boardElement : spaceTemplate.boardElements) {
+			space.addBoardElement(boardElement);
+		}
+	}
+
+	/**
+	 * <p>Encodes the specified board for the cache.</p>
+	 *
+	 * @param board the board to encode
+	 * @return the snapshot of the board or null if it has elements without a codec
+	 */
+	private static byte[] encode(Board board) {
+		try {
+			return SnapshotCodec.encodeBoard(board);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * <p>An input stream counting the bytes read through it.</p>
+	 */
+	private static final class CountingInputStream extends FilterInputStream {
+		private volatile long count;
+
+		private CountingInputStream(InputStream in) {
+			super(in);
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) count++;
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int read = super.read(b, off, len);
+			if (read > 0) count += read;
+			return read;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			count += skipped;
+			return skipped;
+		}
 	}
 
 
@@ -117,7 +387,6 @@ public class BoardLoader {
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
 	public static void saveBoard(@NotNull Board board, String name) {
-		detachAllLasers(board); //Todo: this really should not be necessary. Find a proper solution.
 		BoardTemplate template = boardToBoardTemplate(board, name);
 
 		ClassLoader classLoader = BoardLoader.class.getClassLoader();
@@ -126,43 +395,44 @@ public class BoardLoader {
 		//       the file "simpleCards.json" to exist!
 		String filename = classLoader.getResource(BOARDSFOLDER + "/" + name  + JSON_EXT).getPath();
 
-		// In simple cases, we can create a Gson object with new:
-		//
-		//   Gson gson = new Gson();
-		//
-		// But, if you need to configure it, it is better to create it from
-		// a builder (here, we want to configure the JSON serialisation with
-		// a pretty printer):
-		GsonBuilder simpleBuilder = new GsonBuilder().
-				registerTypeAdapter(BoardElement.class, new Adapter<BoardElement>()).
-				setPrettyPrinting();
-		Gson gson = simpleBuilder.create();
-
-		FileWriter fileWriter = null;
-		JsonWriter writer = null;
-		try {
-			//filename = new URI(filename).getPath();
-			filename = URLDecoder.decode(filename, StandardCharsets.UTF_8);
-			fileWriter = new FileWriter(filename);
-			writer = gson.newJsonWriter(fileWriter);
-			gson.toJson(template, template.getClass(), writer);
+		//filename = new URI(filename).getPath();
+		filename = URLDecoder.decode(filename, StandardCharsets.UTF_8);
+		try (JsonWriter writer = new JsonWriter(new BufferedWriter(new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8)))) {
+			writer.setIndent("  ");
+			writeBoard(writer, template);
 		} catch (IOException e1) {
 			assert false;
-		} finally {
-			if (writer != null) {
-				try {
-					writer.close();
-				} catch (IOException e2) {
-				}
-			}
-			if (fileWriter != null) {
-				try {
-					fileWriter.close();
-				} catch (IOException e2) {
-				}
+		}
+	}
+
+	/**
+	 * <p>Writes a board file of the specified template. The elements
+	 * are written through the {@link ElementTypeRegistry}.</p>
+	 *
+	 * @param writer   the writer
+	 * @param template the template of the board
+	 * @throws IOException if the board cannot be written
+	 */
+	private static void writeBoard(JsonWriter writer, BoardTemplate template) throws IOException {
+		writer.beginObject();
+		writer.name("name").value(template.name);
+		writer.name("width").value(template.width);
+		writer.name("height").value(template.height);
+		writer.name("checkpointCount").value(template.checkpointCount);
+		writer.name("spaces").beginArray();
+		for (SpaceTemplate space : template.spaces) {
+			writer.beginObject();
+			writer.name("x").value(space.x);
+			writer.name("y").value(space.y);
+			writer.name("boardElements").beginArray();
+			for (BoardElement boardElement : space.boardElements) {
+				ElementTypeRegistry.write(writer, boardElement);
 			}
+			writer.endArray();
+			writer.endObject();
 		}
-		attachAllLasers(board); //Todo: this really should not be necessary. Find a proper solution.
+		writer.endArray();
+		writer.endObject();
 	}
 
 	/**
@@ -177,16 +447,8 @@ public class BoardLoader {
 		Board board = new Board(template.width, template.height, template.name);
 		board.setCheckpointAmount(template.checkpointCount);
 		for (SpaceTemplate spaceTemplate : template.spaces) {
-			Space space = board.getSpace(spaceTemplate.x, spaceTemplate.y);
-			if (space == null) continue;
-			//todo add all method in space?
-			for (BoardElement boardElement : spaceTemplate.boardElements) {
-				space.addBoardElement(boardElement);
-			}
-
+			addSpace(board, spaceTemplate);
 		}
-
-		attachAllLasers(board); //Todo: this really should not be necessary. Find a proper solution.
 		return board;
 	}
 
@@ -231,44 +493,4 @@ public class BoardLoader {
 		spaceTemplate.boardElements.addAll(Arrays.asList(space.getElements()));
 		return spaceTemplate;
 	}
-
-	/**
-	 * This method detaches all lasers from their
-	 * board laser. <b>Very icky!</b> and really should
-	 * not be necessary. Find a better way!
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
-	 */
-	private static void detachAllLasers(Board board){
-		for (int x = 0; x < board.width; x++) {
-			for (int y = 0; y < board.height; y++) {
-				Space space = board.getSpace(x, y);
-				if (space == null) continue;
-				for (IBoardElementController aEController: space.getActivationElementControllers()) {
-					if (!(aEController instanceof BoardLaserController)) continue;
-					aEController.getBoardElement().detach(((BoardLaser)aEController.getBoardElement()).getLaser());
-				}
-			}
-		}
-	}
-
-	/**
-	 * This method attaches all lasers to their
-	 * board laser. <b>Very icky!</b> and really should
-	 * not be necessary. Find a better way!
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
-	 */
-	private static void attachAllLasers(Board board){
-		for (int x = 0; x < board.width; x++) {
-			for (int y = 0; y < board.height; y++) {
-				Space space = board.getSpace(x, y);
-				if (space == null) continue;
-				for (IBoardElementController aEController: space.getActivationElementControllers()) {
-					if (!(aEController instanceof BoardLaserController)) continue;
-					aEController.getBoardElement().attach(((BoardLaser)aEController.getBoardElement()).getLaser());
-				}
-			}
-		}
-	}
-
-
 }
@@ -0,0 +1,126 @@
+package dk.dtu.compute.se.pisd.roborally.fileaccess;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import dk.dtu.compute.se.pisd.roborally.model.enums.MoveHazardType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>The fields of a board element as read from a board file, from
+ * which an {@link IElementFactory} creates the element. Fields which
+ * are not in the file keep their defaults, and fields which are not
+ * known are skipped.</p>
+ */
+public class ElementFields {
+	private static final Heading[] NO_HEADINGS = new Heading[0];
+
+	public Heading[] position = NO_HEADINGS;
+	public Heading[] impassableFrom = NO_HEADINGS;
+	public Heading[] opaqueFrom = NO_HEADINGS;
+	public Heading direction;
+	public int priority;
+	public int rotation;
+	public int distance;
+	public int number;
+	public MoveHazardType moveHazardType;
+	public boolean hasEnergyCube = true;
+
+	/**
+	 * <p>Reads the fields of an object, such as the instance
+	 * of an element in the legacy format.</p>
+	 *
+	 * @param reader the reader positioned at the start of the object
+	 * @throws IOException if the object cannot be read
+	 */
+	void readObject(JsonReader reader) throws IOException {
+		reader.beginObject();
+		while (reader.hasNext()) {
+			if (!readField(reader.nextName(), reader)) reader.skipValue();
+		}
+		reader.endObject();
+	}
+
+	/**
+	 * <p>Reads the value of the field of the specified name, if it is known.</p>
+	 *
+	 * @param name   the name of the field
+	 * @param reader the reader positioned at the value of the field
+	 * @return true if the field is known and was read
+	 * @throws IOException if the value cannot be read
+	 */
+	boolean readField(String name, JsonReader reader) throws IOException {
+		switch (name) {
+			case "position":
+				position = readHeadings(reader);
+				return true;
+			case "impassableFrom":
+				impassableFrom = readHeadings(reader);
+				return true;
+			case "opaqueFrom":
+				opaqueFrom = readHeadings(reader);
+				return true;
+			case "direction":
+				direction = readHeading(reader);
+				return true;
+			case "priority":
+				priority = reader.nextInt();
+				return true;
+			case "rotation":
+				rotation = reader.nextInt();
+				return true;
+			case "distance":
+				distance = reader.nextInt();
+				return true;
+			case "number":
+				number = reader.nextInt();
+				return true;
+			case "moveHazardType":
+				moveHazardType = readEnum(reader, MoveHazardType.class);
+				return true;
+			case "hasEnergyCube":
+				hasEnergyCube = reader.nextBoolean();
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	private static Heading[] readHeadings(JsonReader reader) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return NO_HEADINGS;
+		}
+		reader.beginArray();
+		if (!reader.hasNext()) {
+			reader.endArray();
+			return NO_HEADINGS;
+		}
+		List<Heading> headings = new ArrayList<>(4);
+		while (reader.hasNext()) {
+			headings.add(readHeading(reader));
+		}
+		reader.endArray();
+		return headings.toArray(NO_HEADINGS);
+	}
+
+	private static Heading readHeading(JsonReader reader) throws IOException {
+		return readEnum(reader, Heading.class);
+	}
+
+	private static <E extends Enum<E>> E readEnum(JsonReader reader, Class<E> type) throws IOException {
+		if (reader.peek() == JsonToken.NULL) {
+			reader.nextNull();
+			return null;
+		}
+		String value = reader.nextString();
+		try {
+			return Enum.valueOf(type, value);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalStateException("Unknown " + type.getSimpleName() + " " + value);
+		}
+	}
+}
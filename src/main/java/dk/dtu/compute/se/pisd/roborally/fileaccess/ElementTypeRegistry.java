@@ -0,0 +1,249 @@
+package dk.dtu.compute.se.pisd.roborally.fileaccess;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.BoardElement;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.PriorityAntenna;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.Wall;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.BoardLaser;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.Checkpoint;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.EnergySpace;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.MoveHazard;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>Reads and writes the board elements of board files by short and
+ * stable type tags, such as {@code wall} and {@code laser}, through
+ * the {@link IElementFactory} registered for each tag, so that neither
+ * the package nor the fields of the element classes are part of the
+ * file format. An element is written as an object of its tag and the
+ * fields written by its factory:</p>
+ * <pre>{"type": "conveyor", "direction": "EAST", "priority": 2, ...}</pre>
+ * <p>Elements in the legacy format, an object of the fully qualified
+ * class name under {@code CLASSNAME} and the serialized fields of the
+ * element under {@code INSTANCE}, are read by the simple name of the
+ * class, so that they can still be read after the class has moved
+ * package. Saving such a board migrates it. Lasers and conveyors can no
+ * longer block movement or lasers, so such elements with an
+ * {@code impassableFrom} or {@code opaqueFrom} are rejected rather than
+ * silently changed.</p>
+ */
+public final class ElementTypeRegistry {
+	private static final String TYPE = "type";
+	private static final String LEGACY_CLASSNAME = "CLASSNAME";
+	private static final String LEGACY_INSTANCE = "INSTANCE";
+
+	/**
+	 * <p>A registered type of board elements.</p>
+	 */
+	private static final class ElementType<E extends BoardElement> {
+		private final String tag;
+		private final IElementFactory<E> factory;
+
+		private ElementType(String tag, IElementFactory<E> factory) {
+			this.tag = tag;
+			this.factory = factory;
+		}
+	}
+
+	private static final Map<String, ElementType<?>> typesByTag = new HashMap<>();
+	private static final Map<Class<?>, ElementType<?>> typesByClass = new HashMap<>();
+	private static final Map<String, ElementType<?>> typesBySimpleName = new HashMap<>();
+
+	static {
+		register("wall", Wall.class, new IElementFactory<>() {
+			@Override
+			public Wall create(ElementFields fields) {
+				if (fields.position.length == 0) throw new IllegalStateException("A wall must have a position");
+				return new Wall(fields.position[0]);
+			}
+
+			@Override
+			public void write(JsonWriter writer, Wall element) throws IOException {
+				writeHeadings(writer, "position", element.getPosition());
+			}
+		});
+		register("antenna", PriorityAntenna.class, new IElementFactory<>() {
+			@Override
+			public PriorityAntenna create(ElementFields fields) {
+				return new PriorityAntenna();
+			}
+
+			@Override
+			public void write(JsonWriter writer, PriorityAntenna element) {
+			}
+		});
+		register("laser", BoardLaser.class, new IElementFactory<>() {
+			@Override
+			public BoardLaser create(ElementFields fields) {
+				requireNoSides(fields);
+				return new BoardLaser(requireDirection(fields), fields.priority);
+			}
+
+			@Override
+			public void write(JsonWriter writer, BoardLaser element) throws IOException {
+				writer.name("direction").value(element.getDirection().name());
+				writer.name("priority").value(element.getPriority());
+			}
+		});
+		register("checkpoint", Checkpoint.class, new IElementFactory<>() {
+			@Override
+			public Checkpoint create(ElementFields fields) {
+				return new Checkpoint(fields.position, fields.impassableFrom, fields.opaqueFrom,
+						fields.direction, fields.priority, fields.number);
+			}
+
+			@Override
+			public void write(JsonWriter writer, Checkpoint element) throws IOException {
+				writer.name("number").value(element.getNumber());
+				writer.name("priority").value(element.getPriority());
+				if (element.getDirection() != null) writer.name("direction").value(element.getDirection().name());
+				writeHeadings(writer, "position", element.getPosition());
+				writeHeadings(writer, "impassableFrom", element.getImpassableFrom());
+				writeHeadings(writer, "opaqueFrom", element.getOpaqueFrom());
+			}
+		});
+		register("energy", EnergySpace.class, new IElementFactory<>() {
+			@Override
+			public EnergySpace create(ElementFields fields) {
+				EnergySpace energySpace = new EnergySpace();
+				energySpace.setHasEnergyCube(fields.hasEnergyCube);
+				return energySpace;
+			}
+
+			@Override
+			public void write(JsonWriter writer, EnergySpace element) throws IOException {
+				writer.name("hasEnergyCube").value(element.getHasEnergyCube());
+			}
+		});
+		register("conveyor", MoveHazard.class, new IElementFactory<>() {
+			@Override
+			public MoveHazard create(ElementFields fields) {
+				if (fields.moveHazardType == null) throw new IllegalStateException("A conveyor must have a moveHazardType");
+				requireNoSides(fields);
+				return new MoveHazard(requireDirection(fields), fields.priority, fields.rotation,
+						fields.distance, fields.moveHazardType);
+			}
+
+			@Override
+			public void write(JsonWriter writer, MoveHazard element) throws IOException {
+				writer.name("moveHazardType").value(element.getMoveHazardType().name());
+				writer.name("direction").value(element.getDirection().name());
+				writer.name("priority").value(element.getPriority());
+				writer.name("rotation").value(element.getRotation());
+				writer.name("distance").value(element.getDistance());
+			}
+		});
+	}
+
+	private ElementTypeRegistry() {
+	}
+
+	/**
+	 * <p>Registers a type of board element under the specified tag,
+	 * replacing any type registered under the tag or for the class.</p>
+	 *
+	 * @param tag     the tag of the type in board files
+	 * @param type    the class of the elements
+	 * @param factory the factory creating and writing the elements
+	 * @param <E>     the type of the elements
+	 */
+	public static synchronized <E extends BoardElement> void register(@NotNull String tag, @NotNull Class<E> type, @NotNull IElementFactory<E> factory) {
+		ElementType<E> elementType = new ElementType<>(tag, factory);
+		typesByTag.put(tag, elementType);
+		typesByClass.put(type, elementType);
+		typesBySimpleName.put(type.getSimpleName(), elementType);
+	}
+
+	/**
+	 * <p>Reads a board element in the current or the legacy format.</p>
+	 *
+	 * @param reader the reader positioned at the start of the element
+	 * @return a new element
+	 * @throws IOException           if the element cannot be read
+	 * @throws IllegalStateException if the element is of an unknown type or misses a field
+	 */
+	public static BoardElement read(JsonReader reader) throws IOException {
+		ElementFields fields = new ElementFields();
+		String tag = null;
+		String className = null;
+		reader.beginObject();
+		while (reader.hasNext()) {
+			String name = reader.nextName();
+			switch (name) {
+				case TYPE:
+					tag = reader.nextString();
+					break;
+				case LEGACY_CLASSNAME:
+					className = reader.nextString();
+					break;
+				case LEGACY_INSTANCE:
+					fields.readObject(reader);
+					break;
+				default:
+					if (!fields.readField(name, reader)) reader.skipValue();
+			}
+		}
+
+		ElementType<?> type;
+		synchronized (ElementTypeRegistry.class) {
+			if (tag != null) {
+				type = typesByTag.get(tag);
+			} else if (className != null) {
+				type = typesBySimpleName.get(className.substring(className.lastIndexOf('.') + 1));
+			} else {
+				throw new IllegalStateException("The board element has no type");
+			}
+		}
+		if (type == null) throw new IllegalStateException("Unknown board element type " + (tag != null ? tag : className));
+		// The element is created before leaving the object, so that errors are reported at the element
+		BoardElement element = type.factory.create(fields);
+		reader.endObject();
+		return element;
+	}
+
+	/**
+	 * <p>Writes a board element in the current format.</p>
+	 *
+	 * @param writer  the writer
+	 * @param element the element to write
+	 * @throws IOException              if the element cannot be written
+	 * @throws IllegalArgumentException if the type of the element is not registered
+	 */
+	@SuppressWarnings("unchecked")
+	public static <E extends BoardElement> void write(JsonWriter writer, E element) throws IOException {
+		ElementType<E> type;
+		synchronized (ElementTypeRegistry.class) {
+			type = (ElementType<E>) typesByClass.get(element.getClass());
+		}
+		if (type == null) throw new IllegalArgumentException("No type is registered for " + element.getClass().getName());
+		writer.beginObject();
+		writer.name(TYPE).value(type.tag);
+		type.factory.write(writer, element);
+		writer.endObject();
+	}
+
+	private static Heading requireDirection(ElementFields fields) {
+		if (fields.direction == null) throw new IllegalStateException("The board element must have a direction");
+		return fields.direction;
+	}
+
+	private static void requireNoSides(ElementFields fields) {
+		if (fields.impassableFrom.length > 0 || fields.opaqueFrom.length > 0) {
+			throw new IllegalStateException("The board element cannot be impassable or opaque");
+		}
+	}
+
+	private static void writeHeadings(JsonWriter writer, String name, Heading[] headings) throws IOException {
+		writer.name(name).beginArray();
+		if (headings != null) {
+			for (Heading heading : headings) writer.value(heading.name());
+		}
+		writer.endArray();
+	}
+}
@@ -0,0 +1,35 @@
+package dk.dtu.compute.se.pisd.roborally.fileaccess;
+
+import com.google.gson.stream.JsonWriter;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.BoardElement;
+
+import java.io.IOException;
+
+/**
+ * <p>Creates board elements of a type from the fields read from a
+ * board file, and writes the fields of the elements to a board file.
+ * Factories are registered in the {@link ElementTypeRegistry}.</p>
+ *
+ * @param <E> the type of the board elements
+ */
+public interface IElementFactory<E extends BoardElement> {
+
+	/**
+	 * <p>Creates a new element from the specified fields.</p>
+	 *
+	 * @param fields the fields read from the board file
+	 * @return a new element
+	 * @throws IllegalStateException if a field needed by the element is missing
+	 */
+	E create(ElementFields fields);
+
+	/**
+	 * <p>Writes the fields of the specified element, which
+	 * are needed to create it again, as names and values.</p>
+	 *
+	 * @param writer  the writer positioned inside the object of the element
+	 * @param element the element to write
+	 * @throws IOException if the fields cannot be written
+	 */
+	void write(JsonWriter writer, E element) throws IOException;
+}
@@ -0,0 +1,17 @@
+package dk.dtu.compute.se.pisd.roborally.fileaccess;
+
+/**
+ * <p>A listener notified of the progress of a long running
+ * operation, such as loading a very large board.</p>
+ */
+@FunctionalInterface
+public interface IProgressListener {
+
+	/**
+	 * <p>Called when the operation has progressed.</p>
+	 *
+	 * @param done  how much of the operation has been done, e.g. the number of bytes read
+	 * @param total how much there is to be done in total, or -1 if unknown
+	 */
+	void progress(long done, long total);
+}
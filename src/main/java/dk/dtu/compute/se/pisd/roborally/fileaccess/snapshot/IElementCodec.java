@@ -0,0 +1,20 @@
+package dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot;
+
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.BoardElement;
+
+import java.io.IOException;
+
+/**
+ * <p>Writes and reads the state of one type of {@link BoardElement}
+ * in a binary snapshot. The type itself is written by the
+ * {@link SnapshotCodec}.</p>
+ *
+ * @param <E> the type of the board element
+ * @see SnapshotCodec#registerElement(Class, IElementCodec)
+ */
+public interface IElementCodec<E extends BoardElement> {
+
+	void write(SnapshotWriter writer, E element);
+
+	E read(SnapshotReader reader) throws IOException;
+}
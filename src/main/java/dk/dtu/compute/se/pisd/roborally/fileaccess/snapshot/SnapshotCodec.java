@@ -0,0 +1,426 @@
+package dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot;
+
+import dk.dtu.compute.se.pisd.roborally.model.CardZone;
+import dk.dtu.compute.se.pisd.roborally.model.CommandCard;
+import dk.dtu.compute.se.pisd.roborally.model.CommandCardField;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.Space;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.BoardElement;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.PriorityAntenna;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.Wall;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.BoardLaser;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.Checkpoint;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.EnergySpace;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.MoveHazard;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import dk.dtu.compute.se.pisd.roborally.model.enums.MoveHazardType;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * <p>Encodes and decodes {@link Board}s and {@link Game}s in a compact,
+ * versioned binary format, as an alternative to the JSON of the
+ * {@link dk.dtu.compute.se.pisd.roborally.fileaccess.BoardLoader}
+ * for checkpoints, transfers and storage.</p>
+ * <p>A snapshot starts with the bytes {@code R R}, a byte telling whether
+ * it is a board or a game and the version of the format. Coordinates,
+ * counts and enum ordinals are variable length integers, so they generally
+ * take one byte, only spaces with elements are written, and each space is
+ * written as the distance from the index of the previous one. The type of
+ * an element is written by name the first time it occurs in a snapshot and
+ * by number afterwards. The state of each type of element is written by
+ * the {@link IElementCodec} registered for it.</p>
+ */
+public final class SnapshotCodec {
+	public static final int VERSION = 1;
+
+	private static final int MAGIC = 'R';
+	private static final int KIND_BOARD = 'B';
+	private static final int KIND_GAME = 'G';
+
+	/**
+	 * <p>The largest number of players, cards in a pile or elements on
+	 * a space accepted when decoding, so that a corrupt snapshot cannot
+	 * make the decoder allocate huge arrays.</p>
+	 */
+	private static final int MAX_COUNT = 1 << 16;
+
+	private static final Map<Class<?>, IElementCodec<?>> codecsByType = new HashMap<>();
+	private static final Map<String, IElementCodec<?>> codecsByName = new HashMap<>();
+
+	static {
+		registerElement(Wall.class, new IElementCodec<>() {
+			@Override
+			public void write(SnapshotWriter writer, Wall element) {
+				writer.writeEnum(element.getPosition()[0]);
+			}
+
+			@Override
+			public Wall read(SnapshotReader reader) throws IOException {
+				return new Wall(readHeading(reader));
+			}
+		});
+		registerElement(PriorityAntenna.class, new IElementCodec<>() {
+			@Override
+			public void write(SnapshotWriter writer, PriorityAntenna element) {
+			}
+
+			@Override
+			public PriorityAntenna read(SnapshotReader reader) {
+				return new PriorityAntenna();
+			}
+		});
+		registerElement(BoardLaser.class, new IElementCodec<>() {
+			@Override
+			public void write(SnapshotWriter writer, BoardLaser element) {
+				writer.writeEnum(element.getDirection());
+				writer.writeSignedVarInt(element.getPriority());
+			}
+
+			@Override
+			public BoardLaser read(SnapshotReader reader) throws IOException {
+				return new BoardLaser(readHeading(reader), reader.readSignedVarInt());
+			}
+		});
+		registerElement(Checkpoint.class, new IElementCodec<>() {
+			@Override
+			public void write(SnapshotWriter writer, Checkpoint element) {
+				writer.writeByte(element.getPositionMask());
+				writer.writeByte(element.getImpassableMask());
+				writer.writeByte(element.getOpaqueMask());
+				writer.writeEnum(element.getDirection());
+				writer.writeSignedVarInt(element.getPriority());
+				writer.writeSignedVarInt(element.getNumber());
+			}
+
+			@Override
+			public Checkpoint read(SnapshotReader reader) throws IOException {
+				return new Checkpoint(readHeadings(reader), readHeadings(reader), readHeadings(reader),
+						reader.readEnum(Heading.COUNT, Heading::of), reader.readSignedVarInt(), reader.readSignedVarInt());
+			}
+		});
+		registerElement(EnergySpace.class, new IElementCodec<>() {
+			@Override
+			public void write(SnapshotWriter writer, EnergySpace element) {
+				writer.writeBoolean(element.getHasEnergyCube());
+			}
+
+			@Override
+			public EnergySpace read(SnapshotReader reader) throws IOException {
+				EnergySpace energySpace = new EnergySpace();
+				energySpace.setHasEnergyCube(reader.readBoolean());
+				return energySpace;
+			}
+		});
+		registerElement(MoveHazard.class, new IElementCodec<>() {
+			@Override
+			public void write(SnapshotWriter writer, MoveHazard element) {
+				writer.writeEnum(element.getDirection());
+				writer.writeSignedVarInt(element.getPriority());
+				writer.writeSignedVarInt(element.getRotation());
+				writer.writeSignedVarInt(element.getDistance());
+				writer.writeEnum(element.getMoveHazardType());
+			}
+
+			@Override
+			public MoveHazard read(SnapshotReader reader) throws IOException {
+				return new MoveHazard(reader.readEnum(Heading.COUNT, Heading::of), reader.readSignedVarInt(),
+						reader.readSignedVarInt(), reader.readSignedVarInt(), reader.readEnum(MoveHazardType.values()));
+			}
+		});
+	}
+
+	private SnapshotCodec() {
+	}
+
+	/**
+	 * <p>Registers the codec of a type of board element, replacing
+	 * any codec of the type. Only elements of exactly the registered
+	 * types can be encoded.</p>
+	 *
+	 * @param type  the type of the board element
+	 * @param codec the codec writing and reading the state of the elements
+	 * @param <E>   the type of the board element
+	 */
+	public static synchronized <E extends BoardElement> void registerElement(@NotNull Class<E> type, @NotNull IElementCodec<E> codec) {
+		codecsByType.put(type, codec);
+		codecsByName.put(type.getName(), codec);
+	}
+
+	/*Boards*/
+
+	/**
+	 * <p>Encodes the specified board, including the state
+	 * of its elements, e.g. which energy cubes are left.</p>
+	 *
+	 * @param board the board to encode
+	 * @return the snapshot of the board
+	 * @throws IllegalArgumentException if no codec is registered for an element of the board
+	 */
+	public static byte[] encodeBoard(@NotNull Board board) {
+		SnapshotWriter writer = new SnapshotWriter();
+		writeHeader(writer, KIND_BOARD);
+		writeBoard(writer, board);
+		return writer.toByteArray();
+	}
+
+	/**
+	 * <p>Decodes a board encoded by {@link #encodeBoard(Board)}.</p>
+	 *
+	 * @param snapshot the snapshot of the board
+	 * @return a new board
+	 * @throws IOException if the snapshot is not a valid snapshot of a board
+	 */
+	public static Board decodeBoard(byte[] snapshot) throws IOException {
+		SnapshotReader reader = new SnapshotReader(snapshot);
+		readHeader(reader, KIND_BOARD);
+		return readBoard(reader);
+	}
+
+	private static void writeBoard(SnapshotWriter writer, Board board) {
+		writer.writeString(board.getBoardName());
+		writer.writeVarInt(board.width);
+		writer.writeVarInt(board.height);
+		writer.writeVarInt(board.getCheckpointAmount());
+
+		int spaces = 0;
+		for (int i = 0; i < board.width * board.height; i++) {
+			if (board.getSpace(i).getElements().length > 0) spaces++;
+		}
+		writer.writeVarInt(spaces);
+
+		Map<Class<?>, Integer> types = new HashMap<>();
+		int previous = -1;
+		for (int i = 0; i < board.width * board.height; i++) {
+			BoardElement[] elements = board.getSpace(i).getElements();
+			if (elements.length == 0) continue;
+			writer.writeVarInt(i - previous - 1);
+			previous = i;
+			writer.writeVarInt(elements.length);
+			for (BoardElement element : elements) {
+				writeElement(writer, element, types);
+			}
+		}
+	}
+
+	private static Board readBoard(SnapshotReader reader) throws IOException {
+		String name = reader.readString();
+		int width = reader.readVarInt(MAX_COUNT, "width");
+		int height = reader.readVarInt(MAX_COUNT, "height");
+		if ((long) width * height > Integer.MAX_VALUE) throw new IOException("Board of " + width + "x" + height + " is too large");
+		Board board = new Board(width, height, name);
+		board.setCheckpointAmount(reader.readVarInt());
+
+		int spaces = reader.readVarInt(width * height, "number of spaces");
+		List<IElementCodec<?>> types = new ArrayList<>();
+		int index = -1;
+		for (int i = 0; i < spaces; i++) {
+			index += reader.readVarInt() + 1;
+			Space space = board.getSpace(index);
+			if (space == null) throw new IOException("Invalid space " + index + " in snapshot at byte " + reader.getPosition());
+			int elements = reader.readVarInt(MAX_COUNT, "number of elements");
+			for (int j = 0; j < elements; j++) {
+				space.addBoardElement(readElement(reader, types));
+			}
+		}
+		return board;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <E extends BoardElement> void writeElement(SnapshotWriter writer, E element, Map<Class<?>, Integer> types) {
+		IElementCodec<E> codec;
+		synchronized (SnapshotCodec.class) {
+			codec = (IElementCodec<E>) codecsByType.get(element.getClass());
+		}
+		if (codec == null) throw new IllegalArgumentException("No codec is registered for " + element.getClass().getName());
+		Integer type = types.get(element.getClass());
+		if (type == null) {
+			writer.writeVarInt(0);
+			writer.writeString(element.getClass().getName());
+			types.put(element.getClass(), types.size());
+		} else {
+			writer.writeVarInt(type + 1);
+		}
+		codec.write(writer, element);
+	}
+
+	private static BoardElement readElement(SnapshotReader reader, List<IElementCodec<?>> types) throws IOException {
+		int type = reader.readVarInt(types.size(), "element type");
+		IElementCodec<?> codec;
+		if (type == 0) {
+			String name = reader.readString();
+			synchronized (SnapshotCodec.class) {
+				codec = codecsByName.get(name);
+			}
+			if (codec == null) throw new IOException("Unknown element type " + name + " in snapshot at byte " + reader.getPosition());
+			types.add(codec);
+		} else {
+			codec = types.get(type - 1);
+		}
+		return codec.read(reader);
+	}
+
+	/*Games*/
+
+	/**
+	 * <p>Encodes the specified game, including its board, players and
+	 * their cards. The game may be decoded without its board being loaded.</p>
+	 *
+	 * @param game the game to encode
+	 * @return the snapshot of the game
+	 * @throws IllegalArgumentException if no codec is registered for an element of the board
+	 */
+	public static byte[] encodeGame(@NotNull Game game) {
+		SnapshotWriter writer = new SnapshotWriter(1024);
+		writeHeader(writer, KIND_GAME);
+		writeBoard(writer, game.getBoard());
+
+		Board board = game.getBoard();
+		writer.writeVarInt(game.getGameId() == null ? 0 : game.getGameId() + 1);
+		writer.writeEnum(game.getPhase());
+		writer.writeVarInt(game.getStep());
+		writer.writeBoolean(game.isStepMode());
+
+		writer.writeVarInt(game.getNumPlayers());
+		for (Player player : game.getPlayers()) {
+			writer.writeString(player.getName());
+			writer.writeString(player.getColor());
+			writer.writeVarInt(player.getSpace() == null ? 0 : board.getSpaceIndex(player.getSpace()) + 1);
+			writer.writeEnum(player.getDirection());
+			writer.writeVarInt(player.getEnergyCubes());
+			writer.writeVarInt(player.getLastCheckpoint());
+			writeFields(writer, player.getProgram());
+			writeFields(writer, player.getHand());
+			writeCards(writer, player.getDeck());
+			writeCards(writer, player.getDiscardPile());
+		}
+
+		writer.writeVarInt(game.getCurrentPlayer() == null ? 0 : game.getPlayerNumber(game.getCurrentPlayer()) + 1);
+		Player[] activationQueue = game.getPlayerActivationQueue();
+		writer.writeVarInt(activationQueue.length);
+		for (Player player : activationQueue) {
+			writer.writeVarInt(game.getPlayerNumber(player));
+		}
+		return writer.toByteArray();
+	}
+
+	/**
+	 * <p>Decodes a game encoded by {@link #encodeGame(Game)}.</p>
+	 *
+	 * @param snapshot the snapshot of the game
+	 * @return a new game
+	 * @throws IOException if the snapshot is not a valid snapshot of a game
+	 */
+	public static Game decodeGame(byte[] snapshot) throws IOException {
+		SnapshotReader reader = new SnapshotReader(snapshot);
+		readHeader(reader, KIND_GAME);
+		Board board = readBoard(reader);
+		Game game = new Game(board);
+
+		int gameId = reader.readVarInt();
+		if (gameId != 0) game.setGameId(gameId - 1);
+		game.setPhase(reader.readEnum(Phase.values()));
+		game.setStep(reader.readVarInt());
+		game.setStepMode(reader.readBoolean());
+
+		int players = reader.readVarInt(MAX_COUNT, "number of players");
+		for (int i = 0; i < players; i++) {
+			String name = reader.readString();
+			String color = reader.readString();
+			Player player = new Player(game, color, name == null ? "" : name);
+			game.addPlayer(player);
+			int space = reader.readVarInt(board.width * board.height, "space");
+			if (space != 0) player.setSpace(board.getSpace(space - 1));
+			Heading heading = reader.readEnum(Heading.COUNT, Heading::of);
+			if (heading != null) player.setDirection(heading);
+			player.setEnergyCubes(reader.readVarInt());
+			player.setLastCheckpoint(reader.readVarInt());
+			readFields(reader, player.getProgram());
+			readFields(reader, player.getHand());
+			readCards(reader, player.getDeck());
+			readCards(reader, player.getDiscardPile());
+		}
+
+		int current = reader.readVarInt(players, "player");
+		if (current != 0) game.setCurrentPlayer(game.getPlayer(current - 1));
+		int queued = reader.readVarInt(players, "number of queued players");
+		PriorityQueue<Player> activationQueue = new PriorityQueue<>(Comparator.comparingInt(Player::getDistanceToPrioritySpace));
+		for (int i = 0; i < queued; i++) {
+			activationQueue.add(game.getPlayer(reader.readVarInt(players - 1, "player")));
+		}
+		game.setPlayerActivationQueue(activationQueue);
+		return game;
+	}
+
+	private static void writeFields(SnapshotWriter writer, CommandCardField[] fields) {
+		writer.writeVarInt(fields.length);
+		for (CommandCardField field : fields) {
+			writer.writeEnum(field.getCard() == null ? null : field.getCard().command);
+		}
+	}
+
+	private static void readFields(SnapshotReader reader, CommandCardField[] fields) throws IOException {
+		int length = reader.readVarInt(MAX_COUNT, "number of fields");
+		for (int i = 0; i < length; i++) {
+			Command command = reader.readEnum(Command.COUNT, Command::of);
+			if (i < fields.length) fields[i].setCard(command == null ? null : CommandCard.of(command));
+		}
+	}
+
+	private static void writeCards(SnapshotWriter writer, CardZone cards) {
+		writer.writeVarInt(cards.size());
+		for (int i = 0; i < cards.size(); i++) {
+			writer.writeEnum(cards.get(i));
+		}
+	}
+
+	private static void readCards(SnapshotReader reader, CardZone cards) throws IOException {
+		int length = reader.readVarInt(MAX_COUNT, "number of cards");
+		for (int i = 0; i < length; i++) {
+			Command command = reader.readEnum(Command.COUNT, Command::of);
+			if (command == null) throw new IOException("Missing card in snapshot at byte " + reader.getPosition());
+			cards.add(command);
+		}
+	}
+
+	/*Headers and headings*/
+
+	private static void writeHeader(SnapshotWriter writer, int kind) {
+		writer.writeByte(MAGIC);
+		writer.writeByte(MAGIC);
+		writer.writeByte(kind);
+		writer.writeVarInt(VERSION);
+	}
+
+	private static void readHeader(SnapshotReader reader, int kind) throws IOException {
+		if (reader.readByte() != MAGIC || reader.readByte() != MAGIC) throw new IOException("Not a snapshot");
+		int actual = reader.readByte();
+		if (actual != kind) {
+			throw new IOException("Expected a snapshot of a " + (kind == KIND_GAME ? "game" : "board") + " but got " + (char) actual);
+		}
+		int version = reader.readVarInt();
+		if (version < 1 || version > VERSION) throw new IOException("Unsupported snapshot version " + version);
+	}
+
+	/**
+	 * <p>Reads a set of headings written as a mask of
+	 * headings, see {@link Heading#mask()}.</p>
+	 */
+	private static Heading[] readHeadings(SnapshotReader reader) throws IOException {
+		int mask = reader.readByte();
+		if (mask >>> Heading.COUNT != 0) throw new IOException("Invalid headings in snapshot at byte " + reader.getPosition());
+		return Heading.fromMask(mask);
+	}
+
+	private static Heading readHeading(SnapshotReader reader) throws IOException {
+		Heading heading = reader.readEnum(Heading.COUNT, Heading::of);
+		if (heading == null) throw new IOException("Missing heading in snapshot at byte " + reader.getPosition());
+		return heading;
+	}
+}
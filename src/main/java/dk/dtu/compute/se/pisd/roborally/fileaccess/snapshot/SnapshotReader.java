@@ -0,0 +1,114 @@
+package dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntFunction;
+
+/**
+ * <p>Reads the primitive values written by a {@link SnapshotWriter}.
+ * Reading past the end of the snapshot or reading a malformed value
+ * throws an {@link IOException} stating where in the snapshot the
+ * problem is.</p>
+ */
+public class SnapshotReader {
+	private final byte[] buffer;
+	private int position;
+
+	public SnapshotReader(byte[] buffer) {
+		this.buffer = buffer;
+	}
+
+	public int readByte() throws IOException {
+		if (position >= buffer.length) throw new EOFException("Unexpected end of snapshot at byte " + position);
+		return buffer[position++] & 0xFF;
+	}
+
+	public byte[] readBytes(int length) throws IOException {
+		if (length < 0 || position + length > buffer.length) {
+			throw new EOFException("Unexpected end of snapshot at byte " + position);
+		}
+		byte[] bytes = new byte[length];
+		System.arraycopy(buffer, position, bytes, 0, length);
+		position += length;
+		return bytes;
+	}
+
+	public boolean readBoolean() throws IOException {
+		return readByte() != 0;
+	}
+
+	public int readVarInt() throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = readByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) return value;
+		}
+		throw new IOException("Malformed integer in snapshot at byte " + position);
+	}
+
+	public int readSignedVarInt() throws IOException {
+		int value = readVarInt();
+		return (value >>> 1) ^ -(value & 1);
+	}
+
+	/**
+	 * <p>Reads a non-negative integer no larger than the specified bound,
+	 * such as a coordinate or the length of an array.</p>
+	 *
+	 * @param bound the largest valid value
+	 * @param what  what the value is, for the error message
+	 * @return the value
+	 * @throws IOException if the value is out of bounds
+	 */
+	public int readVarInt(int bound, String what) throws IOException {
+		int value = readVarInt();
+		if (value < 0 || value > bound) {
+			throw new IOException("Invalid " + what + " " + value + " in snapshot at byte " + position);
+		}
+		return value;
+	}
+
+	/**
+	 * <p>Reads an enum constant, or null, written by
+	 * {@link SnapshotWriter#writeEnum(Enum)}.</p>
+	 *
+	 * @param values the constants of the enum
+	 * @param <E>    the type of the enum
+	 * @return the constant or null
+	 * @throws IOException if there is no such constant
+	 */
+	public <E extends Enum<E>> E readEnum(E[] values) throws IOException {
+		return readEnum(values.length, ordinal -> values[ordinal]);
+	}
+
+	/**
+	 * <p>Reads an enum constant, or null, written by
+	 * {@link SnapshotWriter#writeEnum(Enum)}.</p>
+	 *
+	 * @param count the number of constants of the enum
+	 * @param of    the constant of each ordinal
+	 * @param <E>   the type of the enum
+	 * @return the constant or null
+	 * @throws IOException if there is no such constant
+	 */
+	public <E extends Enum<E>> E readEnum(int count, IntFunction<E> of) throws IOException {
+		int ordinal = readVarInt(count, "constant");
+		return ordinal == 0 ? null : of.apply(ordinal - 1);
+	}
+
+	public String readString() throws IOException {
+		int length = readVarInt();
+		if (length == 0) return null;
+		return new String(readBytes(length - 1), StandardCharsets.UTF_8);
+	}
+
+	public int getPosition() {
+		return position;
+	}
+
+	public boolean hasRemaining() {
+		return position < buffer.length;
+	}
+}
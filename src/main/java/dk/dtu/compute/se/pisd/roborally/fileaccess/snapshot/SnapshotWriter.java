@@ -0,0 +1,103 @@
+package dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * <p>Writes the primitive values of a binary snapshot to a growing
+ * byte array. Integers are written as variable length integers of
+ * seven bits per byte, so that small values, such as coordinates
+ * and enum ordinals, take a single byte.</p>
+ *
+ * @see SnapshotReader
+ */
+public class SnapshotWriter {
+	private byte[] buffer;
+	private int size;
+
+	public SnapshotWriter() {
+		this(256);
+	}
+
+	public SnapshotWriter(int initialCapacity) {
+		buffer = new byte[Math.max(16, initialCapacity)];
+	}
+
+	public void writeByte(int value) {
+		ensureCapacity(1);
+		buffer[size++] = (byte) value;
+	}
+
+	public void writeBytes(byte[] bytes) {
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, buffer, size, bytes.length);
+		size += bytes.length;
+	}
+
+	public void writeBoolean(boolean value) {
+		writeByte(value ? 1 : 0);
+	}
+
+	/**
+	 * <p>Writes an integer, which should not be negative, as a variable
+	 * length integer. A negative integer takes five bytes.</p>
+	 *
+	 * @param value the integer to write
+	 */
+	public void writeVarInt(int value) {
+		ensureCapacity(5);
+		while ((value & ~0x7F) != 0) {
+			buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		buffer[size++] = (byte) value;
+	}
+
+	/**
+	 * <p>Writes an integer, which may be negative, as a zigzag encoded
+	 * variable length integer, so that integers close to zero take a
+	 * single byte.</p>
+	 *
+	 * @param value the integer to write
+	 */
+	public void writeSignedVarInt(int value) {
+		writeVarInt((value << 1) ^ (value >> 31));
+	}
+
+	/**
+	 * <p>Writes an ordinal of an enum constant, or null.</p>
+	 *
+	 * @param value the enum constant or null
+	 */
+	public void writeEnum(Enum<?> value) {
+		writeVarInt(value == null ? 0 : value.ordinal() + 1);
+	}
+
+	/**
+	 * <p>Writes a string, or null, as its length followed by its UTF-8 bytes.</p>
+	 *
+	 * @param value the string or null
+	 */
+	public void writeString(String value) {
+		if (value == null) {
+			writeVarInt(0);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		writeVarInt(bytes.length + 1);
+		writeBytes(bytes);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public byte[] toByteArray() {
+		return Arrays.copyOf(buffer, size);
+	}
+
+	private void ensureCapacity(int bytes) {
+		if (size + bytes <= buffer.length) return;
+		buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + bytes));
+	}
+}
@@ -0,0 +1,113 @@
+package dk.dtu.compute.se.pisd.roborally.headless;
+
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot.SnapshotCodec;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.GameEventLog;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * <p>Records the events of a {@link Game} in a {@link GameEventLog}
+ * and replays them without any user interface.</p>
+ * <p>A recording starts from a snapshot of the game and a fresh seed
+ * of its random number generator. A replay decodes the snapshot,
+ * reseeds the decoded game and repeats the inputs of the log through
+ * a {@link GameController}. As every outcome of the replay is logged
+ * too, the replay is checked against the original log as it goes,
+ * and it fails at the first event where the two differ.</p>
+ */
+public final class GameReplayer {
+
+	private GameReplayer() {
+	}
+
+	/**
+	 * <p>Starts recording the events of the specified game. The
+	 * game is reseeded, so the recording does not depend on the
+	 * randomness used before it was started.</p>
+	 *
+	 * @param game the game to record
+	 * @return the log to which the events of the game are appended
+	 * @throws IllegalArgumentException if the game cannot be encoded as a snapshot
+	 * @see SnapshotCodec#encodeGame(Game)
+	 */
+	public static GameEventLog record(@NotNull Game game) {
+		long seed = game.getRandom().nextLong();
+		game.reseed(seed);
+		GameEventLog eventLog = new GameEventLog(seed, SnapshotCodec.encodeGame(game));
+		game.setEventLog(eventLog);
+		return eventLog;
+	}
+
+	/**
+	 * <p>Replays the specified log. The returned game is in the state the
+	 * original game was in when the last event of the log was appended,
+	 * and its own log is identical to the specified log.</p>
+	 *
+	 * @param eventLog the log to replay
+	 * @return the replayed game
+	 * @throws IllegalArgumentException if the initial state of the log is not a valid snapshot
+	 * @throws IllegalStateException    if the replay diverges from the log
+	 */
+	public static Game replay(@NotNull GameEventLog eventLog) {
+		Game game;
+		try {
+			game = SnapshotCodec.decodeGame(eventLog.getInitialState());
+		} catch (IOException e) {
+			throw new IllegalArgumentException("The initial state of the log is not a valid snapshot", e);
+		}
+		game.reseed(eventLog.getSeed());
+		GameEventLog replayLog = new GameEventLog(eventLog.getSeed(), eventLog.getInitialState());
+		game.setEventLog(replayLog);
+		GameController gameController = new GameController(game, new HeadlessAppController(game));
+
+		for (int i = 0; i < eventLog.size(); i++) {
+			if (!eventLog.getType(i).isInput()) continue;
+			verify(eventLog, replayLog, i);
+			apply(gameController, eventLog, i);
+		}
+		verify(eventLog, replayLog, eventLog.size());
+		return game;
+	}
+
+	/**
+	 * <p>Repeats the specified input event of the specified log.</p>
+	 */
+	private static void apply(@NotNull GameController gameController, @NotNull GameEventLog eventLog, int event) {
+		Game game = gameController.game;
+		Player player = game.getPlayer(eventLog.getPlayer(event));
+		int first = eventLog.getFirst(event);
+		int second = eventLog.getSecond(event);
+		switch (eventLog.getType(event)) {
+			case CARD_MOVED -> gameController.moveCards(GameController.getField(player, first), GameController.getField(player, second));
+			case PROGRAMMED -> {
+				game.getEventLog().append(GameEventLog.Type.PROGRAMMED, eventLog.getPlayer(event), first, second);
+				player.getProgramField(first).setCard(second == 0 ? null : HeadlessGameRunner.takeCard(player, Command.of(second - 1)));
+			}
+			case PROGRAMMING_FINISHED -> gameController.finishProgrammingPhase();
+			case EXECUTION_STARTED -> {
+				if (first == 1) gameController.executeStep();
+				else gameController.executePrograms();
+			}
+			case OPTION_CHOSEN -> gameController.executeCommandAndContinue(Command.of(second));
+			default -> throw new IllegalStateException("Event " + event + " is not an input");
+		}
+	}
+
+	/**
+	 * <p>Checks that the replay log consists of exactly the
+	 * specified number of first events of the original log.</p>
+	 *
+	 * @throws IllegalStateException naming the first event where the logs differ
+	 */
+	private static void verify(@NotNull GameEventLog original, @NotNull GameEventLog replay, int events) {
+		if (replay.size() == events && replay.startsLike(original, events)) return;
+		int diverged = 0;
+		while (diverged < events && diverged < replay.size() && replay.startsLike(original, diverged + 1)) diverged++;
+		throw new IllegalStateException("The replay diverged from the log at event " + diverged);
+	}
+}
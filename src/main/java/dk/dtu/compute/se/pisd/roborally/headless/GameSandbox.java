@@ -0,0 +1,84 @@
+package dk.dtu.compute.se.pisd.roborally.headless;
+
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot.SnapshotCodec;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.GameState;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * <p>A private copy of a {@link Game} in which the future may be tried
+ * out, e.g. by a bot planning its program or to preview a program,
+ * without affecting the game itself.</p>
+ * <p>The copy is made once, when the sandbox is created, by encoding and
+ * decoding the game with the {@link SnapshotCodec}. It has its own board,
+ * players and {@link GameController}, and nothing observes it, so playing
+ * it updates no view. After trying out a future, the copy is put back in
+ * a {@link GameState} in time proportional to the number of players, so
+ * a sandbox may be reused for thousands of futures.</p>
+ * <p>A sandbox must only be used by one thread at a time.</p>
+ */
+public class GameSandbox {
+
+	private final Game game;
+	private final GameController gameController;
+	private final GameState initialState;
+
+	/**
+	 * <p>Creates a sandbox with a copy of the specified game in its current state.</p>
+	 *
+	 * @param original the game to copy
+	 * @throws IllegalArgumentException if the game cannot be encoded as a snapshot
+	 */
+	public GameSandbox(@NotNull Game original) {
+		try {
+			game = SnapshotCodec.decodeGame(SnapshotCodec.encodeGame(original));
+		} catch (IOException e) {
+			throw new IllegalStateException("A snapshot of the game could not be decoded", e);
+		}
+		gameController = new GameController(game, new HeadlessAppController(game));
+		initialState = GameState.capture(game);
+	}
+
+	/**
+	 * <p>Returns the copy of the game, which may be played freely.</p>
+	 *
+	 * @return the game of the sandbox
+	 */
+	public Game getGame() {
+		return game;
+	}
+
+	public GameController getGameController() {
+		return gameController;
+	}
+
+	/**
+	 * <p>Captures the current state of the copy.</p>
+	 *
+	 * @return the state of the game of the sandbox
+	 */
+	public GameState capture() {
+		return GameState.capture(game);
+	}
+
+	/**
+	 * <p>Puts the copy in the specified state, which may have been
+	 * captured from the copy or from the original game.</p>
+	 *
+	 * @param state the state to restore
+	 */
+	public void restore(@NotNull GameState state) {
+		state.restore(game);
+	}
+
+	/**
+	 * <p>Puts the copy back in the state the original
+	 * game was in when the sandbox was created.</p>
+	 */
+	public void reset() {
+		initialState.restore(game);
+	}
+}
@@ -0,0 +1,29 @@
+package dk.dtu.compute.se.pisd.roborally.headless;
+
+import dk.dtu.compute.se.pisd.roborally.interfaces.IAppController;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>The application of a game played without a user interface
+ * by a {@link GameReplayer} or in a {@link GameSandbox}. The game
+ * is running until it is finished, and it is never saved.</p>
+ */
+class HeadlessAppController implements IAppController {
+	private final Game game;
+
+	HeadlessAppController(@NotNull Game game) {
+		this.game = game;
+	}
+
+	@Override
+	public boolean isGameRunning() {
+		return game.getPhase() != Phase.GAME_FINISHED;
+	}
+
+	@Override
+	public boolean stopGame() {
+		return true;
+	}
+}
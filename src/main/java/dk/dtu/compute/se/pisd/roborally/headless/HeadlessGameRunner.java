@@ -0,0 +1,329 @@
+package dk.dtu.compute.se.pisd.roborally.headless;
+
+import dk.dtu.compute.se.pisd.designpatterns.observer.Observer;
+import dk.dtu.compute.se.pisd.designpatterns.observer.Subject;
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import dk.dtu.compute.se.pisd.roborally.fileaccess.BoardLoader;
+import dk.dtu.compute.se.pisd.roborally.interfaces.IAppController;
+import dk.dtu.compute.se.pisd.roborally.model.CommandCard;
+import dk.dtu.compute.se.pisd.roborally.model.CommandCardField;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.GameEventLog;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.Space;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>Runs a {@link Game} without any user interface. The
+ * players' programs are given up front, one {@link Command}
+ * per register, and are executed through a {@link GameController}
+ * exactly as in the JavaFX application.</p>
+ * <p>The players are placed diagonally from the top left
+ * corner of the board, as in the JavaFX application.</p>
+ * <p>Neither the runner nor anything it uses depends on JavaFX,
+ * so it may be used on machines without a display, e.g. when
+ * the project is built with the {@code headless} profile.</p>
+ * <p>Interactive commands are resolved by choosing their first
+ * option. The cards of the programs are taken from the players'
+ * own cards, regardless of the hands they were dealt.</p>
+ * <p>A game run by a runner may be recorded and replayed
+ * with a {@link GameReplayer}.</p>
+ */
+public class HeadlessGameRunner implements IAppController, Observer {
+
+	private final Game game;
+	private final GameController gameController;
+
+	private final List<SimulationEvent> events = new ArrayList<>();
+	private boolean recordingEvents = true;
+	private int round = 0;
+	private Player winner;
+
+	/*
+	 * The last observed state of each player, used to
+	 * determine what changed when a player notifies.
+	 */
+	private final int[] spaces;
+	private final int[] headings;
+	private final int[] energyCubes;
+	private final int[] checkpoints;
+
+	/**
+	 * <p>Creates a runner of a new game on the board with
+	 * the specified name with the specified number of players.</p>
+	 *
+	 * @param boardName       the name of the board or null for the default board
+	 * @param numberOfPlayers the number of players in the game
+	 * @see BoardLoader#loadBoard(String)
+	 */
+	public HeadlessGameRunner(@Nullable String boardName, int numberOfPlayers) {
+		this(BoardLoader.loadBoard(boardName), numberOfPlayers);
+	}
+
+	/**
+	 * <p>Creates a runner of a new game on the specified
+	 * board with the specified number of players.</p>
+	 *
+	 * @param board           the board of the game
+	 * @param numberOfPlayers the number of players in the game
+	 */
+	public HeadlessGameRunner(@NotNull Board board, int numberOfPlayers) {
+		this(createGame(new Game(board), numberOfPlayers));
+	}
+
+	/**
+	 * <p>Creates a runner of a new game on the specified board with
+	 * the specified number of players and the specified seed. Two
+	 * runners with the same board, players, seed and programs play
+	 * out identically.</p>
+	 *
+	 * @param board           the board of the game
+	 * @param numberOfPlayers the number of players in the game
+	 * @param seed            the seed of the game's random number generator
+	 * @see Game#getRandom()
+	 */
+	public HeadlessGameRunner(@NotNull Board board, int numberOfPlayers, long seed) {
+		this(createGame(new Game(board, seed), numberOfPlayers));
+	}
+
+	/**
+	 * <p>Creates a runner of the specified game. The players of
+	 * the game must already have been added and placed on the
+	 * board, and they must have cards to draw.</p>
+	 *
+	 * @param game the game to run
+	 */
+	public HeadlessGameRunner(@NotNull Game game) {
+		this.game = game;
+		gameController = new GameController(game, this);
+		int numberOfPlayers = game.getNumPlayers();
+		spaces = new int[numberOfPlayers];
+		headings = new int[numberOfPlayers];
+		energyCubes = new int[numberOfPlayers];
+		checkpoints = new int[numberOfPlayers];
+
+		for (int i = 0; i < numberOfPlayers; i++) {
+			game.getPlayer(i).attach(this);
+			record(i, game.getPlayer(i));
+		}
+		gameController.startProgrammingPhase();
+		game.attach(this);
+	}
+
+	/**
+	 * <p>Adds the specified number of players to the
+	 * specified new game.</p>
+	 *
+	 * @param game            the game without players
+	 * @param numberOfPlayers the number of players in the game
+	 * @return the game
+	 */
+	private static Game createGame(@NotNull Game game, int numberOfPlayers) {
+		Board board = game.getBoard();
+		if (numberOfPlayers < 1 || numberOfPlayers > Math.max(board.width, board.height)) {
+			throw new IllegalArgumentException("Cannot place " + numberOfPlayers + " players on the board!");
+		}
+		for (int i = 0; i < numberOfPlayers; i++) {
+			Player player = new Player(game, null, "Player " + (i + 1));
+			game.addPlayer(player);
+			player.playerController.addCardsToDiscardPile(Player.newPlayerDeck());
+			player.setSpace(board.getSpace(i % board.width, i % board.height));
+		}
+		return game;
+	}
+
+	public Game getGame() {
+		return game;
+	}
+
+	public boolean isRecordingEvents() {
+		return recordingEvents;
+	}
+
+	/**
+	 * <p>Sets whether events should be recorded. Long running
+	 * simulations, which are only interested in the final state,
+	 * should not record events, as they are kept in memory.</p>
+	 *
+	 * @param recordingEvents whether events should be recorded
+	 */
+	public void setRecordingEvents(boolean recordingEvents) {
+		this.recordingEvents = recordingEvents;
+	}
+
+	/**
+	 * <p>Runs the specified rounds. Each round is an array holding
+	 * the program of each player, i.e. {@code rounds[r][p][i]} is the
+	 * command in the i'th register of the p'th player in round r.
+	 * A null command leaves the register empty.</p>
+	 * <p>The runner stops early if the game is finished. It may be
+	 * called again to continue the game.</p>
+	 *
+	 * @param rounds the programs of the players in each round
+	 * @return the result of the simulation so far
+	 * @throws IllegalArgumentException if a round does not have a program for every player
+	 */
+	public SimulationResult run(@NotNull Command[][]... rounds) {
+		for (Command[][] programs : rounds) {
+			if (game.getPhase() == Phase.GAME_FINISHED) break;
+			runRound(programs);
+		}
+		return getResult();
+	}
+
+	/**
+	 * <p>Runs a single round with the specified programs.</p>
+	 *
+	 * @param programs the program of each player
+	 */
+	private void runRound(@NotNull Command[][] programs) {
+		if (programs.length != game.getNumPlayers()) {
+			throw new IllegalArgumentException("Expected a program for each of the " + game.getNumPlayers() + " players!");
+		}
+		for (int i = 0; i < programs.length; i++) {
+			program(game.getPlayer(i), programs[i]);
+		}
+
+		gameController.finishProgrammingPhase();
+		gameController.executePrograms();
+		while (game.getPhase() == Phase.PLAYER_INTERACTION) {
+			Command command = game.getCurrentPlayer().getProgramField(game.getStep()).getCard().command;
+			gameController.executeCommandAndContinue(command.getOptions().get(0));
+		}
+		round++;
+	}
+
+	/**
+	 * <p>Puts the specified commands in the registers of the specified player.</p>
+	 *
+	 * @param player  the player to program
+	 * @param program the commands of the registers
+	 * @see #takeCard(Player, Command)
+	 */
+	private void program(@NotNull Player player, @NotNull Command[] program) {
+		if (program.length > Player.NO_REGISTERS) {
+			throw new IllegalArgumentException("A program may have at most " + Player.NO_REGISTERS + " registers!");
+		}
+		GameEventLog eventLog = game.getEventLog();
+		for (int i = 0; i < Player.NO_REGISTERS; i++) {
+			Command command = i < program.length ? program[i] : null;
+			if (eventLog != null) {
+				eventLog.append(GameEventLog.Type.PROGRAMMED, game.getPlayerNumber(player), i, command == null ? 0 : command.ordinal() + 1);
+			}
+			player.getProgramField(i).setCard(command == null ? null : takeCard(player, command));
+		}
+	}
+
+	/**
+	 * <p>Takes a card with the specified command from the hand, deck
+	 * or discard pile of the specified player. A card is only added
+	 * if the player has no such card, so the number of cards does
+	 * not grow from round to round.</p>
+	 *
+	 * @param player  the player whose card to take
+	 * @param command the command of the card
+	 * @return a card with the specified command
+	 */
+	@NotNull
+	static CommandCard takeCard(@NotNull Player player, @NotNull Command command) {
+		for (CommandCardField field : player.getHand()) {
+			CommandCard card = field.getCard();
+			if (card == null || card.command != command) continue;
+			field.setCard(null);
+			return card;
+		}
+		if (!player.getDeck().remove(command)) player.getDiscardPile().remove(command);
+		return CommandCard.of(command);
+	}
+
+	/**
+	 * <p>Returns the result of the simulation so far.</p>
+	 *
+	 * @return the result of the simulation so far
+	 */
+	public SimulationResult getResult() {
+		return new SimulationResult(game, new ArrayList<>(events), round, winner);
+	}
+
+	/**
+	 * <p>Stores the current state of the specified player.</p>
+	 */
+	private void record(int number, @NotNull Player player) {
+		Space space = player.getSpace();
+		spaces[number] = space == null ? -1 : game.getBoard().getSpaceIndex(space);
+		headings[number] = player.getDirection().ordinal();
+		energyCubes[number] = player.getEnergyCubes();
+		checkpoints[number] = player.getLastCheckpoint();
+	}
+
+	@Override
+	public void update(Subject subject) {
+		if (subject == game) {
+			if (game.getPhase() == Phase.GAME_FINISHED && winner == null) {
+				for (Player player : game.getPlayers()) {
+					if (player.getLastCheckpoint() == game.getBoard().getCheckpointAmount()) winner = player;
+				}
+				int number = winner == null ? -1 : game.getPlayerNumber(winner);
+				if (recordingEvents) events.add(new SimulationEvent(SimulationEvent.Type.GAME_FINISHED, round, game.getStep(), number, number, number));
+			}
+			return;
+		}
+		if (!(subject instanceof Player)) return;
+		Player player = (Player) subject;
+		int number = game.getPlayerNumber(player);
+		if (number < 0) return;
+
+		Space space = player.getSpace();
+		if (space == null) return; //The player is between two spaces, e.g. while being moved by a conveyor belt
+		int spaceIndex = game.getBoard().getSpaceIndex(space);
+		addIfChanged(SimulationEvent.Type.MOVED, number, spaces[number], spaceIndex);
+		addIfChanged(SimulationEvent.Type.TURNED, number, headings[number], player.getDirection().ordinal());
+		addIfChanged(SimulationEvent.Type.ENERGY_CHANGED, number, energyCubes[number], player.getEnergyCubes());
+		addIfChanged(SimulationEvent.Type.CHECKPOINT_REACHED, number, checkpoints[number], player.getLastCheckpoint());
+		record(number, player);
+	}
+
+	/**
+	 * <p>The runner records every change as it happens, so
+	 * that no intermediate move is lost to a batch.</p>
+	 *
+	 * @return false
+	 */
+	@Override
+	public boolean isDeferrable() {
+		return false;
+	}
+
+	private void addIfChanged(SimulationEvent.Type type, int player, int oldValue, int newValue) {
+		if (oldValue == newValue || !recordingEvents) return;
+		events.add(new SimulationEvent(type, round, game.getStep(), player, oldValue, newValue));
+	}
+
+	/**
+	 * <p>Returns whether the game has not been finished.</p>
+	 *
+	 * @return true if the game is still running
+	 */
+	@Override
+	public boolean isGameRunning() {
+		return game.getPhase() != Phase.GAME_FINISHED;
+	}
+
+	/**
+	 * <p>A headless game is never saved, so stopping
+	 * it always succeeds.</p>
+	 *
+	 * @return true
+	 */
+	@Override
+	public boolean stopGame() {
+		return true;
+	}
+}
@@ -0,0 +1,70 @@
+package dk.dtu.compute.se.pisd.roborally.headless;
+
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.Space;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * <p>Runs a single game without a user interface from the command line
+ * and prints its events and the final positions of the robots.</p>
+ * <p>Usage: {@code HeadlessRoboRally <board> <program>...} where each
+ * program is the program of one player. The commands of a program are
+ * separated by commas and its rounds by slashes, e.g.
+ * {@code FORWARD,RIGHT,FORWARD,FORWARD,LEFT/UTURN,MOVE3}.</p>
+ */
+public class HeadlessRoboRally {
+
+	public static void main(String[] args) {
+		if (args.length < 2) {
+			System.err.println("Usage: HeadlessRoboRally <board> <program>...");
+			System.exit(1);
+		}
+		int numberOfPlayers = args.length - 1;
+		String[][] rounds = new String[numberOfPlayers][];
+		int numberOfRounds = 0;
+		for (int i = 0; i < numberOfPlayers; i++) {
+			rounds[i] = args[i + 1].split("/");
+			numberOfRounds = Math.max(numberOfRounds, rounds[i].length);
+		}
+
+		HeadlessGameRunner runner = new HeadlessGameRunner(args[0], numberOfPlayers);
+		for (int r = 0; r < numberOfRounds; r++) {
+			Command[][] programs = new Command[numberOfPlayers][];
+			for (int i = 0; i < numberOfPlayers; i++) {
+				programs[i] = r < rounds[i].length ? parseProgram(rounds[i][r]) : new Command[0];
+			}
+			runner.run(programs);
+			if (r == 0) {
+				long startupTime = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+				System.out.println("First round simulated " + startupTime + " ms after JVM start");
+			}
+		}
+
+		SimulationResult result = runner.getResult();
+		result.getEvents().forEach(System.out::println);
+		for (Player player : result.getGame().getPlayers()) {
+			Space space = player.getSpace();
+			System.out.println(player.getName() + ": (" + space.x + ", " + space.y + ") facing " + player.getDirection()
+					+ ", checkpoint " + player.getLastCheckpoint() + ", " + player.getEnergyCubes() + " energy");
+		}
+		if (result.getWinner() != null) System.out.println(result.getWinner().getName() + " won!");
+	}
+
+	/**
+	 * <p>Parses a comma separated list of commands.</p>
+	 *
+	 * @param program the program to parse
+	 * @return the commands of the program
+	 */
+	private static Command[] parseProgram(String program) {
+		if (program.isBlank()) return new Command[0];
+		String[] names = program.split(",");
+		Command[] commands = new Command[names.length];
+		for (int i = 0; i < names.length; i++) {
+			commands[i] = Command.valueOf(names[i].trim().toUpperCase());
+		}
+		return commands;
+	}
+}
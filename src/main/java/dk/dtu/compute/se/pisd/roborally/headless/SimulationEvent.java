@@ -0,0 +1,92 @@
+package dk.dtu.compute.se.pisd.roborally.headless;
+
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+
+/**
+ * <p>A change of the state of a {@link dk.dtu.compute.se.pisd.roborally.model.Game}
+ * observed by a {@link HeadlessGameRunner}.</p>
+ * <p>The meaning of {@link #getOldValue()} and {@link #getNewValue()} depends on
+ * the {@link Type} of the event:</p>
+ * <ul>
+ *     <li>{@link Type#MOVED}: the index of the space the player moved from
+ *     and to, see {@link dk.dtu.compute.se.pisd.roborally.model.board.Board#getSpaceIndex}.</li>
+ *     <li>{@link Type#TURNED}: the ordinal of the old and new {@link Heading}.</li>
+ *     <li>{@link Type#ENERGY_CHANGED}: the old and new number of energy cubes.</li>
+ *     <li>{@link Type#CHECKPOINT_REACHED}: the old and new last checkpoint.</li>
+ *     <li>{@link Type#GAME_FINISHED}: both are the number of the winning player.</li>
+ * </ul>
+ */
+public class SimulationEvent {
+
+	/**
+	 * <p>The types of events recorded by a {@link HeadlessGameRunner}.</p>
+	 */
+	public enum Type {
+		MOVED,
+		TURNED,
+		ENERGY_CHANGED,
+		CHECKPOINT_REACHED,
+		GAME_FINISHED
+	}
+
+	private final Type type;
+	private final int round;
+	private final int register;
+	private final int player;
+	private final int oldValue;
+	private final int newValue;
+
+	/**
+	 * <p>Creates a new simulation event.</p>
+	 *
+	 * @param type     the type of the event
+	 * @param round    the round in which the event happened, starting from 0
+	 * @param register the register being executed when the event happened
+	 * @param player   the number of the player the event concerns
+	 * @param oldValue the value before the event
+	 * @param newValue the value after the event
+	 */
+	public SimulationEvent(Type type, int round, int register, int player, int oldValue, int newValue) {
+		this.type = type;
+		this.round = round;
+		this.register = register;
+		this.player = player;
+		this.oldValue = oldValue;
+		this.newValue = newValue;
+	}
+
+	public Type getType() {
+		return type;
+	}
+
+	public int getRound() {
+		return round;
+	}
+
+	public int getRegister() {
+		return register;
+	}
+
+	/**
+	 * <p>Returns the number of the player the event concerns.</p>
+	 *
+	 * @return the number of a player
+	 * @see dk.dtu.compute.se.pisd.roborally.model.Game#getPlayer(int)
+	 */
+	public int getPlayer() {
+		return player;
+	}
+
+	public int getOldValue() {
+		return oldValue;
+	}
+
+	public int getNewValue() {
+		return newValue;
+	}
+
+	@Override
+	public String toString() {
+		return "Round " + round + ", register " + register + ": player " + player + " " + type + " " + oldValue + " -> " + newValue;
+	}
+}
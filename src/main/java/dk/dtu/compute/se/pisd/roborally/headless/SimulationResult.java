@@ -0,0 +1,73 @@
+package dk.dtu.compute.se.pisd.roborally.headless;
+
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * <p>The outcome of running a game with a {@link HeadlessGameRunner}:
+ * the game in its final state along with the events that occurred.</p>
+ */
+public class SimulationResult {
+
+	private final Game game;
+	private final List<SimulationEvent> events;
+	private final int roundsPlayed;
+	private final Player winner;
+
+	SimulationResult(@NotNull Game game, @NotNull List<SimulationEvent> events, int roundsPlayed, @Nullable Player winner) {
+		this.game = game;
+		this.events = Collections.unmodifiableList(events);
+		this.roundsPlayed = roundsPlayed;
+		this.winner = winner;
+	}
+
+	/**
+	 * <p>Returns the simulated game in its final state.</p>
+	 *
+	 * @return the simulated game
+	 */
+	@NotNull
+	public Game getGame() {
+		return game;
+	}
+
+	/**
+	 * <p>Returns the events of the simulation in the order they occurred.</p>
+	 *
+	 * @return an unmodifiable list of events
+	 */
+	@NotNull
+	public List<SimulationEvent> getEvents() {
+		return events;
+	}
+
+	public int getRoundsPlayed() {
+		return roundsPlayed;
+	}
+
+	/**
+	 * <p>Returns whether the game was won during the simulation.</p>
+	 *
+	 * @return true if the game is finished
+	 */
+	public boolean isFinished() {
+		return game.getPhase() == Phase.GAME_FINISHED;
+	}
+
+	/**
+	 * <p>Returns the player who won the game or null if the
+	 * game was not finished.</p>
+	 *
+	 * @return the winner or null
+	 */
+	@Nullable
+	public Player getWinner() {
+		return winner;
+	}
+}
@@ -0,0 +1,50 @@
+package dk.dtu.compute.se.pisd.roborally.headless.tournament;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Writer;
+
+/**
+ * <p>Writes the outcomes of a {@link Tournament} as comma separated
+ * values. Every game is a row with the columns {@code game, seed,
+ * rounds, winner, nanos} followed by the columns {@code strategy,
+ * checkpoint, energy} of every seat, numbered from 0.</p>
+ */
+public class CsvResultSink extends LineResultSink {
+
+	public CsvResultSink(@NotNull Writer writer) {
+		super(writer);
+	}
+
+	@Override
+	protected String header(@NotNull GameOutcome outcome) {
+		StringBuilder header = new StringBuilder("game,seed,rounds,winner,nanos");
+		for (int seat = 0; seat < outcome.getNumPlayers(); seat++) {
+			header.append(",strategy").append(seat).append(",checkpoint").append(seat).append(",energy").append(seat);
+		}
+		return header.toString();
+	}
+
+	@Override
+	protected String format(@NotNull GameOutcome outcome) {
+		StringBuilder line = new StringBuilder(64);
+		line.append(outcome.getGameNumber()).append(',').append(outcome.getSeed())
+				.append(',').append(outcome.getRoundsPlayed()).append(',').append(outcome.getWinner())
+				.append(',').append(outcome.getNanos());
+		for (int seat = 0; seat < outcome.getNumPlayers(); seat++) {
+			line.append(',').append(quote(outcome.getStrategy(seat)))
+					.append(',').append(outcome.getCheckpoint(seat))
+					.append(',').append(outcome.getEnergyCubes(seat));
+		}
+		return line.toString();
+	}
+
+	/**
+	 * <p>Quotes the specified value if it contains a comma, a
+	 * quote or a line break, doubling any quotes.</p>
+	 */
+	private static String quote(String value) {
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) return value;
+		return '"' + value.replace("\"", "\"\"") + '"';
+	}
+}
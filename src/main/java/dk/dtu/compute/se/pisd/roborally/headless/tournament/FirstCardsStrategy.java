@@ -0,0 +1,25 @@
+package dk.dtu.compute.se.pisd.roborally.headless.tournament;
+
+import dk.dtu.compute.se.pisd.roborally.model.CommandCard;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>Programs the cards of the hand in the order they were dealt.
+ * As the deck is shuffled, this is a random program which does not
+ * draw from the random number generator itself.</p>
+ */
+public class FirstCardsStrategy implements IProgramStrategy {
+
+	@Override
+	public Command[] program(@NotNull Player player) {
+		Command[] program = new Command[Player.NO_REGISTERS];
+		int register = 0;
+		for (int i = 0; i < Player.NO_CARDS && register < program.length; i++) {
+			CommandCard card = player.getHandField(i).getCard();
+			if (card != null) program[register++] = card.command;
+		}
+		return program;
+	}
+}
@@ -0,0 +1,96 @@
+package dk.dtu.compute.se.pisd.roborally.headless.tournament;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>The outcome of a single game of a {@link Tournament}. Unlike a
+ * {@link dk.dtu.compute.se.pisd.roborally.headless.SimulationResult}
+ * it holds no reference to the game, so the game may be collected as
+ * soon as it has been played.</p>
+ * <p>The players are referred to by their seat, i.e. their number in
+ * the game. The strategies are rotated between the seats from game to
+ * game, so {@link #getStrategy(int)} tells which strategy sat where.</p>
+ */
+public class GameOutcome {
+
+	private final int gameNumber;
+	private final long seed;
+	private final int roundsPlayed;
+	private final int winner;
+	private final long nanos;
+	private final String[] strategies;
+	private final int[] checkpoints;
+	private final int[] energyCubes;
+
+	GameOutcome(int gameNumber, long seed, int roundsPlayed, int winner, long nanos,
+				@NotNull String[] strategies, @NotNull int[] checkpoints, @NotNull int[] energyCubes) {
+		this.gameNumber = gameNumber;
+		this.seed = seed;
+		this.roundsPlayed = roundsPlayed;
+		this.winner = winner;
+		this.nanos = nanos;
+		this.strategies = strategies;
+		this.checkpoints = checkpoints;
+		this.energyCubes = energyCubes;
+	}
+
+	public int getGameNumber() {
+		return gameNumber;
+	}
+
+	/**
+	 * <p>Returns the seed of the game, with which
+	 * the game may be played again.</p>
+	 *
+	 * @return the seed of the game
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getRoundsPlayed() {
+		return roundsPlayed;
+	}
+
+	/**
+	 * <p>Returns the seat of the winner or -1 if
+	 * the game was not won within the rounds.</p>
+	 *
+	 * @return the seat of the winner or -1
+	 */
+	public int getWinner() {
+		return winner;
+	}
+
+	/**
+	 * <p>Returns how long the game took to play.</p>
+	 *
+	 * @return the duration of the game in nanoseconds
+	 */
+	public long getNanos() {
+		return nanos;
+	}
+
+	public int getNumPlayers() {
+		return strategies.length;
+	}
+
+	/**
+	 * <p>Returns the name of the strategy of the specified seat.</p>
+	 *
+	 * @param seat the number of a player
+	 * @return the name of the strategy
+	 * @see IProgramStrategy#getName()
+	 */
+	public String getStrategy(int seat) {
+		return strategies[seat];
+	}
+
+	public int getCheckpoint(int seat) {
+		return checkpoints[seat];
+	}
+
+	public int getEnergyCubes(int seat) {
+		return energyCubes[seat];
+	}
+}
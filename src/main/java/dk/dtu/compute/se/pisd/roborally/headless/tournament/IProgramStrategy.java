@@ -0,0 +1,38 @@
+package dk.dtu.compute.se.pisd.roborally.headless.tournament;
+
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>Decides the program of a {@link Player} in the programming phase,
+ * e.g. a bot in a {@link Tournament}.</p>
+ * <p>A strategy is shared by every game of a tournament, which are played
+ * in parallel, so it must not keep any state of a game between calls.
+ * Any randomness must be drawn from the game of the player, so that a
+ * game with a given seed always plays out the same way.</p>
+ *
+ * @see dk.dtu.compute.se.pisd.roborally.model.Game#getRandom()
+ */
+@FunctionalInterface
+public interface IProgramStrategy {
+
+	/**
+	 * <p>Returns the program of the specified player for the next round.
+	 * The commands should be those of cards in the player's hand, as the
+	 * cards of the program are taken from the hand.</p>
+	 *
+	 * @param player the player to program, whose hand has been dealt
+	 * @return at most {@link Player#NO_REGISTERS} commands, where null leaves a register empty
+	 */
+	Command[] program(@NotNull Player player);
+
+	/**
+	 * <p>Returns the name of this strategy as written in the results.</p>
+	 *
+	 * @return the name of this strategy
+	 */
+	default String getName() {
+		return getClass().getSimpleName();
+	}
+}
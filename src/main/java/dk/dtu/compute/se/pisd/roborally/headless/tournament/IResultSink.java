@@ -0,0 +1,23 @@
+package dk.dtu.compute.se.pisd.roborally.headless.tournament;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * <p>Receives the outcomes of the games of a {@link Tournament} as
+ * they are played. The games are played in parallel, so a sink must
+ * accept outcomes from several threads at once, and the outcomes do
+ * not arrive in the order of the games.</p>
+ */
+public interface IResultSink extends Closeable {
+
+	/**
+	 * <p>Receives the outcome of a game.</p>
+	 *
+	 * @param outcome the outcome of a game
+	 * @throws IOException if the outcome could not be written
+	 */
+	void accept(@NotNull GameOutcome outcome) throws IOException;
+}
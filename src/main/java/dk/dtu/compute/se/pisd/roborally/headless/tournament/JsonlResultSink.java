@@ -0,0 +1,50 @@
+package dk.dtu.compute.se.pisd.roborally.headless.tournament;
+
+import com.google.gson.stream.JsonWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+/**
+ * <p>Writes the outcomes of a {@link Tournament} as JSON Lines, i.e. a
+ * JSON object on each line, e.g.</p>
+ * <pre>{"game":0,"seed":42,"rounds":12,"winner":1,"nanos":150000,
+ * "seats":[{"strategy":"FirstCardsStrategy","checkpoint":1,"energy":2}, ...]}</pre>
+ */
+public class JsonlResultSink extends LineResultSink {
+
+	public JsonlResultSink(@NotNull Writer writer) {
+		super(writer);
+	}
+
+	@Override
+	protected String header(@NotNull GameOutcome outcome) {
+		return null;
+	}
+
+	@Override
+	protected String format(@NotNull GameOutcome outcome) throws IOException {
+		StringWriter line = new StringWriter(128);
+		JsonWriter writer = new JsonWriter(line);
+		writer.beginObject();
+		writer.name("game").value(outcome.getGameNumber());
+		writer.name("seed").value(outcome.getSeed());
+		writer.name("rounds").value(outcome.getRoundsPlayed());
+		writer.name("winner").value(outcome.getWinner());
+		writer.name("nanos").value(outcome.getNanos());
+		writer.name("seats").beginArray();
+		for (int seat = 0; seat < outcome.getNumPlayers(); seat++) {
+			writer.beginObject();
+			writer.name("strategy").value(outcome.getStrategy(seat));
+			writer.name("checkpoint").value(outcome.getCheckpoint(seat));
+			writer.name("energy").value(outcome.getEnergyCubes(seat));
+			writer.endObject();
+		}
+		writer.endArray();
+		writer.endObject();
+		writer.flush();
+		return line.toString();
+	}
+}
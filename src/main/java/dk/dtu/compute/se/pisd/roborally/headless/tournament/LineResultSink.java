@@ -0,0 +1,67 @@
+package dk.dtu.compute.se.pisd.roborally.headless.tournament;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * <p>A {@link IResultSink} writing a line of text for every outcome,
+ * preceded by a header when the first outcome arrives. Only writing
+ * the line is synchronised, while formatting it is not, so the workers
+ * of a tournament rarely wait for each other.</p>
+ */
+public abstract class LineResultSink implements IResultSink {
+
+	private final Writer writer;
+	private boolean headerWritten = false;
+
+	/**
+	 * <p>Creates a sink writing to the specified writer. The
+	 * writer is closed when the sink is closed.</p>
+	 *
+	 * @param writer the writer to write the lines to
+	 */
+	protected LineResultSink(@NotNull Writer writer) {
+		this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+	}
+
+	@Override
+	public void accept(@NotNull GameOutcome outcome) throws IOException {
+		String line = format(outcome);
+		synchronized (this) {
+			if (!headerWritten) {
+				String header = header(outcome);
+				if (header != null) writer.write(header + '\n');
+				headerWritten = true;
+			}
+			writer.write(line);
+			writer.write('\n');
+		}
+	}
+
+	/**
+	 * <p>Returns the header of the lines, based on the first
+	 * outcome received, or null if there is no header.</p>
+	 *
+	 * @param outcome the first outcome received
+	 * @return the header or null
+	 */
+	protected abstract String header(@NotNull GameOutcome outcome);
+
+	/**
+	 * <p>Returns the line of the specified outcome,
+	 * without a line terminator.</p>
+	 *
+	 * @param outcome the outcome to format
+	 * @return the line of the outcome
+	 * @throws IOException if the outcome could not be formatted
+	 */
+	protected abstract String format(@NotNull GameOutcome outcome) throws IOException;
+
+	@Override
+	public synchronized void close() throws IOException {
+		writer.close();
+	}
+}
@@ -0,0 +1,482 @@
+package dk.dtu.compute.se.pisd.roborally.headless.tournament;
+
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import dk.dtu.compute.se.pisd.roborally.controller.Laser;
+import dk.dtu.compute.se.pisd.roborally.headless.GameSandbox;
+import dk.dtu.compute.se.pisd.roborally.model.CommandCard;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.GameState;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.AdjacencyTable;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.Space;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.BoardElement;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.BoardLaser;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.Checkpoint;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>Plans the program of a bot by Monte-Carlo rollouts of the
+ * round to come. Distinct orders in which the registers can be filled
+ * from the hand are the candidates, of which at most
+ * {@value #MAX_CANDIDATES} are sampled. A rollout plays the round with
+ * a candidate in a {@link GameSandbox}, through a {@link GameController},
+ * while the other players program random cards from their hands and
+ * interactive cards choose a random option.</p>
+ * <p>The candidates are compared by successive halving: in every round
+ * each remaining candidate is played at least {@value #MIN_ROLLOUTS}
+ * more times, after which the half with the worst mean score is dropped,
+ * until a single candidate remains. The budget is split evenly between
+ * the rounds, so the candidates which remain get more rollouts each and
+ * the best is not just the luckiest of single samples. If the time
+ * budget runs out before then, the remaining candidate with the best
+ * mean score is programmed.</p>
+ * <p>A rollout is scored by the checkpoints reached, the distance left
+ * to the next {@link Checkpoint} and the number of times a laser would
+ * hit the bot when the board elements are activated. A bot which is
+ * left without a space, e.g. having fallen off the board, is as far
+ * from the checkpoint as possible. The distances are found once per
+ * plan by a breadth-first search from every checkpoint through the
+ * {@link AdjacencyTable}, so they respect walls.</p>
+ * <p>The rollouts are played in parallel on a {@link ForkJoinPool}.
+ * Every worker has its own sandbox, which is restored to the state of
+ * the game before each rollout. Every rollout has its own seed, derived
+ * from the random number generator of the game and the number of the
+ * rollout, so with a budget of a fixed number of rollouts a plan is
+ * reproducible, whichever worker plays which rollout. With a time budget
+ * the number of rollouts depends on the speed of the machine.</p>
+ */
+public class MonteCarloStrategy implements IProgramStrategy {
+
+	/**
+	 * <p>The default time budget of a plan in milliseconds.</p>
+	 */
+	public static final long DEFAULT_BUDGET = 50;
+
+	/**
+	 * <p>The most candidates compared in a plan.</p>
+	 */
+	public static final int MAX_CANDIDATES = 32;
+
+	/**
+	 * <p>The fewest rollouts of every remaining candidate
+	 * in a round before the candidates are compared.</p>
+	 */
+	public static final int MIN_ROLLOUTS = 4;
+
+	private static final double CHECKPOINT_SCORE = 100;
+	private static final double WIN_SCORE = 1000;
+	private static final double LASER_PENALTY = 10;
+
+	/**
+	 * <p>The time budget in nanoseconds, or 0 if the budget is a number of rollouts.</p>
+	 */
+	private final long budgetNanos;
+	/**
+	 * <p>The number of rollouts of a plan, or 0 if the budget is a time.</p>
+	 */
+	private final int budgetRollouts;
+	private final ForkJoinPool pool;
+
+	/**
+	 * <p>Creates a strategy planning for {@value #DEFAULT_BUDGET}
+	 * milliseconds on the common pool.</p>
+	 */
+	public MonteCarloStrategy() {
+		this(DEFAULT_BUDGET);
+	}
+
+	/**
+	 * <p>Creates a strategy planning for the specified
+	 * number of milliseconds on the common pool.</p>
+	 *
+	 * @param budget the time budget of a plan in milliseconds
+	 */
+	public MonteCarloStrategy(long budget) {
+		this(budget, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * <p>Creates a strategy planning for the specified number of
+	 * milliseconds with a worker for each thread of the specified pool.</p>
+	 *
+	 * @param budget the time budget of a plan in milliseconds
+	 * @param pool   the pool to play the rollouts on
+	 * @throws IllegalArgumentException if the budget is not positive
+	 */
+	public MonteCarloStrategy(long budget, @NotNull ForkJoinPool pool) {
+		this(budget * 1_000_000, 0, pool);
+		if (budget <= 0) throw new IllegalArgumentException("The time budget must be positive!");
+	}
+
+	private MonteCarloStrategy(long budgetNanos, int budgetRollouts, @NotNull ForkJoinPool pool) {
+		this.budgetNanos = budgetNanos;
+		this.budgetRollouts = budgetRollouts;
+		this.pool = pool;
+	}
+
+	/**
+	 * <p>Returns a strategy playing the specified number of rollouts
+	 * for every plan, with a worker for each thread of the specified
+	 * pool. Its plans do not depend on the speed of the machine, and
+	 * are the same for the same state of the game. Every remaining
+	 * candidate is still played at least {@value #MIN_ROLLOUTS} times
+	 * in every round, so a plan may take more rollouts.</p>
+	 *
+	 * @param rollouts the number of rollouts of a plan
+	 * @param pool     the pool to play the rollouts on
+	 * @return a new strategy
+	 * @throws IllegalArgumentException if the number of rollouts is not positive
+	 */
+	public static MonteCarloStrategy withRollouts(int rollouts, @NotNull ForkJoinPool pool) {
+		if (rollouts <= 0) throw new IllegalArgumentException("The number of rollouts must be positive!");
+		return new MonteCarloStrategy(0, rollouts, pool);
+	}
+
+	/**
+	 * <p>Returns a strategy playing the specified number of
+	 * rollouts for every plan on the common pool.</p>
+	 *
+	 * @param rollouts the number of rollouts of a plan
+	 * @return a new strategy
+	 * @throws IllegalArgumentException if the number of rollouts is not positive
+	 * @see #withRollouts(int, ForkJoinPool)
+	 */
+	public static MonteCarloStrategy withRollouts(int rollouts) {
+		return withRollouts(rollouts, ForkJoinPool.commonPool());
+	}
+
+	@Override
+	public Command[] program(@NotNull Player player) {
+		long started = System.nanoTime();
+		Game game = player.game;
+		int[] hand = new int[Player.NO_CARDS];
+		int cards = 0;
+		for (int i = 0; i < Player.NO_CARDS; i++) {
+			if (player.getHandField(i).getCard() != null) hand[cards++] = i;
+		}
+		Command[] program = new Command[Player.NO_REGISTERS];
+		if (cards == 0) return program;
+
+		SplittableRandom random = game.getRandom();
+		int[][] candidates = getCandidates(player, Arrays.copyOf(hand, cards));
+		int sampled = Math.min(candidates.length, MAX_CANDIDATES);
+		// A partial shuffle samples the candidates
+		for (int i = 0; i < sampled; i++) {
+			int j = i + random.nextInt(candidates.length - i);
+			int[] candidate = candidates[i];
+			candidates[i] = candidates[j];
+			candidates[j] = candidate;
+		}
+		candidates = Arrays.copyOf(candidates, sampled);
+
+		int[][] distances = getCheckpointDistances(game.getBoard());
+		GameState start = GameState.capture(game);
+		Rollouts[] workers = new Rollouts[Math.max(1, pool.getParallelism())];
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = new Rollouts(new GameSandbox(game), start, game.getPlayerNumber(player), candidates, distances);
+		}
+
+		int[] remaining = new int[candidates.length];
+		for (int c = 0; c < remaining.length; c++) remaining[c] = c;
+		int rounds = 32 - Integer.numberOfLeadingZeros(candidates.length - 1);
+		for (int round = 0; round < rounds && remaining.length > 1; round++) {
+			long deadline = budgetNanos == 0 ? started : started + budgetNanos / rounds * (round + 1);
+			int perCandidate = Math.max(MIN_ROLLOUTS, budgetRollouts / rounds / remaining.length);
+			Round plays = new Round(remaining, remaining.length * perCandidate, deadline, random.nextLong());
+			List<ForkJoinTask<?>> tasks = new ArrayList<>();
+			for (Rollouts worker : workers) tasks.add(ForkJoinTask.adapt(() -> worker.play(plays)));
+			pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+			remaining = sortByMean(remaining, workers);
+			if (budgetNanos != 0 && System.nanoTime() - started >= budgetNanos) break;
+			remaining = Arrays.copyOf(remaining, (remaining.length + 1) / 2);
+		}
+
+		int[] chosen = candidates[remaining[0]];
+		for (int register = 0; register < chosen.length; register++) {
+			program[register] = player.getHandField(chosen[register]).getCard().command;
+		}
+		return program;
+	}
+
+	@Override
+	public String getName() {
+		return budgetNanos == 0 ? "MonteCarlo" + budgetRollouts + "rollouts" : "MonteCarlo" + budgetNanos / 1_000_000 + "ms";
+	}
+
+	/**
+	 * <p>Returns the specified candidates ordered from
+	 * the best to the worst mean score of their rollouts.</p>
+	 */
+	private static int[] sortByMean(@NotNull int[] candidates, @NotNull Rollouts[] workers) {
+		double[] means = new double[candidates.length];
+		Integer[] order = new Integer[candidates.length];
+		for (int i = 0; i < candidates.length; i++) {
+			double total = 0;
+			int rollouts = 0;
+			for (Rollouts worker : workers) {
+				total += worker.totals[candidates[i]];
+				rollouts += worker.rollouts[candidates[i]];
+			}
+			means[i] = total / rollouts;
+			order[i] = i;
+		}
+		// The sort is stable, so ties keep the order of the sample
+		Arrays.sort(order, (a, b) -> Double.compare(means[b], means[a]));
+		int[] sorted = new int[candidates.length];
+		for (int i = 0; i < sorted.length; i++) sorted[i] = candidates[order[i]];
+		return sorted;
+	}
+
+	/**
+	 * <p>Returns the hand fields of every distinct program which fills
+	 * as many registers as possible from the specified hand fields.
+	 * Programs of the same commands in the same order are only included
+	 * once.</p>
+	 */
+	private static int[][] getCandidates(@NotNull Player player, @NotNull int[] hand) {
+		int length = Math.min(hand.length, Player.NO_REGISTERS);
+		List<int[]> candidates = new ArrayList<>();
+		addCandidates(player, hand, new int[length], 0, new boolean[hand.length], new HashSet<>(), candidates);
+		return candidates.toArray(new int[0][]);
+	}
+
+	private static void addCandidates(@NotNull Player player, @NotNull int[] hand, @NotNull int[] candidate, int register,
+									  @NotNull boolean[] used, @NotNull Set<Long> programs, @NotNull List<int[]> candidates) {
+		if (register == candidate.length) {
+			long commands = 0;
+			for (int field : candidate) commands = commands * 64 + player.getHandField(field).getCard().command.ordinal();
+			if (programs.add(commands)) candidates.add(candidate.clone());
+			return;
+		}
+		for (int i = 0; i < hand.length; i++) {
+			if (used[i]) continue;
+			used[i] = true;
+			candidate[register] = hand[i];
+			addCandidates(player, hand, candidate, register + 1, used, programs, candidates);
+			used[i] = false;
+		}
+	}
+
+	/**
+	 * <p>Returns the number of moves from every space to every checkpoint
+	 * of the specified board, i.e. {@code distances[n - 1][s]} is the
+	 * distance from the space with index s to checkpoint number n, or -1
+	 * if the checkpoint cannot be reached from the space.</p>
+	 */
+	private static int[][] getCheckpointDistances(@NotNull Board board) {
+		int numberOfSpaces = board.width * board.height;
+		int[][] distances = new int[board.getCheckpointAmount()][];
+		AdjacencyTable adjacencyTable = board.getAdjacencyTable();
+		int[] queue = new int[numberOfSpaces];
+		for (int index = 0; index < numberOfSpaces; index++) {
+			for (BoardElement element : board.getSpace(index).getElements()) {
+				if (!(element instanceof Checkpoint)) continue;
+				int number = ((Checkpoint) element).getNumber();
+				if (number < 1 || number > distances.length) continue;
+
+				int[] distance = new int[numberOfSpaces];
+				Arrays.fill(distance, -1);
+				distance[index] = 0;
+				queue[0] = index;
+				// The search runs backwards, from the checkpoint to the spaces from which it can be reached
+				for (int head = 0, tail = 1; head < tail; head++) {
+					int space = queue[head];
+					for (int h = 0; h < Heading.COUNT; h++) {
+						Heading heading = Heading.of(h);
+						int from = adjacencyTable.getNeighbour(space, heading);
+						if (from == AdjacencyTable.NONE || distance[from] >= 0) continue;
+						if (adjacencyTable.getNeighbour(from, heading.opposite()) != space) continue;
+						distance[from] = distance[space] + 1;
+						queue[tail++] = from;
+					}
+				}
+				distances[number - 1] = distance;
+			}
+		}
+		return distances;
+	}
+
+	/**
+	 * <p>A round of successive halving: the candidates which remain,
+	 * the number of rollouts to play at least, the time until which to
+	 * keep playing, and the seed from which the seeds of the rollouts
+	 * are derived. Rollout {@code t} of the round plays the candidate
+	 * {@code candidates[t % candidates.length]}, so the candidates are
+	 * played about equally often.</p>
+	 */
+	private static final class Round {
+		private final int[] candidates;
+		private final int required;
+		private final long deadline;
+		private final long seed;
+		private final AtomicInteger next = new AtomicInteger();
+
+		private Round(@NotNull int[] candidates, int required, long deadline, long seed) {
+			this.candidates = candidates;
+			this.required = required;
+			this.deadline = deadline;
+			this.seed = seed;
+		}
+	}
+
+	/**
+	 * <p>The rollouts played by a single worker in its own sandbox,
+	 * with the total score and number of rollouts of every candidate.</p>
+	 */
+	private static class Rollouts {
+		private final GameSandbox sandbox;
+		private final GameState start;
+		private final int bot;
+		private final int[][] candidates;
+		private final int[][] distances;
+		private final List<Laser> boardLasers = new ArrayList<>();
+		private SplittableRandom random;
+
+		private final double[] totals;
+		private final int[] rollouts;
+
+		Rollouts(@NotNull GameSandbox sandbox, @NotNull GameState start, int bot,
+				 @NotNull int[][] candidates, @NotNull int[][] distances) {
+			this.sandbox = sandbox;
+			this.start = start;
+			this.bot = bot;
+			this.candidates = candidates;
+			this.distances = distances;
+			this.totals = new double[candidates.length];
+			this.rollouts = new int[candidates.length];
+
+			Board board = sandbox.getGame().getBoard();
+			for (int index = 0; index < board.width * board.height; index++) {
+				for (BoardElement element : board.getSpace(index).getElements()) {
+					if (element instanceof BoardLaser) boardLasers.add(((BoardLaser) element).getLaser());
+				}
+			}
+		}
+
+		/**
+		 * <p>Plays rollouts of the round until the required number
+		 * has been played and the deadline of the round has passed.</p>
+		 */
+		void play(@NotNull Round round) {
+			while (true) {
+				int t = round.next.getAndIncrement();
+				if (t < 0 || t >= round.required && System.nanoTime() >= round.deadline) return;
+				int candidate = round.candidates[t % round.candidates.length];
+				random = new SplittableRandom(round.seed + t);
+				totals[candidate] += rollout(candidates[candidate]);
+				rollouts[candidate]++;
+			}
+		}
+
+		/**
+		 * <p>Plays the round with the specified program of the bot
+		 * and returns the score of the bot after the round.</p>
+		 */
+		private double rollout(@NotNull int[] candidate) {
+			sandbox.restore(start);
+			Game game = sandbox.getGame();
+			GameController gameController = sandbox.getGameController();
+			game.reseed(random.nextLong());
+
+			for (int i = 0; i < game.getNumPlayers(); i++) {
+				Player player = game.getPlayer(i);
+				if (i == bot) program(player, candidate);
+				else programRandomly(player);
+			}
+
+			gameController.finishProgrammingPhase();
+			int hits = 0;
+			int step = game.getStep();
+			while (game.getPhase() == Phase.ACTIVATION || game.getPhase() == Phase.PLAYER_INTERACTION) {
+				if (game.getPhase() == Phase.PLAYER_INTERACTION) {
+					List<Command> options = game.getCurrentPlayer().getProgramField(step).getCard().command.getOptions();
+					gameController.executeCommandAndContinue(options.get(random.nextInt(options.size())));
+				} else {
+					gameController.executeStep();
+				}
+				if (game.getStep() != step || game.getPhase() != Phase.ACTIVATION && game.getPhase() != Phase.PLAYER_INTERACTION) {
+					hits += countHits(game);
+					step = game.getStep();
+				}
+			}
+			return score(game.getPlayer(bot), hits);
+		}
+
+		/**
+		 * <p>Programs the registers of the player with the cards of the
+		 * specified hand fields, leaving any other registers empty.</p>
+		 */
+		private void program(@NotNull Player player, @NotNull int[] candidate) {
+			for (int register = 0; register < Player.NO_REGISTERS; register++) {
+				CommandCard card = null;
+				if (register < candidate.length) {
+					card = player.getHandField(candidate[register]).getCard();
+					player.getHandField(candidate[register]).setCard(null);
+				}
+				player.getProgramField(register).setCard(card);
+			}
+		}
+
+		/**
+		 * <p>Fills the empty registers of the player with
+		 * random cards from the player's hand.</p>
+		 */
+		private void programRandomly(@NotNull Player player) {
+			int[] hand = new int[Player.NO_CARDS];
+			int cards = 0;
+			for (int i = 0; i < Player.NO_CARDS; i++) {
+				if (player.getHandField(i).getCard() != null) hand[cards++] = i;
+			}
+			for (int register = 0; register < Player.NO_REGISTERS && cards > 0; register++) {
+				if (player.getProgramField(register).getCard() != null) continue;
+				int pick = random.nextInt(cards);
+				player.getProgramField(register).setCard(player.getHandField(hand[pick]).getCard());
+				player.getHandField(hand[pick]).setCard(null);
+				hand[pick] = hand[--cards];
+			}
+		}
+
+		/**
+		 * <p>Returns the number of board and robot lasers which
+		 * would hit the bot if they were fired now.</p>
+		 */
+		private int countHits(@NotNull Game game) {
+			Player player = game.getPlayer(bot);
+			int hits = 0;
+			for (Laser laser : boardLasers) {
+				if (laser.getTarget() == player) hits++;
+			}
+			for (int i = 0; i < game.getNumPlayers(); i++) {
+				if (i != bot && game.getPlayer(i).getLaser().getTarget() == player) hits++;
+			}
+			return hits;
+		}
+
+		private double score(@NotNull Player player, int hits) {
+			int checkpoint = player.getLastCheckpoint();
+			double score = CHECKPOINT_SCORE * checkpoint - LASER_PENALTY * hits;
+			if (checkpoint >= distances.length) return distances.length == 0 ? score : score + WIN_SCORE;
+
+			int[] distance = distances[checkpoint];
+			if (distance == null) return score;
+			Space space = player.getSpace();
+			int moves = space == null ? -1 : distance[space.board.getSpaceIndex(space)];
+			return score - (moves < 0 ? distance.length : moves);
+		}
+	}
+}
@@ -0,0 +1,34 @@
+package dk.dtu.compute.se.pisd.roborally.headless.tournament;
+
+import dk.dtu.compute.se.pisd.roborally.model.CommandCard;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.SplittableRandom;
+
+/**
+ * <p>Programs cards picked at random from the hand, drawing
+ * from the random number generator of the player's game.</p>
+ */
+public class RandomCardsStrategy implements IProgramStrategy {
+
+	@Override
+	public Command[] program(@NotNull Player player) {
+		Command[] hand = new Command[Player.NO_CARDS];
+		int cards = 0;
+		for (int i = 0; i < Player.NO_CARDS; i++) {
+			CommandCard card = player.getHandField(i).getCard();
+			if (card != null) hand[cards++] = card.command;
+		}
+
+		SplittableRandom random = player.game.getRandom();
+		Command[] program = new Command[Player.NO_REGISTERS];
+		for (int register = 0; register < program.length && cards > 0; register++) {
+			int pick = random.nextInt(cards);
+			program[register] = hand[pick];
+			hand[pick] = hand[--cards];
+		}
+		return program;
+	}
+}
@@ -0,0 +1,235 @@
+package dk.dtu.compute.se.pisd.roborally.headless.tournament;
+
+import dk.dtu.compute.se.pisd.roborally.fileaccess.BoardLoader;
+import dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot.SnapshotCodec;
+import dk.dtu.compute.se.pisd.roborally.headless.HeadlessGameRunner;
+import dk.dtu.compute.se.pisd.roborally.headless.SimulationResult;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * <p>Plays many games between bots without any user interface, e.g.
+ * to tune a board. The programs of the players are decided by
+ * {@link IProgramStrategy}s, and the games are played by
+ * {@link HeadlessGameRunner}s, i.e. through a
+ * {@link dk.dtu.compute.se.pisd.roborally.controller.GameController}.</p>
+ * <p>The games are played in parallel on a {@link ForkJoinPool}. Every
+ * game is played from start to end by a single task, so its board,
+ * players and controller are only ever touched by one worker. Each game
+ * gets its own copy of the board, decoded from a snapshot of the board
+ * loaded by the {@link BoardLoader}, so nothing mutable is shared between
+ * games. The outcomes are handed to an {@link IResultSink} as soon as
+ * the games end.</p>
+ * <p>The seed of every game is derived from the seed of the tournament
+ * and the number of the game, so a tournament plays out the same way no
+ * matter how many workers play it. The strategies take turns sitting in
+ * each seat: in game g, seat s is played by strategy (s + g) mod n.</p>
+ */
+public class Tournament {
+
+	private final String boardName;
+	/**
+	 * <p>The snapshot from which the board of every game is decoded,
+	 * or null if the board cannot be encoded, in which case every game
+	 * loads its board through the {@link BoardLoader}.</p>
+	 */
+	private final byte[] boardSnapshot;
+	private final IProgramStrategy[] strategies;
+	private final int maxRounds;
+	private final long seed;
+
+	/**
+	 * <p>Creates a new tournament with a player for every
+	 * strategy on the board with the specified name.</p>
+	 *
+	 * @param boardName  the name of the board or null for the default board
+	 * @param strategies the strategy of each player
+	 * @param maxRounds  the number of rounds after which a game is stopped if it has not been won
+	 * @param seed       the seed of the tournament
+	 * @throws IllegalArgumentException if there are no strategies or no rounds
+	 */
+	public Tournament(@Nullable String boardName, @NotNull IProgramStrategy[] strategies, int maxRounds, long seed) {
+		if (strategies.length == 0) throw new IllegalArgumentException("A tournament needs at least one strategy!");
+		if (maxRounds < 1) throw new IllegalArgumentException("A game must have at least one round!");
+		this.boardName = boardName;
+		this.strategies = strategies.clone();
+		this.maxRounds = maxRounds;
+		this.seed = seed;
+
+		byte[] snapshot;
+		try {
+			snapshot = SnapshotCodec.encodeBoard(BoardLoader.loadBoard(boardName));
+		} catch (IllegalArgumentException e) {
+			snapshot = null;
+		}
+		boardSnapshot = snapshot;
+	}
+
+	/**
+	 * <p>Plays the specified number of games on the common pool.</p>
+	 *
+	 * @param games the number of games to play
+	 * @param sink  the sink receiving the outcome of every game
+	 * @throws UncheckedIOException if the sink fails
+	 * @see #run(int, IResultSink, ForkJoinPool)
+	 */
+	public void run(int games, @NotNull IResultSink sink) {
+		run(games, sink, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * <p>Plays the games numbered 0 to {@code games} - 1 on the
+	 * specified pool and returns when they have all been played.</p>
+	 *
+	 * @param games the number of games to play
+	 * @param sink  the sink receiving the outcome of every game
+	 * @param pool  the pool playing the games
+	 * @throws UncheckedIOException if the sink fails
+	 */
+	public void run(int games, @NotNull IResultSink sink, @NotNull ForkJoinPool pool) {
+		pool.invoke(new GameRange(0, games, sink));
+	}
+
+	/**
+	 * <p>Plays the game with the specified number on the calling thread.</p>
+	 *
+	 * @param gameNumber the number of the game
+	 * @return the outcome of the game
+	 */
+	public GameOutcome play(int gameNumber) {
+		long start = System.nanoTime();
+		int numberOfPlayers = strategies.length;
+		IProgramStrategy[] seats = new IProgramStrategy[numberOfPlayers];
+		String[] names = new String[numberOfPlayers];
+		for (int seat = 0; seat < numberOfPlayers; seat++) {
+			seats[seat] = strategies[(seat + gameNumber) % numberOfPlayers];
+			names[seat] = seats[seat].getName();
+		}
+
+		long gameSeed = getSeed(gameNumber);
+		HeadlessGameRunner runner = new HeadlessGameRunner(newBoard(), numberOfPlayers, gameSeed);
+		runner.setRecordingEvents(false);
+		Game game = runner.getGame();
+		Command[][] programs = new Command[numberOfPlayers][];
+		for (int round = 0; round < maxRounds && game.getPhase() != Phase.GAME_FINISHED; round++) {
+			for (int seat = 0; seat < numberOfPlayers; seat++) {
+				programs[seat] = seats[seat].program(game.getPlayer(seat));
+			}
+			runner.run(programs);
+		}
+
+		SimulationResult result = runner.getResult();
+		int[] checkpoints = new int[numberOfPlayers];
+		int[] energyCubes = new int[numberOfPlayers];
+		for (int seat = 0; seat < numberOfPlayers; seat++) {
+			Player player = game.getPlayer(seat);
+			checkpoints[seat] = player.getLastCheckpoint();
+			energyCubes[seat] = player.getEnergyCubes();
+		}
+		int winner = result.getWinner() == null ? -1 : game.getPlayerNumber(result.getWinner());
+		return new GameOutcome(gameNumber, gameSeed, result.getRoundsPlayed(), winner,
+				System.nanoTime() - start, names, checkpoints, energyCubes);
+	}
+
+	/**
+	 * <p>Returns the seed of the game with the specified number.</p>
+	 *
+	 * @param gameNumber the number of the game
+	 * @return the seed of the game
+	 */
+	public long getSeed(int gameNumber) {
+		return new SplittableRandom(seed + gameNumber).nextLong();
+	}
+
+	/**
+	 * <p>Returns a new copy of the board of the tournament.</p>
+	 */
+	private Board newBoard() {
+		if (boardSnapshot == null) return BoardLoader.loadBoard(boardName);
+		try {
+			return SnapshotCodec.decodeBoard(boardSnapshot);
+		} catch (IOException e) {
+			throw new IllegalStateException("The snapshot of the board could not be decoded", e);
+		}
+	}
+
+	/**
+	 * <p>Plays a range of games, splitting it in halves until
+	 * each task plays a single game.</p>
+	 */
+	private class GameRange extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final int from, to;
+		private final IResultSink sink;
+
+		private GameRange(int from, int to, IResultSink sink) {
+			this.from = from;
+			this.to = to;
+			this.sink = sink;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > 1) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new GameRange(from, middle, sink), new GameRange(middle, to, sink));
+				return;
+			}
+			if (to == from) return;
+			try {
+				sink.accept(play(from));
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+	}
+
+	/**
+	 * <p>Plays a tournament between bots playing random cards of their hands.</p>
+	 * <p>Usage: {@code Tournament <board> <players> <games> [rounds] [output]}
+	 * where the output is a {@code .csv} or {@code .jsonl} file. Without an
+	 * output the results are printed as CSV.</p>
+	 *
+	 * @param args the command line arguments
+	 * @throws IOException if the results could not be written
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 3) {
+			System.err.println("Usage: Tournament <board> <players> <games> [rounds] [output.csv|output.jsonl]");
+			System.exit(1);
+		}
+		IProgramStrategy[] strategies = new IProgramStrategy[Integer.parseInt(args[1])];
+		for (int i = 0; i < strategies.length; i++) strategies[i] = new RandomCardsStrategy();
+		int games = Integer.parseInt(args[2]);
+		int rounds = args.length > 3 ? Integer.parseInt(args[3]) : 50;
+		Tournament tournament = new Tournament(args[0], strategies, rounds, System.nanoTime());
+
+		String output = args.length > 4 ? args[4] : null;
+		Writer writer = output == null
+				? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+				: new FileWriter(output, StandardCharsets.UTF_8);
+		long start = System.nanoTime();
+		try (IResultSink sink = output != null && output.endsWith(".jsonl") ? new JsonlResultSink(writer) : new CsvResultSink(writer)) {
+			tournament.run(games, sink);
+		}
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.err.printf("Played %d games in %.2f s, %.0f games/s on %d workers%n",
+				games, seconds, games / seconds, ForkJoinPool.commonPool().getParallelism());
+	}
+}
@@ -0,0 +1,32 @@
+package dk.dtu.compute.se.pisd.roborally.interfaces;
+
+/**
+ * <p>The part of the application controller that a
+ * {@link dk.dtu.compute.se.pisd.roborally.controller.GameController}
+ * and its views need. It allows a game to be run without the JavaFX
+ * application, e.g. by the
+ * {@link dk.dtu.compute.se.pisd.roborally.headless.HeadlessGameRunner}.</p>
+ */
+public interface IAppController {
+
+	/**
+	 * <p>Returns whether a game is currently running.</p>
+	 *
+	 * @return true if a game is running
+	 */
+	boolean isGameRunning();
+
+	/**
+	 * <p>Stops the current game.</p>
+	 *
+	 * @return true if the current game was stopped
+	 */
+	boolean stopGame();
+
+	/**
+	 * <p>Called when the programming phase has started and the
+	 * hands have been dealt, e.g. to program the bots of the game.</p>
+	 */
+	default void programmingPhaseStarted() {
+	}
+}
@@ -0,0 +1,234 @@
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+/**
+ * <p>An ordered pile of cards, e.g. the deck or discard pile of a
+ * {@link Player}. As a {@link CommandCard} is nothing but its
+ * {@link Command}, the zone stores the ordinals of the commands in a
+ * ring buffer of bytes. Drawing from the top, discarding onto the
+ * bottom and shuffling therefore never allocate, once the buffer has
+ * grown to the number of cards in play.</p>
+ * <p>The zone keeps a modification count, which is incremented by
+ * every change, so that changes can be detected without intercepting
+ * every method changing the zone.</p>
+ *
+ * @see CommandCard#of(Command)
+ */
+public class CardZone {
+
+	private static final int INITIAL_CAPACITY = 32;
+
+	/**
+	 * <p>The ordinals of the commands of the cards. The length
+	 * is always a power of two, so indices wrap by masking.</p>
+	 */
+	private byte[] cards = new byte[INITIAL_CAPACITY];
+	/**
+	 * <p>The index in {@link #cards} of the top card.</p>
+	 */
+	private int head = 0;
+	private int size = 0;
+	private int modCount = 0;
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public int getModCount() {
+		return modCount;
+	}
+
+	/**
+	 * <p>Returns the command of the card at the specified
+	 * position, counted from the top of the zone.</p>
+	 *
+	 * @param index the position of the card
+	 * @return the command of the card
+	 * @throws IndexOutOfBoundsException if there is no card at the position
+	 */
+	public Command get(int index) {
+		if (index < 0 || index >= size) throw new IndexOutOfBoundsException("No card " + index + " in a zone of " + size + " cards");
+		return Command.of(cards[(head + index) & (cards.length - 1)]);
+	}
+
+	/**
+	 * <p>Puts a card with the specified command at the bottom of the zone.</p>
+	 *
+	 * @param command the command of the card
+	 */
+	public void add(@NotNull Command command) {
+		if (size == cards.length) grow();
+		cards[(head + size) & (cards.length - 1)] = (byte) command.ordinal();
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * <p>Puts the specified cards at the bottom of the zone
+	 * in the order they are iterated.</p>
+	 *
+	 * @param cards the cards to add
+	 */
+	public void addAll(@NotNull Collection<CommandCard> cards) {
+		for (CommandCard card : cards) add(card.command);
+	}
+
+	/**
+	 * <p>Removes the top card of the zone.</p>
+	 *
+	 * @return the command of the removed card
+	 * @throws NoSuchElementException if the zone is empty
+	 */
+	public Command remove() {
+		if (size == 0) throw new NoSuchElementException("The zone is empty");
+		Command command = Command.of(cards[head]);
+		head = (head + 1) & (cards.length - 1);
+		size--;
+		modCount++;
+		return command;
+	}
+
+	/**
+	 * <p>Removes the topmost card with the specified command, if
+	 * any. The order of the other cards is kept.</p>
+	 *
+	 * @param command the command of the card to remove
+	 * @return true if a card was removed
+	 */
+	public boolean remove(@NotNull Command command) {
+		int mask = cards.length - 1;
+		byte ordinal = (byte) command.ordinal();
+		for (int i = 0; i < size; i++) {
+			if (cards[(head + i) & mask] != ordinal) continue;
+			for (int j = i; j > 0; j--) {
+				cards[(head + j) & mask] = cards[(head + j - 1) & mask];
+			}
+			head = (head + 1) & mask;
+			size--;
+			modCount++;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * <p>Moves all the cards of this zone to the bottom of the
+	 * specified zone, keeping their order, and empties this zone.</p>
+	 *
+	 * @param target the zone to move the cards to
+	 */
+	public void moveAllTo(@NotNull CardZone target) {
+		if (target == this) return;
+		for (int i = 0; i < size; i++) {
+			if (target.size == target.cards.length) target.grow();
+			target.cards[(target.head + target.size) & (target.cards.length - 1)] = cards[(head + i) & (cards.length - 1)];
+			target.size++;
+		}
+		target.modCount++;
+		clear();
+	}
+
+	/**
+	 * <p>Shuffles the zone in place with the Fisher–Yates
+	 * shuffle, drawing from the specified generator.</p>
+	 *
+	 * @param random the random number generator to draw from
+	 */
+	public void shuffle(@NotNull SplittableRandom random) {
+		int mask = cards.length - 1;
+		for (int i = size - 1; i > 0; i--) {
+			int a = (head + i) & mask;
+			int b = (head + random.nextInt(i + 1)) & mask;
+			byte card = cards[a];
+			cards[a] = cards[b];
+			cards[b] = card;
+		}
+		modCount++;
+	}
+
+	/**
+	 * <p>Removes all the cards of the zone.</p>
+	 */
+	public void clear() {
+		head = 0;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * <p>Returns the commands of the cards of the zone
+	 * in a new array, from the top down.</p>
+	 *
+	 * @return the commands of the cards
+	 */
+	public Command[] toArray() {
+		Command[] commands = new Command[size];
+		for (int i = 0; i < size; i++) commands[i] = get(i);
+		return commands;
+	}
+
+	/**
+	 * <p>Returns the ordinals of the commands of the cards
+	 * of the zone in a new array, from the top down.</p>
+	 *
+	 * @return the ordinals of the commands of the cards
+	 * @see #setOrdinals(byte[])
+	 */
+	public byte[] getOrdinals() {
+		byte[] ordinals = new byte[size];
+		int firstPart = Math.min(size, cards.length - head);
+		System.arraycopy(cards, head, ordinals, 0, firstPart);
+		System.arraycopy(cards, 0, ordinals, firstPart, size - firstPart);
+		return ordinals;
+	}
+
+	/**
+	 * <p>Replaces the cards of the zone with cards with the
+	 * commands of the specified ordinals, from the top down.</p>
+	 *
+	 * @param ordinals the ordinals of the commands of the cards
+	 * @throws IllegalArgumentException if an ordinal is not that of a command
+	 * @see #getOrdinals()
+	 */
+	public void setOrdinals(@NotNull byte[] ordinals) {
+		for (byte ordinal : ordinals) {
+			if (ordinal < 0 || ordinal >= Command.COUNT) throw new IllegalArgumentException("No command has the ordinal " + ordinal);
+		}
+		if (ordinals.length > cards.length) {
+			cards = new byte[Integer.highestOneBit(ordinals.length - 1) << 1];
+		}
+		System.arraycopy(ordinals, 0, cards, 0, ordinals.length);
+		head = 0;
+		size = ordinals.length;
+		modCount++;
+	}
+
+	/**
+	 * <p>Doubles the capacity of the buffer, unwrapping the
+	 * cards so that the top card is at index 0.</p>
+	 */
+	private void grow() {
+		byte[] grown = new byte[cards.length * 2];
+		int firstPart = Math.min(size, cards.length - head);
+		System.arraycopy(cards, head, grown, 0, firstPart);
+		System.arraycopy(cards, 0, grown, firstPart, size - firstPart);
+		cards = grown;
+		head = 0;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+}
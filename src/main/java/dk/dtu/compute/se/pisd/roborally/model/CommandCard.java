@@ -35,10 +35,34 @@ public class CommandCard extends Subject {
 
 	final public Command command;
 
+	/**
+	 * <p>A shared card for every command.</p>
+	 *
+	 * @see #of(Command)
+	 */
+	private static final CommandCard[] CARDS;
+
+	static {
+		CARDS = new CommandCard[Command.COUNT];
+		for (int i = 0; i < CARDS.length; i++) CARDS[i] = new CommandCard(Command.of(i));
+	}
+
 	public CommandCard(@NotNull Command command) {
 		this.command = command;
 	}
 
+	/**
+	 * <p>Returns the shared card with the specified command. As a card
+	 * is nothing but its command, cards drawn from a {@link CardZone}
+	 * are shared rather than created.</p>
+	 *
+	 * @param command the command of the card
+	 * @return the shared card with the specified command
+	 */
+	public static CommandCard of(@NotNull Command command) {
+		return CARDS[command.ordinal()];
+	}
+
 	public String getName() {
 		return command.displayName;
 	}
@@ -37,6 +37,12 @@ public class CommandCardField extends Subject {
 
 	private boolean visible;
 
+	/**
+	 * <p>Whether the card of this field has changed since
+	 * the field was last saved or loaded.</p>
+	 */
+	private transient boolean dirty = true;
+
 	public CommandCardField(Player player) {
 		this.player = player;
 		this.card = null;
@@ -50,6 +56,7 @@ public class CommandCardField extends Subject {
 	public void setCard(CommandCard card) {
 		if (card != this.card) {
 			this.card = card;
+			dirty = true;
 			notifyChange();
 		}
 	}
@@ -64,4 +71,22 @@ public class CommandCardField extends Subject {
 			notifyChange();
 		}
 	}
+
+	/**
+	 * <p>Returns whether the card of this field has changed
+	 * since the field was last saved or loaded.</p>
+	 *
+	 * @return true if the field needs to be saved
+	 * @see #markClean()
+	 */
+	public boolean isDirty() {
+		return dirty;
+	}
+
+	/**
+	 * <p>Marks this field as saved.</p>
+	 */
+	public void markClean() {
+		dirty = false;
+	}
 }
@@ -54,9 +54,51 @@ public class Game extends Subject {
 
 	private Phase phase = INITIALISATION;
 
+	/**
+	 * <p>Whether the current player, phase or step of this game
+	 * have changed since the game was last saved or loaded.</p>
+	 */
+	private transient boolean dirty = true;
+	/**
+	 * <p>Whether the {@link #playerActivationQueue} has changed
+	 * since the game was last saved or loaded.</p>
+	 */
+	private transient boolean activationQueueDirty = true;
+
+	/**
+	 * <p>The source of all randomness of this game, e.g. when the
+	 * players' decks are shuffled. A game started from the same
+	 * state with the same seed plays out identically.</p>
+	 */
+	private transient SplittableRandom random;
+
+	/**
+	 * <p>The log of the events of this game or null if
+	 * the events are not logged.</p>
+	 */
+	private transient GameEventLog eventLog;
+
+	/**
+	 * <p>Creates a new game on the specified board
+	 * with a randomly seeded {@link #random}.</p>
+	 *
+	 * @param board the board of the game
+	 */
 	public Game(Board board) {
+		this(board, new SplittableRandom().nextLong());
+	}
+
+	/**
+	 * <p>Creates a new game on the specified board
+	 * with the specified seed.</p>
+	 *
+	 * @param board the board of the game
+	 * @param seed  the seed of the game's random number generator
+	 */
+	public Game(Board board, long seed) {
 		this.board = board;
 		this.stepMode = false;
+		this.random = new SplittableRandom(seed);
 	}
 
 	public Integer getGameId() {
@@ -106,6 +148,18 @@ public class Game extends Subject {
 	public void setCurrentPlayer(Player player) {
 		if (player == this.current || !players.contains(player)) return;
 		this.current = player;
+		dirty = true;
+		notifyChange();
+	}
+
+	/**
+	 * <p>Leaves the game without a current player, as
+	 * before the first programming phase has started.</p>
+	 */
+	public void clearCurrentPlayer() {
+		if (current == null) return;
+		current = null;
+		dirty = true;
 		notifyChange();
 	}
 
@@ -116,6 +170,8 @@ public class Game extends Subject {
 	public void setPhase(Phase phase) {
 		if (phase == this.phase) return;
 		this.phase = phase;
+		dirty = true;
+		if (eventLog != null) eventLog.append(GameEventLog.Type.PHASE_CHANGED, -1, phase.ordinal(), 0);
 		notifyChange();
 	}
 
@@ -126,6 +182,7 @@ public class Game extends Subject {
 	public void setStep(int step) {
 		if (step == this.step) return;
 		this.step = step;
+		dirty = true;
 		notifyChange();
 	}
 
@@ -144,6 +201,40 @@ public class Game extends Subject {
 		notifyChange();
 	}
 
+	/**
+	 * <p>Returns the random number generator of this game. All
+	 * randomness affecting the game must be drawn from it.</p>
+	 *
+	 * @return the random number generator of this game
+	 */
+	public SplittableRandom getRandom() {
+		return random;
+	}
+
+	/**
+	 * <p>Replaces the random number generator of this game
+	 * with a new one seeded with the specified seed.</p>
+	 *
+	 * @param seed the new seed
+	 */
+	public void reseed(long seed) {
+		random = new SplittableRandom(seed);
+	}
+
+	public GameEventLog getEventLog() {
+		return eventLog;
+	}
+
+	/**
+	 * <p>Sets the log to which the events of this game are
+	 * appended. Setting it to null stops the logging.</p>
+	 *
+	 * @param eventLog the log of the events of this game or null
+	 */
+	public void setEventLog(GameEventLog eventLog) {
+		this.eventLog = eventLog;
+	}
+
 	public int getPlayerNumber(@NotNull Player player) {
 		if (player.game == this) {
 			return players.indexOf(player);
@@ -179,6 +270,7 @@ public class Game extends Subject {
 			return null;
 			//playerQueue.addAll(players);
 		}
+		activationQueueDirty = true;
 		return playerActivationQueue.remove();
 	}
 
@@ -220,10 +312,61 @@ public class Game extends Subject {
 	public void playerQueueForceRepopulate() {
 		playerActivationQueue.clear();
 		playerActivationQueue.addAll(players);
+		activationQueueDirty = true;
 	}
 
 	public void setPlayerActivationQueue(PriorityQueue<Player> activationQueue){
 		this.playerActivationQueue = activationQueue;
+		activationQueueDirty = true;
+	}
+
+	/**
+	 * <p>Replaces the players in the activation queue with the specified
+	 * players, keeping the queue itself. The players should be given in
+	 * the order of {@link #getPlayerActivationQueue()}, which restores the
+	 * queue exactly.</p>
+	 *
+	 * @param queued the players to put in the activation queue
+	 * @author Rasmus Nylander, s205418@student.dtu.dk
+	 */
+	public void setPlayerActivationQueue(@NotNull Player[] queued){
+		playerActivationQueue.clear();
+		for (Player player : queued) {
+			if (player.game == this) playerActivationQueue.add(player);
+		}
+		activationQueueDirty = true;
+	}
+
+	/**
+	 * <p>Returns whether the current player, phase or step of this
+	 * game have changed since the game was last saved or loaded.</p>
+	 *
+	 * @return true if the game needs to be saved
+	 * @see #markClean()
+	 */
+	public boolean isDirty() {
+		return dirty;
+	}
+
+	/**
+	 * <p>Returns whether the activation queue of this game has
+	 * changed since the game was last saved or loaded.</p>
+	 *
+	 * @return true if the activation queue needs to be saved
+	 */
+	public boolean isActivationQueueDirty() {
+		return activationQueueDirty;
+	}
+
+	/**
+	 * <p>Marks this game and all its players as saved.</p>
+	 *
+	 * @see Player#markClean()
+	 */
+	public void markClean() {
+		dirty = false;
+		activationQueueDirty = false;
+		for (Player player : players) player.markClean();
 	}
 
 
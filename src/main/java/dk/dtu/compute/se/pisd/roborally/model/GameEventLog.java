@@ -0,0 +1,200 @@
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * <p>An append-only log of the events of a {@link Game}. Together with
+ * the state of the game when the log was started and the seed of the
+ * game's random number generator, the log is enough to replay the game.</p>
+ * <p>The events are either inputs, i.e. decisions made by the players,
+ * or outcomes, i.e. what the game did because of the inputs. Only the
+ * inputs are needed to replay a game, while the outcomes allow a replay
+ * to be checked against the original game.</p>
+ * <p>Every event is four ints: its {@link Type}, the number of the player
+ * it concerns, or -1, and two arguments whose meaning depends on the type.
+ * The events are stored in a single growing int array, so logging an event
+ * does not allocate.</p>
+ */
+public class GameEventLog {
+
+	/**
+	 * <p>The types of events in a {@link GameEventLog}.</p>
+	 */
+	public enum Type {
+		/**
+		 * <p>Input: a card was moved between two fields of a player. The
+		 * arguments are the source and target fields, where the hand field
+		 * i is i and the program field i is {@link Player#NO_CARDS} + i.</p>
+		 */
+		CARD_MOVED(true),
+		/**
+		 * <p>Input: a register of a player was programmed directly. The
+		 * arguments are the register and the ordinal of the command plus
+		 * one, or zero if the register was emptied.</p>
+		 */
+		PROGRAMMED(true),
+		/**
+		 * <p>Input: the programming phase was finished.</p>
+		 */
+		PROGRAMMING_FINISHED(true),
+		/**
+		 * <p>Input: the execution of the programs was started or continued.
+		 * The first argument is 1 if only a single step is executed.</p>
+		 */
+		EXECUTION_STARTED(true),
+		/**
+		 * <p>Input: the current player chose an option of an interactive
+		 * command. The arguments are the register and the ordinal of the
+		 * chosen command.</p>
+		 */
+		OPTION_CHOSEN(true),
+		/**
+		 * <p>Outcome: the command of a register was executed. The arguments
+		 * are the register and the ordinal of the command.</p>
+		 */
+		COMMAND_EXECUTED(false),
+		/**
+		 * <p>Outcome: the board elements were activated. The first argument
+		 * is the register after which they were activated.</p>
+		 */
+		ELEMENTS_ACTIVATED(false),
+		/**
+		 * <p>Outcome: the phase of the game changed. The first argument is
+		 * the ordinal of the new phase.</p>
+		 */
+		PHASE_CHANGED(false);
+
+		private final boolean input;
+
+		Type(boolean input) {
+			this.input = input;
+		}
+
+		/**
+		 * <p>Returns whether events of this type are decisions
+		 * of the players, which must be replayed.</p>
+		 *
+		 * @return true if this is the type of an input
+		 */
+		public boolean isInput() {
+			return input;
+		}
+	}
+
+	private static final Type[] TYPES = Type.values();
+	private static final int EVENT_SIZE = 4;
+
+	private final long seed;
+	private final byte[] initialState;
+
+	private int[] events = new int[64 * EVENT_SIZE];
+	private int size = 0;
+
+	/**
+	 * <p>Creates a new empty log.</p>
+	 *
+	 * @param seed         the seed of the game's random number generator when the log was started
+	 * @param initialState the state of the game when the log was started
+	 * @see Game#reseed(long)
+	 */
+	public GameEventLog(long seed, @NotNull byte[] initialState) {
+		this.seed = seed;
+		this.initialState = initialState.clone();
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	/**
+	 * <p>Returns a copy of the state of the game when the log was started.</p>
+	 *
+	 * @return the initial state of the game
+	 */
+	public byte[] getInitialState() {
+		return initialState.clone();
+	}
+
+	/**
+	 * <p>Appends an event to the log.</p>
+	 *
+	 * @param type   the type of the event
+	 * @param player the number of the player the event concerns or -1
+	 * @param first  the first argument of the event
+	 * @param second the second argument of the event
+	 */
+	public void append(@NotNull Type type, int player, int first, int second) {
+		int offset = size * EVENT_SIZE;
+		if (offset == events.length) events = Arrays.copyOf(events, events.length * 2);
+		events[offset] = type.ordinal();
+		events[offset + 1] = player;
+		events[offset + 2] = first;
+		events[offset + 3] = second;
+		size++;
+	}
+
+	/**
+	 * <p>Returns the number of events in the log.</p>
+	 *
+	 * @return the number of events
+	 */
+	public int size() {
+		return size;
+	}
+
+	public Type getType(int event) {
+		return TYPES[get(event, 0)];
+	}
+
+	public int getPlayer(int event) {
+		return get(event, 1);
+	}
+
+	public int getFirst(int event) {
+		return get(event, 2);
+	}
+
+	public int getSecond(int event) {
+		return get(event, 3);
+	}
+
+	private int get(int event, int field) {
+		if (event < 0 || event >= size) throw new IndexOutOfBoundsException("No event " + event + " in a log of " + size + " events");
+		return events[event * EVENT_SIZE + field];
+	}
+
+	/**
+	 * <p>Returns whether the specified number of first events
+	 * of this log are identical to those of the specified log.</p>
+	 *
+	 * @param other  the log to compare with
+	 * @param events the number of events to compare
+	 * @return true if the first events are identical
+	 */
+	public boolean startsLike(@NotNull GameEventLog other, int events) {
+		if (events > size || events > other.size) return false;
+		return Arrays.equals(this.events, 0, events * EVENT_SIZE, other.events, 0, events * EVENT_SIZE);
+	}
+
+	/**
+	 * <p>Returns the events of the log as a new array of
+	 * four ints per event.</p>
+	 *
+	 * @return the events of the log
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(events, size * EVENT_SIZE);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < size; i++) {
+			builder.append(i).append(": ").append(getType(i)).append(' ').append(getPlayer(i))
+					.append(' ').append(getFirst(i)).append(' ').append(getSecond(i)).append('\n');
+		}
+		return builder.toString();
+	}
+}
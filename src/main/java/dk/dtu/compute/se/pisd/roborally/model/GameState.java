@@ -0,0 +1,198 @@
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.Space;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.EnergySpace;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>An immutable copy of everything about a {@link Game} which changes
+ * while it is played: the phase, step and current player of the game,
+ * the activation queue, the position, heading, energy cubes, checkpoint
+ * and cards of every player, and the energy cubes left on the board.
+ * Everything else, i.e. the geometry of the board and its elements, does
+ * not change during a game and is not copied.</p>
+ * <p>A state may be restored onto the game it was captured from or onto
+ * any other game with the same board and number of players, e.g. a copy
+ * of the game used to try out the future. Both capturing and restoring
+ * take time proportional to the number of players and energy spaces,
+ * not to the size of the board.</p>
+ * <p>The random number generator of the game is not part of the state.
+ * A game is reseeded to make what happens after a restore reproducible.</p>
+ *
+ * @see Game#reseed(long)
+ */
+public class GameState {
+
+	private final int width, height;
+	private final Phase phase;
+	private final int step;
+	private final boolean stepMode;
+	private final int currentPlayer;
+	private final int[] activationQueue;
+
+	private final int[] spaces;
+	private final byte[] headings;
+	private final int[] energyCubes;
+	private final int[] checkpoints;
+	private final byte[][] programs;
+	private final byte[][] hands;
+	private final byte[][] decks;
+	private final byte[][] discardPiles;
+
+	/**
+	 * <p>The sorted indices of the spaces of the energy
+	 * spaces which no longer have an energy cube.</p>
+	 */
+	private final int[] emptyEnergySpaces;
+
+	private GameState(@NotNull Game game) {
+		Board board = game.getBoard();
+		width = board.width;
+		height = board.height;
+		phase = game.getPhase();
+		step = game.getStep();
+		stepMode = game.isStepMode();
+		currentPlayer = game.getCurrentPlayer() == null ? -1 : game.getPlayerNumber(game.getCurrentPlayer());
+		Player[] queued = game.getPlayerActivationQueue();
+		activationQueue = new int[queued.length];
+		for (int i = 0; i < queued.length; i++) activationQueue[i] = game.getPlayerNumber(queued[i]);
+
+		int numberOfPlayers = game.getNumPlayers();
+		spaces = new int[numberOfPlayers];
+		headings = new byte[numberOfPlayers];
+		energyCubes = new int[numberOfPlayers];
+		checkpoints = new int[numberOfPlayers];
+		programs = new byte[numberOfPlayers][];
+		hands = new byte[numberOfPlayers][];
+		decks = new byte[numberOfPlayers][];
+		discardPiles = new byte[numberOfPlayers][];
+		for (int i = 0; i < numberOfPlayers; i++) {
+			Player player = game.getPlayer(i);
+			Space space = player.getSpace();
+			spaces[i] = space == null ? -1 : board.getSpaceIndex(space);
+			headings[i] = (byte) player.getDirection().ordinal();
+			energyCubes[i] = player.getEnergyCubes();
+			checkpoints[i] = player.getLastCheckpoint();
+			programs[i] = ordinals(player.getProgram());
+			hands[i] = ordinals(player.getHand());
+			decks[i] = player.getDeck().getOrdinals();
+			discardPiles[i] = player.getDiscardPile().getOrdinals();
+		}
+
+		List<EnergySpace> energySpaces = board.getEnergySpaces();
+		int[] empty = new int[energySpaces.size()];
+		int numEmpty = 0;
+		for (EnergySpace energySpace : energySpaces) {
+			if (!energySpace.getHasEnergyCube()) empty[numEmpty++] = board.getSpaceIndex(energySpace.getSpace());
+		}
+		emptyEnergySpaces = Arrays.copyOf(empty, numEmpty);
+		Arrays.sort(emptyEnergySpaces);
+	}
+
+	/**
+	 * <p>Captures the current state of the specified game.</p>
+	 *
+	 * @param game the game whose state to capture
+	 * @return the state of the game
+	 */
+	public static GameState capture(@NotNull Game game) {
+		return new GameState(game);
+	}
+
+	/**
+	 * <p>Puts the specified game in this state.</p>
+	 *
+	 * @param game the game to restore, which must have a board of the
+	 *             same size and the same number of players as the game
+	 *             this state was captured from
+	 * @throws IllegalArgumentException if the game does not match this state
+	 */
+	public void restore(@NotNull Game game) {
+		Board board = game.getBoard();
+		if (board.width != width || board.height != height || game.getNumPlayers() != spaces.length) {
+			throw new IllegalArgumentException("The state of a game with " + spaces.length + " players on a "
+					+ width + "x" + height + " board cannot be restored onto this game");
+		}
+
+		// The players are lifted off the board first, so no player is put on a space which is still occupied
+		for (int i = 0; i < spaces.length; i++) game.getPlayer(i).setSpace(null);
+		for (int i = 0; i < spaces.length; i++) {
+			Player player = game.getPlayer(i);
+			if (spaces[i] >= 0) player.setSpace(board.getSpace(spaces[i]));
+			player.setDirection(Heading.of(headings[i]));
+			player.setEnergyCubes(energyCubes[i]);
+			player.setLastCheckpoint(checkpoints[i]);
+			restoreFields(player.getProgram(), programs[i]);
+			restoreFields(player.getHand(), hands[i]);
+			player.getDeck().setOrdinals(decks[i]);
+			player.getDiscardPile().setOrdinals(discardPiles[i]);
+		}
+
+		for (EnergySpace energySpace : board.getEnergySpaces()) {
+			int space = board.getSpaceIndex(energySpace.getSpace());
+			energySpace.setHasEnergyCube(Arrays.binarySearch(emptyEnergySpaces, space) < 0);
+		}
+
+		game.setPhase(phase);
+		game.setStep(step);
+		game.setStepMode(stepMode);
+		if (currentPlayer >= 0) game.setCurrentPlayer(game.getPlayer(currentPlayer));
+		else game.clearCurrentPlayer();
+		Player[] queued = new Player[activationQueue.length];
+		for (int i = 0; i < queued.length; i++) queued[i] = game.getPlayer(activationQueue[i]);
+		game.setPlayerActivationQueue(queued);
+	}
+
+	public Phase getPhase() {
+		return phase;
+	}
+
+	public int getStep() {
+		return step;
+	}
+
+	/**
+	 * <p>Returns the index of the space of the specified player.</p>
+	 *
+	 * @param player the number of the player
+	 * @return the index of the space or -1 if the player was not on the board
+	 * @see Board#getSpaceIndex(Space)
+	 */
+	public int getSpace(int player) {
+		return spaces[player];
+	}
+
+	public Heading getHeading(int player) {
+		return Heading.of(headings[player]);
+	}
+
+	public int getEnergyCubes(int player) {
+		return energyCubes[player];
+	}
+
+	public int getCheckpoint(int player) {
+		return checkpoints[player];
+	}
+
+	private static byte[] ordinals(@NotNull CommandCardField[] fields) {
+		byte[] ordinals = new byte[fields.length];
+		for (int i = 0; i < fields.length; i++) {
+			CommandCard card = fields[i].getCard();
+			ordinals[i] = card == null ? -1 : (byte) card.command.ordinal();
+		}
+		return ordinals;
+	}
+
+	private static void restoreFields(@NotNull CommandCardField[] fields, @NotNull byte[] ordinals) {
+		for (int i = 0; i < fields.length; i++) {
+			fields[i].setCard(ordinals[i] < 0 ? null : CommandCard.of(Command.of(ordinals[i])));
+		}
+	}
+}
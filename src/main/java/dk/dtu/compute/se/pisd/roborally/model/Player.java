@@ -78,11 +78,22 @@ public class Player extends Subject implements Spacebound, Directional {
 	private CommandCardField[] program;
 	private CommandCardField[] hand;
 
-	private LinkedList<CommandCard> deck;
-	private LinkedList<CommandCard> discardPile;
+	private CardZone deck;
+	private CardZone discardPile;
 
 	private int energyCubes;
 
+	/**
+	 * <p>Whether the position, heading or energy cubes of this
+	 * player have changed since the player was last saved or loaded.</p>
+	 */
+	private transient boolean dirty = true;
+	/**
+	 * <p>The modification counts of the {@link #deck} and
+	 * {@link #discardPile} when the player was last saved or loaded.</p>
+	 */
+	private transient int savedDeckModCount = -1, savedDiscardPileModCount = -1;
+
 	public Player(@NotNull Game game, String color, @NotNull String name) {
 		playerController = new PlayerController(this);
 
@@ -91,8 +102,8 @@ public class Player extends Subject implements Spacebound, Directional {
 		this.color = color;
 
 		this.space = null;
-		this.deck = new LinkedList<>();
-		this.discardPile = new LinkedList<>();
+		this.deck = new CardZone();
+		this.discardPile = new CardZone();
 
 		program = new CommandCardField[NO_REGISTERS];
 		for (int i = 0; i < program.length; i++) {
@@ -199,6 +210,7 @@ public class Player extends Subject implements Spacebound, Directional {
 			space.setPlayer(this);
 			distanceToPrioritySpace = game.getBoard().getRectilinearDistanceToPrioritySpace(space);
 		} else distanceToPrioritySpace = -1;
+		dirty = true;
 		notifyChange();
 	}
 
@@ -210,6 +222,7 @@ public class Player extends Subject implements Spacebound, Directional {
 		if (heading == this.heading) return;
 
 		this.heading = heading;
+		dirty = true;
 		notifyChange();
 
 		if (space != null) {
@@ -259,11 +272,11 @@ public class Player extends Subject implements Spacebound, Directional {
 		return hand;
 	}
 
-	public LinkedList<CommandCard> getDeck(){
+	public CardZone getDeck(){
 		return deck;
 	}
 
-	public LinkedList<CommandCard> getDiscardPile(){
+	public CardZone getDiscardPile(){
 		return discardPile;
 	}
 
@@ -300,6 +313,7 @@ public class Player extends Subject implements Spacebound, Directional {
 	 */
 	public void setEnergyCubes(int amount) {
 		this.energyCubes = amount;
+		dirty = true;
 		notifyChange();
 	}
 
@@ -318,8 +332,53 @@ public class Player extends Subject implements Spacebound, Directional {
 	}
 
 	public void setLastCheckpoint(int lastCheckpoint) {
+		if (lastCheckpoint == this.lastCheckpoint) return;
 		this.lastCheckpoint = lastCheckpoint;
+		notifyChange();
 	}
 
+	/**
+	 * <p>Returns whether the position, heading or energy cubes of
+	 * this player have changed since the player was last saved or
+	 * loaded. Changes to the cards of the player are tracked by
+	 * {@link #isDeckDirty()}, {@link #isDiscardPileDirty()} and
+	 * {@link CommandCardField#isDirty()}.</p>
+	 *
+	 * @return true if the player needs to be saved
+	 * @see #markClean()
+	 */
+	public boolean isDirty() {
+		return dirty;
+	}
 
-}
\ No newline at end of file
+	/**
+	 * <p>Returns whether the deck of this player has changed
+	 * since the player was last saved or loaded.</p>
+	 *
+	 * @return true if the deck needs to be saved
+	 */
+	public boolean isDeckDirty() {
+		return deck.getModCount() != savedDeckModCount;
+	}
+
+	/**
+	 * <p>Returns whether the discard pile of this player has
+	 * changed since the player was last saved or loaded.</p>
+	 *
+	 * @return true if the discard pile needs to be saved
+	 */
+	public boolean isDiscardPileDirty() {
+		return discardPile.getModCount() != savedDiscardPileModCount;
+	}
+
+	/**
+	 * <p>Marks this player and all its cards as saved.</p>
+	 */
+	public void markClean() {
+		dirty = false;
+		savedDeckModCount = deck.getModCount();
+		savedDiscardPileModCount = discardPile.getModCount();
+		for (CommandCardField field : program) field.markClean();
+		for (CommandCardField field : hand) field.markClean();
+	}
+}
@@ -0,0 +1,164 @@
+package dk.dtu.compute.se.pisd.roborally.model.board;
+
+import dk.dtu.compute.se.pisd.roborally.controller.boardElementController.BoardLaserController;
+import dk.dtu.compute.se.pisd.roborally.controller.boardElementController.IBoardElementController;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.ActivationElement;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * <p>An index of the {@link IBoardElementController}s of all the
+ * {@link ActivationElement}s on a {@link Board}. The controllers
+ * are bucketed by activation priority and, within each bucket,
+ * keyed by the {@link Space} they are on.</p>
+ * <p>{@link BoardLaserController}s are kept separately, as they
+ * are activated no matter whether a player is on their space.
+ * All other controllers only need to be activated if a player is
+ * on their space, so the activation phase only needs to look up
+ * the spaces that actually hold a player instead of scanning the
+ * entire board.</p>
+ * <p>The index is kept current by {@link Space#addBoardElement(dk.dtu.compute.se.pisd.roborally.model.board.boardElement.BoardElement)}
+ * and {@link Space#removeBoardElement(dk.dtu.compute.se.pisd.roborally.model.board.boardElement.BoardElement)}.</p>
+ *
+ * @see Board#getActivationIndex()
+ */
+public class ActivationIndex {
+	/**
+	 * <p>The board lasers on the board bucketed by priority.</p>
+	 */
+	private final TreeMap<Integer, List<IBoardElementController>> laserBuckets = new TreeMap<>();
+
+	/**
+	 * <p>All controllers, which are not board lasers, bucketed by
+	 * priority and then keyed by the space they are on.</p>
+	 */
+	private final TreeMap<Integer, Map<Space, List<IBoardElementController>>> spaceBuckets = new TreeMap<>();
+
+	/**
+	 * <p>A cache of the keys of {@link #laserBuckets} and {@link #spaceBuckets}
+	 * in ascending order. It is null when it needs to be recomputed.</p>
+	 */
+	private int[] priorities;
+
+	/**
+	 * <p>The number of controllers in the index.</p>
+	 */
+	private int size = 0;
+
+	/**
+	 * <p>Adds a controller of an element on the specified space to the index.</p>
+	 *
+	 * @param space      the space the element of the controller is on
+	 * @param controller the controller to add
+	 */
+	void register(@NotNull Space space, @NotNull IBoardElementController controller) {
+		int priority = controller.getPriority();
+		if (controller instanceof BoardLaserController) {
+			laserBuckets.computeIfAbsent(priority, p -> new ArrayList<>()).add(controller);
+		} else {
+			spaceBuckets.computeIfAbsent(priority, p -> new HashMap<>())
+					.computeIfAbsent(space, s -> new ArrayList<>(1)).add(controller);
+		}
+		size++;
+		priorities = null;
+	}
+
+	/**
+	 * <p>Removes a controller of an element on the specified space from the index.</p>
+	 *
+	 * @param space      the space the element of the controller is on
+	 * @param controller the controller to remove
+	 */
+	void unregister(@NotNull Space space, @NotNull IBoardElementController controller) {
+		int priority = controller.getPriority();
+		boolean removed;
+		if (controller instanceof BoardLaserController) {
+			List<IBoardElementController> bucket = laserBuckets.get(priority);
+			if (bucket == null) return;
+			removed = bucket.remove(controller);
+			if (bucket.isEmpty()) laserBuckets.remove(priority);
+		} else {
+			Map<Space, List<IBoardElementController>> bucket = spaceBuckets.get(priority);
+			if (bucket == null) return;
+			List<IBoardElementController> controllers = bucket.get(space);
+			if (controllers == null) return;
+			removed = controllers.remove(controller);
+			if (controllers.isEmpty()) bucket.remove(space);
+			if (bucket.isEmpty()) spaceBuckets.remove(priority);
+		}
+		if (!removed) return;
+		size--;
+		priorities = null;
+	}
+
+	/**
+	 * <p>Returns all the activation priorities that at least one
+	 * controller in the index has in ascending order. The array
+	 * must not be modified.</p>
+	 *
+	 * @return an array of the priorities of the index in ascending order
+	 */
+	public int[] getPriorities() {
+		if (priorities != null) return priorities;
+		TreeSet<Integer> keys = new TreeSet<>(laserBuckets.keySet());
+		keys.addAll(spaceBuckets.keySet());
+		int[] result = new int[keys.size()];
+		int i = 0;
+		for (int priority : keys) result[i++] = priority;
+		priorities = result;
+		return priorities;
+	}
+
+	/**
+	 * <p>Returns the controllers of the board lasers with the
+	 * specified priority. The list must not be modified.</p>
+	 *
+	 * @param priority the priority of the board lasers
+	 * @return a possibly empty list of board laser controllers
+	 */
+	@NotNull
+	public List<IBoardElementController> getBoardLasers(int priority) {
+		List<IBoardElementController> bucket = laserBuckets.get(priority);
+		return bucket == null ? Collections.emptyList() : bucket;
+	}
+
+	/**
+	 * <p>Returns the controllers of all the board lasers
+	 * on the board regardless of priority.</p>
+	 *
+	 * @return a new list of all board laser controllers
+	 */
+	@NotNull
+	public List<IBoardElementController> getBoardLasers() {
+		List<IBoardElementController> result = new ArrayList<>();
+		for (List<IBoardElementController> bucket : laserBuckets.values()) result.addAll(bucket);
+		return result;
+	}
+
+	/**
+	 * <p>Returns the controllers with the specified priority on
+	 * the specified space excluding board lasers. The list must
+	 * not be modified.</p>
+	 *
+	 * @param priority the priority of the controllers
+	 * @param space    the space of the controllers
+	 * @return a possibly empty list of controllers
+	 */
+	@NotNull
+	public List<IBoardElementController> getControllers(int priority, Space space) {
+		Map<Space, List<IBoardElementController>> bucket = spaceBuckets.get(priority);
+		if (bucket == null) return Collections.emptyList();
+		List<IBoardElementController> controllers = bucket.get(space);
+		return controllers == null ? Collections.emptyList() : controllers;
+	}
+
+	/**
+	 * <p>Returns the number of controllers in the index.</p>
+	 *
+	 * @return the number of controllers in the index
+	 */
+	public int size() {
+		return size;
+	}
+}
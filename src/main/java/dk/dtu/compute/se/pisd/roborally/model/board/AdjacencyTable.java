@@ -0,0 +1,140 @@
+package dk.dtu.compute.se.pisd.roborally.model.board;
+
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * <p>A table of the neighbours of every {@link Space} on a {@link Board}.
+ * For every space and {@link Heading} it holds the index of the neighbour
+ * reachable by robots and, separately, the index of the neighbour reachable
+ * by light, or {@link #NONE} if the neighbour is blocked. The spaces are
+ * indexed as by {@link Board#getSpaceIndex(Space)}, and the entry of the
+ * space with index i in heading h is at {@code i * 4 + h.ordinal()}.</p>
+ * <p>Looking up a neighbour is thus a single array access instead of a
+ * search through the elements of two spaces. The table is built the first
+ * time it is needed. Afterwards, whenever an element is added to or removed
+ * from a space, only the entries of that space and the entries of its
+ * neighbours pointing to it are recomputed.</p>
+ * <p>Changes to the headings of an element already on a space are not
+ * detected; the element should be removed and added again.</p>
+ *
+ * @see Board#getNeighbour(Space, Heading)
+ */
+public class AdjacencyTable {
+	/**
+	 * <p>The value of an entry whose neighbour cannot be reached.</p>
+	 */
+	public static final int NONE = -1;
+
+
+	private final Board board;
+
+	/**
+	 * <p>The neighbours reachable by robots. Null until built.</p>
+	 */
+	private int[] movement;
+
+	/**
+	 * <p>The neighbours reachable by light. Null until built.</p>
+	 */
+	private int[] light;
+
+	AdjacencyTable(@NotNull Board board) {
+		this.board = board;
+	}
+
+	/**
+	 * <p>Returns the index of the neighbour of the space with the
+	 * specified index in the specified heading, which is reachable
+	 * by robots, or {@link #NONE}.</p>
+	 *
+	 * @param index   the index of a space
+	 * @param heading the heading of the neighbour
+	 * @return the index of the neighbour or {@link #NONE}
+	 */
+	public int getNeighbour(int index, @NotNull Heading heading) {
+		if (movement == null) build();
+		return movement[index * 4 + heading.ordinal()];
+	}
+
+	/**
+	 * <p>Returns the index of the neighbour of the space with the
+	 * specified index in the specified heading, which is reachable
+	 * by light, or {@link #NONE}.</p>
+	 *
+	 * @param index   the index of a space
+	 * @param heading the heading of the neighbour
+	 * @return the index of the neighbour or {@link #NONE}
+	 */
+	public int getLightNeighbour(int index, @NotNull Heading heading) {
+		if (light == null) build();
+		return light[index * 4 + heading.ordinal()];
+	}
+
+	/**
+	 * <p>Recomputes the entries affected by a change of
+	 * the elements on the specified space. Does nothing
+	 * if the table has not been built yet.</p>
+	 *
+	 * @param space the space whose elements changed
+	 */
+	void invalidate(@NotNull Space space) {
+		if (movement == null) return;
+		int index = board.getSpaceIndex(space);
+		for (int h = 0; h < Heading.COUNT; h++) {
+			Heading heading = Heading.of(h);
+			update(index, heading);
+			update(getAdjacentIndex(index, heading), heading.opposite());
+		}
+	}
+
+	/**
+	 * <p>Computes every entry of the table.</p>
+	 */
+	private void build() {
+		int size = board.width * board.height * 4;
+		movement = new int[size];
+		light = new int[size];
+		Arrays.fill(movement, NONE);
+		Arrays.fill(light, NONE);
+		for (int index = 0; index < board.width * board.height; index++) {
+			for (int h = 0; h < Heading.COUNT; h++) {
+				update(index, Heading.of(h));
+			}
+		}
+	}
+
+	/**
+	 * <p>Computes the entries of the space with the
+	 * specified index in the specified heading.</p>
+	 */
+	private void update(int index, @NotNull Heading heading) {
+		Space space = board.getSpace(index);
+		int adjacentIndex = getAdjacentIndex(index, heading);
+		Space adjacent = board.getSpace(adjacentIndex);
+		Heading opposite = heading.opposite();
+		int entry = index * 4 + heading.ordinal();
+
+		movement[entry] = space.containsObstacleTo(heading) || adjacent.containsObstacleFrom(opposite)
+				? NONE : adjacentIndex;
+		light[entry] = space.containsOpaqueObstacleTo(heading) || adjacent.containsOpaqueObstacleFrom(opposite)
+				? NONE : adjacentIndex;
+	}
+
+	/**
+	 * <p>Returns the index of the space adjacent to the space with the
+	 * specified index in the specified heading ignoring any obstacles.
+	 * The board wraps around at the edges.</p>
+	 */
+	private int getAdjacentIndex(int index, @NotNull Heading heading) {
+		int width = board.width;
+		int height = board.height;
+		int x = index % width;
+		int y = index / width;
+		x = (x + heading.dx() + width) % width;
+		y = (y + heading.dy() + height) % height;
+		return y * width + x;
+	}
+}
@@ -0,0 +1,109 @@
+package dk.dtu.compute.se.pisd.roborally.model.board;
+
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>A cache of the paths of beams, e.g. lasers, fired from every
+ * {@link Space} of a {@link Board} in every {@link Heading}. A path
+ * is the indices of the spaces the beam passes through in order,
+ * starting with the neighbour of the origin and ending with the last
+ * space before the beam is blocked. The origin itself is never part
+ * of a path, so a beam which travels around the entire board stops
+ * right before returning to its origin.</p>
+ * <p>Paths of light stop at opaque obstacles, while paths of solid
+ * beams stop where a robot would be stopped. They are computed from
+ * the {@link AdjacencyTable} of the board when first requested.</p>
+ * <p>As a beam only travels along a row or a column, an obstacle
+ * added to or removed from a space only invalidates the paths along
+ * the row and the column of that space.</p>
+ *
+ * @see Board#getBeamPathCache()
+ */
+public class BeamPathCache {
+
+	private final Board board;
+
+	/**
+	 * <p>The cached paths of light and of solid beams, indexed as the
+	 * entries of the {@link AdjacencyTable}. An entry is null if the
+	 * path has not been computed since it was last invalidated.</p>
+	 */
+	private final int[][] lightPaths;
+	private final int[][] solidPaths;
+
+	BeamPathCache(@NotNull Board board) {
+		this.board = board;
+		lightPaths = new int[board.width * board.height * 4][];
+		solidPaths = new int[board.width * board.height * 4][];
+	}
+
+	/**
+	 * <p>Returns the path of a beam fired from the space with the
+	 * specified index in the specified heading. The returned array
+	 * must not be modified.</p>
+	 *
+	 * @param origin  the index of the space the beam is fired from
+	 * @param heading the heading of the beam
+	 * @param isLight whether the beam is light, or a solid object
+	 * @return the indices of the spaces the beam passes through in order
+	 */
+	@NotNull
+	public int[] getPath(int origin, @NotNull Heading heading, boolean isLight) {
+		int[][] paths = isLight ? lightPaths : solidPaths;
+		int entry = origin * 4 + heading.ordinal();
+		int[] path = paths[entry];
+		if (path == null) {
+			path = computePath(origin, heading, isLight);
+			paths[entry] = path;
+		}
+		return path;
+	}
+
+	/**
+	 * <p>Computes the path of a beam by following the neighbours
+	 * of the {@link AdjacencyTable} of the board.</p>
+	 */
+	@NotNull
+	private int[] computePath(int origin, @NotNull Heading heading, boolean isLight) {
+		AdjacencyTable adjacencyTable = board.getAdjacencyTable();
+		int maxLength = heading == Heading.EAST || heading == Heading.WEST ? board.width : board.height;
+		int[] path = new int[maxLength - 1];
+		int length = 0;
+		int current = isLight ? adjacencyTable.getLightNeighbour(origin, heading) : adjacencyTable.getNeighbour(origin, heading);
+		while (current != AdjacencyTable.NONE && current != origin) {
+			path[length++] = current;
+			current = isLight ? adjacencyTable.getLightNeighbour(current, heading) : adjacencyTable.getNeighbour(current, heading);
+		}
+		if (length == path.length) return path;
+		int[] trimmed = new int[length];
+		System.arraycopy(path, 0, trimmed, 0, length);
+		return trimmed;
+	}
+
+	/**
+	 * <p>Invalidates every path which may pass through or be
+	 * blocked by the specified space, i.e. the horizontal paths
+	 * along its row and the vertical paths along its column.</p>
+	 *
+	 * @param space the space whose obstacles changed
+	 */
+	void invalidate(@NotNull Space space) {
+		for (int x = 0; x < board.width; x++) {
+			int index = space.y * board.width + x;
+			clear(index, Heading.EAST);
+			clear(index, Heading.WEST);
+		}
+		for (int y = 0; y < board.height; y++) {
+			int index = y * board.width + space.x;
+			clear(index, Heading.NORTH);
+			clear(index, Heading.SOUTH);
+		}
+	}
+
+	private void clear(int index, @NotNull Heading heading) {
+		int entry = index * 4 + heading.ordinal();
+		lightPaths[entry] = null;
+		solidPaths[entry] = null;
+	}
+}
@@ -0,0 +1,100 @@
+package dk.dtu.compute.se.pisd.roborally.model.board;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * <p>A set of the spaces of a {@link Board} packed into a {@code long[]}
+ * with one bit per space. The bit of a space is its index as by
+ * {@link Board#getSpaceIndex(Space)}, so the spaces of a row are
+ * consecutive bits.</p>
+ * <p>The board keeps a bitboard of the spaces occupied by robots, see
+ * {@link Board#getOccupancy()}, and of the spaces holding activation
+ * elements, see {@link Board#getActivationSpaces()}. Only the board may
+ * modify them.</p>
+ */
+public class Bitboard {
+
+	private final long[] words;
+	private final int size;
+
+	Bitboard(int size) {
+		this.size = size;
+		words = new long[(size + 63) >>> 6];
+	}
+
+	void set(int index) {
+		words[index >>> 6] |= 1L << index;
+	}
+
+	void clear(int index) {
+		words[index >>> 6] &= ~(1L << index);
+	}
+
+	/**
+	 * <p>Returns whether the space with the specified index is in the set.</p>
+	 *
+	 * @param index the index of a space
+	 * @return true if the space is in the set
+	 */
+	public boolean get(int index) {
+		return (words[index >>> 6] & (1L << index)) != 0;
+	}
+
+	/**
+	 * <p>Returns the number of spaces in the set.</p>
+	 *
+	 * @return the population count of the bitboard
+	 */
+	public int count() {
+		int count = 0;
+		for (long word : words) count += Long.bitCount(word);
+		return count;
+	}
+
+	/**
+	 * <p>Returns the position in the specified path of the first
+	 * space which is in the set, or -1 if none of them are. Used
+	 * with the paths of the {@link BeamPathCache} this finds the
+	 * first occupied space along a ray.</p>
+	 *
+	 * @param path the indices of spaces in order
+	 * @return the position of the first space in the set or -1
+	 */
+	public int firstIn(@NotNull int[] path) {
+		for (int i = 0; i < path.length; i++) {
+			int index = path[i];
+			if ((words[index >>> 6] & (1L << index)) != 0) return i;
+		}
+		return -1;
+	}
+
+	/**
+	 * <p>Writes the indices of the spaces in both this and
+	 * the specified set to the specified array in ascending
+	 * order and returns how many there are.</p>
+	 *
+	 * @param other  a bitboard of the same board
+	 * @param result the array to write to; must be large enough
+	 * @return the number of indices written
+	 */
+	public int intersection(@NotNull Bitboard other, @NotNull int[] result) {
+		int count = 0;
+		for (int w = 0; w < words.length; w++) {
+			long word = words[w] & other.words[w];
+			while (word != 0) {
+				result[count++] = (w << 6) + Long.numberOfTrailingZeros(word);
+				word &= word - 1;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * <p>Returns the number of spaces the set can hold.</p>
+	 *
+	 * @return the number of spaces on the board
+	 */
+	public int size() {
+		return size;
+	}
+}
@@ -23,9 +23,16 @@ package dk.dtu.compute.se.pisd.roborally.model.board;
 
 import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.BoardElement;
 import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.PriorityAntenna;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.ActivationElement;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.BoardLaser;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.EnergySpace;
 import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 
 /**
  * ...
@@ -44,6 +51,13 @@ public class Board {
 
 	private final Space[][] spaces;
 
+	/**
+	 * <p>The spaces of this board by index.</p>
+	 *
+	 * @see #getSpaceIndex(Space)
+	 */
+	private final Space[] indexedSpaces;
+
 	private int checkpointAmount = 0;
 
 
@@ -52,16 +66,69 @@ public class Board {
 	 */
 	private Space prioritySpace; //A direct reference is stored as it is needed frequently.
 
+	/**
+	 * <p>The index of the controllers of all the {@link ActivationElement}s
+	 * on this board. It is kept current by the spaces of this board.</p>
+	 */
+	private final ActivationIndex activationIndex = new ActivationIndex();
+
+	/**
+	 * <p>The energy spaces of this board, whose energy cubes are the only
+	 * state of the board elements which changes during a game. It is
+	 * kept current by the spaces of this board.</p>
+	 */
+	private final List<EnergySpace> energySpaces = new ArrayList<>();
+	private final List<EnergySpace> unmodifiableEnergySpaces = Collections.unmodifiableList(energySpaces);
+
+	/**
+	 * <p>The neighbours of the spaces of this board. It is
+	 * kept current by the spaces of this board.</p>
+	 */
+	private final AdjacencyTable adjacencyTable = new AdjacencyTable(this);
+
+	/**
+	 * <p>The paths of beams fired on this board. It is
+	 * kept current by the spaces of this board.</p>
+	 */
+	private final BeamPathCache beamPathCache;
+
+	/**
+	 * <p>The spaces of this board occupied by a robot. It is
+	 * kept current by {@link Space#setPlayer(dk.dtu.compute.se.pisd.roborally.model.Player)}.</p>
+	 */
+	private final Bitboard occupancy;
+
+	/**
+	 * <p>The spaces of this board holding at least one activation
+	 * element which is only activated by a robot on the space, i.e.
+	 * any activation element except board lasers.</p>
+	 *
+	 * @see #activationElementCounts
+	 */
+	private final Bitboard activationSpaces;
+
+	/**
+	 * <p>The number of activation elements, except board
+	 * lasers, on each space of this board by index.</p>
+	 */
+	private final int[] activationElementCounts;
+
 	public Board(int width, int height, @NotNull String boardName) {
 		super();
 		this.boardName = boardName;
 		this.width = width;
 		this.height = height;
+		beamPathCache = new BeamPathCache(this);
+		occupancy = new Bitboard(width * height);
+		activationSpaces = new Bitboard(width * height);
+		activationElementCounts = new int[width * height];
 		spaces = new Space[width][height];
+		indexedSpaces = new Space[width * height];
 		for (int x = 0; x < width; x++) {
 			for (int y = 0; y < height; y++) {
 				Space space = new Space(this, x, y, null);
 				spaces[x][y] = space;
+				indexedSpaces[y * width + x] = space;
 			}
 		}
 	}
@@ -80,6 +147,32 @@ public class Board {
 		}
 	}
 
+	/**
+	 * <p>Returns the space with the specified index or null
+	 * if no such space exists.</p>
+	 *
+	 * @param index the index of the space
+	 * @return the space with the specified index
+	 * @see #getSpaceIndex(Space)
+	 */
+	public Space getSpace(int index) {
+		if (index < 0 || index >= indexedSpaces.length) return null;
+		return indexedSpaces[index];
+	}
+
+	/**
+	 * <p>Returns the index of the specified space. The spaces are
+	 * indexed row by row, i.e. the index of the space at (x, y)
+	 * is {@code y * width + x}.</p>
+	 *
+	 * @param space a space of this board
+	 * @return the index of the space
+	 * @see #getSpace(int)
+	 */
+	public int getSpaceIndex(@NotNull Space space) {
+		return space.y * width + space.x;
+	}
+
 	/**
 	 * <p>Returns the {@link #prioritySpace}</p>
 	 *
@@ -87,7 +180,6 @@ public class Board {
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
 	public Space getPrioritySpace() {
-		if (prioritySpace == null) setPrioritySpace();
 		return prioritySpace;
 	}
 
@@ -110,9 +202,131 @@ public class Board {
 				}
 			}
 		}
+		prioritySpace = null;
 		return false;
 	}
 
+	/**
+	 * <p>Returns the {@link ActivationIndex} of this board.</p>
+	 *
+	 * @return the index of the activation element controllers of this board
+	 */
+	public ActivationIndex getActivationIndex() {
+		return activationIndex;
+	}
+
+	/**
+	 * <p>Returns the {@link AdjacencyTable} of this board.</p>
+	 *
+	 * @return the table of the neighbours of the spaces of this board
+	 */
+	public AdjacencyTable getAdjacencyTable() {
+		return adjacencyTable;
+	}
+
+	/**
+	 * <p>Called by a {@link Space} of this board after a
+	 * {@link BoardElement} has been added to it.</p>
+	 *
+	 * @param space   the space the element was added to
+	 * @param element the element that was added
+	 */
+	void elementAdded(@NotNull Space space, @NotNull BoardElement element) {
+		if (element instanceof ActivationElement) {
+			activationIndex.register(space, ((ActivationElement) element).getController());
+			if (!(element instanceof BoardLaser) && activationElementCounts[getSpaceIndex(space)]++ == 0) {
+				activationSpaces.set(getSpaceIndex(space));
+			}
+		}
+		if (element instanceof EnergySpace) energySpaces.add((EnergySpace) element);
+		if (element instanceof PriorityAntenna && prioritySpace == null) prioritySpace = space;
+		obstaclesChanged(space, element);
+	}
+
+	/**
+	 * <p>Called by a {@link Space} of this board after a
+	 * {@link BoardElement} has been removed from it.</p>
+	 *
+	 * @param space   the space the element was removed from
+	 * @param element the element that was removed
+	 */
+	void elementRemoved(@NotNull Space space, @NotNull BoardElement element) {
+		if (element instanceof ActivationElement) {
+			activationIndex.unregister(space, ((ActivationElement) element).getController());
+			if (!(element instanceof BoardLaser) && --activationElementCounts[getSpaceIndex(space)] == 0) {
+				activationSpaces.clear(getSpaceIndex(space));
+			}
+		}
+		if (element instanceof EnergySpace) energySpaces.remove(element);
+		if (element instanceof PriorityAntenna && prioritySpace == space) setPrioritySpace();
+		obstaclesChanged(space, element);
+	}
+
+	/**
+	 * <p>Called by a {@link Space} of this board when a
+	 * robot moves onto or leaves it.</p>
+	 *
+	 * @param space    the space whose player changed
+	 * @param occupied whether a robot is now on the space
+	 */
+	void occupancyChanged(@NotNull Space space, boolean occupied) {
+		if (occupied) occupancy.set(getSpaceIndex(space));
+		else occupancy.clear(getSpaceIndex(space));
+	}
+
+	/**
+	 * <p>Returns the energy spaces of this board in the
+	 * order they were added to the board.</p>
+	 *
+	 * @return an unmodifiable view of the energy spaces
+	 */
+	public List<EnergySpace> getEnergySpaces() {
+		return unmodifiableEnergySpaces;
+	}
+
+	/**
+	 * <p>Returns the spaces of this board occupied by a robot.</p>
+	 *
+	 * @return a bitboard of the occupied spaces
+	 */
+	public Bitboard getOccupancy() {
+		return occupancy;
+	}
+
+	/**
+	 * <p>Returns the spaces of this board holding activation elements
+	 * which are activated by a robot on the space. Intersected with
+	 * {@link #getOccupancy()} these are the spaces whose elements must
+	 * be activated in a register.</p>
+	 *
+	 * @return a bitboard of the spaces with activation elements
+	 */
+	public Bitboard getActivationSpaces() {
+		return activationSpaces;
+	}
+
+	/**
+	 * <p>Invalidates the neighbours and beam paths affected
+	 * by the specified element, if it is an obstacle.</p>
+	 *
+	 * @param space   the space the element was added to or removed from
+	 * @param element the element that was added or removed
+	 */
+	private void obstaclesChanged(@NotNull Space space, @NotNull BoardElement element) {
+		if (!element.isObstacle()) return;
+		adjacencyTable.invalidate(space);
+		beamPathCache.invalidate(space);
+	}
+
+	/**
+	 * <p>Returns the {@link BeamPathCache} of this board.</p>
+	 *
+	 * @return the cache of the paths of beams on this board
+	 */
+	public BeamPathCache getBeamPathCache() {
+		return beamPathCache;
+	}
+
 	/**
 	 * Returns the neighbour of the given space of the board in the given heading.
 	 * The neighbour is returned only, if it can be reached from the given space
@@ -122,30 +336,26 @@ public class Board {
 	 * @param space   the space for which the neighbour should be computed
 	 * @param heading the heading of the neighbour
 	 * @return the space in the given direction; null if there is no (reachable) neighbour
+	 * @see AdjacencyTable#getNeighbour(int, Heading)
 	 */
 	public Space getNeighbour(@NotNull Space space, @NotNull Heading heading) {
-		//todo: Maybe a space should know its own neighbours?
-		if (space.containsObstacleTo(heading)) return null;
-		int x = space.x;
-		int y = space.y;
-		switch (heading) {
-			case SOUTH:
-				y = (y + 1) % height;
-				break;
-			case WEST:
-				x = (x + width - 1) % width;
-				break;
-			case NORTH:
-				y = (y + height - 1) % height;
-				break;
-			case EAST:
-				x = (x + 1) % width;
-				break;
-		}
+		int neighbour = adjacencyTable.getNeighbour(getSpaceIndex(space), heading);
+		return neighbour == AdjacencyTable.NONE ? null : indexedSpaces[neighbour];
+	}
 
-		Space neighbor = getSpace(x, y);
-		if (neighbor.containsObstacleFrom(heading.prev().prev())) return null;
-		return neighbor;
+	/**
+	 * <p>Returns the neighbour of the given space in the given heading
+	 * if it can be reached by light from the given space; otherwise,
+	 * null is returned.</p>
+	 *
+	 * @param space   the space for which the neighbour should be computed
+	 * @param heading the heading of the neighbour
+	 * @return the space in the given direction; null if light cannot reach it
+	 * @see AdjacencyTable#getLightNeighbour(int, Heading)
+	 */
+	public Space getLightNeighbour(@NotNull Space space, @NotNull Heading heading) {
+		int neighbour = adjacencyTable.getLightNeighbour(getSpaceIndex(space), heading);
+		return neighbour == AdjacencyTable.NONE ? null : indexedSpaces[neighbour];
 	}
 
 	/**
@@ -162,7 +372,8 @@ public class Board {
 
 	/**
 	 * <p>Returns the rectilinear distance between a {@code Space} and the {@link #prioritySpace} as an {@code int}. Any obstacles in the way are ignored.</p>
-	 * <p>This is identical to {@link #getRectilinearDistance(Space from, Space prioritySpace)}</p>
+	 * <p>This is identical to {@link #getRectilinearDistance(Space from, Space prioritySpace)}.
+	 * If the board has no priority antenna, the distance is 0.</p>
 	 *
 	 * @param from the space from which is measured
 	 * @return an int representing the rectilinear distance between the priority antenna and "from" ignoring any obstacles
@@ -170,7 +381,8 @@ public class Board {
 	 * @see #getRectilinearDistance(Space, Space)
 	 */
 	public int getRectilinearDistanceToPrioritySpace(Space from) {
-		return getRectilinearDistance(from, getPrioritySpace());
+		if (prioritySpace == null) return 0;
+		return getRectilinearDistance(from, prioritySpace);
 	}
 
 	public String getBoardName() {
@@ -99,6 +99,7 @@ public class Space extends Subject {
 		for (BoardElement element : elements) {
 			if (element instanceof ActivationElement)
 				addActivationElementControllers(((ActivationElement) element).getController());
+			if (board != null) board.elementAdded(this, element);
 		}
 
 	}
@@ -129,6 +130,7 @@ public class Space extends Subject {
 			((ActivationElement) boardElement).setSpace(this);
 			addActivationElementControllers(((ActivationElement) boardElement).getController());
 		}
+		board.elementAdded(this, boardElement);
 		notifyChange();
 	}
 
@@ -164,11 +166,12 @@ public class Space extends Subject {
 	 */
 	public void removeBoardElement(BoardElement boardElement) {
 		if (boardElement == null || elements == null) return;
-		elements.remove(boardElement);
+		if (!elements.remove(boardElement)) return;
 		if (boardElement instanceof ActivationElement) {
 			((ActivationElement) boardElement).setSpace(null);
 			removeActivationElementControllers(((ActivationElement) boardElement).getController());
 		}
+		board.elementRemoved(this, boardElement);
 		notifyChange();
 	}
 
@@ -215,6 +218,7 @@ public class Space extends Subject {
 		if (player != null && player.game.getBoard() != board) return;
 
 		this.player = player;
+		if (board != null) board.occupancyChanged(this, player != null);
 		if (oldPlayer != null) {
 			// this should actually not happen
 			oldPlayer.setSpace(null);
@@ -239,7 +243,7 @@ public class Space extends Subject {
 		//todo: this and containsObstacleFrom should probably be consolidated.
 		for (BoardElement boardElement : elements) {
 			if (!boardElement.isAtPosition(heading)) continue;
-			if (boardElement.isImpassableFrom(heading.next().next())) return true;
+			if (boardElement.isImpassableFrom(heading.opposite())) return true;
 		}
 		return false;
 	}
@@ -264,10 +268,45 @@ public class Space extends Subject {
 	}
 
 
+	/**
+	 * <p>Returns a boolean indicating whether <b>this</b> space contains
+	 * an obstacle preventing light from passing in the heading specified
+	 * by the argument.</p>
+	 *
+	 * @param heading moving from this space the heading which should be checked
+	 * @return A boolean indicating whether this space blocks light in the specified direction
+	 * @see #containsObstacleTo(Heading)
+	 */
+	public boolean containsOpaqueObstacleTo(Heading heading) {
+		for (BoardElement boardElement : elements) {
+			if (!boardElement.isAtPosition(heading)) continue;
+			if (boardElement.isOpaqueFrom(heading.opposite())) return true;
+		}
+		return false;
+	}
+
+	/**
+	 * <p>Returns a boolean indicating whether <b>this</b> space contains
+	 * an obstacle preventing light from entering this space from the
+	 * heading specified by the argument.</p>
+	 *
+	 * @param heading moving to this space the heading which should be checked
+	 * @return A boolean indicating whether this space blocks light
+	 * entering this space from the specified direction
+	 * @see #containsObstacleFrom(Heading)
+	 */
+	public boolean containsOpaqueObstacleFrom(Heading heading) {
+		for (BoardElement boardElement : elements) {
+			if (!boardElement.isAtPosition(heading)) continue;
+			if (boardElement.isOpaqueFrom(heading)) return true;
+		}
+		return false;
+	}
+
 	/**
 	 * <p>Returns the neighbor of the space in the specified
 	 * direction reachable by either physical objects or light.
-	 * f no such space exists, returns null.</p>
+	 * If no such space exists, returns null.</p>
 	 * @param direction the direction in which to search for a neighbor
 	 * @param isLight whether the neighbor only needs to be reachable by light
 	 * @return  a space reachable by either light or physical objects
@@ -277,8 +316,7 @@ public class Space extends Subject {
 	 * @see Board#getNeighbour(Space, Heading) 
 	 */
 	public Space getNeighbor(Heading direction, boolean isLight){
-		//todo: this does not play nice with light; it is assumed that containsObstacleTo
-		// indicates whether light is blocked (It does not).
+		if (isLight) return board.getLightNeighbour(this, direction);
 		return board.getNeighbour(this, direction);
 	}
 
@@ -11,29 +11,30 @@ import org.jetbrains.annotations.NotNull;
  */
 public abstract class BoardElement extends Subject implements Directional {
 	/**
-	 * <p>Whether this element is passable by robots
-	 * coming from a certain direction. If a direction is
-	 * not contained herein it is considered to be
-	 * passable from that direction.</p>
+	 * <p>The headings from which robots cannot pass this element, as a
+	 * mask of headings, see {@link Heading#mask()}. If a heading is not
+	 * in the mask the element is considered to be passable from it.</p>
+	 * <p>The geometry of elements is kept in masks rather than arrays,
+	 * so that the elements do not each hold their own arrays and so that
+	 * testing a heading is a single bit test.</p>
 	 */
-	protected Heading[] impassableFrom;
+	private byte impassableMask;
 
 	/**
-	 * <p>Whether the element is opaque to standard lasers
-	 * coming from a certain direction. If a direction is
-	 * not contained herein it is considered to not be
-	 * opaque from that direction.</p>
+	 * <p>The headings from which the element is opaque to standard
+	 * lasers, as a mask of headings. If a heading is not in the mask
+	 * the element is considered to not be opaque from it.</p>
 	 */
-	protected Heading[] opaqueFrom;
+	private byte opaqueMask;
 
 	/**
-	 * <p>Represents the position of the element.
+	 * <p>Represents the position of the element, as a mask of headings.
 	 * I.e. an element with position {{@link Heading#NORTH},
 	 * {@link Heading#EAST}} could potentially block
 	 * light or movement from either the north or the
 	 * east or both.</p>
 	 */
-	protected Heading[] position;
+	private byte positionMask;
 
 	/**
 	 * <p>Which way the element is pointing. May be null if the element has no direction.</p>
@@ -52,12 +53,7 @@ public abstract class BoardElement extends Subject implements Directional {
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
 	public boolean isAtPosition(Heading position) {
-		for (Heading pos : this.position) {
-			if (pos == position) {
-				return true;
-			}
-		}
-		return false;
+		return (positionMask & position.mask()) != 0;
 	}
 
 	/**
@@ -69,10 +65,7 @@ public abstract class BoardElement extends Subject implements Directional {
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
 	public boolean isImpassableFrom(Heading heading){
-		for (Heading direction: impassableFrom) {
-			if (heading == direction) return true;
-		}
-		return false;
+		return (impassableMask & heading.mask()) != 0;
 	}
 
 	/**
@@ -84,15 +77,45 @@ public abstract class BoardElement extends Subject implements Directional {
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
 	public boolean isOpaqueFrom(Heading heading){
-		for (Heading direction: opaqueFrom) {
-			if (heading == direction) return true;
-		}
-		return false;
+		return (opaqueMask & heading.mask()) != 0;
 	}
 
-	public Heading[] getImpassableFrom(){ return impassableFrom.clone();}
+	/**
+	 * <p>Whether the element blocks either movement
+	 * or light from any heading.</p>
+	 * @return true if the element is impassable or opaque from some heading
+	 */
+	public boolean isObstacle(){
+		return (impassableMask | opaqueMask) != 0;
+	}
+
+	public Heading[] getImpassableFrom(){ return Heading.fromMask(impassableMask);}
+
+	public Heading[] getOpaqueFrom() {return Heading.fromMask(opaqueMask);}
 
-	public Heading[] getOpaqueFrom() {return opaqueFrom.clone();}
+	/**
+	 * @return the headings from which the element is impassable as a mask of headings
+	 * @see Heading#mask()
+	 */
+	public int getImpassableMask() {
+		return impassableMask;
+	}
+
+	/**
+	 * @return the headings from which the element is opaque as a mask of headings
+	 * @see Heading#mask()
+	 */
+	public int getOpaqueMask() {
+		return opaqueMask;
+	}
+
+	/**
+	 * @return the position of the element as a mask of headings
+	 * @see Heading#mask()
+	 */
+	public int getPositionMask() {
+		return positionMask;
+	}
 
 	public Heading getDirection() {
 		return direction;
@@ -104,7 +127,7 @@ public abstract class BoardElement extends Subject implements Directional {
 	}
 
 	public Heading[] getPosition() {
-		return position;
+		return Heading.fromMask(positionMask);
 	}
 
 	/**
@@ -116,7 +139,7 @@ public abstract class BoardElement extends Subject implements Directional {
 	 * be set to anything.</p>
 	 */
 	protected void setPosition(Heading[] position){
-		this.position = position;
+		this.positionMask = (byte) Heading.toMask(position);
 	}
 
 
@@ -126,27 +149,22 @@ public abstract class BoardElement extends Subject implements Directional {
 
 	/*Constructors*/
 	protected BoardElement(Heading[] impassableFrom, Heading[] opaqueFrom) {
-		this(SWNEArray(),  impassableFrom, opaqueFrom, null);
+		this(Heading.ALL_MASK, Heading.toMask(impassableFrom), Heading.toMask(opaqueFrom), null);
 	}
 
 	protected BoardElement(@NotNull Heading[] position, @NotNull Heading[] impassableFrom, @NotNull Heading[] opaqueFrom, Heading direction) {
-		//Should probably validate position contents
-		this.position = position;
-		this.impassableFrom = impassableFrom;
-		this.opaqueFrom = opaqueFrom;
-		this.direction = direction;
+		this(Heading.toMask(position), Heading.toMask(impassableFrom), Heading.toMask(opaqueFrom), direction);
 	}
 
 	/**
-	 * <p>Returns a new {@link Heading} array containing
-	 * {{@link Heading#SOUTH}, {@link Heading#WEST},
-	 * {@link Heading#NORTH}, {@link Heading#EAST}.</p>
+	 * <p>Creates an element of the specified geometry given as masks of headings.</p>
 	 *
-	 * @return A new Heading array containing the four cardinal directions
-	 * @author Rasmus Nylander, s205418@student.dtu.dk
+	 * @see Heading#mask()
 	 */
-	protected static Heading[] SWNEArray() {
-		return new Heading[]{Heading.SOUTH, Heading.WEST,
-				Heading.NORTH, Heading.EAST};
+	protected BoardElement(int positionMask, int impassableMask, int opaqueMask, Heading direction) {
+		this.positionMask = (byte) positionMask;
+		this.impassableMask = (byte) impassableMask;
+		this.opaqueMask = (byte) opaqueMask;
+		this.direction = direction;
 	}
 }
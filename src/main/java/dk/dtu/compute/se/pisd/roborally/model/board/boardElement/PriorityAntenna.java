@@ -4,6 +4,6 @@ import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
 
 public class PriorityAntenna extends BoardElement{
 	public PriorityAntenna(){
-		super(SWNEArray(), SWNEArray());
+		super(Heading.ALL_MASK, Heading.ALL_MASK, Heading.ALL_MASK, null);
 	}
 }
@@ -18,7 +18,7 @@ public class Wall extends BoardElement {
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
 	public Wall(Heading position) {
-		super(new Heading[] {position} , getBlockingArray(position), getBlockingArray(position), positionToDirection(position));
+		super(position.mask(), getBlockingMask(position), getBlockingMask(position), positionToDirection(position));
 	}
 
 	/**
@@ -35,16 +35,16 @@ public class Wall extends BoardElement {
 
 
 	/**
-	 * <p>Returns an array of {@link Heading}s containing the
-	 * directions blocked by the wall.</p>
+	 * <p>Returns the mask of the {@link Heading}s
+	 * blocked by the wall.</p>
 	 *
 	 * @param position the position of the wall on the space
-	 * @return a new heading array containing the directions blocked by the wall
+	 * @return the mask of the directions blocked by the wall
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
+	 * @see Heading#mask()
 	 */
-	private static Heading[] getBlockingArray(Heading position) {
-		return new Heading[]{position, position.next().next()};
+	private static int getBlockingMask(Heading position) {
+		return position.mask() | position.opposite().mask();
 	}
 
-
 }
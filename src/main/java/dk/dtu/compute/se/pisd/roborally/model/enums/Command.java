@@ -77,6 +77,19 @@ public enum Command {
 	 */
 	ENERGISE("Power up");
 
+	/**
+	 * <p>The commands by their ordinals, which unlike
+	 * {@link #values()} is not copied for every lookup.</p>
+	 */
+	private static final Command[] VALUES = values();
+
+	/**
+	 * <p>The number of commands.</p>
+	 *
+	 * @see #of(int)
+	 */
+	public static final int COUNT = VALUES.length;
+
 	/**
 	 * <p>The name of the command</p>
 	 */
@@ -117,4 +130,16 @@ public enum Command {
 		return options;
 	}
 
+	/**
+	 * <p>Returns the command of the specified ordinal without copying
+	 * the array of {@link #values()}.</p>
+	 *
+	 * @param ordinal the ordinal of the command
+	 * @return the command
+	 * @throws ArrayIndexOutOfBoundsException if there is no command of the ordinal
+	 */
+	public static Command of(int ordinal) {
+		return VALUES[ordinal];
+	}
+
 }
\ No newline at end of file
@@ -46,6 +46,92 @@ public enum Heading {
 	 */
 	EAST;
 
+	/**
+	 * <p>The headings by their ordinals. Unlike {@link #values()},
+	 * the array is not copied, so it must not be modified. As there
+	 * are four headings, arithmetic on the ordinals modulo four is
+	 * done by masking with {@code 3}.</p>
+	 */
+	private static final Heading[] VALUES = values();
+
+	/**
+	 * <p>The number of headings.</p>
+	 *
+	 * @see #of(int)
+	 */
+	public static final int COUNT = VALUES.length;
+
+	/**
+	 * <p>The mask of all the headings.</p>
+	 *
+	 * @see #mask()
+	 */
+	public static final int ALL_MASK = (1 << COUNT) - 1;
+
+	/**
+	 * <p>The change of the x and y coordinates on the board by one step in
+	 * each heading, by the ordinals of the headings. The y coordinates of
+	 * the board grow towards the south.</p>
+	 */
+	private static final int[] DX = {0, -1, 0, 1};
+	private static final int[] DY = {1, 0, -1, 0};
+
+	/**
+	 * <p>The headings of each mask of headings, by the mask.
+	 * The arrays are shared and must not be modified.</p>
+	 */
+	private static final Heading[][] MASK_HEADINGS = new Heading[1 << 4][];
+
+	static {
+		for (int mask = 0; mask < MASK_HEADINGS.length; mask++) {
+			Heading[] headings = new Heading[Integer.bitCount(mask)];
+			int i = 0;
+			for (Heading heading : VALUES) {
+				if ((mask & heading.mask()) != 0) headings[i++] = heading;
+			}
+			MASK_HEADINGS[mask] = headings;
+		}
+	}
+
+	/**
+	 * <p>Returns the bit of this heading in a mask of headings, in
+	 * which bit {@code i} is set if the heading with ordinal {@code i}
+	 * is in the mask.</p>
+	 *
+	 * @return the bit of this heading
+	 */
+	public int mask() {
+		return 1 << ordinal();
+	}
+
+	/**
+	 * <p>Returns the mask of the specified headings.</p>
+	 *
+	 * @param headings the headings, which may be null
+	 * @return the mask of the headings
+	 * @see #mask()
+	 */
+	public static int toMask(Heading[] headings) {
+		int mask = 0;
+		if (headings == null) return mask;
+		for (Heading heading : headings) {
+			if (heading != null) mask |= heading.mask();
+		}
+		return mask;
+	}
+
+	/**
+	 * <p>Returns a new array of the headings of the
+	 * specified mask, ordered by their ordinals.</p>
+	 *
+	 * @param mask the mask of the headings
+	 * @return a new array of the headings
+	 * @see #mask()
+	 */
+	public static Heading[] fromMask(int mask) {
+		return MASK_HEADINGS[mask & 0xF].clone();
+	}
+
 	/**
 	 * <p>Returns the {@link Heading} resulting from a turn of -π/4, i.e. 90° clockwise.</p>
 	 * <p><pre>
@@ -59,7 +145,7 @@ public enum Heading {
 	 * @return A heading turned -π/4, i.e. 90° clockwise, from this one
 	 */
 	public Heading next() {
-		return values()[(this.ordinal() + 1) % values().length];
+		return VALUES[(ordinal() + 1) & 3];
 	}
 
 	/**
@@ -75,6 +161,61 @@ public enum Heading {
 	 * @return A heading turned π/4, i.e. 90° anti-clockwise, from this one
 	 */
 	public Heading prev() {
-		return values()[(this.ordinal() + values().length - 1) % values().length];
+		return VALUES[(ordinal() + 3) & 3];
+	}
+
+	/**
+	 * <p>Returns the opposite {@link Heading}, i.e. this heading turned π/2.</p>
+	 *
+	 * @return the opposite heading
+	 */
+	public Heading opposite() {
+		return VALUES[(ordinal() + 2) & 3];
+	}
+
+	/**
+	 * <p>Returns the {@link Heading} resulting from the specified number
+	 * of turns of -π/4, i.e. 90° clockwise, as by calling {@link #next()}
+	 * the specified number of times. A negative number of turns turns
+	 * anti-clockwise.</p>
+	 *
+	 * @param turns the number of clockwise turns
+	 * @return the heading turned the number of times from this one
+	 */
+	public Heading rotate(int turns) {
+		// Masking also gives the right heading for negative turns
+		return VALUES[(ordinal() + turns) & 3];
+	}
+
+	/**
+	 * <p>Returns the change of the x coordinate on
+	 * the board by one step in this heading.</p>
+	 *
+	 * @return -1, 0 or 1
+	 */
+	public int dx() {
+		return DX[ordinal()];
+	}
+
+	/**
+	 * <p>Returns the change of the y coordinate on the board by one step
+	 * in this heading. The y coordinates grow towards the south.</p>
+	 *
+	 * @return -1, 0 or 1
+	 */
+	public int dy() {
+		return DY[ordinal()];
+	}
+
+	/**
+	 * <p>Returns the heading of the specified ordinal without copying
+	 * the array of {@link #values()}.</p>
+	 *
+	 * @param ordinal the ordinal of the heading
+	 * @return the heading
+	 * @throws ArrayIndexOutOfBoundsException if there is no heading of the ordinal
+	 */
+	public static Heading of(int ordinal) {
+		return VALUES[ordinal];
 	}
 }
@@ -33,7 +33,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.shape.Polygon;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Random;
+import java.util.SplittableRandom;
 
 
 /**
@@ -71,9 +71,6 @@ public class SpaceView extends StackPane implements ViewObserver {
 	 */
 	private StackPane robotPane;
 
-
-	private Random random = new Random();
-
 	/**
 	 * <p>Create a new view of the specified {@link Space}.</p>
 	 * @param space the {@link Space} for which a new view is to be made
@@ -112,12 +109,15 @@ public class SpaceView extends StackPane implements ViewObserver {
 
 	/**
 	 * <p>Randomly sets an {@link ImageView}'s rotation to be either 0°, 90°, 180° or 270°.</p>
+	 * <p>The rotation is seeded by the position of the space, so a
+	 * board looks the same every time it is shown.</p>
 	 *
 	 * @param imageView the ImageView to rotate
 	 * @author Rasmus Nylander, s205418@student.dtu.dk
 	 */
 	private void rotateToRandomDirection(@NotNull ImageView imageView) {
-		imageView.setRotate(random.nextInt(4) * 90);
+		long seed = ((long) space.x << 32) | space.y;
+		imageView.setRotate(new SplittableRandom(seed).nextInt(4) * 90);
 	}
 
 	/**
@@ -0,0 +1,77 @@
+/* The schema of createschema.sql for the embedded database, which
+   cannot switch off FK checks; the crosswise FK is added at the end */
+CREATE TABLE IF NOT EXISTS Game (
+    gameID int NOT NULL UNIQUE AUTO_INCREMENT,
+
+    name varchar(255),
+    boardName varchar(255),
+
+    phase tinyint,
+    step tinyint,
+    currentPlayer tinyint NULL,
+
+    lastModified timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (gameID)
+);;
+
+
+CREATE TABLE IF NOT EXISTS Player (
+    gameID int NOT NULL,
+    playerID tinyint NOT NULL,
+
+    name varchar(255),
+    colour varchar(31),
+
+    positionX int,
+    positionY int,
+    heading tinyint,
+
+    energyCubes int,
+
+    PRIMARY KEY (gameID, playerID),
+    FOREIGN KEY (gameID) REFERENCES Game(gameID) ON DELETE CASCADE
+);;
+
+CREATE TABLE IF NOT EXISTS ActivationQueue (
+    gameID int NOT NULL,
+    playerID tinyint NOT NULL,
+    priority tinyint NOT NULL,
+
+    PRIMARY KEY (gameID, priority),
+    FOREIGN KEY (gameID) REFERENCES Game(gameID) ON DELETE CASCADE,
+    FOREIGN KEY (gameID, playerID) REFERENCES Player(gameID, playerID) ON DELETE CASCADE
+);;
+
+CREATE TABLE IF NOT EXISTS Card (
+    cardID BIGINT NOT NULL UNIQUE,
+    gameID int NOT NULL,
+    playerID tinyint NOT NULL,
+    type tinyint NOT NULL,
+    position tinyint NOT NULL,
+
+    PRIMARY KEY (cardID),
+    FOREIGN KEY (gameID) REFERENCES Game(gameID) ON DELETE CASCADE,
+    FOREIGN KEY (gameID, playerID) REFERENCES Player(gameID, playerID) ON DELETE CASCADE
+);;
+
+CREATE TABLE IF NOT EXISTS CardCommand(
+    cardID BIGINT NOT NULL,
+    command tinyint NOT NULL,
+
+    PRIMARY KEY (cardID, command),
+    FOREIGN KEY (cardID) REFERENCES Card(cardID) ON DELETE CASCADE
+);;
+
+ALTER TABLE Game ADD CONSTRAINT IF NOT EXISTS GameCurrentPlayer
+    FOREIGN KEY (gameID, currentPlayer) REFERENCES Player(gameID, playerID);;
+
+/* Saves made before lastModified was introduced */
+ALTER TABLE Game ADD COLUMN IF NOT EXISTS lastModified timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP;;
+
+/* The indexes backing the filters of the saved game listing,
+   which is ordered and paged by gameID */
+CREATE INDEX IF NOT EXISTS GameName ON Game(name, gameID);;
+CREATE INDEX IF NOT EXISTS GameBoardName ON Game(boardName, gameID);;
+CREATE INDEX IF NOT EXISTS GamePhase ON Game(phase, gameID);;
+CREATE INDEX IF NOT EXISTS GameLastModified ON Game(lastModified, gameID);;
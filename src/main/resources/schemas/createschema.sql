@@ -10,6 +10,8 @@ CREATE TABLE IF NOT EXISTS Game (
     phase tinyint,
     step tinyint,
     currentPlayer tinyint NULL,
+
+    lastModified timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
   
     PRIMARY KEY (gameID),
     FOREIGN KEY (gameID, currentPlayer) REFERENCES Player(gameID, playerID)
@@ -65,4 +67,14 @@ CREATE TABLE IF NOT EXISTS CardCommand(
 
 SET FOREIGN_KEY_CHECKS = 1;;
 
+/* Saves made before lastModified was introduced */
+ALTER TABLE Game ADD COLUMN IF NOT EXISTS lastModified timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP;;
+
+/* The indexes backing the filters of the saved game listing,
+   which is ordered and paged by gameID */
+CREATE INDEX IF NOT EXISTS GameName ON Game(name, gameID);;
+CREATE INDEX IF NOT EXISTS GameBoardName ON Game(boardName, gameID);;
+CREATE INDEX IF NOT EXISTS GamePhase ON Game(phase, gameID);;
+CREATE INDEX IF NOT EXISTS GameLastModified ON Game(lastModified, gameID);;
+
 /* TODO still some stuff missing here */
\ No newline at end of file
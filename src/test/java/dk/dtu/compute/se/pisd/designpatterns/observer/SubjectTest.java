@@ -0,0 +1,75 @@
+package dk.dtu.compute.se.pisd.designpatterns.observer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class SubjectTest {
+
+    private static class Counter extends Subject {
+        private int value = 0;
+
+        void increment() {
+            value++;
+            notifyChange();
+        }
+    }
+
+    private static class CountingObserver implements Observer {
+        private final boolean deferrable;
+        private int updates = 0;
+        private int lastSeen = -1;
+
+        CountingObserver(boolean deferrable) {
+            this.deferrable = deferrable;
+        }
+
+        @Override
+        public void update(Subject subject) {
+            updates++;
+            lastSeen = ((Counter) subject).value;
+        }
+
+        @Override
+        public boolean isDeferrable() {
+            return deferrable;
+        }
+    }
+
+    @Test
+    void testBatchCoalescesNotifications() {
+        Counter counter = new Counter();
+        CountingObserver observer = new CountingObserver(true);
+        counter.attach(observer);
+
+        Subject.batch(() -> {
+            counter.increment();
+            Subject.batch(counter::increment);
+            counter.increment();
+            Assertions.assertEquals(0, observer.updates, "Updates should be deferred until the outermost batch completes!");
+        });
+
+        Assertions.assertEquals(1, observer.updates, "The observer should be updated once!");
+        Assertions.assertEquals(3, observer.lastSeen, "The observer should see the final state!");
+
+        counter.increment();
+        Assertions.assertEquals(2, observer.updates, "Outside a batch the observer should be updated immediately!");
+    }
+
+    @Test
+    void testNonDeferrableObserverIsUpdatedImmediately() {
+        Counter counter = new Counter();
+        CountingObserver immediate = new CountingObserver(false);
+        CountingObserver deferred = new CountingObserver(true);
+        counter.attach(immediate);
+        counter.attach(deferred);
+
+        Subject.batch(() -> {
+            counter.increment();
+            counter.increment();
+            Assertions.assertEquals(2, immediate.updates);
+        });
+
+        Assertions.assertEquals(2, immediate.updates, "A non-deferrable observer should not be updated again!");
+        Assertions.assertEquals(1, deferred.updates);
+    }
+}
@@ -1,11 +1,199 @@
 package dk.dtu.compute.se.pisd.roborally.controller.GameControllerTests;
 
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import dk.dtu.compute.se.pisd.roborally.model.CommandCard;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.MoveHazard;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import dk.dtu.compute.se.pisd.roborally.model.enums.MoveHazardType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 public class GameControllerTest {
 
+    private final int TEST_WIDTH = 8;
+    private final int TEST_HEIGHT = 8;
+
+    private GameController gameController;
+
+    @BeforeEach
+    void setUp() {
+        Board board = new Board(TEST_WIDTH, TEST_HEIGHT);
+        Game game = new Game(board);
+        gameController = new GameController(game, null);
+        for (int i = 0; i < 2; i++) {
+            Player player = new Player(game, null, "Player " + i);
+            game.addPlayer(player);
+            player.playerController.addCardsToDiscardPile(Player.newPlayerDeck());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        gameController = null;
+    }
+
+    /**
+     * <p>Executes the (empty) programs of all players for a single register.</p>
+     */
+    private void executeRegister() {
+        for (int i = 0; i < gameController.game.getNumPlayers(); i++) {
+            gameController.executeStep();
+        }
+    }
+
     @Test
     void testActivateElements(){
+        Game game = gameController.game;
+        Board board = game.getBoard();
+        board.getSpace(1, 0).addBoardElement(new MoveHazard(Heading.EAST, 2, 0, 1, MoveHazardType.CONVEYOR));
+        board.getSpace(4, 4).addBoardElement(new MoveHazard(Heading.SOUTH, 2, 0, 1, MoveHazardType.CONVEYOR));
+
+        Player onConveyor = game.getPlayer(0);
+        Player offConveyor = game.getPlayer(1);
+        onConveyor.setSpace(board.getSpace(1, 0));
+        offConveyor.setSpace(board.getSpace(5, 5));
+
+        gameController.finishProgrammingPhase();
+        executeRegister();
+
+        Assertions.assertEquals(board.getSpace(2, 0), onConveyor.getSpace(), "Player on the conveyor should be moved east!");
+        Assertions.assertEquals(board.getSpace(5, 5), offConveyor.getSpace(), "Player not on a conveyor should not be moved!");
+    }
+
+    @Test
+    void testRemovedElementIsNotActivated(){
+        Game game = gameController.game;
+        Board board = game.getBoard();
+        MoveHazard conveyor = new MoveHazard(Heading.EAST, 2, 0, 1, MoveHazardType.CONVEYOR);
+        board.getSpace(1, 0).addBoardElement(conveyor);
+        board.getSpace(1, 0).removeBoardElement(conveyor);
+
+        Player player = game.getPlayer(0);
+        player.setSpace(board.getSpace(1, 0));
+        game.getPlayer(1).setSpace(board.getSpace(5, 5));
+
+        gameController.finishProgrammingPhase();
+        executeRegister();
+
+        Assertions.assertEquals(board.getSpace(1, 0), player.getSpace(), "A removed conveyor should not move the player!");
+        Assertions.assertEquals(0, board.getActivationIndex().size(), "The activation index should be empty!");
+    }
+
+    @Test
+    void testConveyorsOfSamePriorityMoveSimultaneously(){
+        Game game = gameController.game;
+        Board board = game.getBoard();
+        board.getSpace(1, 0).addBoardElement(new MoveHazard(Heading.EAST, 2, 0, 1, MoveHazardType.CONVEYOR));
+        board.getSpace(2, 0).addBoardElement(new MoveHazard(Heading.EAST, 2, 0, 1, MoveHazardType.CONVEYOR));
+
+        Player behind = game.getPlayer(0);
+        Player ahead = game.getPlayer(1);
+        behind.setSpace(board.getSpace(1, 0));
+        ahead.setSpace(board.getSpace(2, 0));
+
+        gameController.finishProgrammingPhase();
+        executeRegister();
+
+        Assertions.assertEquals(board.getSpace(2, 0), behind.getSpace(), "The player behind should be moved one space!");
+        Assertions.assertEquals(board.getSpace(3, 0), ahead.getSpace(), "The player ahead should not be pushed!");
+    }
+
+    @Test
+    void testConveyorsIntoSameSpaceBlock(){
+        Game game = gameController.game;
+        Board board = game.getBoard();
+        board.getSpace(1, 1).addBoardElement(new MoveHazard(Heading.EAST, 2, 0, 1, MoveHazardType.CONVEYOR));
+        board.getSpace(3, 1).addBoardElement(new MoveHazard(Heading.WEST, 2, 0, 1, MoveHazardType.CONVEYOR));
+
+        Player west = game.getPlayer(0);
+        Player east = game.getPlayer(1);
+        west.setSpace(board.getSpace(1, 1));
+        east.setSpace(board.getSpace(3, 1));
+
+        gameController.finishProgrammingPhase();
+        executeRegister();
+
+        Assertions.assertEquals(board.getSpace(1, 1), west.getSpace(), "Player should not move onto a contested space!");
+        Assertions.assertEquals(board.getSpace(3, 1), east.getSpace(), "Player should not move onto a contested space!");
+        Assertions.assertNull(board.getSpace(2, 1).getPlayer(), "Space (2,1) should be empty!");
+    }
+
+    @Test
+    void testConveyorDoesNotPushStandingRobot(){
+        Game game = gameController.game;
+        Board board = game.getBoard();
+        board.getSpace(1, 2).addBoardElement(new MoveHazard(Heading.EAST, 2, 0, 1, MoveHazardType.CONVEYOR));
+
+        Player moving = game.getPlayer(0);
+        Player standing = game.getPlayer(1);
+        moving.setSpace(board.getSpace(1, 2));
+        standing.setSpace(board.getSpace(2, 2));
+
+        gameController.finishProgrammingPhase();
+        executeRegister();
+
+        Assertions.assertEquals(board.getSpace(1, 2), moving.getSpace(), "Player should be blocked by the standing robot!");
+        Assertions.assertEquals(board.getSpace(2, 2), standing.getSpace(), "The standing robot should not be pushed!");
+    }
+
+    @Test
+    void testExpressConveyorDoesNotPassThroughStandingRobot(){
+        Game game = gameController.game;
+        Board board = game.getBoard();
+        board.getSpace(1, 1).addBoardElement(new MoveHazard(Heading.EAST, 2, 0, 2, MoveHazardType.CONVEYOR));
+
+        Player moving = game.getPlayer(0);
+        Player standing = game.getPlayer(1);
+        moving.setSpace(board.getSpace(1, 1));
+        standing.setSpace(board.getSpace(2, 1));
+
+        gameController.finishProgrammingPhase();
+        executeRegister();
+
+        Assertions.assertEquals(board.getSpace(1, 1), moving.getSpace(), "Player should be blocked by the standing robot!");
+        Assertions.assertEquals(board.getSpace(2, 1), standing.getSpace(), "The standing robot should not be pushed!");
+    }
+
+    @Test
+    void testExpressConveyorStopsInFrontOfStandingRobot(){
+        Game game = gameController.game;
+        Board board = game.getBoard();
+        board.getSpace(1, 1).addBoardElement(new MoveHazard(Heading.EAST, 2, 0, 2, MoveHazardType.CONVEYOR));
+
+        Player moving = game.getPlayer(0);
+        Player standing = game.getPlayer(1);
+        moving.setSpace(board.getSpace(1, 1));
+        standing.setSpace(board.getSpace(3, 1));
+
+        gameController.finishProgrammingPhase();
+        executeRegister();
+
+        Assertions.assertEquals(board.getSpace(2, 1), moving.getSpace(), "Player should move until blocked by the standing robot!");
+        Assertions.assertEquals(board.getSpace(3, 1), standing.getSpace(), "The standing robot should not be pushed!");
+    }
+
+    @Test
+    void testRepeatedRepeat(){
+        Game game = gameController.game;
+        Board board = game.getBoard();
+        Player player = game.getPlayer(0);
+        player.setSpace(board.getSpace(1, 0));
+        game.getPlayer(1).setSpace(board.getSpace(5, 5));
+        player.getProgramField(0).setCard(new CommandCard(Command.FORWARD));
+        player.getProgramField(1).setCard(new CommandCard(Command.REPEAT));
+        player.getProgramField(2).setCard(new CommandCard(Command.REPEAT));
+
+        gameController.finishProgrammingPhase();
+        for (int i = 0; i < 3; i++) {
+            executeRegister();
+        }
 
+        Assertions.assertEquals(board.getSpace(1, 3), player.getSpace(), "Each repeat should repeat the forward!");
     }
 }
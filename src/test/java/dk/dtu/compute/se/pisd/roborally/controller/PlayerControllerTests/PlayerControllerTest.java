@@ -124,6 +124,24 @@ class PlayerControllerTest {
         // OOOOOOO00000
     }
 
+    @Test
+    void pushRobotsAroundBoard(){
+        Board board = new Board(4, 4);
+        Game game = new Game(board);
+        for (int i = 0; i < board.width; i++) {
+            Player player = new Player(game, null,"Player " + i);
+            game.addPlayer(player);
+            player.setSpace(board.getSpace(i, 0));
+            player.setDirection(Heading.EAST);
+        }
+
+        game.getPlayer(0).playerController.moveForward();
+
+        for (int i = 0; i < board.width; i++) {
+            Assertions.assertEquals(game.getPlayer(i), board.getSpace(i, 0).getPlayer(), "A row of robots wrapping around the board should not be pushed!");
+        }
+    }
+
     @Test
     void pushRobotIntoWall(){
         //todo: pushRobotIntoWall test
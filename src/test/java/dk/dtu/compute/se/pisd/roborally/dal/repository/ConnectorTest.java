@@ -0,0 +1,33 @@
+package dk.dtu.compute.se.pisd.roborally.dal.repository;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Properties;
+
+public class ConnectorTest {
+
+    private static Properties unreachable() {
+        Properties properties = new Properties();
+        properties.setProperty(Connector.URL, "jdbc:mariadb://127.0.0.1:1/roborally");
+        properties.setProperty(Connector.POOL_CONNECTION_TIMEOUT, "250");
+        return properties;
+    }
+
+    @Test
+    void testUnreachableDatabaseFailsByDefault() {
+        Assertions.assertThrows(IllegalStateException.class, () -> new Connector(unreachable()));
+    }
+
+    @Test
+    void testFallbackReportsTheFailure() {
+        Properties properties = unreachable();
+        properties.setProperty(Connector.FALLBACK, "true");
+        Connector connector = new Connector(properties);
+        try {
+            Assertions.assertNotNull(connector.getConnectionFailure(), "The failure to connect should be kept!");
+        } finally {
+            connector.close();
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package dk.dtu.compute.se.pisd.roborally.dal.repository;
+
+import dk.dtu.compute.se.pisd.roborally.dal.GameFilter;
+import dk.dtu.compute.se.pisd.roborally.dal.GameInDB;
+import dk.dtu.compute.se.pisd.roborally.dal.GamePage;
+import dk.dtu.compute.se.pisd.roborally.headless.HeadlessGameRunner;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class RepositoryTest {
+
+    private static int databases = 0;
+
+    private Connector connector;
+    private Repository repository;
+
+    @BeforeEach
+    void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty(Connector.URL, "jdbc:h2:mem:repositorytest" + databases++ + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.setProperty(Connector.FALLBACK, "false");
+        connector = new Connector(properties);
+        repository = new Repository(connector);
+    }
+
+    @AfterEach
+    void tearDown() {
+        connector.close();
+    }
+
+    private Game createGame() {
+        return new HeadlessGameRunner("defaultboard", 2).getGame();
+    }
+
+    @Test
+    void testSaveAndLoad() {
+        Game game = createGame();
+        Assertions.assertTrue(repository.createGameInDB(game, "save"));
+        Assertions.assertNotNull(game.getGameId());
+
+        game.getPlayer(1).setEnergyCubes(3);
+        Assertions.assertTrue(repository.updateGameInDB(game));
+
+        Game loaded = repository.loadGameFromDB(game.getGameId());
+        Assertions.assertNotNull(loaded);
+        Assertions.assertEquals(game.getNumPlayers(), loaded.getNumPlayers());
+        Assertions.assertEquals(game.getPlayerActivationQueue().length, loaded.getPlayerActivationQueue().length);
+        Assertions.assertEquals(game.getPlayerNumber(game.getCurrentPlayer()), loaded.getPlayerNumber(loaded.getCurrentPlayer()));
+        for (int i = 0; i < game.getNumPlayers(); i++) {
+            Player player = game.getPlayer(i);
+            Player loadedPlayer = loaded.getPlayer(i);
+            Assertions.assertEquals(player.getSpace().x, loadedPlayer.getSpace().x);
+            Assertions.assertEquals(player.getSpace().y, loadedPlayer.getSpace().y);
+            Assertions.assertEquals(player.getEnergyCubes(), loadedPlayer.getEnergyCubes());
+            Assertions.assertEquals(player.getDeck().size(), loadedPlayer.getDeck().size());
+            Assertions.assertEquals(player.getDiscardPile().size(), loadedPlayer.getDiscardPile().size());
+            for (int j = 0; j < Player.NO_CARDS; j++) {
+                Assertions.assertEquals(player.getHandField(j).getCard().command, loadedPlayer.getHandField(j).getCard().command);
+            }
+        }
+    }
+
+    @Test
+    void testUpdateReplacesCards() {
+        Game game = createGame();
+        Assertions.assertTrue(repository.createGameInDB(game, "save"));
+        Player player = game.getPlayer(0);
+        player.playerController.discardHand();
+        Assertions.assertTrue(repository.updateGameInDB(game));
+
+        Player loadedPlayer = repository.loadGameFromDB(game.getGameId()).getPlayer(0);
+        Assertions.assertNull(loadedPlayer.getHandField(0).getCard(), "The discarded hand should not be loaded!");
+        Assertions.assertEquals(player.getDiscardPile().size(), loadedPlayer.getDiscardPile().size());
+    }
+
+    @Test
+    void testOnlyChangesAreSaved() {
+        Game game = createGame();
+        Assertions.assertTrue(repository.createGameInDB(game, "save"));
+        Player moved = game.getPlayer(0);
+        Assertions.assertFalse(game.isDirty() || moved.isDirty() || moved.isDeckDirty(), "A saved game should be clean!");
+
+        moved.setSpace(game.getBoard().getSpace(3, 4));
+        moved.getProgramField(0).setCard(moved.getHandField(0).getCard());
+        moved.getHandField(0).setCard(null);
+        Assertions.assertTrue(moved.isDirty());
+        Assertions.assertFalse(game.getPlayer(1).isDirty());
+        Assertions.assertTrue(repository.updateGameInDB(game));
+        Assertions.assertFalse(moved.isDirty() || moved.getProgramField(0).isDirty());
+
+        Player loaded = repository.loadGameFromDB(game.getGameId()).getPlayer(0);
+        Assertions.assertEquals(3, loaded.getSpace().x);
+        Assertions.assertEquals(4, loaded.getSpace().y);
+        Assertions.assertEquals(moved.getProgramField(0).getCard().command, loaded.getProgramField(0).getCard().command);
+        Assertions.assertNull(loaded.getHandField(0).getCard());
+        Assertions.assertEquals(moved.getHandField(1).getCard().command, loaded.getHandField(1).getCard().command);
+    }
+
+    @Test
+    void testUpdateReplacesLegacyCards() throws SQLException {
+        Game game = createGame();
+        Assertions.assertTrue(repository.createGameInDB(game, "legacy"));
+        int gameId = game.getGameId();
+        Player player = game.getPlayer(0);
+
+        // Games saved before the ids of the cards were derived from their positions have random ids
+        long legacyId = 123456789L;
+        try (Connection connection = connector.getConnection(); Statement statement = connection.createStatement()) {
+            statement.executeUpdate("DELETE FROM Card WHERE cardID = "
+                    + Repository.getCardID(gameId, 0, DatabaseConstants.CARD_TYPE_HAND, 0));
+            statement.executeUpdate("INSERT INTO Card(cardID, gameID, playerID, type, position) VALUES ("
+                    + legacyId + ", " + gameId + ", 0, " + DatabaseConstants.CARD_TYPE_HAND + ", 0)");
+            statement.executeUpdate("INSERT INTO CardCommand(cardID, command) VALUES ("
+                    + legacyId + ", " + player.getHandField(0).getCard().command.ordinal() + ")");
+        }
+
+        player.getProgramField(0).setCard(player.getHandField(0).getCard());
+        player.getHandField(0).setCard(null);
+        Assertions.assertTrue(repository.updateGameInDB(game));
+
+        Player loaded = repository.loadGameFromDB(gameId).getPlayer(0);
+        Assertions.assertNull(loaded.getHandField(0).getCard(), "The card with the random id should be replaced!");
+        Assertions.assertEquals(player.getProgramField(0).getCard().command, loaded.getProgramField(0).getCard().command);
+    }
+
+    @Test
+    void testConcurrentSaves() throws Exception {
+        int numberOfGames = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Game>> futures = new ArrayList<>();
+        for (int i = 0; i < numberOfGames; i++) {
+            futures.add(executor.submit(() -> {
+                Game game = createGame();
+                Assertions.assertTrue(repository.createGameInDB(game, "concurrent"));
+                Assertions.assertTrue(repository.updateGameInDB(game));
+                return game;
+            }));
+        }
+        Set<Integer> ids = new HashSet<>();
+        for (Future<Game> future : futures) {
+            ids.add(future.get().getGameId());
+        }
+        executor.shutdown();
+
+        Assertions.assertEquals(numberOfGames, ids.size(), "Every game should have been saved with its own id!");
+        Assertions.assertEquals(numberOfGames, repository.getGames().size());
+    }
+
+    @Test
+    void testFindGamesPages() {
+        int numberOfGames = 7;
+        for (int i = 0; i < numberOfGames; i++) {
+            Assertions.assertTrue(repository.createGameInDB(createGame(), "page" + i));
+        }
+
+        List<Integer> ids = new ArrayList<>();
+        Integer page = null;
+        do {
+            GamePage gamePage = repository.findGames(null, page, 3);
+            Assertions.assertTrue(gamePage.games.size() <= 3);
+            for (GameInDB gameInDB : gamePage.games) ids.add(gameInDB.id);
+            page = gamePage.nextPage;
+        } while (page != null);
+
+        Assertions.assertEquals(numberOfGames, ids.size());
+        for (int i = 1; i < ids.size(); i++) {
+            Assertions.assertTrue(ids.get(i - 1) > ids.get(i), "The newest games should come first!");
+        }
+    }
+
+    @Test
+    void testFindGamesFilters() {
+        Instant before = Instant.now().minusSeconds(60);
+        Assertions.assertTrue(repository.createGameInDB(createGame(), "alpha_1"));
+        Assertions.assertTrue(repository.createGameInDB(createGame(), "alpha%2"));
+        Assertions.assertTrue(repository.createGameInDB(createGame(), "beta"));
+        Game game = createGame();
+
+        Assertions.assertEquals(2, repository.findGames(new GameFilter().setNamePrefix("alpha"), null, 10).games.size());
+        Assertions.assertEquals(1, repository.findGames(new GameFilter().setNamePrefix("alpha_"), null, 10).games.size(),
+                "The wildcards of the prefix should be escaped!");
+        Assertions.assertEquals(3, repository.findGames(new GameFilter().setBoardName(game.getBoard().getBoardName()), null, 10).games.size());
+        Assertions.assertEquals(0, repository.findGames(new GameFilter().setBoardName("noboard"), null, 10).games.size());
+        Assertions.assertEquals(3, repository.findGames(new GameFilter().setPhase(game.getPhase()), null, 10).games.size());
+        Assertions.assertEquals(3, repository.findGames(new GameFilter().setModifiedAfter(before), null, 10).games.size());
+        Assertions.assertEquals(0, repository.findGames(new GameFilter().setModifiedBefore(before), null, 10).games.size());
+
+        GameInDB beta = repository.findGames(new GameFilter().setNamePrefix("beta").setPhase(game.getPhase()), null, 10).games.get(0);
+        Assertions.assertEquals("beta", beta.name);
+        Assertions.assertNotNull(beta.lastModified);
+    }
+}
@@ -0,0 +1,152 @@
+package dk.dtu.compute.se.pisd.roborally.dal.repository;
+
+import dk.dtu.compute.se.pisd.roborally.dal.GameSnapshot;
+import dk.dtu.compute.se.pisd.roborally.headless.HeadlessGameRunner;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+public class SaveQueueTest {
+
+    private static int databases = 0;
+
+    private Connector connector;
+    private Repository repository;
+    private SaveQueue saveQueue;
+
+    @BeforeEach
+    void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty(Connector.URL, "jdbc:h2:mem:savequeuetest" + databases++ + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.setProperty(Connector.FALLBACK, "false");
+        connector = new Connector(properties);
+        repository = new Repository(connector);
+        saveQueue = new SaveQueue(repository, 1, 4, 3, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        saveQueue.close(10000);
+        connector.close();
+    }
+
+    @Test
+    void testLastSaveWins() throws Exception {
+        Game game = new HeadlessGameRunner("defaultboard", 2).getGame();
+        Player player = game.getPlayer(0);
+        Assertions.assertFalse(saveQueue.isSaved(game));
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        futures.add(saveQueue.save(game, "queued"));
+        Assertions.assertTrue(saveQueue.isSaved(game), "A game waiting to be created should count as saved!");
+        for (int i = 0; i < 20; i++) {
+            player.setEnergyCubes(i);
+            player.setSpace(game.getBoard().getSpace(i % 5, 2));
+            futures.add(saveQueue.save(game));
+        }
+        Assertions.assertFalse(player.isDirty(), "A game should be clean once its snapshot has been taken!");
+        Assertions.assertTrue(saveQueue.awaitIdle(10000));
+
+        int gameId = futures.get(0).get();
+        for (CompletableFuture<Integer> future : futures) {
+            Assertions.assertEquals(gameId, future.get(), "Every save should update the same game!");
+        }
+        Assertions.assertEquals(gameId, game.getGameId());
+        Assertions.assertEquals(1, repository.getGames().size());
+
+        Player loaded = repository.loadGameFromDB(gameId).getPlayer(0);
+        Assertions.assertEquals(19, loaded.getEnergyCubes());
+        Assertions.assertEquals(4, loaded.getSpace().x);
+    }
+
+    @Test
+    void testSaveWithoutNameFails() {
+        Game game = new HeadlessGameRunner("defaultboard", 2).getGame();
+        Assertions.assertThrows(ExecutionException.class, () -> saveQueue.save(game).get());
+        Assertions.assertTrue(game.isDirty(), "A game which was not saved should still be dirty!");
+    }
+
+    @Test
+    void testTransientFailuresAreRetried() throws Exception {
+        FailingRepository failing = new FailingRepository(connector, 2, new SQLTransientConnectionException("timeout"));
+        saveQueue.close(0);
+        saveQueue = new SaveQueue(failing, 1, 4, 3, 1);
+        Game game = new HeadlessGameRunner("defaultboard", 2).getGame();
+        int gameId = saveQueue.save(game, "retried").get();
+
+        game.getPlayer(1).setEnergyCubes(7);
+        Assertions.assertEquals(gameId, saveQueue.save(game).get());
+        Assertions.assertEquals(7, repository.loadGameFromDB(gameId).getPlayer(1).getEnergyCubes());
+    }
+
+    @Test
+    void testFailedChangesAreSavedNext() throws Exception {
+        FailingRepository failing = new FailingRepository(connector, 1, new SQLException("syntax error", "42000"));
+        saveQueue.close(0);
+        saveQueue = new SaveQueue(failing, 1, 4, 3, 1);
+        Game game = new HeadlessGameRunner("defaultboard", 2).getGame();
+        int gameId = saveQueue.save(game, "failing").get();
+
+        game.getPlayer(1).setEnergyCubes(7);
+        Assertions.assertThrows(ExecutionException.class, () -> saveQueue.save(game).get());
+        game.getPlayer(0).setEnergyCubes(3);
+        saveQueue.save(game).get();
+
+        Game loaded = repository.loadGameFromDB(gameId);
+        Assertions.assertEquals(7, loaded.getPlayer(1).getEnergyCubes(), "The changes of the failed save should be saved!");
+        Assertions.assertEquals(3, loaded.getPlayer(0).getEnergyCubes());
+    }
+
+    @Test
+    void testSaveAfterClosingFails() throws Exception {
+        Game game = new HeadlessGameRunner("defaultboard", 2).getGame();
+        int gameId = saveQueue.save(game, "rejected").get();
+        int energyCubes = game.getPlayer(1).getEnergyCubes();
+        saveQueue.close(10000);
+
+        game.getPlayer(1).setEnergyCubes(energyCubes + 5);
+        CompletableFuture<Integer> rejected = saveQueue.save(game);
+        Assertions.assertTrue(rejected.isCompletedExceptionally(), "A save after closing should fail at once!");
+        Assertions.assertEquals(energyCubes, repository.loadGameFromDB(gameId).getPlayer(1).getEnergyCubes(),
+                "The game should not be written by the saver!");
+    }
+
+    /**
+     * A repository failing to update games a given number of times.
+     */
+    private static class FailingRepository extends Repository {
+        private int failures;
+        private final SQLException failure;
+
+        FailingRepository(Connector connector, int failures, SQLException failure) {
+            super(connector);
+            this.failures = failures;
+            this.failure = failure;
+        }
+
+        @Override
+        void updateGameInDB(GameSnapshot game, int gameID) throws SQLException {
+            if (failures-- > 0) throw failure;
+            super.updateGameInDB(game, gameID);
+        }
+    }
+
+    @Test
+    void testTransientExceptions() {
+        Assertions.assertTrue(SaveQueue.isTransient(new SQLTransientConnectionException("timeout")));
+        Assertions.assertTrue(SaveQueue.isTransient(new SQLException("deadlock", "40001")));
+        Assertions.assertTrue(SaveQueue.isTransient(new SQLException("connection lost", "08S01")));
+        Assertions.assertFalse(SaveQueue.isTransient(new SQLException("syntax error", "42000")));
+    }
+}
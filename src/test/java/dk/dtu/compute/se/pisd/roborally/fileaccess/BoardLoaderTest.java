@@ -0,0 +1,87 @@
+package dk.dtu.compute.se.pisd.roborally.fileaccess;
+
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.BoardElement;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.Wall;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.EnergySpace;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+public class BoardLoaderTest {
+
+    @Test
+    void testLoadedBoardsAreCopies() {
+        Board first = BoardLoader.loadBoard("defaultboard");
+        Board second = BoardLoader.loadBoard("defaultboard");
+        Board third = BoardLoader.loadBoard("defaultboard");
+        Assertions.assertNotSame(second, third);
+
+        int energySpaces = 0;
+        for (int i = 0; i < first.width * first.height; i++) {
+            BoardElement[] elements = first.getSpace(i).getElements();
+            BoardElement[] secondElements = second.getSpace(i).getElements();
+            BoardElement[] thirdElements = third.getSpace(i).getElements();
+            Assertions.assertEquals(elements.length, secondElements.length, "Every load should give the same board!");
+            Assertions.assertEquals(elements.length, thirdElements.length, "Every load should give the same board!");
+            for (int j = 0; j < elements.length; j++) {
+                Assertions.assertEquals(elements[j].getClass(), secondElements[j].getClass());
+                Assertions.assertNotSame(secondElements[j], thirdElements[j], "Boards should not share elements!");
+                if (secondElements[j] instanceof EnergySpace) {
+                    ((EnergySpace) secondElements[j]).setHasEnergyCube(false);
+                    Assertions.assertTrue(((EnergySpace) thirdElements[j]).getHasEnergyCube());
+                    energySpaces++;
+                }
+            }
+        }
+        Assertions.assertTrue(energySpaces > 0);
+        Assertions.assertEquals(first.getCheckpointAmount(), third.getCheckpointAmount());
+    }
+
+    @Test
+    void testUnknownBoardLoadsDefault() {
+        Board board = BoardLoader.loadBoard("no such board");
+        Assertions.assertEquals(BoardLoader.loadBoard(null).width, board.width);
+    }
+
+    @Test
+    void testProgressIsReported() throws IOException {
+        long size;
+        try (InputStream inputStream = BoardLoader.class.getClassLoader().getResourceAsStream("boards/test3.json")) {
+            Assertions.assertNotNull(inputStream);
+            size = inputStream.readAllBytes().length;
+        }
+        List<long[]> progress = new ArrayList<>();
+        BoardLoader.loadBoard("test3", (done, total) -> progress.add(new long[]{done, total}));
+        Assertions.assertFalse(progress.isEmpty(), "The progress should be reported!");
+        long[] last = progress.get(progress.size() - 1);
+        Assertions.assertEquals(size, last[0]);
+        Assertions.assertEquals(size, last[1]);
+    }
+
+    @Test
+    void testMalformedBoardTellsWhere() {
+        BoardLoadException exception = Assertions.assertThrows(BoardLoadException.class,
+                () -> BoardLoader.loadBoard("malformedboard"));
+        Assertions.assertEquals("malformedboard", exception.getBoardName());
+        Assertions.assertEquals(9, exception.getLine(), exception.getMessage());
+        Assertions.assertTrue(exception.getColumn() > 0);
+
+        BoardLoadException again = Assertions.assertThrows(BoardLoadException.class,
+                () -> BoardLoader.loadBoard("malformedboard"));
+        Assertions.assertEquals(9, again.getLine(), "A board which failed to load should not be cached!");
+    }
+
+    @Test
+    void testSpacesBeforeDimensions() {
+        Board board = BoardLoader.loadBoard("spacesfirstboard");
+        Assertions.assertEquals(3, board.width);
+        Assertions.assertEquals(4, board.height);
+        Assertions.assertEquals(1, board.getSpace(1, 2).getElements().length);
+        Assertions.assertTrue(board.getSpace(1, 2).getElements()[0] instanceof Wall);
+    }
+}
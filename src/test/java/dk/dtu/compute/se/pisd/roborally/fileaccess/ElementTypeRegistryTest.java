@@ -0,0 +1,80 @@
+package dk.dtu.compute.se.pisd.roborally.fileaccess;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.BoardElement;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.PriorityAntenna;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.Wall;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.BoardLaser;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.Checkpoint;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.EnergySpace;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.MoveHazard;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import dk.dtu.compute.se.pisd.roborally.model.enums.MoveHazardType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+public class ElementTypeRegistryTest {
+
+    private static BoardElement read(String json) throws IOException {
+        return ElementTypeRegistry.read(new JsonReader(new StringReader(json)));
+    }
+
+    private static BoardElement roundTrip(BoardElement element) throws IOException {
+        StringWriter json = new StringWriter();
+        ElementTypeRegistry.write(new JsonWriter(json), element);
+        Assertions.assertFalse(json.toString().contains("dk.dtu"), "Class names should not be written!");
+        return read(json.toString());
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Wall wall = (Wall) roundTrip(new Wall(Heading.EAST));
+        Assertions.assertArrayEquals(new Heading[]{Heading.EAST}, wall.getPosition());
+
+        MoveHazard gear = (MoveHazard) roundTrip(new MoveHazard(Heading.WEST, 7, -1, 0, MoveHazardType.GEAR));
+        Assertions.assertEquals(Heading.WEST, gear.getDirection());
+        Assertions.assertEquals(7, gear.getPriority());
+        Assertions.assertEquals(-1, gear.getRotation());
+        Assertions.assertEquals(MoveHazardType.GEAR, gear.getMoveHazardType());
+
+        BoardLaser laser = (BoardLaser) roundTrip(new BoardLaser(Heading.NORTH, 6));
+        Assertions.assertEquals(Heading.NORTH, laser.getDirection());
+        Assertions.assertNotNull(laser.getLaser());
+
+        Checkpoint checkpoint = (Checkpoint) roundTrip(new Checkpoint(new Heading[0], new Heading[0], new Heading[0], Heading.SOUTH, 7, 3));
+        Assertions.assertEquals(3, checkpoint.getNumber());
+
+        EnergySpace energySpace = new EnergySpace();
+        energySpace.setHasEnergyCube(false);
+        Assertions.assertFalse(((EnergySpace) roundTrip(energySpace)).getHasEnergyCube());
+
+        Assertions.assertTrue(roundTrip(new PriorityAntenna()) instanceof PriorityAntenna);
+    }
+
+    @Test
+    void testLegacyFormatIsReadBySimpleName() throws IOException {
+        BoardElement element = read("{\"CLASSNAME\": \"some.old.pkg.MoveHazard\", \"INSTANCE\": {\"rotation\": 0,"
+                + " \"distance\": 2, \"moveHazardType\": \"CONVEYOR\", \"priority\": 2, \"impassableFrom\": [],"
+                + " \"opaqueFrom\": [], \"position\": [], \"direction\": \"SOUTH\", \"observers\": []}}");
+        Assertions.assertTrue(element instanceof MoveHazard);
+        Assertions.assertEquals(2, ((MoveHazard) element).getDistance());
+        Assertions.assertEquals(Heading.SOUTH, element.getDirection());
+    }
+
+    @Test
+    void testInvalidElements() {
+        Assertions.assertThrows(IllegalStateException.class, () -> read("{\"type\": \"teleporter\"}"));
+        Assertions.assertThrows(IllegalStateException.class, () -> read("{\"type\": \"wall\"}"), "A wall needs a position!");
+        Assertions.assertThrows(IllegalStateException.class, () -> read("{\"type\": \"laser\", \"direction\": \"UP\"}"));
+        Assertions.assertThrows(IllegalStateException.class, () -> read("{\"position\": [\"NORTH\"]}"));
+        Assertions.assertThrows(IllegalStateException.class, () -> read("{\"CLASSNAME\": \"some.old.pkg.BoardLaser\","
+                + " \"INSTANCE\": {\"direction\": \"EAST\", \"opaqueFrom\": [\"WEST\"]}}"), "A laser cannot be opaque!");
+        Assertions.assertThrows(IllegalStateException.class, () -> read("{\"type\": \"conveyor\", \"direction\": \"EAST\","
+                + " \"moveHazardType\": \"CONVEYOR\", \"impassableFrom\": [\"NORTH\"]}"), "A conveyor cannot be impassable!");
+    }
+}
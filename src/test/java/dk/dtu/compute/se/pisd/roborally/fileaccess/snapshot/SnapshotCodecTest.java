@@ -0,0 +1,123 @@
+package dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot;
+
+import dk.dtu.compute.se.pisd.roborally.fileaccess.BoardLoader;
+import dk.dtu.compute.se.pisd.roborally.headless.HeadlessGameRunner;
+import dk.dtu.compute.se.pisd.roborally.model.CommandCard;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.BoardElement;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.Wall;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.EnergySpace;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+public class SnapshotCodecTest {
+
+    @Test
+    void testBoardRoundTrip() throws IOException {
+        Board board = BoardLoader.loadBoard("defaultboard");
+        Board decoded = SnapshotCodec.decodeBoard(SnapshotCodec.encodeBoard(board));
+
+        Assertions.assertEquals(board.getBoardName(), decoded.getBoardName());
+        Assertions.assertEquals(board.width, decoded.width);
+        Assertions.assertEquals(board.height, decoded.height);
+        Assertions.assertEquals(board.getCheckpointAmount(), decoded.getCheckpointAmount());
+        for (int i = 0; i < board.width * board.height; i++) {
+            BoardElement[] elements = board.getSpace(i).getElements();
+            BoardElement[] decodedElements = decoded.getSpace(i).getElements();
+            Assertions.assertEquals(elements.length, decodedElements.length, "Space " + i + " should have the same elements!");
+            for (int j = 0; j < elements.length; j++) {
+                Assertions.assertEquals(elements[j].getClass(), decodedElements[j].getClass());
+                Assertions.assertArrayEquals(elements[j].getPosition(), decodedElements[j].getPosition());
+            }
+        }
+    }
+
+    @Test
+    void testBoardIsSmallerThanJson() throws IOException {
+        byte[] json;
+        try (InputStream inputStream = BoardLoader.class.getClassLoader().getResourceAsStream("boards/defaultboard.json")) {
+            Assertions.assertNotNull(inputStream);
+            json = inputStream.readAllBytes();
+        }
+        byte[] snapshot = SnapshotCodec.encodeBoard(BoardLoader.loadBoard("defaultboard"));
+        Assertions.assertTrue(snapshot.length * 10 < json.length,
+                "The snapshot of " + snapshot.length + " bytes should be much smaller than the JSON of " + json.length + " bytes!");
+    }
+
+    @Test
+    void testGameRoundTrip() throws IOException {
+        HeadlessGameRunner runner = new HeadlessGameRunner("defaultboard", 2);
+        runner.run(new Command[][]{{Command.FORWARD, Command.RIGHT}, {Command.MOVE3}});
+        Game game = runner.getGame();
+        game.getPlayer(1).setEnergyCubes(4);
+        for (int i = 0; i < game.getBoard().width * game.getBoard().height; i++) {
+            for (BoardElement element : game.getBoard().getSpace(i).getElements()) {
+                if (element instanceof EnergySpace) ((EnergySpace) element).setHasEnergyCube(false);
+            }
+        }
+
+        Game decoded = SnapshotCodec.decodeGame(SnapshotCodec.encodeGame(game));
+
+        Assertions.assertEquals(game.getPhase(), decoded.getPhase());
+        Assertions.assertEquals(game.getStep(), decoded.getStep());
+        Assertions.assertEquals(game.getNumPlayers(), decoded.getNumPlayers());
+        for (int i = 0; i < game.getNumPlayers(); i++) {
+            Player player = game.getPlayer(i);
+            Player decodedPlayer = decoded.getPlayer(i);
+            Assertions.assertEquals(player.getName(), decodedPlayer.getName());
+            Assertions.assertEquals(player.getColor(), decodedPlayer.getColor());
+            Assertions.assertEquals(game.getBoard().getSpaceIndex(player.getSpace()),
+                    decoded.getBoard().getSpaceIndex(decodedPlayer.getSpace()));
+            Assertions.assertEquals(player.getDirection(), decodedPlayer.getDirection());
+            Assertions.assertEquals(player.getEnergyCubes(), decodedPlayer.getEnergyCubes());
+            Assertions.assertEquals(player.getLastCheckpoint(), decodedPlayer.getLastCheckpoint());
+            for (int j = 0; j < Player.NO_CARDS; j++) {
+                Assertions.assertEquals(commandOf(player.getHandField(j).getCard()), commandOf(decodedPlayer.getHandField(j).getCard()));
+            }
+            Assertions.assertArrayEquals(player.getDeck().toArray(), decodedPlayer.getDeck().toArray());
+            Assertions.assertEquals(player.getDiscardPile().size(), decodedPlayer.getDiscardPile().size());
+        }
+        for (int i = 0; i < game.getBoard().width * game.getBoard().height; i++) {
+            for (BoardElement element : decoded.getBoard().getSpace(i).getElements()) {
+                if (element instanceof EnergySpace) {
+                    Assertions.assertFalse(((EnergySpace) element).getHasEnergyCube(), "The state of the elements should be kept!");
+                }
+            }
+        }
+    }
+
+    private static Command commandOf(CommandCard card) {
+        return card == null ? null : card.command;
+    }
+
+    @Test
+    void testHeadingsAreKept() throws IOException {
+        Board board = new Board(3, 3, "headings");
+        for (Heading heading : Heading.values()) {
+            board.getSpace(heading.ordinal() % 3, heading.ordinal() / 3)
+                    .addBoardElement(new Wall(heading));
+        }
+        Board decoded = SnapshotCodec.decodeBoard(SnapshotCodec.encodeBoard(board));
+        for (Heading heading : Heading.values()) {
+            BoardElement[] elements = decoded.getSpace(heading.ordinal() % 3, heading.ordinal() / 3).getElements();
+            Assertions.assertEquals(1, elements.length);
+            Assertions.assertEquals(Arrays.asList(heading), Arrays.asList(elements[0].getPosition()));
+        }
+    }
+
+    @Test
+    void testInvalidSnapshots() {
+        byte[] board = SnapshotCodec.encodeBoard(BoardLoader.loadBoard("defaultboard"));
+        Assertions.assertThrows(IOException.class, () -> SnapshotCodec.decodeGame(board), "A board is not a game!");
+        Assertions.assertThrows(IOException.class, () -> SnapshotCodec.decodeBoard(Arrays.copyOf(board, board.length / 2)));
+        Assertions.assertThrows(IOException.class, () -> SnapshotCodec.decodeBoard(new byte[]{'{', '}'}));
+    }
+}
@@ -0,0 +1,97 @@
+package dk.dtu.compute.se.pisd.roborally.headless;
+
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import dk.dtu.compute.se.pisd.roborally.fileaccess.BoardLoader;
+import dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot.SnapshotCodec;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.GameEventLog;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class GameReplayerTest {
+
+    private static final Command[][][] ROUNDS = {
+            {{Command.FORWARD, Command.OPTION_LEFT_RIGHT, Command.REPEAT}, {Command.RIGHT, Command.FAST_FORWARD}},
+            {{Command.UTURN, Command.MOVE3}, {Command.OPTION_LEFT_RIGHT, Command.FORWARD, Command.ENERGISE}},
+            {{Command.LEFT, Command.FORWARD, Command.FORWARD}, {Command.BACKUP, Command.REPEAT}},
+            {{Command.FAST_FORWARD}, {Command.RIGHT, Command.MOVE3, Command.LEFT}}
+    };
+
+    @Test
+    void testReplayIsIdentical() throws Exception {
+        HeadlessGameRunner runner = new HeadlessGameRunner("defaultboard", 2);
+        GameEventLog eventLog = GameReplayer.record(runner.getGame());
+        runner.run(ROUNDS);
+        runner.run(ROUNDS);
+
+        Game replayed = GameReplayer.replay(eventLog);
+
+        Assertions.assertArrayEquals(eventLog.toArray(), replayed.getEventLog().toArray());
+        Assertions.assertArrayEquals(SnapshotCodec.encodeGame(runner.getGame()), SnapshotCodec.encodeGame(replayed),
+                "The replayed game should be in exactly the same state!");
+    }
+
+    @Test
+    void testReplayOfMovedCardsAndSteps() {
+        HeadlessGameRunner runner = new HeadlessGameRunner("defaultboard", 2);
+        Game game = runner.getGame();
+        GameController gameController = new GameController(game, runner);
+        GameEventLog eventLog = GameReplayer.record(game);
+
+        for (int round = 0; round < 3; round++) {
+            for (Player player : game.getPlayers()) {
+                for (int i = 0; i < Player.NO_REGISTERS; i++) {
+                    gameController.moveCards(player.getHandField(i), player.getProgramField(i));
+                }
+            }
+            gameController.finishProgrammingPhase();
+            while (game.getPhase() == Phase.ACTIVATION || game.getPhase() == Phase.PLAYER_INTERACTION) {
+                if (game.getPhase() == Phase.PLAYER_INTERACTION) gameController.executeCommandAndContinue(Command.RIGHT);
+                else gameController.executeStep();
+            }
+        }
+
+        Game replayed = GameReplayer.replay(eventLog);
+        Assertions.assertArrayEquals(SnapshotCodec.encodeGame(game), SnapshotCodec.encodeGame(replayed));
+    }
+
+    @Test
+    void testDivergenceIsDetected() {
+        HeadlessGameRunner runner = new HeadlessGameRunner("defaultboard", 2);
+        GameEventLog eventLog = GameReplayer.record(runner.getGame());
+        runner.run(ROUNDS[0]);
+
+        int[] events = eventLog.toArray();
+        GameEventLog tampered = new GameEventLog(eventLog.getSeed(), eventLog.getInitialState());
+        for (int i = 0; i < eventLog.size(); i++) {
+            int second = events[i * 4 + 3];
+            if (eventLog.getType(i) == GameEventLog.Type.PROGRAMMED && second == Command.FORWARD.ordinal() + 1) {
+                second = Command.BACKUP.ordinal() + 1;
+            }
+            tampered.append(eventLog.getType(i), events[i * 4 + 1], events[i * 4 + 2], second);
+        }
+        Assertions.assertThrows(IllegalStateException.class, () -> GameReplayer.replay(tampered));
+    }
+
+    @Test
+    void testSameSeedGivesSameCards() {
+        Board board = BoardLoader.loadBoard("defaultboard");
+        Game first = new Game(board, 42);
+        Game second = new Game(BoardLoader.loadBoard("defaultboard"), 42);
+        for (Game game : new Game[]{first, second}) {
+            Player player = new Player(game, null, "Player");
+            game.addPlayer(player);
+            player.playerController.addCardsToDiscardPile(Player.newPlayerDeck());
+            player.playerController.fillHand();
+        }
+        for (int i = 0; i < Player.NO_CARDS; i++) {
+            Assertions.assertEquals(first.getPlayer(0).getHandField(i).getCard().command,
+                    second.getPlayer(0).getHandField(i).getCard().command);
+        }
+        Assertions.assertEquals(first.getRandom().nextLong(), second.getRandom().nextLong());
+    }
+}
@@ -0,0 +1,95 @@
+package dk.dtu.compute.se.pisd.roborally.headless;
+
+import dk.dtu.compute.se.pisd.roborally.controller.GameController;
+import dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot.SnapshotCodec;
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.GameState;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.EnergySpace;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class GameSandboxTest {
+
+    private static final Command[][] ROUND = {{Command.FORWARD, Command.FAST_FORWARD, Command.RIGHT}, {Command.MOVE3, Command.LEFT}};
+
+    /**
+     * Plays the specified number of rounds in the sandbox
+     * with the first cards of the players' hands.
+     */
+    private static void play(GameSandbox sandbox, int rounds) {
+        Game game = sandbox.getGame();
+        GameController gameController = sandbox.getGameController();
+        for (int round = 0; round < rounds && game.getPhase() == Phase.PROGRAMMING; round++) {
+            for (Player player : game.getPlayers()) {
+                for (int i = 0; i < Player.NO_REGISTERS; i++) {
+                    gameController.moveCards(player.getHandField(i), player.getProgramField(i));
+                }
+            }
+            gameController.finishProgrammingPhase();
+            gameController.executePrograms();
+            while (game.getPhase() == Phase.PLAYER_INTERACTION) gameController.executeCommandAndContinue(Command.LEFT);
+        }
+    }
+
+    @Test
+    void testResetRestoresTheCopy() {
+        HeadlessGameRunner runner = new HeadlessGameRunner("defaultboard", 2);
+        runner.run(ROUND);
+        byte[] original = SnapshotCodec.encodeGame(runner.getGame());
+
+        GameSandbox sandbox = new GameSandbox(runner.getGame());
+        Assertions.assertArrayEquals(original, SnapshotCodec.encodeGame(sandbox.getGame()));
+        play(sandbox, 3);
+        for (EnergySpace energySpace : sandbox.getGame().getBoard().getEnergySpaces()) energySpace.setHasEnergyCube(false);
+        Assertions.assertFalse(Arrays.equals(original, SnapshotCodec.encodeGame(sandbox.getGame())));
+
+        sandbox.reset();
+        Assertions.assertArrayEquals(original, SnapshotCodec.encodeGame(sandbox.getGame()), "The copy should be as it was!");
+        Assertions.assertArrayEquals(original, SnapshotCodec.encodeGame(runner.getGame()), "The original should not change!");
+    }
+
+    @Test
+    void testStateOfTheOriginalIsRestored() {
+        HeadlessGameRunner runner = new HeadlessGameRunner("defaultboard", 2);
+        GameSandbox sandbox = new GameSandbox(runner.getGame());
+        runner.run(ROUND, ROUND);
+
+        sandbox.restore(GameState.capture(runner.getGame()));
+        Assertions.assertArrayEquals(SnapshotCodec.encodeGame(runner.getGame()), SnapshotCodec.encodeGame(sandbox.getGame()));
+        Assertions.assertEquals(runner.getGame().getBoard().getOccupancy().count(),
+                sandbox.getGame().getBoard().getOccupancy().count());
+    }
+
+    @Test
+    void testStateWithoutCurrentPlayerIsRestored() {
+        Game game = new Game(new Board(4, 4));
+        for (int i = 0; i < 2; i++) game.addPlayer(new Player(game, null, "Player " + i));
+        Assertions.assertNull(game.getCurrentPlayer());
+        GameState state = GameState.capture(game);
+
+        game.setCurrentPlayer(game.getPlayer(1));
+        state.restore(game);
+        Assertions.assertNull(game.getCurrentPlayer(), "The game should be left without a current player!");
+    }
+
+    @Test
+    void testFuturesAreReproducible() {
+        GameSandbox sandbox = new GameSandbox(new HeadlessGameRunner("defaultboard", 3).getGame());
+        GameState start = sandbox.capture();
+
+        sandbox.getGame().reseed(5);
+        play(sandbox, 4);
+        byte[] first = SnapshotCodec.encodeGame(sandbox.getGame());
+
+        sandbox.restore(start);
+        sandbox.getGame().reseed(5);
+        play(sandbox, 4);
+        Assertions.assertArrayEquals(first, SnapshotCodec.encodeGame(sandbox.getGame()));
+    }
+}
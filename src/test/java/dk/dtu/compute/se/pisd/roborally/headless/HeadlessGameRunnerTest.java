@@ -0,0 +1,62 @@
+package dk.dtu.compute.se.pisd.roborally.headless;
+
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Phase;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class HeadlessGameRunnerTest {
+
+    private final int TEST_WIDTH = 8;
+    private final int TEST_HEIGHT = 8;
+
+    private HeadlessGameRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new HeadlessGameRunner(new Board(TEST_WIDTH, TEST_HEIGHT), 2);
+    }
+
+    @Test
+    void testRunProgram() {
+        Player player = runner.getGame().getPlayer(0);
+        Board board = runner.getGame().getBoard();
+
+        SimulationResult result = runner.run(new Command[][]{
+                {Command.FORWARD, Command.OPTION_LEFT_RIGHT},
+                {}
+        });
+
+        Assertions.assertEquals(board.getSpace(0, 1), player.getSpace(), "Player should have moved forward!");
+        Assertions.assertEquals(Heading.SOUTH.prev(), player.getDirection(), "The first option, left, should have been chosen!");
+        Assertions.assertEquals(Phase.PROGRAMMING, runner.getGame().getPhase(), "The next programming phase should have started!");
+        Assertions.assertEquals(1, result.getRoundsPlayed());
+    }
+
+    @Test
+    void testEventsAreRecorded() {
+        Board board = runner.getGame().getBoard();
+
+        SimulationResult result = runner.run(new Command[][]{{Command.FORWARD}, {}}, new Command[][]{{}, {Command.ENERGISE}});
+
+        Assertions.assertEquals(2, result.getEvents().size());
+        SimulationEvent moved = result.getEvents().get(0);
+        Assertions.assertEquals(SimulationEvent.Type.MOVED, moved.getType());
+        Assertions.assertEquals(0, moved.getPlayer());
+        Assertions.assertEquals(board.getSpaceIndex(board.getSpace(0, 0)), moved.getOldValue());
+        Assertions.assertEquals(board.getSpaceIndex(board.getSpace(0, 1)), moved.getNewValue());
+        SimulationEvent energised = result.getEvents().get(1);
+        Assertions.assertEquals(SimulationEvent.Type.ENERGY_CHANGED, energised.getType());
+        Assertions.assertEquals(1, energised.getPlayer());
+        Assertions.assertEquals(1, energised.getRound());
+    }
+
+    @Test
+    void testProgramForEachPlayerIsRequired() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> runner.run(new Command[][]{{Command.FORWARD}}));
+    }
+}
@@ -0,0 +1,87 @@
+package dk.dtu.compute.se.pisd.roborally.headless.tournament;
+
+import dk.dtu.compute.se.pisd.roborally.fileaccess.BoardLoader;
+import dk.dtu.compute.se.pisd.roborally.fileaccess.snapshot.SnapshotCodec;
+import dk.dtu.compute.se.pisd.roborally.headless.HeadlessGameRunner;
+import dk.dtu.compute.se.pisd.roborally.model.CommandCard;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+public class MonteCarloStrategyTest {
+
+    @Test
+    void testProgramIsTakenFromTheHand() {
+        HeadlessGameRunner runner = new HeadlessGameRunner(BoardLoader.loadBoard("defaultboard"), 3, 7);
+        Player player = runner.getGame().getPlayer(1);
+        byte[] before = SnapshotCodec.encodeGame(runner.getGame());
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        Command[] program;
+        try {
+            program = MonteCarloStrategy.withRollouts(64, pool).program(player);
+        } finally {
+            pool.shutdown();
+        }
+
+        Assertions.assertArrayEquals(before, SnapshotCodec.encodeGame(runner.getGame()), "Planning should not change the game!");
+        Assertions.assertEquals(Player.NO_REGISTERS, program.length);
+        List<Command> hand = new ArrayList<>();
+        for (int i = 0; i < Player.NO_CARDS; i++) {
+            CommandCard card = player.getHandField(i).getCard();
+            if (card != null) hand.add(card.command);
+        }
+        for (Command command : program) {
+            Assertions.assertNotNull(command, "Every register should be programmed!");
+            Assertions.assertTrue(hand.remove(command), command + " is not in the hand!");
+        }
+    }
+
+    @Test
+    void testPlansWithRolloutsAreReproducible() {
+        HeadlessGameRunner runner = new HeadlessGameRunner(BoardLoader.loadBoard("defaultboard"), 3, 11);
+        Player player = runner.getGame().getPlayer(0);
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        Command[] first;
+        Command[] second;
+        try {
+            runner.getGame().reseed(5);
+            first = MonteCarloStrategy.withRollouts(128, ForkJoinPool.commonPool()).program(player);
+            runner.getGame().reseed(5);
+            second = MonteCarloStrategy.withRollouts(128, pool).program(player);
+        } finally {
+            pool.shutdown();
+        }
+        Assertions.assertArrayEquals(first, second, "The plan should not depend on the number of workers!");
+    }
+
+    @Test
+    void testReachesMoreCheckpointsThanRandomCards() throws IOException {
+        Tournament tournament = new Tournament("defaultboard",
+                new IProgramStrategy[]{MonteCarloStrategy.withRollouts(256), new RandomCardsStrategy()}, 10, 3);
+        StringWriter csv = new StringWriter();
+        try (CsvResultSink sink = new CsvResultSink(csv)) {
+            tournament.run(8, sink);
+        }
+
+        int[] checkpoints = new int[2];
+        String[] lines = csv.toString().split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            String[] columns = lines[i].split(",");
+            for (int seat = 0; seat < 2; seat++) {
+                int strategy = columns[5 + 3 * seat].startsWith("MonteCarlo") ? 0 : 1;
+                checkpoints[strategy] += Integer.parseInt(columns[6 + 3 * seat]);
+            }
+        }
+        Assertions.assertTrue(checkpoints[0] > checkpoints[1], "The bot reached " + checkpoints[0]
+                + " checkpoints and random cards " + checkpoints[1]);
+    }
+}
@@ -0,0 +1,69 @@
+package dk.dtu.compute.se.pisd.roborally.headless.tournament;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public class TournamentTest {
+
+    private static final int GAMES = 16;
+
+    private static Tournament newTournament() {
+        return new Tournament("defaultboard", new IProgramStrategy[]{new RandomCardsStrategy(), new FirstCardsStrategy()}, 10, 42);
+    }
+
+    /**
+     * Runs the tournament and returns the rows of the CSV
+     * ordered by game and without the timings.
+     */
+    private static String[] runCsv(int parallelism) throws IOException {
+        StringWriter csv = new StringWriter();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try (CsvResultSink sink = new CsvResultSink(csv)) {
+            newTournament().run(GAMES, sink, pool);
+        } finally {
+            pool.shutdown();
+        }
+        String[] lines = csv.toString().split("\n");
+        Assertions.assertEquals(GAMES + 1, lines.length, "There should be a header and a row for every game!");
+        Assertions.assertTrue(lines[0].startsWith("game,seed,rounds,winner,nanos,strategy0"));
+        String[] rows = new String[GAMES];
+        for (int i = 1; i < lines.length; i++) {
+            String[] columns = lines[i].split(",");
+            columns[4] = "";
+            rows[Integer.parseInt(columns[0])] = String.join(",", columns);
+        }
+        return rows;
+    }
+
+    @Test
+    void testParallelGamesAreIndependent() throws IOException {
+        String[] sequential = runCsv(1);
+        String[] parallel = runCsv(4);
+        Assertions.assertArrayEquals(sequential, parallel, "The games should not depend on how they are scheduled!");
+        Assertions.assertTrue(sequential[0].contains("RandomCardsStrategy,"));
+        Assertions.assertTrue(sequential[1].contains(",FirstCardsStrategy,"), "The strategies should change seats!");
+        Assertions.assertFalse(Arrays.asList(sequential).contains(null));
+    }
+
+    @Test
+    void testJsonLines() throws IOException {
+        StringWriter jsonl = new StringWriter();
+        try (JsonlResultSink sink = new JsonlResultSink(jsonl)) {
+            newTournament().run(4, sink);
+        }
+        String[] lines = jsonl.toString().split("\n");
+        Assertions.assertEquals(4, lines.length);
+        for (String line : lines) {
+            JsonObject outcome = new JsonParser().parse(line).getAsJsonObject();
+            Assertions.assertEquals(2, outcome.getAsJsonArray("seats").size());
+            Assertions.assertEquals(newTournament().getSeed(outcome.get("game").getAsInt()), outcome.get("seed").getAsLong());
+        }
+    }
+}
@@ -1,7 +1,70 @@
 package dk.dtu.compute.se.pisd.roborally.interfaces;
 
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.Board;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.Wall;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.BoardLaser;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class RobotLaserTest {
 
-}
\ No newline at end of file
+    private final int TEST_WIDTH = 8;
+    private final int TEST_HEIGHT = 8;
+
+    private Game game;
+    private Player shooter;
+    private Player target;
+
+    @BeforeEach
+    void setUp() {
+        Board board = new Board(TEST_WIDTH, TEST_HEIGHT);
+        game = new Game(board);
+        shooter = new Player(game, null, "Shooter");
+        target = new Player(game, null, "Target");
+        game.addPlayer(shooter);
+        game.addPlayer(target);
+        shooter.setSpace(board.getSpace(1, 1));
+        shooter.setDirection(Heading.EAST);
+        target.setSpace(board.getSpace(5, 1));
+    }
+
+    @Test
+    void testHitsFirstPlayerInLine() {
+        assertEquals(target, shooter.getLaser().getTarget());
+    }
+
+    @Test
+    void testDoesNotHitItself() {
+        target.setSpace(game.getBoard().getSpace(5, 5));
+        assertNull(shooter.getLaser().getTarget(), "A laser wrapping around the board should not hit its own robot!");
+    }
+
+    @Test
+    void testWallAddedAfterFiringBlocks() {
+        Board board = game.getBoard();
+        assertEquals(target, shooter.getLaser().getTarget());
+
+        Wall wall = new Wall(Heading.WEST);
+        board.getSpace(4, 1).addBoardElement(wall);
+        assertNull(shooter.getLaser().getTarget(), "The wall should block the laser!");
+
+        board.getSpace(4, 1).removeBoardElement(wall);
+        assertEquals(target, shooter.getLaser().getTarget(), "The removed wall should no longer block the laser!");
+    }
+
+    @Test
+    void testBoardLaserOnEmptyLineTerminates() {
+        target.setSpace(game.getBoard().getSpace(5, 5));
+        shooter.setSpace(game.getBoard().getSpace(6, 6));
+        BoardLaser boardLaser = new BoardLaser(Heading.EAST);
+        game.getBoard().getSpace(0, 3).addBoardElement(boardLaser);
+
+        assertNull(boardLaser.getLaser().getTarget());
+        boardLaser.getController().activate();
+    }
+}
@@ -0,0 +1,72 @@
+package dk.dtu.compute.se.pisd.roborally.model;
+
+import dk.dtu.compute.se.pisd.roborally.model.enums.Command;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+
+public class CardZoneTest {
+
+    @Test
+    void testRingBufferWrapsAndGrows() {
+        CardZone zone = new CardZone();
+        Command[] commands = Command.values();
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 20; i++) zone.add(commands[i % commands.length]);
+            for (int i = 0; i < 20; i++) {
+                Assertions.assertEquals(commands[i % commands.length], zone.remove(), "The cards should be drawn in order!");
+            }
+        }
+        Assertions.assertTrue(zone.isEmpty());
+
+        for (int i = 0; i < 100; i++) zone.add(commands[i % commands.length]);
+        Assertions.assertEquals(100, zone.size());
+        for (int i = 0; i < 100; i++) Assertions.assertEquals(commands[i % commands.length], zone.get(i));
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> zone.get(100));
+    }
+
+    @Test
+    void testRemoveCommandKeepsOrder() {
+        CardZone zone = new CardZone();
+        zone.add(Command.LEFT);
+        zone.add(Command.FORWARD);
+        zone.add(Command.RIGHT);
+        zone.add(Command.FORWARD);
+
+        Assertions.assertTrue(zone.remove(Command.FORWARD));
+        Assertions.assertFalse(zone.remove(Command.UTURN));
+        Assertions.assertArrayEquals(new Command[]{Command.LEFT, Command.RIGHT, Command.FORWARD}, zone.toArray());
+        zone.clear();
+        Assertions.assertThrows(NoSuchElementException.class, zone::remove);
+    }
+
+    @Test
+    void testShuffleAndMove() {
+        CardZone deck = new CardZone();
+        CardZone discardPile = new CardZone();
+        deck.addAll(Player.newPlayerDeck());
+        Command[] ordered = deck.toArray();
+        deck.remove();
+        deck.moveAllTo(discardPile);
+        Assertions.assertTrue(deck.isEmpty());
+        Assertions.assertEquals(ordered.length - 1, discardPile.size());
+
+        int modCount = discardPile.getModCount();
+        discardPile.shuffle(new SplittableRandom(7));
+        Assertions.assertNotEquals(modCount, discardPile.getModCount(), "A shuffle should be a modification!");
+        Command[] shuffled = discardPile.toArray();
+        Command[] sorted = shuffled.clone();
+        Arrays.sort(sorted);
+        Command[] expected = Arrays.copyOfRange(ordered, 1, ordered.length);
+        Arrays.sort(expected);
+        Assertions.assertArrayEquals(expected, sorted, "A shuffle should keep the cards!");
+
+        CardZone other = new CardZone();
+        for (Command command : Arrays.copyOfRange(ordered, 1, ordered.length)) other.add(command);
+        other.shuffle(new SplittableRandom(7));
+        Assertions.assertArrayEquals(shuffled, other.toArray(), "The same seed should give the same order!");
+    }
+}
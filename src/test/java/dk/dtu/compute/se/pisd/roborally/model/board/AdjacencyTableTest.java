@@ -0,0 +1,57 @@
+package dk.dtu.compute.se.pisd.roborally.model.board;
+
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.Wall;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.Checkpoint;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class AdjacencyTableTest {
+
+    private final int TEST_WIDTH = 8;
+    private final int TEST_HEIGHT = 8;
+
+    private Board board;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(TEST_WIDTH, TEST_HEIGHT);
+    }
+
+    @Test
+    void testNeighbourWrapsAround() {
+        Assertions.assertEquals(board.getSpace(TEST_WIDTH - 1, 0), board.getNeighbour(board.getSpace(0, 0), Heading.WEST));
+        Assertions.assertEquals(board.getSpace(0, TEST_HEIGHT - 1), board.getNeighbour(board.getSpace(0, 0), Heading.NORTH));
+        Assertions.assertEquals(board.getSpace(0, 1), board.getNeighbour(board.getSpace(0, 0), Heading.SOUTH));
+    }
+
+    @Test
+    void testWallAddedAfterLookupBlocksBothSides() {
+        Space space = board.getSpace(2, 2);
+        Assertions.assertEquals(board.getSpace(3, 2), board.getNeighbour(space, Heading.EAST));
+
+        Wall wall = new Wall(Heading.EAST);
+        space.addBoardElement(wall);
+
+        Assertions.assertNull(board.getNeighbour(space, Heading.EAST), "The wall should block movement out of the space!");
+        Assertions.assertNull(board.getNeighbour(board.getSpace(3, 2), Heading.WEST), "The wall should block movement into the space!");
+        Assertions.assertNull(board.getLightNeighbour(space, Heading.EAST), "The wall should block light!");
+        Assertions.assertEquals(board.getSpace(2, 3), board.getNeighbour(space, Heading.SOUTH));
+
+        space.removeBoardElement(wall);
+
+        Assertions.assertEquals(board.getSpace(3, 2), board.getNeighbour(space, Heading.EAST), "The removed wall should no longer block!");
+        Assertions.assertEquals(board.getSpace(2, 2), board.getNeighbour(board.getSpace(3, 2), Heading.WEST));
+    }
+
+    @Test
+    void testTransparentObstacleOnlyBlocksMovement() {
+        Space space = board.getSpace(4, 4);
+        Heading[] all = Heading.values();
+        space.addBoardElement(new Checkpoint(all, all, new Heading[0], Heading.SOUTH, 8, 1));
+
+        Assertions.assertNull(board.getNeighbour(board.getSpace(4, 3), Heading.SOUTH), "The obstacle should block movement!");
+        Assertions.assertEquals(space, board.getLightNeighbour(board.getSpace(4, 3), Heading.SOUTH), "The obstacle should not block light!");
+    }
+}
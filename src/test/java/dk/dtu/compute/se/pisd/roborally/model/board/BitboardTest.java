@@ -0,0 +1,71 @@
+package dk.dtu.compute.se.pisd.roborally.model.board;
+
+import dk.dtu.compute.se.pisd.roborally.model.Game;
+import dk.dtu.compute.se.pisd.roborally.model.Player;
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.Checkpoint;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BitboardTest {
+
+    private final int TEST_WIDTH = 10;
+    private final int TEST_HEIGHT = 10;
+
+    private Board board;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        board = new Board(TEST_WIDTH, TEST_HEIGHT);
+        game = new Game(board);
+        for (int i = 0; i < 3; i++) {
+            game.addPlayer(new Player(game, null, "Player " + i));
+        }
+    }
+
+    @Test
+    void testOccupancyFollowsPlayers() {
+        Player player = game.getPlayer(0);
+        player.setSpace(board.getSpace(9, 9));
+        Assertions.assertTrue(board.getOccupancy().get(99));
+        Assertions.assertEquals(1, board.getOccupancy().count());
+
+        player.setSpace(board.getSpace(0, 7));
+        Assertions.assertFalse(board.getOccupancy().get(99), "The old space should no longer be occupied!");
+        Assertions.assertTrue(board.getOccupancy().get(70));
+
+        game.getPlayer(1).setSpace(board.getSpace(3, 3));
+        board.getSpace(3, 3).setPlayer(null);
+        Assertions.assertEquals(1, board.getOccupancy().count());
+    }
+
+    @Test
+    void testFirstOccupiedAlongPath() {
+        game.getPlayer(0).setSpace(board.getSpace(5, 0));
+        game.getPlayer(1).setSpace(board.getSpace(7, 0));
+        int[] path = {1, 2, 3, 4, 5, 6, 7};
+        Assertions.assertEquals(4, board.getOccupancy().firstIn(path));
+        Assertions.assertEquals(-1, board.getOccupancy().firstIn(new int[]{1, 2, 3}));
+    }
+
+    @Test
+    void testOccupiedActivationSpaces() {
+        Checkpoint checkpoint = new Checkpoint(new Heading[0], new Heading[0], new Heading[0], Heading.SOUTH, 8, 0);
+        board.getSpace(2, 6).addBoardElement(checkpoint);
+        board.getSpace(4, 6).addBoardElement(new Checkpoint(new Heading[0], new Heading[0], new Heading[0], Heading.SOUTH, 8, 1));
+        game.getPlayer(0).setSpace(board.getSpace(2, 6));
+        game.getPlayer(1).setSpace(board.getSpace(3, 6));
+        game.getPlayer(2).setSpace(board.getSpace(4, 6));
+
+        int[] result = new int[3];
+        Assertions.assertEquals(2, board.getOccupancy().intersection(board.getActivationSpaces(), result));
+        Assertions.assertEquals(62, result[0]);
+        Assertions.assertEquals(64, result[1]);
+
+        board.getSpace(2, 6).removeBoardElement(checkpoint);
+        Assertions.assertEquals(1, board.getOccupancy().intersection(board.getActivationSpaces(), result));
+        Assertions.assertEquals(64, result[0]);
+    }
+}
@@ -0,0 +1,37 @@
+package dk.dtu.compute.se.pisd.roborally.model.board.boardElement;
+
+import dk.dtu.compute.se.pisd.roborally.model.board.boardElement.activationElement.Checkpoint;
+import dk.dtu.compute.se.pisd.roborally.model.enums.Heading;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BoardElementTest {
+
+    @Test
+    void testWallGeometry() {
+        Wall wall = new Wall(Heading.WEST);
+        Assertions.assertTrue(wall.isAtPosition(Heading.WEST));
+        Assertions.assertFalse(wall.isAtPosition(Heading.EAST));
+        Assertions.assertTrue(wall.isImpassableFrom(Heading.WEST));
+        Assertions.assertTrue(wall.isImpassableFrom(Heading.EAST));
+        Assertions.assertFalse(wall.isOpaqueFrom(Heading.NORTH));
+        Assertions.assertTrue(wall.isObstacle());
+        Assertions.assertArrayEquals(new Heading[]{Heading.WEST, Heading.EAST}, wall.getImpassableFrom());
+        Assertions.assertEquals(Heading.WEST.mask() | Heading.EAST.mask(), wall.getOpaqueMask());
+    }
+
+    @Test
+    void testGeometryCannotBeModifiedThroughGetters() {
+        Checkpoint checkpoint = new Checkpoint(new Heading[]{Heading.NORTH, Heading.SOUTH}, new Heading[0],
+                new Heading[]{Heading.EAST}, Heading.NORTH, 7, 1);
+        Assertions.assertFalse(checkpoint.isImpassableFrom(Heading.EAST));
+        Assertions.assertTrue(checkpoint.isOpaqueFrom(Heading.EAST));
+
+        checkpoint.getPosition()[0] = Heading.WEST;
+        checkpoint.getOpaqueFrom()[0] = Heading.WEST;
+        Assertions.assertArrayEquals(new Heading[]{Heading.SOUTH, Heading.NORTH}, checkpoint.getPosition());
+        Assertions.assertFalse(checkpoint.isOpaqueFrom(Heading.WEST));
+        Assertions.assertArrayEquals(new Heading[]{Heading.SOUTH, Heading.NORTH}, new Checkpoint(
+                new Heading[]{Heading.NORTH, Heading.SOUTH}, new Heading[0], new Heading[0], null, 7, 2).getPosition());
+    }
+}
@@ -0,0 +1,62 @@
+package dk.dtu.compute.se.pisd.roborally.model.enums;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HeadingTest {
+
+    @Test
+    void testTurns() {
+        Assertions.assertEquals(Heading.WEST, Heading.SOUTH.next());
+        Assertions.assertEquals(Heading.SOUTH, Heading.EAST.next());
+        Assertions.assertEquals(Heading.EAST, Heading.SOUTH.prev());
+        for (Heading heading : Heading.values()) {
+            Assertions.assertEquals(heading.next().next(), heading.opposite());
+            Assertions.assertEquals(heading, heading.opposite().opposite());
+            Assertions.assertEquals(heading, heading.next().prev());
+        }
+    }
+
+    @Test
+    void testRotate() {
+        for (Heading heading : Heading.values()) {
+            Heading turned = heading;
+            for (int turns = 0; turns <= 9; turns++) {
+                Assertions.assertEquals(turned, heading.rotate(turns), heading + " turned " + turns + " times");
+                turned = turned.next();
+            }
+            turned = heading;
+            for (int turns = 0; turns >= -9; turns--) {
+                Assertions.assertEquals(turned, heading.rotate(turns), heading + " turned " + turns + " times");
+                turned = turned.prev();
+            }
+        }
+    }
+
+    @Test
+    void testDeltas() {
+        Assertions.assertEquals(1, Heading.SOUTH.dy());
+        Assertions.assertEquals(-1, Heading.NORTH.dy());
+        Assertions.assertEquals(-1, Heading.WEST.dx());
+        Assertions.assertEquals(1, Heading.EAST.dx());
+        for (Heading heading : Heading.values()) {
+            Assertions.assertEquals(1, Math.abs(heading.dx()) + Math.abs(heading.dy()));
+            Assertions.assertEquals(-heading.dx(), heading.opposite().dx());
+            Assertions.assertEquals(-heading.dy(), heading.opposite().dy());
+        }
+    }
+
+    @Test
+    void testMasks() {
+        Assertions.assertEquals(0, Heading.toMask(null));
+        Assertions.assertEquals(0xF, Heading.toMask(Heading.values()));
+        Assertions.assertArrayEquals(new Heading[0], Heading.fromMask(0));
+        for (int mask = 0; mask < 16; mask++) {
+            Assertions.assertEquals(mask, Heading.toMask(Heading.fromMask(mask)));
+        }
+        for (Heading heading : Heading.values()) {
+            Assertions.assertSame(heading, Heading.of(heading.ordinal()));
+            Assertions.assertArrayEquals(new Heading[]{heading}, Heading.fromMask(heading.mask()));
+        }
+    }
+}